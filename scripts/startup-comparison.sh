@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Compares start-up time and first-request latency of the JVM build, the JVM build with an AppCDS
+# archive, the Spring AOT build with an AppCDS archive, and the native image (when GraalVM's
+# native-image is on the PATH). Each mode is started RUNS times; the table shows medians.
+#
+#   scripts/startup-comparison.sh               builds every mode, then measures
+#   SKIP_BUILD=1 scripts/startup-comparison.sh  measures what is already in target/
+#
+# ready: launch until the HTTP port accepts connections. first: latency of the first request
+# (an account creation). second: the same request again. rss: resident memory after both.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MVN=${MVN:-./mvnw}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18081}
+JAR=target/api-0.0.1-SNAPSHOT.jar
+LOG=target/startup-comparison.log
+
+if [[ -z "${SKIP_BUILD:-}" ]]; then
+    $MVN -q -B -Pcds package -DskipTests
+    rm -rf target/cds-jvm && mv target/cds target/cds-jvm
+    $MVN -q -B -Pnative,cds package -DskipTests
+    if command -v native-image > /dev/null; then
+        $MVN -q -B -Pnative native:compile -DskipTests
+    fi
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+create_account() {
+    curl -s -o /dev/null -w '%{time_total}' -X POST -H 'Content-Type: application/json' \
+        -d "{\"accountName\":\"Startup Probe\",\"accountEmail\":\"probe$1@gmail.com\",\"initialBalance\":100}" \
+        "http://127.0.0.1:$PORT/api/accounts"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+# Prints "ready_ms first_ms second_ms rss_mb" for one start of the given command
+measure() {
+    local start pid ready first second rss
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$LOG" 2>&1 &
+    pid=$!
+    until (exec 3<> "/dev/tcp/127.0.0.1/$PORT") 2> /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "start-up failed, see $LOG" >&2
+            exit 1
+        fi
+        sleep 0.005
+    done
+    ready=$(( $(now_ms) - start ))
+    first=$(create_account 1)
+    second=$(create_account 2)
+    rss=$(ps -o rss= -p "$pid")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    awk -v r="$ready" -v f="$first" -v s="$second" -v m="$rss" \
+        'BEGIN { printf "%d %.1f %.1f %d\n", r, f * 1000, s * 1000, m / 1024 }'
+}
+
+report() {
+    local name=$1 results
+    shift
+    results=$(for _ in $(seq "$RUNS"); do measure "$@"; done)
+    printf '%-10s %9s %9s %10s %7s\n' "$name" \
+        "$(cut -d' ' -f1 <<< "$results" | median)" "$(cut -d' ' -f2 <<< "$results" | median)" \
+        "$(cut -d' ' -f3 <<< "$results" | median)" "$(cut -d' ' -f4 <<< "$results" | median)"
+}
+
+printf '%-10s %9s %9s %10s %7s\n' mode 'ready ms' 'first ms' 'second ms' 'rss MB'
+report jvm java -jar "$JAR"
+report cds java -XX:SharedArchiveFile=target/cds-jvm/application.jsa -jar target/cds-jvm/api-0.0.1-SNAPSHOT.jar
+report aot-cds java -XX:SharedArchiveFile=target/cds/application.jsa -Dspring.aot.enabled=true \
+    -jar target/cds/api-0.0.1-SNAPSHOT.jar
+if [[ -x target/api ]]; then
+    report native target/api
+else
+    echo "native     skipped: build target/api with ./mvnw -Pnative native:compile (needs GraalVM)"
+fi
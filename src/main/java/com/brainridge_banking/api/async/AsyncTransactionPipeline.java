@@ -0,0 +1,356 @@
+package com.brainridge_banking.api.async;
+
+import com.brainridge_banking.api.async.Submission.Status;
+import com.brainridge_banking.api.diagnostics.DiagnosticsContributor;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.exception.BusinessException;
+import com.brainridge_banking.api.exception.PipelineStoppedException;
+import com.brainridge_banking.api.exception.SubmissionQueueFullException;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts transactions for asynchronous processing. A submission is journaled and forced to
+ * disk before it is acknowledged (concurrent submitters share one fsync), then queued for a
+ * single worker thread that applies submissions in arrival order. The worker applies a batch,
+ * journals the outcomes with one fsync and only then publishes them, so a status a client has
+ * seen never changes after a crash.
+ *
+ * <p>Admission is bounded: once {@code banking.async.capacity} submissions are pending, new
+ * ones are rejected with {@link SubmissionQueueFullException}. If the worker stops, because the
+ * journal cannot be written or compacted, every later submission is rejected with
+ * {@link PipelineStoppedException} until restart. On startup, pending submissions
+ * are reloaded from the journal. Each submission's id is the id of the ledger transaction it
+ * creates, so one that was applied just before a crash is found in the ledger and marked
+ * committed instead of being applied twice.
+ *
+ * <p>Disabled in cluster mode, where the worker would only reach accounts owned by this node.
+ */
+@Component
+@ConditionalOnExpression("${banking.async.enabled:false} and !${banking.cluster.enabled:false}")
+public class AsyncTransactionPipeline implements DiagnosticsContributor {
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransactionPipeline.class);
+
+    private final TransactionServiceImpl transactionService;
+    private final TransactionRepository transactionRepository;
+    private final SubmissionJournal journal;
+    private final int capacity;
+    private final int batchSize;
+    private final int statusRetention;
+    private final long compactBytes;
+    private final long retryAfterSeconds;
+
+    private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, Submission> submissions = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // Completed submissions whose status is still served, oldest first; touched by the worker only
+    private final Deque<Submission> retained = new ArrayDeque<>();
+    private final Counter accepted;
+    private final Counter rejected;
+    private volatile boolean running;
+    private volatile boolean failed;
+    private Thread worker;
+
+    @Autowired
+    public AsyncTransactionPipeline(TransactionServiceImpl transactionService,
+                                    TransactionRepository transactionRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${banking.async.journal-dir:async-journal}") String journalDir,
+                                    @Value("${banking.async.capacity:10000}") int capacity,
+                                    @Value("${banking.async.batch-size:256}") int batchSize,
+                                    @Value("${banking.async.status-retention:100000}") int statusRetention,
+                                    @Value("${banking.async.compact-bytes:67108864}") long compactBytes,
+                                    @Value("${banking.async.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.journal = new SubmissionJournal(Paths.get(journalDir).resolve("submissions.log"));
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.statusRetention = Math.max(0, statusRetention);
+        this.compactBytes = compactBytes;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.accepted = Counter.builder("banking.async.submissions").tag("result", "accepted").register(meterRegistry);
+        this.rejected = Counter.builder("banking.async.submissions").tag("result", "queue_full").register(meterRegistry);
+        Gauge.builder("banking.async.queue.depth", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recover();
+        running = true;
+        worker = new Thread(this::runWorker, "async-transactions");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.close();
+    }
+
+    public Submission submitTransfer(TransferRequest request) {
+        return submit(TransactionType.TRANSFER, request.getFromAccountId(), request.getToAccountId(), request.getAmount());
+    }
+
+    public Submission submitDeposit(TransactionRequest request) {
+        return submit(TransactionType.DEPOSIT, null, request.getToAccountId(), request.getAmount());
+    }
+
+    public Submission submitWithdrawal(TransactionRequest request) {
+        return submit(TransactionType.WITHDRAWAL, null, request.getToAccountId(), request.getAmount());
+    }
+
+    public Optional<Submission> find(UUID id) {
+        return Optional.ofNullable(submissions.get(id));
+    }
+
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public String diagnosticsSection() {
+        return "async";
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("workerStopped", failed);
+        diagnostics.put("pending", pending.get());
+        diagnostics.put("capacity", capacity);
+        diagnostics.put("trackedSubmissions", submissions.size());
+        diagnostics.put("accepted", (long) accepted.count());
+        diagnostics.put("rejected", (long) rejected.count());
+        return diagnostics;
+    }
+
+    private Submission submit(TransactionType type, UUID fromAccountId, UUID toAccountId, BigDecimal amount) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        if (failed) {
+            throw new PipelineStoppedException("Async submissions are unavailable: the submission worker has stopped");
+        }
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new SubmissionQueueFullException("Submission queue is full (" + capacity + " pending)", retryAfterSeconds);
+        }
+
+        Submission submission = new Submission(UUID.randomUUID(), type, fromAccountId, toAccountId, amount, LocalDateTime.now());
+        // Registered before the append so a concurrent compaction keeps it
+        submissions.put(submission.getId(), submission);
+        try {
+            journal.sync(journal.append(submission.encodeSubmitted()));
+        } catch (RuntimeException e) {
+            submissions.remove(submission.getId());
+            pending.decrementAndGet();
+            throw e;
+        }
+        queue.add(submission);
+        accepted.increment();
+        return submission;
+    }
+
+    private void runWorker() {
+        try {
+            processSubmissions();
+        } catch (RuntimeException | Error e) {
+            // Outcomes that cannot be journaled must not be published; recovery resolves them on restart
+            failed = true;
+            log.error("Async submission worker stopped; submissions are rejected until restart", e);
+        }
+    }
+
+    private void processSubmissions() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        List<Outcome> outcomes = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            long position = 0;
+            for (Submission submission : batch) {
+                Outcome outcome = apply(submission);
+                outcomes.add(outcome);
+                position = journal.append(outcome.encode(submission));
+            }
+            journal.sync(position);
+
+            for (int i = 0; i < batch.size(); i++) {
+                Outcome outcome = outcomes.get(i);
+                batch.get(i).complete(outcome.status, outcome.message, outcome.completedAt);
+                retain(batch.get(i));
+            }
+            pending.addAndGet(-batch.size());
+            batch.clear();
+            outcomes.clear();
+
+            // A failed compaction leaves the journal closed, so it stops the worker like a failed write
+            if (compactBytes > 0 && journal.size() > compactBytes) {
+                journal.compact(this::liveRecords);
+            }
+        }
+    }
+
+    private Outcome apply(Submission submission) {
+        try {
+            switch (submission.getType()) {
+                case TRANSFER -> {
+                    TransferRequest request = new TransferRequest();
+                    request.setFromAccountId(submission.getFromAccountId());
+                    request.setToAccountId(submission.getToAccountId());
+                    request.setAmount(submission.getAmount());
+                    transactionService.transferFunds(request, submission.getId());
+                }
+                case DEPOSIT -> transactionService.deposit(toRequest(submission), submission.getId());
+                case WITHDRAWAL -> transactionService.withdraw(toRequest(submission), submission.getId());
+            }
+            return new Outcome(Status.COMMITTED, null);
+        } catch (BusinessException | IllegalArgumentException e) {
+            return new Outcome(Status.REJECTED, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Async submission {} failed", submission.getId(), e);
+            return new Outcome(Status.REJECTED, "Processing failed: " + e.getMessage());
+        }
+    }
+
+    private static TransactionRequest toRequest(Submission submission) {
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(submission.getToAccountId());
+        request.setAmount(submission.getAmount());
+        return request;
+    }
+
+    private void retain(Submission submission) {
+        retained.addLast(submission);
+        while (retained.size() > statusRetention) {
+            submissions.remove(retained.removeFirst().getId());
+        }
+    }
+
+    // Pending submissions plus the completed ones whose status is still served
+    private List<String> liveRecords() {
+        List<String> records = new ArrayList<>();
+        for (Submission submission : retained) {
+            records.add(submission.encodeSubmitted());
+            records.add(submission.encodeOutcome());
+        }
+        for (Submission submission : submissions.values()) {
+            if (submission.getStatus() == Status.PENDING) {
+                records.add(submission.encodeSubmitted());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Rebuilds statuses from the journal, resolves submissions that were applied but whose
+     * outcome never reached the journal, re-queues the rest in their original order and
+     * compacts the journal.
+     */
+    void recover() {
+        Map<UUID, Submission> journaled = new LinkedHashMap<>();
+        for (String[] fields : journal.readAll()) {
+            try {
+                switch (fields[0]) {
+                    case "SUBMITTED" -> {
+                        Submission submission = Submission.decodeSubmitted(fields);
+                        journaled.putIfAbsent(submission.getId(), submission);
+                    }
+                    case "COMMITTED", "REJECTED" -> {
+                        Submission submission = journaled.get(UUID.fromString(fields[1]));
+                        if (submission != null) {
+                            submission.complete(Status.valueOf(fields[0]), fields.length > 3 ? fields[3] : null,
+                                    LocalDateTime.parse(fields[2]));
+                        }
+                    }
+                    default -> log.warn("Skipping unknown submission journal record {}", fields[0]);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable submission journal record {}", String.join("|", fields));
+            }
+        }
+
+        Map<UUID, Set<UUID>> unresolvedByAccount = new HashMap<>();
+        for (Submission submission : journaled.values()) {
+            if (submission.getStatus() == Status.PENDING && submission.ledgerAccountId() != null) {
+                unresolvedByAccount.computeIfAbsent(submission.ledgerAccountId(), id -> new HashSet<>()).add(submission.getId());
+            }
+        }
+        Set<UUID> applied = new HashSet<>();
+        unresolvedByAccount.forEach((accountId, ids) -> transactionRepository.scan(accountId, transaction -> {
+            if (ids.contains(transaction.getId())) {
+                applied.add(transaction.getId());
+            }
+        }));
+
+        int requeued = 0;
+        for (Submission submission : journaled.values()) {
+            if (submission.getStatus() == Status.PENDING) {
+                if (applied.contains(submission.getId())) {
+                    submission.complete(Status.COMMITTED, null, LocalDateTime.now());
+                } else {
+                    submissions.put(submission.getId(), submission);
+                    queue.add(submission);
+                    requeued++;
+                    continue;
+                }
+            }
+            submissions.put(submission.getId(), submission);
+            retain(submission);
+        }
+        pending.addAndGet(requeued);
+        journal.compact(this::liveRecords);
+        if (!journaled.isEmpty()) {
+            log.info("Recovered {} async submissions, {} still pending", journaled.size(), requeued);
+        }
+    }
+
+    private record Outcome(Status status, String message, LocalDateTime completedAt) {
+        Outcome(Status status, String message) {
+            this(status, message, LocalDateTime.now());
+        }
+
+        String encode(Submission submission) {
+            return Submission.encodeOutcome(submission.getId(), status, message, completedAt);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.brainridge_banking.api.async;
+
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transaction accepted for asynchronous processing. The id doubles as the id of the ledger
+ * transaction once it commits. The outcome fields are written by the pipeline's worker and
+ * become visible only after the outcome is durable in the journal.
+ */
+public class Submission {
+    public enum Status {
+        PENDING, COMMITTED, REJECTED
+    }
+
+    private final UUID id;
+    private final TransactionType type;
+    private final UUID fromAccountId;
+    private final UUID toAccountId;
+    private final BigDecimal amount;
+    private final LocalDateTime submittedAt;
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime completedAt;
+
+    public Submission(UUID id, TransactionType type, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                      LocalDateTime submittedAt) {
+        this.id = id;
+        this.type = type;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.submittedAt = submittedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * The account whose history will hold the transaction: the source of a transfer, otherwise
+     * the account named in the request (withdrawals name it as the destination, like the sync API).
+     */
+    UUID ledgerAccountId() {
+        return type == TransactionType.TRANSFER ? fromAccountId : toAccountId;
+    }
+
+    void complete(Status status, String message, LocalDateTime completedAt) {
+        this.message = message;
+        this.completedAt = completedAt;
+        this.status = status;
+    }
+
+    // Journal records: SUBMITTED|id|type|from|to|amount|submittedAt, COMMITTED|id|at, REJECTED|id|at|message
+    String encodeSubmitted() {
+        return "SUBMITTED|" + id + "|" + type + "|" + encode(fromAccountId) + "|" + encode(toAccountId) + "|"
+                + amount.toPlainString() + "|" + submittedAt;
+    }
+
+    String encodeOutcome() {
+        return encodeOutcome(id, status, message, completedAt);
+    }
+
+    static String encodeOutcome(UUID id, Status status, String message, LocalDateTime completedAt) {
+        String record = status + "|" + id + "|" + completedAt;
+        return status == Status.REJECTED ? record + "|" + sanitize(message) : record;
+    }
+
+    static Submission decodeSubmitted(String[] fields) {
+        return new Submission(
+                UUID.fromString(fields[1]),
+                TransactionType.valueOf(fields[2]),
+                decode(fields[3]),
+                decode(fields[4]),
+                new BigDecimal(fields[5]),
+                LocalDateTime.parse(fields[6]));
+    }
+
+    private static String encode(UUID id) {
+        return id == null ? "-" : id.toString();
+    }
+
+    private static UUID decode(String field) {
+        return "-".equals(field) ? null : UUID.fromString(field);
+    }
+
+    private static String sanitize(String message) {
+        return message == null ? "" : message.replace('|', '/').replace('\n', ' ').replace('\r', ' ');
+    }
+}
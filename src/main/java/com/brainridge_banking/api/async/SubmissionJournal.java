@@ -0,0 +1,149 @@
+package com.brainridge_banking.api.async;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal of submissions and their outcomes, one pipe-separated record per line.
+ * Appends and fsyncs are split so that concurrent writers share a single force: each writer
+ * appends, then calls {@link #sync(long)} with the position it got back, and whichever writer
+ * gets the force lock first makes everything written so far durable for the others too.
+ */
+public class SubmissionJournal implements AutoCloseable {
+    private final Path path;
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    // Logical end of the journal, in bytes ever appended; never reset by compaction
+    private long written;
+    private volatile long synced;
+
+    public SubmissionJournal(Path path) {
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open submission journal " + path, e);
+        }
+    }
+
+    /**
+     * Appends a record without forcing it.
+     *
+     * @return the position to pass to {@link #sync(long)} to make the record durable
+     */
+    public synchronized long append(String record) {
+        ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write submission journal " + path, e);
+        }
+    }
+
+    /**
+     * Returns once everything up to {@code position} is on disk, forcing the file if no other
+     * writer has already done so.
+     */
+    public void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (this) {
+                target = written;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync submission journal " + path, e);
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Reads every record, split into fields. A torn last line from a crash mid-append is
+     * returned as is; callers skip records they cannot decode.
+     */
+    public synchronized List<String[]> readAll() {
+        try {
+            List<String[]> records = new ArrayList<>();
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    records.add(line.split("\\|", 7));
+                }
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read submission journal " + path, e);
+        }
+    }
+
+    /**
+     * Atomically replaces the journal with the records the supplier returns. The supplier runs
+     * while appends are blocked, so no record written concurrently can be lost.
+     */
+    public void compact(Supplier<List<String>> records) {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+                try {
+                    List<String> kept = records.get();
+                    channel.close();
+                    Files.write(tmp, kept, StandardCharsets.UTF_8);
+                    try (FileChannel rewritten = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                        rewritten.force(true);
+                    }
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel = open(path);
+                    synced = written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not compact submission journal " + path, e);
+                }
+            }
+        }
+    }
+
+    public synchronized long size() {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
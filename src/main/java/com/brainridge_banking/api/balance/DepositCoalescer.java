@@ -0,0 +1,242 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.diagnostics.DiagnosticsContributor;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Groups deposits to the same account that arrive close together, so a burst of small credits
+ * (a payroll run, say) takes the account lock and saves the account once per group instead of
+ * once per deposit.
+ *
+ * <p>The first deposit to an account with no open group becomes the group's leader; later ones
+ * join the group and wait. The leader waits up to {@code window-micros} for the group to fill,
+ * but only while other deposits to the same account are in flight, so a lone caller (or one
+ * whose account sees no other traffic) pays no extra latency. It then
+ * hands the group to a {@link BatchHandler}, which takes the account lock and only then
+ * {@linkplain Batch#close() closes} the group, so deposits arriving while the lock is awaited
+ * still join. A group is also closed when it reaches {@code max-batch}. Every member gets its own
+ * result; if the leader runs inside a database transaction, members are answered only once it
+ * commits.
+ */
+public class DepositCoalescer implements DiagnosticsContributor {
+
+    /**
+     * Applies a group of deposits to one account and returns one result per deposit, in order.
+     */
+    @FunctionalInterface
+    public interface BatchHandler {
+        List<TransactionResponse> apply(Batch batch);
+    }
+
+    /**
+     * One deposit in a group; the transaction id is null unless the caller pre-assigned one.
+     */
+    public record Deposit(BigDecimal amount, UUID transactionId) {
+    }
+
+    private final Map<UUID, Batch> open = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> inFlightByAccount = new ConcurrentHashMap<>();
+    private final LongAdder inFlight = new LongAdder();
+    private final long windowNanos;
+    private final int maxBatch;
+    private final DistributionSummary batchSizes;
+
+    public DepositCoalescer(long windowMicros, int maxBatch, MeterRegistry meterRegistry) {
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.batchSizes = DistributionSummary.builder("banking.deposits.batch-size")
+                .description("Deposits applied per account update")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the deposit to the account's open group (or starts one) and returns its result once
+     * the group is applied. Exceptions thrown while applying the group are rethrown to every member.
+     */
+    public TransactionResponse deposit(UUID accountId, BigDecimal amount, UUID transactionId, BatchHandler handler) {
+        Pending pending = new Pending(new Deposit(amount, transactionId));
+        inFlight.increment();
+        inFlightByAccount.merge(accountId, 1, Integer::sum);
+        try {
+            Batch[] joined = new Batch[1];
+            open.compute(accountId, (id, batch) -> {
+                if (batch == null || !batch.offer(pending)) {
+                    batch = new Batch(id, Thread.currentThread());
+                    batch.offer(pending);
+                }
+                joined[0] = batch;
+                return batch.full ? null : batch;
+            });
+            Batch batch = joined[0];
+            if (batch.leader != Thread.currentThread()) {
+                if (batch.full) {
+                    LockSupport.unpark(batch.leader);
+                }
+                return pending.await();
+            }
+            return lead(batch, handler);
+        } finally {
+            inFlightByAccount.computeIfPresent(accountId, (id, count) -> count == 1 ? null : count - 1);
+            inFlight.decrement();
+        }
+    }
+
+    @Override
+    public String diagnosticsSection() {
+        return "depositCoalescing";
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("openBatches", open.size());
+        diagnostics.put("inFlight", inFlight.sum());
+        diagnostics.put("batches", batchSizes.count());
+        diagnostics.put("meanBatchSize", batchSizes.mean());
+        diagnostics.put("maxBatchSize", batchSizes.max());
+        return diagnostics;
+    }
+
+    private TransactionResponse lead(Batch batch, BatchHandler handler) {
+        if (windowNanos > 0 && inFlightByAccount.getOrDefault(batch.accountId, 0) > 1) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining;
+            while (!batch.full && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        List<TransactionResponse> results;
+        try {
+            results = handler.apply(batch);
+        } catch (RuntimeException | Error e) {
+            List<Pending> members = batch.closeMembers();
+            for (int i = 1; i < members.size(); i++) {
+                members.get(i).result.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        List<Pending> members = batch.closeMembers();
+        batchSizes.record(members.size());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        answer(members, results);
+                    } else {
+                        IllegalStateException rolledBack = new IllegalStateException("Deposit batch was rolled back");
+                        for (int i = 1; i < members.size(); i++) {
+                            members.get(i).result.completeExceptionally(rolledBack);
+                        }
+                    }
+                }
+            });
+        } else {
+            answer(members, results);
+        }
+        return results.get(0);
+    }
+
+    // The leader is always the first member and returns its own result
+    private static void answer(List<Pending> members, List<TransactionResponse> results) {
+        for (int i = 1; i < members.size(); i++) {
+            members.get(i).result.complete(results.get(i));
+        }
+    }
+
+    /**
+     * An open group of deposits to one account.
+     */
+    public final class Batch {
+        private final UUID accountId;
+        private final Thread leader;
+        private final List<Pending> members = new ArrayList<>();
+        private boolean closed;
+        private volatile boolean full;
+
+        private Batch(UUID accountId, Thread leader) {
+            this.accountId = accountId;
+            this.leader = leader;
+        }
+
+        public UUID accountId() {
+            return accountId;
+        }
+
+        /**
+         * Stops the group from accepting deposits and returns its members' deposits. Handlers call
+         * this once they hold the account lock; calling it again returns the same deposits.
+         */
+        public List<Deposit> close() {
+            List<Pending> members = closeMembers();
+            List<Deposit> deposits = new ArrayList<>(members.size());
+            for (Pending member : members) {
+                deposits.add(member.deposit);
+            }
+            return deposits;
+        }
+
+        private synchronized boolean offer(Pending pending) {
+            if (closed) {
+                return false;
+            }
+            members.add(pending);
+            if (members.size() >= maxBatch) {
+                closed = true;
+                full = true;
+            }
+            return true;
+        }
+
+        private synchronized List<Pending> closeMembers() {
+            if (!closed) {
+                closed = true;
+                open.remove(accountId, this);
+            }
+            return Collections.unmodifiableList(members);
+        }
+    }
+
+    private static final class Pending {
+        private final Deposit deposit;
+        private final CompletableFuture<TransactionResponse> result = new CompletableFuture<>();
+
+        private Pending(Deposit deposit) {
+            this.deposit = deposit;
+        }
+
+        private TransactionResponse await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
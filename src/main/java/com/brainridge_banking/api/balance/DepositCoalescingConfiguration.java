@@ -0,0 +1,27 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code banking.deposit-coalescing.enabled=true}: concurrent deposits to the same account are
+ * applied in groups. Works with every storage engine; with jdbc, a group is one row update.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.deposit-coalescing.enabled", havingValue = "true")
+public class DepositCoalescingConfiguration {
+
+    @Bean
+    public DepositCoalescer depositCoalescer(TransactionServiceImpl transactionService,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${banking.deposit-coalescing.window-micros:200}") long windowMicros,
+                                             @Value("${banking.deposit-coalescing.max-batch:128}") int maxBatch) {
+        DepositCoalescer depositCoalescer = new DepositCoalescer(windowMicros, maxBatch, meterRegistry);
+        transactionService.setDepositCoalescer(depositCoalescer);
+        return depositCoalescer;
+    }
+}
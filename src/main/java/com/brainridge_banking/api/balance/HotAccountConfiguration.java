@@ -0,0 +1,40 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code banking.hot-accounts.enabled=true}: heavily credited accounts switch to striped
+ * balances. Only for the in-memory engines; the jdbc engine keeps balances in the database,
+ * and cluster transfers reserve funds through their own protocol.
+ */
+@Configuration
+@ConditionalOnExpression("${banking.hot-accounts.enabled:false} and !${banking.cluster.enabled:false}"
+        + " and '${banking.storage.engine:memory}' != 'jdbc'")
+public class HotAccountConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    public HotAccounts hotAccounts(AccountRepository accountRepository,
+                                   TransactionServiceImpl transactionService,
+                                   AccountServiceImpl accountService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${banking.hot-accounts.cells:16}") int cells,
+                                   @Value("${banking.hot-accounts.contended-wait-micros:50}") long contendedWaitMicros,
+                                   @Value("${banking.hot-accounts.promote-after:256}") long promoteAfter,
+                                   @Value("${banking.hot-accounts.demote-below:64}") long demoteBelow,
+                                   @Value("${banking.hot-accounts.consolidate-interval-ms:50}") long consolidateIntervalMs,
+                                   @Value("${banking.hot-accounts.review-interval-ms:1000}") long reviewIntervalMs) {
+        HotAccounts hotAccounts = new HotAccounts(accountRepository, cells, contendedWaitMicros,
+                promoteAfter, demoteBelow, meterRegistry);
+        hotAccounts.start(consolidateIntervalMs, reviewIntervalMs);
+        transactionService.setHotAccounts(hotAccounts);
+        accountService.setHotAccounts(hotAccounts);
+        return hotAccounts;
+    }
+}
@@ -0,0 +1,314 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.diagnostics.DiagnosticsContributor;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountLock;
+import com.brainridge_banking.api.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped balances for accounts that receive more credits than one account lock can serialize.
+ * Credits to a hot account land in its {@link StripedBalance} cells without taking the lock.
+ * Debits still lock the account and check its stored balance. That balance never exceeds the
+ * true one, because the cells only hold credits; when the check fails, the cells are folded in
+ * and it is repeated. A background task folds every hot account's cells in each
+ * {@code consolidate-interval-ms}, so the stored balance (and what replicas see) stays close behind.
+ *
+ * <p>Credits report how long they waited for an account lock. An account whose credits keep
+ * waiting is promoted; a hot account whose credit rate falls off is demoted. Reads add the
+ * pending cells to the stored balance, and pending credits count toward the reported version,
+ * so balances and ETags are exact while an account is hot.
+ */
+public class HotAccounts implements DiagnosticsContributor {
+    private static final Logger log = LoggerFactory.getLogger(HotAccounts.class);
+    private static final int RANKED = 10;
+
+    private final AccountRepository accountRepository;
+    private final int cellCount;
+    private final long contendedWaitNanos;
+    private final long promoteAfter;
+    private final long demoteBelow;
+    private final Map<UUID, StripedBalance> hot = new ConcurrentHashMap<>();
+    private volatile Map<UUID, LongAdder> contendedCredits = new ConcurrentHashMap<>();
+    private final Counter promotions;
+    private final Counter demotions;
+    private ScheduledExecutorService worker;
+
+    /**
+     * @param promoteAfter contended credits per review window that promote an account
+     * @param demoteBelow  credits per review window under which a hot account is demoted
+     */
+    public HotAccounts(AccountRepository accountRepository, int cellCount, long contendedWaitMicros,
+                       long promoteAfter, long demoteBelow, MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.cellCount = Math.max(1, cellCount);
+        this.contendedWaitNanos = TimeUnit.MICROSECONDS.toNanos(contendedWaitMicros);
+        this.promoteAfter = Math.max(1, promoteAfter);
+        this.demoteBelow = demoteBelow;
+        this.promotions = Counter.builder("banking.hot-accounts.promotions").register(meterRegistry);
+        this.demotions = Counter.builder("banking.hot-accounts.demotions").register(meterRegistry);
+        Gauge.builder("banking.hot-accounts.count", hot, Map::size).register(meterRegistry);
+    }
+
+    public synchronized void start(long consolidateIntervalMs, long reviewIntervalMs) {
+        if (worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-accounts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                consolidateAll();
+            } catch (RuntimeException e) {
+                log.warn("Hot account consolidation failed; will retry", e);
+            }
+        }, consolidateIntervalMs, consolidateIntervalMs, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                review();
+            } catch (RuntimeException e) {
+                log.warn("Hot account review failed; will retry", e);
+            }
+        }, reviewIntervalMs, reviewIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    public boolean isHot(UUID accountId) {
+        return hot.containsKey(accountId);
+    }
+
+    public int hotCount() {
+        return hot.size();
+    }
+
+    @Override
+    public String diagnosticsSection() {
+        return "hotAccounts";
+    }
+
+    /**
+     * Hot accounts ranked by credits since the last review, and the accounts closest to
+     * promotion ranked by contended credits. Both counts are read without the drain lock.
+     */
+    @Override
+    public Map<String, Object> diagnostics() {
+        List<Map.Entry<UUID, Long>> byCredits = new ArrayList<>();
+        hot.forEach((accountId, balance) ->
+                byCredits.add(Map.entry(accountId, balance.drainedCredits + balance.pendingCount())));
+        List<Map.Entry<UUID, Long>> byWaits = new ArrayList<>();
+        contendedCredits.forEach((accountId, waits) -> byWaits.add(Map.entry(accountId, waits.sum())));
+
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("hot", hot.size());
+        diagnostics.put("promotions", (long) promotions.count());
+        diagnostics.put("demotions", (long) demotions.count());
+        diagnostics.put("hottest", ranked(byCredits, "credits"));
+        diagnostics.put("candidates", ranked(byWaits, "contendedCredits"));
+        return diagnostics;
+    }
+
+    /**
+     * Adds a credit to a hot account's cells. Returns false if the account is not hot (or was
+     * just demoted) or the amount has more than two decimal places; the caller then credits the
+     * account under its lock as usual.
+     */
+    public boolean credit(UUID accountId, BigDecimal amount) {
+        StripedBalance balance = hot.get(accountId);
+        if (balance == null) {
+            return false;
+        }
+        long minorUnits;
+        try {
+            minorUnits = amount.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        return balance.add(minorUnits);
+    }
+
+    /**
+     * Records how long a credit waited for the account lock.
+     */
+    public void recordLockWait(UUID accountId, long waitNanos) {
+        if (waitNanos >= contendedWaitNanos) {
+            contendedCredits.computeIfAbsent(accountId, id -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * The account's balance including credits still in its cells.
+     */
+    public BigDecimal balanceOf(Account account) {
+        StripedBalance balance = hot.get(account.getAccountId());
+        if (balance == null) {
+            return account.getAccountBalance();
+        }
+        long stamp = balance.drainLock.tryOptimisticRead();
+        BigDecimal stored = account.getAccountBalance();
+        long pending = balance.pendingAmount();
+        if (!balance.drainLock.validate(stamp)) {
+            stamp = balance.drainLock.readLock();
+            try {
+                stored = account.getAccountBalance();
+                pending = balance.pendingAmount();
+            } finally {
+                balance.drainLock.unlockRead(stamp);
+            }
+        }
+        return pending == 0 ? stored : stored.add(BigDecimal.valueOf(pending, 2));
+    }
+
+    /**
+     * The account's version counting each pending credit as a change, so ETags move with credits.
+     */
+    public long versionOf(Account account) {
+        StripedBalance balance = hot.get(account.getAccountId());
+        if (balance == null) {
+            return account.getVersion();
+        }
+        long stamp = balance.drainLock.tryOptimisticRead();
+        long version = account.getVersion() + balance.pendingCount();
+        if (!balance.drainLock.validate(stamp)) {
+            stamp = balance.drainLock.readLock();
+            try {
+                version = account.getVersion() + balance.pendingCount();
+            } finally {
+                balance.drainLock.unlockRead(stamp);
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Folds the account's pending credits into its stored balance. The caller holds the account
+     * lock and saves the account afterwards. Returns whether any credits were pending.
+     */
+    public boolean consolidate(Account account) {
+        StripedBalance balance = hot.get(account.getAccountId());
+        return balance != null && drain(balance, account, false);
+    }
+
+    /**
+     * Returns the account to plain locked credits, folding in whatever its cells hold.
+     */
+    public void demote(UUID accountId) {
+        StripedBalance balance = hot.get(accountId);
+        if (balance == null) {
+            return;
+        }
+        try (AccountLock ignored = accountRepository.lock(accountId)) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            drain(balance, account.orElse(null), true);
+            hot.remove(accountId, balance);
+            account.ifPresent(accountRepository::save);
+        }
+        demotions.increment();
+    }
+
+    void promote(UUID accountId) {
+        if (hot.putIfAbsent(accountId, new StripedBalance(cellCount)) == null) {
+            promotions.increment();
+        }
+    }
+
+    void consolidateAll() {
+        for (UUID accountId : hot.keySet()) {
+            try (AccountLock ignored = accountRepository.lock(accountId)) {
+                Optional<Account> account = accountRepository.findById(accountId);
+                if (account.isEmpty()) {
+                    hot.remove(accountId);
+                } else if (consolidate(account.get())) {
+                    accountRepository.save(account.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Demotes hot accounts that drew fewer than {@code demoteBelow} credits since the last review,
+     * then promotes accounts whose credits waited on the lock at least {@code promoteAfter} times.
+     */
+    void review() {
+        consolidateAll();
+        for (Map.Entry<UUID, StripedBalance> entry : hot.entrySet()) {
+            StripedBalance balance = entry.getValue();
+            long stamp = balance.drainLock.writeLock();
+            long credits;
+            try {
+                credits = balance.drainedCredits + balance.pendingCount();
+                balance.drainedCredits = 0;
+            } finally {
+                balance.drainLock.unlockWrite(stamp);
+            }
+            if (credits < demoteBelow) {
+                demote(entry.getKey());
+            }
+        }
+
+        Map<UUID, LongAdder> window = contendedCredits;
+        contendedCredits = new ConcurrentHashMap<>();
+        window.forEach((accountId, waits) -> {
+            if (waits.sum() >= promoteAfter && accountRepository.findById(accountId).isPresent()) {
+                promote(accountId);
+            }
+        });
+    }
+
+    private static List<Map<String, Object>> ranked(List<Map.Entry<UUID, Long>> counts, String label) {
+        counts.sort(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()));
+        List<Map<String, Object>> ranked = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : counts.subList(0, Math.min(RANKED, counts.size()))) {
+            Map<String, Object> account = new LinkedHashMap<>();
+            account.put("accountId", entry.getKey());
+            account.put(label, entry.getValue());
+            ranked.add(account);
+        }
+        return ranked;
+    }
+
+    private static boolean drain(StripedBalance balance, Account account, boolean close) {
+        long stamp = balance.drainLock.writeLock();
+        try {
+            long amount = balance.drainAmount(close);
+            long count = balance.drainCount();
+            balance.drainedCredits += count;
+            if (account != null) {
+                if (amount != 0) {
+                    account.setAccountBalance(account.getAccountBalance().add(BigDecimal.valueOf(amount, 2)));
+                }
+                // The reported version already counted these credits; keep it from going backwards
+                account.setVersion(account.getVersion() + count);
+            }
+            return count != 0 || amount != 0;
+        } finally {
+            balance.drainLock.unlockWrite(stamp);
+        }
+    }
+}
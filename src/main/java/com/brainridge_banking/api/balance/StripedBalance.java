@@ -0,0 +1,104 @@
+package com.brainridge_banking.api.balance;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Pending credits of one hot account, spread over cells that sit on separate cache lines so
+ * concurrent creditors rarely touch the same one. Amounts are in minor units (cents). Each cell
+ * also counts its credits, which keeps the account's reported version moving with them.
+ * Draining with {@code close} leaves every cell {@link #CLOSED}: a credit either landed before
+ * and was drained, or fails and must go through the account lock instead.
+ */
+final class StripedBalance {
+    static final long CLOSED = Long.MIN_VALUE;
+
+    // 16 longs = 128 bytes per cell, clear of adjacent-line prefetching
+    private static final int STRIDE = 16;
+
+    /**
+     * Write-held while cells are drained into the stored balance, so readers can add the two
+     * up without seeing a credit in both places or in neither.
+     */
+    final StampedLock drainLock = new StampedLock();
+
+    /**
+     * Credits drained since the last promotion/demotion review; guarded by the write lock.
+     */
+    long drainedCredits;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedBalance(int cellCount) {
+        int size = Integer.highestOneBit(Math.max(1, cellCount - 1)) << 1;
+        this.cells = new AtomicLongArray(size * STRIDE);
+        this.mask = size - 1;
+    }
+
+    int cellCount() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds a credit to this thread's cell, moving to the next cell on a failed CAS.
+     * Returns false once the cells are closed.
+     */
+    boolean add(long minorUnits) {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        int index = (int) (h >>> 32) & mask;
+        while (true) {
+            int slot = index * STRIDE;
+            long current = cells.get(slot);
+            if (current == CLOSED) {
+                return false;
+            }
+            if (cells.compareAndSet(slot, current, current + minorUnits)) {
+                cells.getAndIncrement(slot + 1);
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    long pendingAmount() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            long value = cells.get(i * STRIDE);
+            if (value != CLOSED) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    long pendingCount() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.get(i * STRIDE + 1);
+        }
+        return sum;
+    }
+
+    /**
+     * Takes every cell's amount, leaving zero, or {@link #CLOSED} when {@code close} is set.
+     */
+    long drainAmount(boolean close) {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            long value = cells.getAndSet(i * STRIDE, close ? CLOSED : 0);
+            if (value != CLOSED) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    long drainCount() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.getAndSet(i * STRIDE + 1, 0);
+        }
+        return sum;
+    }
+}
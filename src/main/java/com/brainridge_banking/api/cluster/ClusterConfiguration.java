@@ -0,0 +1,104 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wires cluster mode when {@code banking.cluster.enabled=true}. Every node is started with
+ * the same {@code banking.cluster.nodes} list ({@code id=baseUrl,...}) and its own
+ * {@code banking.cluster.node-id}; the clustered services then replace the local ones as
+ * the primary {@code AccountService} and {@code TransactionService}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.cluster.enabled", havingValue = "true")
+public class ClusterConfiguration {
+
+    @Bean
+    public ConsistentHashRing clusterRing(@Value("${banking.cluster.nodes}") String nodes,
+                                          @Value("${banking.cluster.virtual-nodes:128}") int virtualNodes) {
+        return new ConsistentHashRing(parseNodes(nodes).keySet(), virtualNodes);
+    }
+
+    @Bean(initMethod = "recover")
+    public TwoPhaseParticipant twoPhaseParticipant(AccountRepository accountRepository,
+                                                   TransactionRepository transactionRepository,
+                                                   @Value("${banking.cluster.log-dir:cluster-log}") String logDir,
+                                                   @Value("${banking.cluster.node-id}") String nodeId) {
+        return new TwoPhaseParticipant(accountRepository, transactionRepository,
+                new TwoPhaseLog(logPath(logDir, nodeId, "participant.log")));
+    }
+
+    @Bean
+    public LocalClusterPeer localClusterPeer(AccountServiceImpl accountService, TransactionServiceImpl transactionService,
+                                             TwoPhaseParticipant participant) {
+        return new LocalClusterPeer(accountService, transactionService, participant);
+    }
+
+    @Bean
+    public ClusterTransport clusterTransport(@Value("${banking.cluster.nodes}") String nodes,
+                                             @Value("${banking.cluster.node-id}") String nodeId,
+                                             LocalClusterPeer localPeer, RestClient.Builder restClientBuilder,
+                                             ObjectMapper objectMapper) {
+        return new HttpClusterTransport(parseNodes(nodes), nodeId, localPeer, restClientBuilder, objectMapper);
+    }
+
+    @Bean
+    public ClusterRouter clusterRouter(ConsistentHashRing ring, @Value("${banking.cluster.node-id}") String nodeId,
+                                       ClusterTransport transport) {
+        return new ClusterRouter(ring, nodeId, transport);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public TransferCoordinator transferCoordinator(ClusterTransport transport,
+                                                   @Value("${banking.cluster.log-dir:cluster-log}") String logDir,
+                                                   @Value("${banking.cluster.node-id}") String nodeId,
+                                                   @Value("${banking.cluster.recovery-interval-ms:5000}") long retryIntervalMs) {
+        return new TransferCoordinator(transport, new TwoPhaseLog(logPath(logDir, nodeId, "coordinator.log")),
+                retryIntervalMs);
+    }
+
+    @Bean
+    @Primary
+    public ClusteredAccountService clusteredAccountService(AccountServiceImpl accountService, ClusterRouter router) {
+        accountService.setAccountIdGenerator(router::newLocalAccountId);
+        return new ClusteredAccountService(accountService, router);
+    }
+
+    @Bean
+    @Primary
+    public ClusteredTransactionService clusteredTransactionService(TransactionServiceImpl transactionService,
+                                                                   ClusterRouter router,
+                                                                   TransferCoordinator coordinator) {
+        return new ClusteredTransactionService(transactionService, router, coordinator);
+    }
+
+    static Map<String, String> parseNodes(String nodes) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : nodes.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Cluster node must be id=baseUrl, got: " + entry.trim());
+            }
+            parsed.put(entry.substring(0, eq).trim(), entry.substring(eq + 1).trim());
+        }
+        return parsed;
+    }
+
+    private static Path logPath(String logDir, String nodeId, String file) {
+        return Paths.get(logDir, nodeId, file);
+    }
+}
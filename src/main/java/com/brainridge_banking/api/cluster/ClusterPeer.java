@@ -0,0 +1,33 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.AccountUpdateRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Operations one node performs on behalf of another: single-node requests forwarded to
+ * the account's owner, and the participant side of the cross-node transfer protocol.
+ * Domain failures surface as the same exceptions a local call would throw.
+ */
+public interface ClusterPeer {
+    AccountResponse getAccount(UUID accountId);
+    List<AccountResponse> getLocalAccounts();
+    AccountResponse updateAccount(UUID accountId, AccountUpdateRequest request, Long expectedVersion);
+    void deleteAccount(UUID accountId);
+    AccountBalanceResponse getAccountBalance(UUID accountId);
+
+    TransactionResponse transferFunds(TransferRequest request);
+    TransactionResponse deposit(TransactionRequest request);
+    TransactionResponse withdraw(TransactionRequest request);
+    List<TransactionResponse> getTransactionHistory(UUID accountId);
+
+    void prepare(TwoPhaseParticipant.Role role, TransferIntent intent);
+    void commit(UUID transactionId);
+    void abort(UUID transactionId);
+}
@@ -0,0 +1,61 @@
+package com.brainridge_banking.api.cluster;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * This node's view of the cluster: who owns an account and how to reach that node.
+ */
+public class ClusterRouter {
+    private final ConsistentHashRing ring;
+    private final String selfId;
+    private final ClusterTransport transport;
+
+    public ClusterRouter(ConsistentHashRing ring, String selfId, ClusterTransport transport) {
+        if (!ring.nodeIds().contains(selfId)) {
+            throw new IllegalArgumentException("Node " + selfId + " is not part of the cluster " + ring.nodeIds());
+        }
+        this.ring = ring;
+        this.selfId = selfId;
+        this.transport = transport;
+    }
+
+    public String selfId() {
+        return selfId;
+    }
+
+    public String ownerOf(UUID accountId) {
+        return ring.ownerOf(accountId);
+    }
+
+    public boolean isLocal(UUID accountId) {
+        return selfId.equals(ring.ownerOf(accountId));
+    }
+
+    public ClusterPeer peer(String nodeId) {
+        return transport.peer(nodeId);
+    }
+
+    public ClusterPeer peerFor(UUID accountId) {
+        return transport.peer(ring.ownerOf(accountId));
+    }
+
+    public List<String> remoteNodes() {
+        return ring.nodeIds().stream()
+                .filter(nodeId -> !nodeId.equals(selfId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Draws random ids until one hashes to this node, so new accounts are created where the
+     * request landed. Takes about as many draws as there are nodes.
+     */
+    public UUID newLocalAccountId() {
+        UUID accountId;
+        do {
+            accountId = UUID.randomUUID();
+        } while (!isLocal(accountId));
+        return accountId;
+    }
+}
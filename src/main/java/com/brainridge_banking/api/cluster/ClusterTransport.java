@@ -0,0 +1,9 @@
+package com.brainridge_banking.api.cluster;
+
+/**
+ * Resolves a node id to something that can call it. The HTTP transport talks to other
+ * instances; the loopback transport wires several nodes together inside one JVM.
+ */
+public interface ClusterTransport {
+    ClusterPeer peer(String nodeId);
+}
@@ -0,0 +1,86 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.AccountUpdateRequest;
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.service.AccountService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Routes account operations to the node that owns the account. New accounts are created
+ * on the node that received the request (their ids are drawn to hash there), and listing
+ * gathers every node's local accounts. Email uniqueness is enforced per node.
+ */
+public class ClusteredAccountService implements AccountService {
+    private final AccountService localService;
+    private final ClusterRouter router;
+
+    public ClusteredAccountService(AccountService localService, ClusterRouter router) {
+        this.localService = localService;
+        this.router = router;
+    }
+
+    @Override
+    public AccountResponse createAccount(AccountCreationRequest request) {
+        return localService.createAccount(request);
+    }
+
+    @Override
+    public AccountResponse getAccountById(UUID id) {
+        if (id == null || router.isLocal(id)) {
+            return localService.getAccountById(id);
+        }
+        return router.peerFor(id).getAccount(id);
+    }
+
+    @Override
+    public List<AccountResponse> getAllAccounts() {
+        List<AccountResponse> accounts = new ArrayList<>(localService.getAllAccounts());
+        for (String nodeId : router.remoteNodes()) {
+            accounts.addAll(router.peer(nodeId).getLocalAccounts());
+        }
+        return accounts;
+    }
+
+    @Override
+    public AccountResponse updateAccount(UUID id, AccountUpdateRequest request) {
+        return updateAccount(id, request, null);
+    }
+
+    @Override
+    public AccountResponse updateAccount(UUID id, AccountUpdateRequest request, Long expectedVersion) {
+        if (id == null || router.isLocal(id)) {
+            return localService.updateAccount(id, request, expectedVersion);
+        }
+        return router.peerFor(id).updateAccount(id, request, expectedVersion);
+    }
+
+    @Override
+    public void deleteAccount(UUID id) {
+        if (id == null || router.isLocal(id)) {
+            localService.deleteAccount(id);
+        } else {
+            router.peerFor(id).deleteAccount(id);
+        }
+    }
+
+    @Override
+    public AccountBalanceResponse getAccountBalance(UUID id) {
+        if (id == null || router.isLocal(id)) {
+            return localService.getAccountBalance(id);
+        }
+        return router.peerFor(id).getAccountBalance(id);
+    }
+
+    @Override
+    public long getAccountVersion(UUID id) {
+        if (id == null || router.isLocal(id)) {
+            return localService.getAccountVersion(id);
+        }
+        return router.peerFor(id).getAccountBalance(id).getVersion();
+    }
+}
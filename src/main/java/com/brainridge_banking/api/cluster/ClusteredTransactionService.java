@@ -0,0 +1,75 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.service.TransactionService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Routes transaction operations to the owning node. A transfer between two accounts on
+ * the same node runs there as a normal local transfer; a transfer across nodes goes
+ * through the {@link TransferCoordinator}. Invalid requests are handed to the local
+ * service so they fail with the usual validation messages.
+ */
+public class ClusteredTransactionService implements TransactionService {
+    private final TransactionService localService;
+    private final ClusterRouter router;
+    private final TransferCoordinator coordinator;
+
+    public ClusteredTransactionService(TransactionService localService, ClusterRouter router,
+                                       TransferCoordinator coordinator) {
+        this.localService = localService;
+        this.router = router;
+        this.coordinator = coordinator;
+    }
+
+    @Override
+    public TransactionResponse transferFunds(TransferRequest request) {
+        UUID fromAccountId = request.getFromAccountId();
+        UUID toAccountId = request.getToAccountId();
+        if (fromAccountId == null || toAccountId == null || fromAccountId.equals(toAccountId)
+                || request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return localService.transferFunds(request);
+        }
+
+        String debitNode = router.ownerOf(fromAccountId);
+        String creditNode = router.ownerOf(toAccountId);
+        if (!debitNode.equals(creditNode)) {
+            return coordinator.transfer(request, debitNode, creditNode);
+        }
+        if (debitNode.equals(router.selfId())) {
+            return localService.transferFunds(request);
+        }
+        return router.peer(debitNode).transferFunds(request);
+    }
+
+    @Override
+    public TransactionResponse deposit(TransactionRequest request) {
+        UUID accountId = request.getToAccountId();
+        if (accountId == null || router.isLocal(accountId)) {
+            return localService.deposit(request);
+        }
+        return router.peerFor(accountId).deposit(request);
+    }
+
+    @Override
+    public TransactionResponse withdraw(TransactionRequest request) {
+        UUID accountId = request.getToAccountId();
+        if (accountId == null || router.isLocal(accountId)) {
+            return localService.withdraw(request);
+        }
+        return router.peerFor(accountId).withdraw(request);
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactionHistory(UUID accountId) {
+        if (accountId == null || router.isLocal(accountId)) {
+            return localService.getTransactionHistory(accountId);
+        }
+        return router.peerFor(accountId).getTransactionHistory(accountId);
+    }
+}
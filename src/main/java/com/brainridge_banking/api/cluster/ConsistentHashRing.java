@@ -0,0 +1,53 @@
+package com.brainridge_banking.api.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Assigns accounts to nodes by consistent hashing. Each node is placed on the ring at
+ * {@code virtualNodes} points, so adding or removing a node only moves roughly 1/N of
+ * the accounts and load stays even with few nodes. Every node builds the same ring
+ * from the same configuration, so all nodes agree on ownership without coordination.
+ */
+public final class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodeIds;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("A cluster needs at least one node");
+        }
+        this.nodeIds = List.copyOf(nodeIds);
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    public String ownerOf(UUID accountId) {
+        long h = mix(accountId.getMostSignificantBits() ^ Long.rotateLeft(accountId.getLeastSignificantBits(), 32));
+        Map.Entry<Long, String> entry = ring.ceilingEntry(h);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> nodeIds() {
+        return nodeIds;
+    }
+
+    private static long hash(String key) {
+        // FNV-1a, then a finalizer so that similar keys land far apart
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,178 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.controller.ETags;
+import com.brainridge_banking.api.dto.request.AccountUpdateRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.exception.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Calls other nodes over their REST API. Forwarded requests hit the public endpoints,
+ * which the owning node serves locally; the transfer protocol uses the internal
+ * {@code /internal/cluster} endpoints. Error responses are turned back into the domain
+ * exception the remote node threw, so forwarding is transparent to API clients.
+ */
+public class HttpClusterTransport implements ClusterTransport {
+    private static final ParameterizedTypeReference<List<AccountResponse>> ACCOUNT_LIST = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<TransactionResponse>> TRANSACTION_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final Map<String, ClusterPeer> peers = new HashMap<>();
+
+    public HttpClusterTransport(Map<String, String> nodeUrls, String selfId, ClusterPeer localPeer,
+                                RestClient.Builder builder, ObjectMapper objectMapper) {
+        nodeUrls.forEach((nodeId, url) -> peers.put(nodeId, nodeId.equals(selfId)
+                ? localPeer
+                : new HttpClusterPeer(nodeId, builder.clone().baseUrl(url).build(), objectMapper)));
+    }
+
+    @Override
+    public ClusterPeer peer(String nodeId) {
+        ClusterPeer peer = peers.get(nodeId);
+        if (peer == null) {
+            throw new IllegalStateException("Unknown cluster node: " + nodeId);
+        }
+        return peer;
+    }
+
+    private static final class HttpClusterPeer implements ClusterPeer {
+        private final String nodeId;
+        private final RestClient client;
+        private final ObjectMapper objectMapper;
+
+        HttpClusterPeer(String nodeId, RestClient client, ObjectMapper objectMapper) {
+            this.nodeId = nodeId;
+            this.client = client;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public AccountResponse getAccount(UUID accountId) {
+            return client.get().uri("/api/accounts/{id}", accountId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(AccountResponse.class);
+        }
+
+        @Override
+        public List<AccountResponse> getLocalAccounts() {
+            return client.get().uri("/internal/cluster/accounts")
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(ACCOUNT_LIST);
+        }
+
+        @Override
+        public AccountResponse updateAccount(UUID accountId, AccountUpdateRequest request, Long expectedVersion) {
+            return client.put().uri("/api/accounts/{id}", accountId)
+                    .headers(headers -> {
+                        if (expectedVersion != null) {
+                            headers.setIfMatch(ETags.of(expectedVersion));
+                        }
+                    })
+                    .body(request)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(AccountResponse.class);
+        }
+
+        @Override
+        public void deleteAccount(UUID accountId) {
+            client.delete().uri("/api/accounts/{id}", accountId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).toBodilessEntity();
+        }
+
+        @Override
+        public AccountBalanceResponse getAccountBalance(UUID accountId) {
+            return client.get().uri("/api/accounts/{id}/balance", accountId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(AccountBalanceResponse.class);
+        }
+
+        @Override
+        public TransactionResponse transferFunds(TransferRequest request) {
+            return client.post().uri("/api/transactions/transfer").body(request)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(TransactionResponse.class);
+        }
+
+        @Override
+        public TransactionResponse deposit(TransactionRequest request) {
+            return client.post().uri("/api/transactions/deposit").body(request)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(TransactionResponse.class);
+        }
+
+        @Override
+        public TransactionResponse withdraw(TransactionRequest request) {
+            return client.post().uri("/api/transactions/withdraw").body(request)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(TransactionResponse.class);
+        }
+
+        @Override
+        public List<TransactionResponse> getTransactionHistory(UUID accountId) {
+            return client.get().uri("/api/transactions/history/{id}", accountId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).body(TRANSACTION_LIST);
+        }
+
+        @Override
+        public void prepare(TwoPhaseParticipant.Role role, TransferIntent intent) {
+            client.post().uri("/internal/cluster/transfers/{role}", role).body(intent)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).toBodilessEntity();
+        }
+
+        @Override
+        public void commit(UUID transactionId) {
+            client.post().uri("/internal/cluster/transfers/{id}/commit", transactionId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).toBodilessEntity();
+        }
+
+        @Override
+        public void abort(UUID transactionId) {
+            client.post().uri("/internal/cluster/transfers/{id}/abort", transactionId)
+                    .retrieve().onStatus(HttpStatusCode::isError, this::raise).toBodilessEntity();
+        }
+
+        private void raise(org.springframework.http.HttpRequest request, ClientHttpResponse response) throws IOException {
+            String error = null;
+            String message = "Node " + nodeId + " returned " + response.getStatusCode().value();
+            try {
+                JsonNode body = objectMapper.readTree(response.getBody());
+                if (body != null && body.hasNonNull("message")) {
+                    error = body.path("error").asText(null);
+                    message = body.get("message").asText();
+                }
+            } catch (IOException e) {
+                // Not one of our error bodies; fall through with the status-based message
+            }
+
+            if (ErrorTemplate.RESOURCE_NOT_FOUND.getError().equals(error)) {
+                throw new ResourceNotFoundException(message);
+            }
+            if (ErrorTemplate.INSUFFICIENT_FUNDS.getError().equals(error)) {
+                throw new InsufficientFundsException(message);
+            }
+            if (ErrorTemplate.DUPLICATE_EMAIL.getError().equals(error)) {
+                throw new DuplicateEmailException(message);
+            }
+            if (ErrorTemplate.INVALID_EMAIL.getError().equals(error)) {
+                throw new InvalidEmailException(message);
+            }
+            if (ErrorTemplate.PRECONDITION_FAILED.getError().equals(error)) {
+                throw new PreconditionFailedException(message);
+            }
+            if (ErrorTemplate.CONCURRENT_MODIFICATION.getError().equals(error)) {
+                throw new OptimisticLockingFailureException(message);
+            }
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.AccountUpdateRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.service.AccountService;
+import com.brainridge_banking.api.service.TransactionService;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves peer calls from this node's own storage, bypassing cluster routing.
+ */
+public class LocalClusterPeer implements ClusterPeer {
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final TwoPhaseParticipant participant;
+
+    public LocalClusterPeer(AccountService accountService, TransactionService transactionService,
+                            TwoPhaseParticipant participant) {
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.participant = participant;
+    }
+
+    @Override
+    public AccountResponse getAccount(UUID accountId) {
+        return accountService.getAccountById(accountId);
+    }
+
+    @Override
+    public List<AccountResponse> getLocalAccounts() {
+        return accountService.getAllAccounts();
+    }
+
+    @Override
+    public AccountResponse updateAccount(UUID accountId, AccountUpdateRequest request, Long expectedVersion) {
+        return accountService.updateAccount(accountId, request, expectedVersion);
+    }
+
+    @Override
+    public void deleteAccount(UUID accountId) {
+        accountService.deleteAccount(accountId);
+    }
+
+    @Override
+    public AccountBalanceResponse getAccountBalance(UUID accountId) {
+        return accountService.getAccountBalance(accountId);
+    }
+
+    @Override
+    public TransactionResponse transferFunds(TransferRequest request) {
+        return transactionService.transferFunds(request);
+    }
+
+    @Override
+    public TransactionResponse deposit(TransactionRequest request) {
+        return transactionService.deposit(request);
+    }
+
+    @Override
+    public TransactionResponse withdraw(TransactionRequest request) {
+        return transactionService.withdraw(request);
+    }
+
+    @Override
+    public List<TransactionResponse> getTransactionHistory(UUID accountId) {
+        return transactionService.getTransactionHistory(accountId);
+    }
+
+    @Override
+    public void prepare(TwoPhaseParticipant.Role role, TransferIntent intent) {
+        participant.prepare(role, intent);
+    }
+
+    @Override
+    public void commit(UUID transactionId) {
+        participant.commit(transactionId);
+    }
+
+    @Override
+    public void abort(UUID transactionId) {
+        participant.abort(transactionId);
+    }
+}
@@ -0,0 +1,25 @@
+package com.brainridge_banking.api.cluster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process transport: every node registers its local peer, and calls go straight to it.
+ * Lets a whole cluster run in a single JVM for tests and local experiments.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+    private final Map<String, ClusterPeer> peers = new ConcurrentHashMap<>();
+
+    public void register(String nodeId, ClusterPeer peer) {
+        peers.put(nodeId, peer);
+    }
+
+    @Override
+    public ClusterPeer peer(String nodeId) {
+        ClusterPeer peer = peers.get(nodeId);
+        if (peer == null) {
+            throw new IllegalStateException("Unknown cluster node: " + nodeId);
+        }
+        return peer;
+    }
+}
@@ -0,0 +1,164 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates transfers whose accounts live on different nodes with two-phase commit:
+ * the debit and credit nodes prepare, the decision is forced to the coordinator log, and
+ * the outcome is then delivered to both. Once the commit decision is logged the transfer
+ * is reported as done; if a participant cannot be reached the outcome is retried in the
+ * background until both acknowledge. On restart, transfers with no logged decision are
+ * aborted (presumed abort) and decided-but-unfinished ones are re-driven.
+ */
+public class TransferCoordinator {
+    private static final Logger log = LoggerFactory.getLogger(TransferCoordinator.class);
+
+    private final ClusterTransport transport;
+    private final TwoPhaseLog transferLog;
+    private final long retryIntervalMs;
+    private final Map<UUID, Outcome> unfinished = new ConcurrentHashMap<>();
+    private ScheduledExecutorService retrier;
+
+    public TransferCoordinator(ClusterTransport transport, TwoPhaseLog transferLog, long retryIntervalMs) {
+        this.transport = transport;
+        this.transferLog = transferLog;
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    /**
+     * Recovers from the log and starts delivering unfinished outcomes in the background.
+     */
+    public void start() {
+        recover();
+        if (retryIntervalMs > 0) {
+            retrier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "cluster-transfer-recovery");
+                thread.setDaemon(true);
+                return thread;
+            });
+            retrier.scheduleWithFixedDelay(this::retryUnfinished, 0, retryIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        if (retrier != null) {
+            retrier.shutdownNow();
+        }
+    }
+
+    public TransactionResponse transfer(TransferRequest request, String debitNode, String creditNode) {
+        TransferIntent intent = new TransferIntent(UUID.randomUUID(), request.getFromAccountId(),
+                request.getToAccountId(), request.getAmount(), LocalDateTime.now());
+        UUID transactionId = intent.getTransactionId();
+        transferLog.append("BEGIN|" + debitNode + "|" + creditNode + "|" + intent.encode());
+
+        // Phase one: reserve on the debit node, validate on the credit node
+        try {
+            transport.peer(debitNode).prepare(TwoPhaseParticipant.Role.DEBIT, intent);
+            transport.peer(creditNode).prepare(TwoPhaseParticipant.Role.CREDIT, intent);
+        } catch (RuntimeException e) {
+            transferLog.append("ABORT|" + transactionId);
+            deliver(transactionId, new Outcome(debitNode, creditNode, false));
+            throw e;
+        }
+
+        // Phase two: the logged decision is the commit point
+        transferLog.append("COMMIT|" + transactionId);
+        deliver(transactionId, new Outcome(debitNode, creditNode, true));
+
+        return mapToTransactionResponse(intent);
+    }
+
+    /**
+     * Replays the log: undecided transfers are aborted, decided ones without an end record
+     * are queued for delivery. The log is then compacted to the still-open transfers.
+     */
+    public void recover() {
+        Map<UUID, String[]> begun = new LinkedHashMap<>();
+        Map<UUID, Boolean> decisions = new HashMap<>();
+        for (String[] record : transferLog.readAll()) {
+            try {
+                UUID transactionId = UUID.fromString(record[0].equals("BEGIN") ? record[3] : record[1]);
+                switch (record[0]) {
+                    case "BEGIN" -> begun.put(transactionId, record);
+                    case "COMMIT" -> decisions.put(transactionId, true);
+                    case "ABORT" -> decisions.put(transactionId, false);
+                    case "END" -> {
+                        begun.remove(transactionId);
+                        decisions.remove(transactionId);
+                    }
+                    default -> log.warn("Skipping unknown transfer log record {}", record[0]);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable transfer log record {}", String.join("|", record));
+            }
+        }
+
+        List<String> retained = new ArrayList<>();
+        for (Map.Entry<UUID, String[]> entry : begun.entrySet()) {
+            String[] record = entry.getValue();
+            boolean commit = decisions.getOrDefault(entry.getKey(), false);
+            retained.add(String.join("|", record));
+            retained.add((commit ? "COMMIT|" : "ABORT|") + entry.getKey());
+            unfinished.put(entry.getKey(), new Outcome(record[1], record[2], commit));
+        }
+        transferLog.compact(retained);
+        if (!unfinished.isEmpty()) {
+            log.info("Recovered {} cross-node transfers with undelivered outcomes", unfinished.size());
+        }
+    }
+
+    /**
+     * Tries to deliver every outcome that has not been acknowledged by both participants.
+     */
+    public void retryUnfinished() {
+        unfinished.forEach(this::deliver);
+    }
+
+    public int unfinishedCount() {
+        return unfinished.size();
+    }
+
+    private void deliver(UUID transactionId, Outcome outcome) {
+        try {
+            for (String node : List.of(outcome.debitNode, outcome.creditNode)) {
+                if (outcome.commit) {
+                    transport.peer(node).commit(transactionId);
+                } else {
+                    transport.peer(node).abort(transactionId);
+                }
+            }
+            transferLog.append("END|" + transactionId);
+            unfinished.remove(transactionId);
+        } catch (RuntimeException e) {
+            log.warn("Could not deliver {} for transfer {}, will retry", outcome.commit ? "commit" : "abort",
+                    transactionId, e);
+            unfinished.put(transactionId, outcome);
+        }
+    }
+
+    private TransactionResponse mapToTransactionResponse(TransferIntent intent) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(intent.getTransactionId());
+        response.setFromAccountId(intent.getFromAccountId());
+        response.setToAccountId(intent.getToAccountId());
+        response.setAmount(intent.getAmount());
+        response.setTimestamp(intent.getTimestamp());
+        response.setType(TransactionType.TRANSFER);
+        return response;
+    }
+
+    private record Outcome(String debitNode, String creditNode, boolean commit) {
+    }
+}
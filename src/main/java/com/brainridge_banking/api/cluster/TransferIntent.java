@@ -0,0 +1,84 @@
+package com.brainridge_banking.api.cluster;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A cross-node transfer as agreed by coordinator and participants. The transaction id
+ * doubles as the two-phase protocol id, and the same {@code Transaction} record is
+ * written on both nodes when the transfer commits.
+ */
+public class TransferIntent {
+    private UUID transactionId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+    private LocalDateTime timestamp;
+
+    public TransferIntent() {
+    }
+
+    public TransferIntent(UUID transactionId, UUID fromAccountId, UUID toAccountId, BigDecimal amount, LocalDateTime timestamp) {
+        this.transactionId = transactionId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.timestamp = timestamp;
+    }
+
+    // Getters
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    // Setters
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    String encode() {
+        return transactionId + "|" + fromAccountId + "|" + toAccountId + "|" + amount.toPlainString() + "|" + timestamp;
+    }
+
+    static TransferIntent decode(String[] fields, int offset) {
+        return new TransferIntent(
+                UUID.fromString(fields[offset]),
+                UUID.fromString(fields[offset + 1]),
+                UUID.fromString(fields[offset + 2]),
+                new BigDecimal(fields[offset + 3]),
+                LocalDateTime.parse(fields[offset + 4]));
+    }
+}
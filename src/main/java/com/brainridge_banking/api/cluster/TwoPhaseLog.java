@@ -0,0 +1,109 @@
+package com.brainridge_banking.api.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only record log for the transfer protocol, one pipe-separated record per line.
+ * Every append is forced to disk before it returns, so a decision that was acknowledged
+ * survives a crash. {@link #compact(List)} rewrites the file with only the records that
+ * recovery still needs.
+ */
+public class TwoPhaseLog implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TwoPhaseLog.class);
+
+    private final Path path;
+    private FileChannel channel;
+
+    public TwoPhaseLog(Path path) {
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open transfer log " + path, e);
+        }
+    }
+
+    public synchronized void append(String record) {
+        ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write transfer log " + path, e);
+        }
+    }
+
+    /**
+     * Reads every record, split into fields. A torn last line from a crash mid-append is skipped
+     * and cut off the file, so the next append starts on a line of its own.
+     */
+    public synchronized List<String[]> readAll() {
+        try {
+            byte[] content = Files.readAllBytes(path);
+            int end = content.length;
+            while (end > 0 && content[end - 1] != '\n') {
+                end--;
+            }
+            if (end < content.length) {
+                log.warn("Dropping torn record at the end of transfer log {}", path);
+                channel.truncate(end);
+                channel.force(false);
+            }
+            List<String[]> records = new ArrayList<>();
+            for (String line : new String(content, 0, end, StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    records.add(line.split("\\|"));
+                }
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read transfer log " + path, e);
+        }
+    }
+
+    public synchronized void compact(List<String> records) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            channel.close();
+            Files.write(tmp, records, StandardCharsets.UTF_8);
+            try (FileChannel written = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                written.force(true);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact transfer log " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
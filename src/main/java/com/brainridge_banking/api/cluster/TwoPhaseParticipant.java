@@ -0,0 +1,236 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountLock;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Participant side of a cross-node transfer. Preparing the debit reserves the funds by
+ * taking them off the source balance; preparing the credit only checks that the
+ * destination exists. Commit applies the credit and records the transfer, abort returns
+ * a reserved debit. Commit and abort are idempotent so the coordinator can re-drive them
+ * after a failure or a crash, and prepared-but-undecided transfers are reloaded from the log on
+ * restart. The balance change is logged with the account version it is applied against, so a
+ * retry, or recovery, applies it at most once; the transfer record is written only if it is not
+ * already in the account's history.
+ */
+public class TwoPhaseParticipant {
+    private static final Logger log = LoggerFactory.getLogger(TwoPhaseParticipant.class);
+
+    public enum Role {
+        DEBIT, CREDIT
+    }
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TwoPhaseLog transferLog;
+    private final Map<UUID, Reservation> pending = new ConcurrentHashMap<>();
+
+    public TwoPhaseParticipant(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                               TwoPhaseLog transferLog) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transferLog = transferLog;
+    }
+
+    public void prepare(Role role, TransferIntent intent) {
+        UUID accountId = role == Role.DEBIT ? intent.getFromAccountId() : intent.getToAccountId();
+        try (AccountLock lock = accountRepository.lock(accountId)) {
+            // A retried prepare for a transfer we already hold is a no-op
+            if (pending.containsKey(intent.getTransactionId())) {
+                return;
+            }
+
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException((role == Role.DEBIT ? "Source" : "Destination") +
+                            " account not found with id: " + accountId));
+
+            // Check if sufficient funds
+            if (role == Role.DEBIT && account.getAccountBalance().compareTo(intent.getAmount()) < 0) {
+                throw new InsufficientFundsException("Insufficient funds in account: " + accountId);
+            }
+
+            // Logged before the funds are reserved, with the account version they are reserved
+            // against, so recovery can tell whether the debit reached storage
+            transferLog.append("PREPARED|" + role + "|" + intent.encode() + "|" + account.getVersion());
+            if (role == Role.DEBIT) {
+                account.setAccountBalance(account.getAccountBalance().subtract(intent.getAmount()));
+                try {
+                    accountRepository.save(account);
+                } catch (RuntimeException e) {
+                    transferLog.append("ABORTED|" + intent.getTransactionId());
+                    throw e;
+                }
+            }
+            pending.put(intent.getTransactionId(), new Reservation(role, intent, false));
+        }
+    }
+
+    public void commit(UUID transactionId) {
+        // Claimed before anything is applied, so a retry racing the original call finds nothing
+        Reservation reservation = pending.remove(transactionId);
+        if (reservation == null) {
+            return;
+        }
+        boolean applied = reservation.applied;
+        try {
+            TransferIntent intent = reservation.intent;
+            if (reservation.role == Role.CREDIT && !applied) {
+                applied = apply(transactionId, intent.getToAccountId(), intent);
+            }
+
+            // Both nodes record the transfer so each side's history includes it
+            if (!recorded(reservation)) {
+                Transaction transaction = new Transaction(intent.getFromAccountId(), intent.getToAccountId(),
+                        intent.getAmount(), TransactionType.TRANSFER);
+                transaction.setId(intent.getTransactionId());
+                transaction.setTimestamp(intent.getTimestamp());
+                transactionRepository.save(transaction);
+            }
+
+            transferLog.append("COMMITTED|" + transactionId);
+        } catch (RuntimeException e) {
+            // Released again so the coordinator's next delivery retries what is left of it
+            pending.putIfAbsent(transactionId, new Reservation(reservation.role, reservation.intent, applied));
+            throw e;
+        }
+    }
+
+    public void abort(UUID transactionId) {
+        Reservation reservation = pending.remove(transactionId);
+        if (reservation == null) {
+            return;
+        }
+        boolean applied = reservation.applied;
+        try {
+            TransferIntent intent = reservation.intent;
+            if (reservation.role == Role.DEBIT && !applied) {
+                // Return the reserved funds
+                applied = apply(transactionId, intent.getFromAccountId(), intent);
+            }
+            transferLog.append("ABORTED|" + transactionId);
+        } catch (RuntimeException e) {
+            pending.putIfAbsent(transactionId, new Reservation(reservation.role, reservation.intent, applied));
+            throw e;
+        }
+    }
+
+    // Credits the amount to the account: the destination on commit, the source on abort
+    private boolean apply(UUID transactionId, UUID accountId, TransferIntent intent) {
+        try (AccountLock lock = accountRepository.lock(accountId)) {
+            Optional<Account> account = accountRepository.findById(accountId);
+            if (account.isEmpty()) {
+                log.warn("Account {} disappeared before transfer {} was applied", accountId, transactionId);
+                return true;
+            }
+            // Logged before the save, like the reservation, so recovery can tell whether it reached storage
+            transferLog.append("APPLYING|" + transactionId + "|" + account.get().getVersion());
+            account.get().setAccountBalance(account.get().getAccountBalance().add(intent.getAmount()));
+            accountRepository.save(account.get());
+            return true;
+        }
+    }
+
+    // Transactions have no lookup by id, so look for the transfer in its own account's history around its timestamp
+    private boolean recorded(Reservation reservation) {
+        TransferIntent intent = reservation.intent;
+        UUID accountId = reservation.role == Role.DEBIT ? intent.getFromAccountId() : intent.getToAccountId();
+        LocalDateTime at = intent.getTimestamp();
+        return transactionRepository.findByAccountIdBetween(accountId, at.minusSeconds(1), at.plusSeconds(1)).stream()
+                .anyMatch(transaction -> intent.getTransactionId().equals(transaction.getId()));
+    }
+
+    /**
+     * Reloads prepared transfers that have no outcome yet, so the coordinator's commit or
+     * abort finds them after a restart, and drops finished ones from the log. A debit that was
+     * logged but never saved (the account is still at the logged version) is reserved again, and
+     * a credit or refund is treated as applied only if the account moved past the version it was
+     * logged against. Unreadable records are skipped.
+     */
+    public void recover() {
+        Map<UUID, String[]> prepared = new LinkedHashMap<>();
+        Map<UUID, Long> applying = new HashMap<>();
+        for (String[] record : transferLog.readAll()) {
+            try {
+                switch (record[0]) {
+                    case "PREPARED" -> prepared.put(UUID.fromString(record[2]), record);
+                    case "APPLYING" -> applying.put(UUID.fromString(record[1]), Long.parseLong(record[2]));
+                    case "COMMITTED", "ABORTED" -> {
+                        UUID transactionId = UUID.fromString(record[1]);
+                        prepared.remove(transactionId);
+                        applying.remove(transactionId);
+                    }
+                    default -> log.warn("Skipping unknown transfer log record {}", record[0]);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable transfer log record {}", String.join("|", record));
+            }
+        }
+
+        List<String> retained = new ArrayList<>(prepared.size());
+        int recovered = 0;
+        for (String[] record : prepared.values()) {
+            try {
+                Role role = Role.valueOf(record[1]);
+                TransferIntent intent = TransferIntent.decode(record, 2);
+                if (role == Role.DEBIT && record.length > 7) {
+                    reserveIfMissing(intent, Long.parseLong(record[7]));
+                }
+                Long appliedAgainst = applying.get(intent.getTransactionId());
+                boolean applied = appliedAgainst != null && movedPast(role == Role.DEBIT
+                        ? intent.getFromAccountId() : intent.getToAccountId(), appliedAgainst);
+                pending.put(intent.getTransactionId(), new Reservation(role, intent, applied));
+                recovered++;
+                retained.add(String.join("|", record));
+                // An unapplied change's version is dropped, since later writes would make it look applied
+                if (applied) {
+                    retained.add("APPLYING|" + intent.getTransactionId() + "|" + appliedAgainst);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping unreadable transfer log record {}", String.join("|", record));
+            }
+        }
+        transferLog.compact(retained);
+        if (recovered > 0) {
+            log.info("Recovered {} prepared transfers awaiting a decision", recovered);
+        }
+    }
+
+    // Every save bumps the version, and nothing else writes the account before recovery has run
+    private void reserveIfMissing(TransferIntent intent, long loggedVersion) {
+        try (AccountLock lock = accountRepository.lock(intent.getFromAccountId())) {
+            accountRepository.findById(intent.getFromAccountId())
+                    .filter(account -> account.getVersion() == loggedVersion)
+                    .ifPresent(account -> {
+                        log.info("Reserving funds for transfer {} again: the debit never reached storage",
+                                intent.getTransactionId());
+                        account.setAccountBalance(account.getAccountBalance().subtract(intent.getAmount()));
+                        accountRepository.save(account);
+                    });
+        }
+    }
+
+    private boolean movedPast(UUID accountId, long loggedVersion) {
+        return accountRepository.findById(accountId)
+                .map(account -> account.getVersion() != loggedVersion)
+                .orElse(false);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private record Reservation(Role role, TransferIntent intent, boolean applied) {
+    }
+}
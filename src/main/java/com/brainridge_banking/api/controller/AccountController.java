@@ -6,6 +6,7 @@ import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
 import com.brainridge_banking.api.dto.response.AccountResponse;
 import com.brainridge_banking.api.service.AccountService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,13 +28,20 @@ public class AccountController {
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@RequestBody AccountCreationRequest request) {
         AccountResponse response = accountService.createAccount(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(response.getVersion())).body(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID id) {
+    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = accountService.getAccountVersion(id);
+            if (ETags.noneMatch(ifNoneMatch, version)) {
+                return notModified(version);
+            }
+        }
         AccountResponse response = accountService.getAccountById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
     }
 
     @GetMapping
@@ -43,9 +51,13 @@ public class AccountController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<AccountResponse> updateAccount(@PathVariable UUID id, @RequestBody AccountUpdateRequest request) {
-        AccountResponse response = accountService.updateAccount(id, request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<AccountResponse> updateAccount(@PathVariable UUID id, @RequestBody AccountUpdateRequest request,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ifMatch == null ? null : ETags.expectedVersion(ifMatch);
+        AccountResponse response = expectedVersion == null
+                ? accountService.updateAccount(id, request)
+                : accountService.updateAccount(id, request, expectedVersion);
+        return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -55,8 +67,20 @@ public class AccountController {
     }
 
     @GetMapping("/{id}/balance")
-    public ResponseEntity<AccountBalanceResponse> getAccountBalance(@PathVariable UUID id) {
+    public ResponseEntity<AccountBalanceResponse> getAccountBalance(@PathVariable UUID id,
+                                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long version = accountService.getAccountVersion(id);
+            if (ETags.noneMatch(ifNoneMatch, version)) {
+                return notModified(version);
+            }
+        }
         AccountBalanceResponse response = accountService.getAccountBalance(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(response.getVersion())).body(response);
+    }
+
+    // Answered from the version alone: no response object is built and nothing is serialized
+    private static <T> ResponseEntity<T> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.brainridge_banking.api.controller;
+
+import com.brainridge_banking.api.dto.response.AccountVolumeResponse;
+import com.brainridge_banking.api.dto.response.AnalyticsResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.dto.response.TransactionTypeSummaryResponse;
+import com.brainridge_banking.api.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    @Autowired
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    @GetMapping("/top-accounts")
+    public ResponseEntity<AnalyticsResponse<AccountVolumeResponse>> getTopAccountsByVolume(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analyticsService.getTopAccountsByVolume(limit, from, to));
+    }
+
+    @GetMapping("/largest-transfers")
+    public ResponseEntity<AnalyticsResponse<TransactionResponse>> getLargestTransfers(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analyticsService.getLargestTransfers(limit, from, to));
+    }
+
+    @GetMapping("/type-breakdown")
+    public ResponseEntity<AnalyticsResponse<TransactionTypeSummaryResponse>> getTypeBreakdown(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(analyticsService.getTypeBreakdown(from, to));
+    }
+}
@@ -0,0 +1,72 @@
+package com.brainridge_banking.api.controller;
+
+import com.brainridge_banking.api.async.AsyncTransactionPipeline;
+import com.brainridge_banking.api.async.Submission;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.SubmissionStatusResponse;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Asynchronous variants of the transaction endpoints. Each returns 202 Accepted as soon as the
+ * submission is durably journaled; the outcome is polled from the status endpoint.
+ */
+@RestController
+@RequestMapping("/api/transactions")
+@ConditionalOnExpression("${banking.async.enabled:false} and !${banking.cluster.enabled:false}")
+public class AsyncTransactionController {
+
+    private final AsyncTransactionPipeline pipeline;
+
+    @Autowired
+    public AsyncTransactionController(AsyncTransactionPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @PostMapping("/async/transfer")
+    public ResponseEntity<SubmissionStatusResponse> submitTransfer(@RequestBody TransferRequest request) {
+        return accepted(pipeline.submitTransfer(request));
+    }
+
+    @PostMapping("/async/deposit")
+    public ResponseEntity<SubmissionStatusResponse> submitDeposit(@RequestBody TransactionRequest request) {
+        return accepted(pipeline.submitDeposit(request));
+    }
+
+    @PostMapping("/async/withdraw")
+    public ResponseEntity<SubmissionStatusResponse> submitWithdrawal(@RequestBody TransactionRequest request) {
+        return accepted(pipeline.submitWithdrawal(request));
+    }
+
+    @GetMapping("/{transactionId}/status")
+    public ResponseEntity<SubmissionStatusResponse> getStatus(@PathVariable UUID transactionId) {
+        Submission submission = pipeline.find(transactionId)
+                .orElseThrow(() -> new ResourceNotFoundException("No async submission found with id: " + transactionId));
+        return ResponseEntity.ok(mapToStatusResponse(submission));
+    }
+
+    private ResponseEntity<SubmissionStatusResponse> accepted(Submission submission) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/" + submission.getId() + "/status"))
+                .body(mapToStatusResponse(submission));
+    }
+
+    private static SubmissionStatusResponse mapToStatusResponse(Submission submission) {
+        SubmissionStatusResponse response = new SubmissionStatusResponse();
+        response.setTransactionId(submission.getId());
+        response.setType(submission.getType());
+        response.setAmount(submission.getAmount());
+        response.setStatus(submission.getStatus());
+        response.setMessage(submission.getMessage());
+        response.setSubmittedAt(submission.getSubmittedAt());
+        response.setCompletedAt(submission.getCompletedAt());
+        return response;
+    }
+}
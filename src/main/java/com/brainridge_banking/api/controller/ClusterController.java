@@ -0,0 +1,52 @@
+package com.brainridge_banking.api.controller;
+
+import com.brainridge_banking.api.cluster.LocalClusterPeer;
+import com.brainridge_banking.api.cluster.TransferIntent;
+import com.brainridge_banking.api.cluster.TwoPhaseParticipant;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Node-to-node endpoints used in cluster mode. Not meant for API clients.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@ConditionalOnProperty(name = "banking.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private final LocalClusterPeer localPeer;
+
+    @Autowired
+    public ClusterController(LocalClusterPeer localPeer) {
+        this.localPeer = localPeer;
+    }
+
+    @GetMapping("/accounts")
+    public ResponseEntity<List<AccountResponse>> getLocalAccounts() {
+        return ResponseEntity.ok(localPeer.getLocalAccounts());
+    }
+
+    @PostMapping("/transfers/{role}")
+    public ResponseEntity<Void> prepare(@PathVariable TwoPhaseParticipant.Role role, @RequestBody TransferIntent intent) {
+        localPeer.prepare(role, intent);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/transfers/{id}/commit")
+    public ResponseEntity<Void> commit(@PathVariable UUID id) {
+        localPeer.commit(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/transfers/{id}/abort")
+    public ResponseEntity<Void> abort(@PathVariable UUID id) {
+        localPeer.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.brainridge_banking.api.controller;
+
+/**
+ * Entity tags for accounts. The tag is the account's version as a strong ETag ({@code "7"}), so
+ * a conditional request is answered by comparing one number, without building a response.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header lists the current version (or is {@code *}). This
+     * uses the weak comparison, as RFC 9110 requires for If-None-Match.
+     */
+    public static boolean noneMatch(String ifNoneMatch, long version) {
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or null for {@code *} (any version). A
+     * header that is not a single strong tag of ours yields -1, which no account is ever at,
+     * so the update fails with 412 as the strong comparison demands.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        if (tag.length() > 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // Not one of our tags
+            }
+        }
+        return -1L;
+    }
+}
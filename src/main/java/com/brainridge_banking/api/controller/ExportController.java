@@ -0,0 +1,45 @@
+package com.brainridge_banking.api.controller;
+
+import com.brainridge_banking.api.service.BulkFormat;
+import com.brainridge_banking.api.service.ExportService;
+import com.brainridge_banking.api.service.TransactionExport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+/**
+ * Streams transaction history as NDJSON (default) or CSV, for one account or, without
+ * {@code accountId}, for the whole ledger. The body is written on the MVC async executor.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam(required = false) UUID accountId,
+                                                                    @RequestParam(defaultValue = "ndjson") String format) {
+        BulkFormat bulkFormat = BulkFormat.parse(format);
+        TransactionExport export = exportService.exportTransactions(accountId, bulkFormat);
+        String fileName = "transactions" + (accountId != null ? "-" + accountId : "")
+                + (bulkFormat == BulkFormat.CSV ? ".csv" : ".ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(bulkFormat == BulkFormat.CSV ? new MediaType("text", "csv") : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(export::writeTo);
+    }
+}
@@ -0,0 +1,35 @@
+package com.brainridge_banking.api.controller;
+
+import com.brainridge_banking.api.dto.response.ImportResponse;
+import com.brainridge_banking.api.service.BulkFormat;
+import com.brainridge_banking.api.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Bulk loads from a request body streamed as NDJSON (default) or CSV with a header row.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Autowired
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/accounts")
+    public ResponseEntity<ImportResponse> importAccounts(@RequestParam(defaultValue = "ndjson") String format, InputStream body) {
+        return ResponseEntity.ok(importService.importAccounts(body, BulkFormat.parse(format)));
+    }
+
+    @PostMapping("/transactions")
+    public ResponseEntity<ImportResponse> importTransactions(@RequestParam(defaultValue = "ndjson") String format, InputStream body) {
+        return ResponseEntity.ok(importService.importTransactions(body, BulkFormat.parse(format)));
+    }
+}
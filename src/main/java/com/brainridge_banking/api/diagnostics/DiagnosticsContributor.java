@@ -0,0 +1,18 @@
+package com.brainridge_banking.api.diagnostics;
+
+import java.util.Map;
+
+/**
+ * A component that reports its queues and counters to the diagnostics endpoint. Reports are
+ * built from state the component already keeps and must not block on its locks, since the
+ * endpoint is meant to be scraped every few seconds under load.
+ */
+public interface DiagnosticsContributor {
+
+    /**
+     * Name of the component's section in the report.
+     */
+    String diagnosticsSection();
+
+    Map<String, Object> diagnostics();
+}
@@ -7,6 +7,7 @@ public class AccountCreationRequest {
     private String accountName;
     private String accountEmail;
     private BigDecimal initialBalance;
+    private String tier;
 
     // Getters
     public String getAccountName() {
@@ -21,6 +22,10 @@ public class AccountCreationRequest {
         return initialBalance;
     }
 
+    public String getTier() {
+        return tier;
+    }
+
     // Setters
     public void setAccountName(String accountName) {
         this.accountName = accountName;
@@ -34,4 +39,7 @@ public class AccountCreationRequest {
         this.initialBalance = initialBalance;
     }
 
-}
\ No newline at end of file
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+}
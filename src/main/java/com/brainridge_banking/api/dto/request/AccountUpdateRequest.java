@@ -3,6 +3,7 @@ package com.brainridge_banking.api.dto.request;
 public class AccountUpdateRequest {
     private String accountName;
     private String accountEmail;
+    private String tier;
 
     // Getters
     public String getAccountName() {
@@ -13,6 +14,10 @@ public class AccountUpdateRequest {
         return accountEmail;
     }
 
+    public String getTier() {
+        return tier;
+    }
+
     // Setters
     public void setAccountName(String accountName) {
         this.accountName = accountName;
@@ -21,4 +26,8 @@ public class AccountUpdateRequest {
     public void setAccountEmail(String accountEmail) {
         this.accountEmail = accountEmail;
     }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
 }
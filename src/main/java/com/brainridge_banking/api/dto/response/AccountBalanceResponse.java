@@ -6,6 +6,7 @@ import java.util.UUID;
 public class AccountBalanceResponse {
     private UUID accountId;
     private BigDecimal balance;
+    private long version;
 
     // Getters
     public UUID getAccountId() {
@@ -16,6 +17,10 @@ public class AccountBalanceResponse {
         return balance;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     // Setters
     public void setAccountId(UUID accountId) {
         this.accountId = accountId;
@@ -24,4 +29,8 @@ public class AccountBalanceResponse {
     public void setBalance(BigDecimal balance) {
         this.balance = balance;
     }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
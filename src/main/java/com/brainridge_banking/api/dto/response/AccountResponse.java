@@ -11,6 +11,8 @@ public class AccountResponse {
     private String accountEmail;
     private BigDecimal accountBalance;
     private LocalDateTime createdAt;
+    private String tier;
+    private long version;
 
     // Getters
     public UUID getAccountId() {
@@ -33,6 +35,14 @@ public class AccountResponse {
         return createdAt;
     }
 
+    public String getTier() {
+        return tier;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     // Setters
     public void setAccountId(UUID accountId) {
         this.accountId = accountId;
@@ -53,4 +63,12 @@ public class AccountResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,36 @@
+package com.brainridge_banking.api.dto.response;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class AccountVolumeResponse {
+    private UUID accountId;
+    private long transactionCount;
+    private BigDecimal totalVolume;
+
+    // Getters
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public BigDecimal getTotalVolume() {
+        return totalVolume;
+    }
+
+    // Setters
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public void setTotalVolume(BigDecimal totalVolume) {
+        this.totalVolume = totalVolume;
+    }
+}
@@ -0,0 +1,35 @@
+package com.brainridge_banking.api.dto.response;
+
+import java.util.List;
+
+public class AnalyticsResponse<T> {
+    private long rowsScanned;
+    private boolean truncated;
+    private List<T> results;
+
+    // Getters
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    // Setters
+    public void setRowsScanned(long rowsScanned) {
+        this.rowsScanned = rowsScanned;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public void setResults(List<T> results) {
+        this.results = results;
+    }
+}
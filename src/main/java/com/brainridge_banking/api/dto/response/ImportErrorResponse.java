@@ -0,0 +1,32 @@
+package com.brainridge_banking.api.dto.response;
+
+public class ImportErrorResponse {
+    private long line;
+    private String message;
+
+    public ImportErrorResponse() {
+    }
+
+    public ImportErrorResponse(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    // Setters
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,71 @@
+package com.brainridge_banking.api.dto.response;
+
+import java.util.List;
+
+public class ImportResponse {
+    private String kind;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<ImportErrorResponse> errors;
+    private boolean errorsTruncated;
+    private long elapsedMs;
+
+    // Getters
+    public String getKind() {
+        return kind;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public List<ImportErrorResponse> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    // Setters
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public void setErrors(List<ImportErrorResponse> errors) {
+        this.errors = errors;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+}
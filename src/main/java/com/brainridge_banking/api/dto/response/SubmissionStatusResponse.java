@@ -0,0 +1,76 @@
+package com.brainridge_banking.api.dto.response;
+
+import com.brainridge_banking.api.async.Submission;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class SubmissionStatusResponse {
+    private UUID transactionId;
+    private TransactionType type;
+    private BigDecimal amount;
+    private Submission.Status status;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+    // Getters
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Submission.Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    // Setters
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public void setStatus(Submission.Status status) {
+        this.status = status;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
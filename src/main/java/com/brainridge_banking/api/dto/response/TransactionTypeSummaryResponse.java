@@ -0,0 +1,37 @@
+package com.brainridge_banking.api.dto.response;
+
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+
+import java.math.BigDecimal;
+
+public class TransactionTypeSummaryResponse {
+    private TransactionType type;
+    private long count;
+    private BigDecimal totalAmount;
+
+    // Getters
+    public TransactionType getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    // Setters
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,13 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Base class for exceptions thrown on ordinary business paths (unknown account,
+ * insufficient funds, rejected input). These are expected outcomes rather than bugs,
+ * so the stack trace is never captured and the exception cannot carry suppressed
+ * exceptions, which makes throwing one roughly as cheap as allocating it.
+ */
+public abstract class BusinessException extends RuntimeException {
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+}
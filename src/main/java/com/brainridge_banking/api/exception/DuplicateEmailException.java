@@ -1,6 +1,6 @@
 package com.brainridge_banking.api.exception;
 
-public class DuplicateEmailException extends RuntimeException {
+public class DuplicateEmailException extends BusinessException {
     public DuplicateEmailException(String message) {
         super(message);
     }
@@ -0,0 +1,86 @@
+package com.brainridge_banking.api.exception;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable four-field error body (timestamp, status, error, message) that serializes
+ * exactly like the {@code LinkedHashMap} it replaces, without allocating hash nodes.
+ */
+public final class ErrorBody extends AbstractMap<String, Object> {
+    private static final String[] KEYS = {"timestamp", "status", "error", "message"};
+
+    private final LocalDateTime timestamp;
+    private final ErrorTemplate template;
+    private final String message;
+
+    ErrorBody(LocalDateTime timestamp, ErrorTemplate template, String message) {
+        this.timestamp = timestamp;
+        this.template = template;
+        this.message = message;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String name) {
+            switch (name) {
+                case "timestamp":
+                    return timestamp;
+                case "status":
+                    return template.getStatusValue();
+                case "error":
+                    return template.getError();
+                case "message":
+                    return message;
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return "timestamp".equals(key) || "status".equals(key) || "error".equals(key) || "message".equals(key);
+    }
+
+    @Override
+    public int size() {
+        return KEYS.length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < KEYS.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (index >= KEYS.length) {
+                            throw new NoSuchElementException();
+                        }
+                        String key = KEYS[index++];
+                        return new SimpleImmutableEntry<>(key, get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return KEYS.length;
+            }
+        };
+    }
+}
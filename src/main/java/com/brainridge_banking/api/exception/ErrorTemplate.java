@@ -0,0 +1,62 @@
+package com.brainridge_banking.api.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pre-built error responses. The status, its numeric value and the error title are
+ * resolved once per template, so producing an error response only allocates the
+ * compact {@link ErrorBody} and the {@link ResponseEntity} wrapping it.
+ */
+public enum ErrorTemplate {
+    RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "Resource Not Found"),
+    INSUFFICIENT_FUNDS(HttpStatus.BAD_REQUEST, "Insufficient Funds"),
+    DUPLICATE_EMAIL(HttpStatus.CONFLICT, "Duplicate Email"),
+    INVALID_EMAIL(HttpStatus.BAD_REQUEST, "Invalid Email"),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "Concurrent Modification"),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "Precondition Failed"),
+    READ_ONLY_REPLICA(HttpStatus.SERVICE_UNAVAILABLE, "Read Only Replica"),
+    QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "Queue Full"),
+    PIPELINE_STOPPED(HttpStatus.SERVICE_UNAVAILABLE, "Pipeline Stopped"),
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "Overloaded"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "Rate Limit Exceeded"),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error");
+
+    private final HttpStatus status;
+    private final Integer statusValue;
+    private final String error;
+
+    ErrorTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.statusValue = status.value();
+        this.error = error;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Integer getStatusValue() {
+        return statusValue;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public ResponseEntity<Object> toResponse(String message) {
+        return new ResponseEntity<>(new ErrorBody(LocalDateTime.now(), this, message), status);
+    }
+
+    /**
+     * Error response that tells the client when to try again, for load-shedding rejections.
+     */
+    public ResponseEntity<Object> toResponse(String message, long retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(new ErrorBody(LocalDateTime.now(), this, message));
+    }
+}
@@ -1,64 +1,70 @@
 package com.brainridge_banking.api.exception;
 
-import org.springframework.http.HttpStatus;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
-import java.util.Map;
-
 @ControllerAdvice
 public class GlobalExceptionHandler {
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("error", "Resource Not Found");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+        return ErrorTemplate.RESOURCE_NOT_FOUND.toResponse(ex.getMessage());
     }
 
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<Object> handleInsufficientFundsException(InsufficientFundsException ex, WebRequest request) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Insufficient Funds");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return ErrorTemplate.INSUFFICIENT_FUNDS.toResponse(ex.getMessage());
     }
 
     @ExceptionHandler(DuplicateEmailException.class)
     public ResponseEntity<Object> handleDuplicateEmailException(DuplicateEmailException ex, WebRequest request) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.CONFLICT.value());
-        response.put("error", "Duplicate Email");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+        return ErrorTemplate.DUPLICATE_EMAIL.toResponse(ex.getMessage());
     }
 
     @ExceptionHandler(InvalidEmailException.class)
     public ResponseEntity<Object> handleInvalidEmailException(InvalidEmailException ex, WebRequest request) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Invalid Email");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return ErrorTemplate.INVALID_EMAIL.toResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        return ErrorTemplate.CONCURRENT_MODIFICATION.toResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        return ErrorTemplate.PRECONDITION_FAILED.toResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<Object> handleReadOnlyReplicaException(ReadOnlyReplicaException ex, WebRequest request) {
+        return ErrorTemplate.READ_ONLY_REPLICA.toResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(SubmissionQueueFullException.class)
+    public ResponseEntity<Object> handleSubmissionQueueFullException(SubmissionQueueFullException ex, WebRequest request) {
+        return ErrorTemplate.QUEUE_FULL.toResponse(ex.getMessage(), ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(PipelineStoppedException.class)
+    public ResponseEntity<Object> handlePipelineStoppedException(PipelineStoppedException ex, WebRequest request) {
+        return ErrorTemplate.PIPELINE_STOPPED.toResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<Object> handleOverloadedException(OverloadedException ex, WebRequest request) {
+        return ErrorTemplate.OVERLOADED.toResponse(ex.getMessage(), ex.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Object> handleRateLimitExceededException(RateLimitExceededException ex, WebRequest request) {
+        return ErrorTemplate.RATE_LIMITED.toResponse(ex.getMessage(), ex.getRetryAfterSeconds());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(Exception ex, WebRequest request) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Internal Server Error");
-        response.put("message", ex.getMessage());
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        return ErrorTemplate.INTERNAL_SERVER_ERROR.toResponse(ex.getMessage());
     }
 }
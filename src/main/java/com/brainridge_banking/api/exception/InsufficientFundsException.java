@@ -1,7 +1,7 @@
 package com.brainridge_banking.api.exception;
 
 
-public class InsufficientFundsException extends RuntimeException {
+public class InsufficientFundsException extends BusinessException {
     public InsufficientFundsException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.brainridge_banking.api.exception;
 
-public class InvalidEmailException extends RuntimeException {
+public class InvalidEmailException extends BusinessException {
     public InvalidEmailException(String message) {
         super(message);
     }
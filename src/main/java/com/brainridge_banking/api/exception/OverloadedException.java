@@ -0,0 +1,18 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Thrown when a request is shed because the server is at its concurrency limit.
+ * Carries how long the caller should wait before retrying.
+ */
+public class OverloadedException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Thrown when an asynchronous submission arrives after the pipeline's worker has stopped,
+ * for example because the journal could not be written. Nothing would ever apply it.
+ */
+public class PipelineStoppedException extends BusinessException {
+    public PipelineStoppedException(String message) {
+        super(message);
+    }
+}
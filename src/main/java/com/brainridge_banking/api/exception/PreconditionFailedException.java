@@ -0,0 +1,10 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * A conditional update ({@code If-Match}) named a version the account is no longer at.
+ */
+public class PreconditionFailedException extends BusinessException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Thrown when an account has used up its rate-limit tokens. Carries how long the caller
+ * should wait before the next request can be admitted.
+ */
+public class RateLimitExceededException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
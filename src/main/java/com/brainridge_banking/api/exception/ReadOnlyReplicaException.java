@@ -0,0 +1,10 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Thrown when a write reaches an instance running as a read replica.
+ */
+public class ReadOnlyReplicaException extends BusinessException {
+    public ReadOnlyReplicaException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.brainridge_banking.api.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
@@ -0,0 +1,18 @@
+package com.brainridge_banking.api.exception;
+
+/**
+ * Thrown when an asynchronous submission arrives while the intake queue is full.
+ * Carries how long the caller should wait before retrying.
+ */
+public class SubmissionQueueFullException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public SubmissionQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,325 @@
+package com.brainridge_banking.api.ingest;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.exception.RateLimitExceededException;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.service.TransactionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NIO listener for the binary ingest protocol ({@link IngestCodec}). Connections are spread
+ * over a few I/O threads, each running its own selector that only reads and writes. The
+ * frames a connection has read are executed on a worker pool, through the same
+ * {@link TransactionService} as the REST API, so a frame that waits on a lock, the database
+ * or deposit coalescing holds up only its own connection. A connection has at most one batch
+ * on a worker at a time, which keeps its responses in request order; the worker owns the
+ * connection's buffers until it hands the connection back to its selector. Every connection
+ * owns one direct input and one direct output buffer for its lifetime, so framing and encoding
+ * allocate nothing; a client that stops reading responses stops being read from until its
+ * output buffer drains.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.ingest.enabled", havingValue = "true")
+public class BinaryIngestServer {
+    private static final Logger log = LoggerFactory.getLogger(BinaryIngestServer.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionService transactionService;
+    private final String bindAddress;
+    private final int port;
+    private final IoLoop[] loops;
+    private final int workerThreads;
+    private final String replicationRole;
+    private ExecutorService workers;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+    private volatile boolean running;
+
+    @Autowired
+    public BinaryIngestServer(TransactionService transactionService,
+                              @Value("${banking.ingest.bind-address:127.0.0.1}") String bindAddress,
+                              @Value("${banking.ingest.port:9500}") int port,
+                              @Value("${banking.ingest.io-threads:1}") int ioThreads,
+                              @Value("${banking.ingest.worker-threads:8}") int workerThreads,
+                              @Value("${banking.replication.role:none}") String replicationRole) {
+        this.transactionService = transactionService;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.loops = new IoLoop[Math.max(1, ioThreads)];
+        this.workerThreads = Math.max(1, workerThreads);
+        this.replicationRole = replicationRole;
+    }
+
+    /**
+     * Every ingest frame is a write, and a follower only takes writes from the replication
+     * stream, so a follower refuses to start the listener.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if ("follower".equals(replicationRole)) {
+            throw new IllegalStateException("banking.ingest.enabled cannot be used with banking.replication.role=follower:"
+                    + " ingest frames are writes and would make the replica diverge from the primary");
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(bindAddress, port));
+        running = true;
+        AtomicInteger workerIds = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ingest-worker-" + workerIds.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new IoLoop(Selector.open());
+            Thread thread = new Thread(loops[i], "ingest-io-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        acceptor = new Thread(this::acceptLoop, "ingest-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Binary ingest listening on {}:{}", bindAddress, localPort());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        running = false;
+        serverChannel.close();
+        for (IoLoop loop : loops) {
+            if (loop != null) {
+                loop.selector.wakeup();
+            }
+        }
+        workers.shutdownNow();
+    }
+
+    public int localPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Ingest accept failed", e);
+                }
+            }
+        }
+    }
+
+    private final class IoLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private final Queue<SelectionKey> processed = new ConcurrentLinkedQueue<>();
+
+        IoLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        // Called by a worker once it has executed a connection's frames
+        void handBack(SelectionKey key) {
+            processed.add(key);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try (selector) {
+                while (running) {
+                    selector.select();
+                    SocketChannel accepted;
+                    while ((accepted = pending.poll()) != null) {
+                        accepted.register(selector, SelectionKey.OP_READ, new Connection(accepted, this));
+                    }
+                    SelectionKey done;
+                    while ((done = processed.poll()) != null) {
+                        Connection connection = (Connection) done.attachment();
+                        try {
+                            connection.resume(done);
+                        } catch (IOException e) {
+                            connection.close(done);
+                        }
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            connection.handle(key);
+                        } catch (IOException e) {
+                            connection.close(key);
+                        }
+                    }
+                }
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close(key);
+                }
+            } catch (IOException e) {
+                log.error("Ingest I/O loop failed", e);
+            }
+        }
+    }
+
+    private final class Connection {
+        private final SocketChannel channel;
+        private final IoLoop loop;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Connection(SocketChannel channel, IoLoop loop) {
+            this.channel = channel;
+            this.loop = loop;
+        }
+
+        void handle(SelectionKey key) throws IOException {
+            if (key.isReadable() && channel.read(in) < 0) {
+                close(key);
+                return;
+            }
+            resume(key);
+        }
+
+        /**
+         * Selector side: sends pending responses, then hands complete frames to a worker.
+         * Nothing is read or written while a worker holds the buffers.
+         */
+        void resume(SelectionKey key) throws IOException {
+            if (!key.isValid()) {
+                return;
+            }
+            boolean drained = flush();
+            if (drained && in.position() >= IngestCodec.REQUEST_SIZE) {
+                key.interestOps(0);
+                try {
+                    workers.execute(() -> {
+                        try {
+                            process();
+                        } finally {
+                            loop.handBack(key);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    close(key);
+                }
+                return;
+            }
+            // Keep reading only while the previous responses have gone out
+            key.interestOps(drained ? SelectionKey.OP_READ : SelectionKey.OP_WRITE);
+        }
+
+        private void process() {
+            in.flip();
+            while (in.remaining() >= IngestCodec.REQUEST_SIZE && out.remaining() >= IngestCodec.RESPONSE_SIZE) {
+                byte op = in.get();
+                long correlationId = in.getLong();
+                UUID from = IngestCodec.getUuid(in);
+                UUID to = IngestCodec.getUuid(in);
+                long amountMinor = in.getLong();
+                execute(op, correlationId, from, to, amountMinor);
+            }
+            in.compact();
+        }
+
+        private void execute(byte op, long correlationId, UUID from, UUID to, long amountMinor) {
+            BigDecimal amount = BigDecimal.valueOf(amountMinor, 2);
+            byte status = IngestCodec.STATUS_OK;
+            UUID transactionId = null;
+            try {
+                TransactionResponse response;
+                switch (op) {
+                    case IngestCodec.OP_TRANSFER -> {
+                        TransferRequest request = new TransferRequest();
+                        request.setFromAccountId(from);
+                        request.setToAccountId(to);
+                        request.setAmount(amount);
+                        response = transactionService.transferFunds(request);
+                    }
+                    case IngestCodec.OP_DEPOSIT -> response = transactionService.deposit(singleAccountRequest(to, amount));
+                    case IngestCodec.OP_WITHDRAW -> response = transactionService.withdraw(singleAccountRequest(from, amount));
+                    default -> throw new IllegalArgumentException("Unknown operation: " + op);
+                }
+                transactionId = response.getId();
+            } catch (ResourceNotFoundException e) {
+                status = IngestCodec.STATUS_NOT_FOUND;
+            } catch (InsufficientFundsException e) {
+                status = IngestCodec.STATUS_INSUFFICIENT_FUNDS;
+            } catch (RateLimitExceededException e) {
+                status = IngestCodec.STATUS_RATE_LIMITED;
+            } catch (IllegalArgumentException e) {
+                status = IngestCodec.STATUS_INVALID_REQUEST;
+            } catch (RuntimeException e) {
+                log.warn("Ingest request {} failed", correlationId, e);
+                status = IngestCodec.STATUS_ERROR;
+            }
+            IngestCodec.writeResponse(out, correlationId, status, transactionId);
+        }
+
+        private TransactionRequest singleAccountRequest(UUID accountId, BigDecimal amount) {
+            TransactionRequest request = new TransactionRequest();
+            request.setToAccountId(accountId);
+            request.setAmount(amount);
+            return request;
+        }
+
+        /**
+         * Writes pending responses; true once the output buffer is empty.
+         */
+        private boolean flush() throws IOException {
+            if (out.position() == 0) {
+                return true;
+            }
+            out.flip();
+            channel.write(out);
+            boolean drained = !out.hasRemaining();
+            out.compact();
+            return drained;
+        }
+
+        void close(SelectionKey key) {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+}
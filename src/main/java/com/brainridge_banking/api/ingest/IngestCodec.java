@@ -0,0 +1,61 @@
+package com.brainridge_banking.api.ingest;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Fixed-layout frames of the binary ingest protocol, all big-endian.
+ * <pre>
+ * request  (49 bytes): op u8 | correlationId i64 | from msb i64 | from lsb i64 | to msb i64 | to lsb i64 | amount i64
+ * response (25 bytes): correlationId i64 | status u8 | transactionId msb i64 | transactionId lsb i64
+ * </pre>
+ * Amounts are in minor units (cents). A deposit credits {@code to} and ignores {@code from};
+ * a withdrawal debits {@code from} and ignores {@code to}. On failure the transaction id is zero.
+ * Requests may be pipelined; responses carry the request's correlation id.
+ */
+public final class IngestCodec {
+    public static final int REQUEST_SIZE = 49;
+    public static final int RESPONSE_SIZE = 25;
+
+    public static final byte OP_TRANSFER = 1;
+    public static final byte OP_DEPOSIT = 2;
+    public static final byte OP_WITHDRAW = 3;
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_NOT_FOUND = 1;
+    public static final byte STATUS_INSUFFICIENT_FUNDS = 2;
+    public static final byte STATUS_INVALID_REQUEST = 3;
+    public static final byte STATUS_ERROR = 4;
+    public static final byte STATUS_RATE_LIMITED = 5;
+
+    private IngestCodec() {
+    }
+
+    public static void writeRequest(ByteBuffer buffer, byte op, long correlationId, UUID from, UUID to, long amountMinor) {
+        buffer.put(op);
+        buffer.putLong(correlationId);
+        putUuid(buffer, from);
+        putUuid(buffer, to);
+        buffer.putLong(amountMinor);
+    }
+
+    public static void writeResponse(ByteBuffer buffer, long correlationId, byte status, UUID transactionId) {
+        buffer.putLong(correlationId);
+        buffer.put(status);
+        putUuid(buffer, transactionId);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id == null ? 0 : id.getMostSignificantBits());
+        buffer.putLong(id == null ? 0 : id.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads an id written by {@link #writeRequest}; all-zero means absent.
+     */
+    public static UUID getUuid(ByteBuffer buffer) {
+        long msb = buffer.getLong();
+        long lsb = buffer.getLong();
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+}
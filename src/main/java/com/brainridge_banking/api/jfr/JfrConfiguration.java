@@ -0,0 +1,48 @@
+package com.brainridge_banking.api.jfr;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * {@code banking.jfr.repository-events=true}: the storage engines are wrapped so they emit
+ * {@link RepositoryEvent}s. Transaction events need no switch; they cost nothing until a
+ * recording enables them. The wrappers are a layer on every repository call, so they are
+ * left out unless asked for.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.jfr.repository-events", havingValue = "true")
+public class JfrConfiguration {
+
+    /**
+     * Ordered, so it wraps after tiering and before replication: events time the engine,
+     * including its cold tier, but not publishing to followers.
+     */
+    @Bean
+    public static RecordingPostProcessor recordingRepositoryPostProcessor() {
+        return new RecordingPostProcessor();
+    }
+
+    static final class RecordingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof AccountRepository accounts && !(bean instanceof RecordingAccountRepository)) {
+                return new RecordingAccountRepository(accounts);
+            }
+            if (bean instanceof TransactionRepository transactions && !(bean instanceof RecordingTransactionRepository)) {
+                return new RecordingTransactionRepository(transactions);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
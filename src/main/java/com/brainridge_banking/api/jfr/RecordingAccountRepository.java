@@ -0,0 +1,94 @@
+package com.brainridge_banking.api.jfr;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountLock;
+import com.brainridge_banking.api.repository.AccountRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Emits a {@link RepositoryEvent} for every lookup and save of the wrapped engine. An operation
+ * that throws emits nothing; the exception surfaces in the enclosing {@link TransactionEvent}.
+ */
+public class RecordingAccountRepository implements AccountRepository {
+    private static final String REPOSITORY = "accounts";
+
+    private final AccountRepository delegate;
+
+    public RecordingAccountRepository(AccountRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Account save(Account account) {
+        RepositoryEvent event = RepositoryEvent.start();
+        Account saved = delegate.save(account);
+        event.complete(REPOSITORY, "save", account.getAccountId(), 1);
+        return saved;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Account> saved = delegate.saveAll(accounts);
+        event.complete(REPOSITORY, "saveAll", null, accounts.size());
+        return saved;
+    }
+
+    @Override
+    public Optional<Account> findById(UUID id) {
+        RepositoryEvent event = RepositoryEvent.start();
+        Optional<Account> account = delegate.findById(id);
+        event.complete(REPOSITORY, "findById", id, account.isPresent() ? 1 : 0);
+        return account;
+    }
+
+    // Inverted contract: true means the account does not exist
+    @Override
+    public boolean existsById(UUID id) {
+        RepositoryEvent event = RepositoryEvent.start();
+        boolean missing = delegate.existsById(id);
+        event.complete(REPOSITORY, "existsById", id, missing ? 0 : 1);
+        return missing;
+    }
+
+    @Override
+    public List<Account> findAll() {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Account> accounts = delegate.findAll();
+        event.complete(REPOSITORY, "findAll", null, accounts.size());
+        return accounts;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public AccountLock lock(UUID... accountIds) {
+        return delegate.lock(accountIds);
+    }
+
+    @Override
+    public <R> R updateAtomically(List<UUID> accountIds, Function<List<Account>, R> mutation) {
+        RepositoryEvent event = RepositoryEvent.start();
+        R result = delegate.updateAtomically(accountIds, mutation);
+        event.complete(REPOSITORY, "updateAtomically", null, accountIds.size());
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        return delegate.diagnostics();
+    }
+}
@@ -0,0 +1,138 @@
+package com.brainridge_banking.api.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarizes the banking events of a flight recording into per-operation latency tables:
+ * transactions by type, and repository operations by repository and operation. Needs only the
+ * JDK, so it runs against the compiled classes:
+ *
+ * <pre>java -cp target/classes com.brainridge_banking.api.jfr.RecordingAnalyzer banking.jfr</pre>
+ */
+public final class RecordingAnalyzer {
+    private static final String TRANSACTION = "banking.Transaction";
+    private static final String REPOSITORY = "banking.RepositoryOperation";
+
+    /**
+     * Latencies of one operation in microseconds; failures are transactions whose outcome was
+     * not ok, and rows is the mean row count of repository operations.
+     */
+    public record Operation(String name, long count, long failed, double meanRows,
+                            double p50Micros, double p90Micros, double p99Micros, double maxMicros) {
+    }
+
+    /**
+     * @param failures failed transactions by type and outcome, e.g. {@code TRANSFER InsufficientFundsException}
+     */
+    public record Summary(List<Operation> transactions, List<Operation> repositoryOperations,
+                          Map<String, Long> failures) {
+    }
+
+    private RecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        print(summarize(Path.of(args[0])), System.out);
+    }
+
+    public static Summary summarize(Path recording) throws IOException {
+        Map<String, Samples> transactions = new TreeMap<>();
+        Map<String, Samples> repository = new TreeMap<>();
+        Map<String, Long> failures = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String eventName = event.getEventType().getName();
+                if (eventName.equals(TRANSACTION)) {
+                    String type = event.getString("type");
+                    String outcome = event.getString("outcome");
+                    boolean failed = !TransactionEvent.OK.equals(outcome);
+                    transactions.computeIfAbsent(type, name -> new Samples()).add(event, failed, 0);
+                    if (failed) {
+                        failures.merge(type + " " + outcome, 1L, Long::sum);
+                    }
+                } else if (eventName.equals(REPOSITORY)) {
+                    String name = event.getString("repository") + "." + event.getString("operation");
+                    repository.computeIfAbsent(name, key -> new Samples()).add(event, false, event.getLong("rows"));
+                }
+            }
+        }
+        return new Summary(operations(transactions), operations(repository), failures);
+    }
+
+    public static void print(Summary summary, PrintStream out) {
+        out.println("Transactions");
+        table(summary.transactions(), out, false);
+        if (!summary.failures().isEmpty()) {
+            out.println();
+            out.println("Failures");
+            summary.failures().forEach((failure, count) -> out.printf("  %-48s %,10d%n", failure, count));
+        }
+        out.println();
+        out.println("Repository operations");
+        table(summary.repositoryOperations(), out, true);
+    }
+
+    private static void table(List<Operation> operations, PrintStream out, boolean rows) {
+        if (operations.isEmpty()) {
+            out.println("  (no events)");
+            return;
+        }
+        out.printf("  %-36s %10s %8s %10s %10s %10s %10s%s%n", "operation", "count",
+                rows ? "" : "failed", "p50 us", "p90 us", "p99 us", "max us", rows ? "  mean rows" : "");
+        for (Operation operation : operations) {
+            out.printf("  %-36s %,10d %8s %10.1f %10.1f %10.1f %10.1f%s%n", operation.name(), operation.count(),
+                    rows ? "" : String.format("%,d", operation.failed()), operation.p50Micros(),
+                    operation.p90Micros(), operation.p99Micros(), operation.maxMicros(),
+                    rows ? String.format("  %9.1f", operation.meanRows()) : "");
+        }
+    }
+
+    private static List<Operation> operations(Map<String, Samples> byName) {
+        List<Operation> operations = new ArrayList<>(byName.size());
+        byName.forEach((name, samples) -> operations.add(samples.summarize(name)));
+        return operations;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long failed;
+        private long rows;
+
+        void add(RecordedEvent event, boolean failure, long eventRows) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = event.getDuration().toNanos();
+            failed += failure ? 1 : 0;
+            rows += eventRows;
+        }
+
+        Operation summarize(String name) {
+            Arrays.sort(nanos, 0, count);
+            return new Operation(name, count, failed, (double) rows / count,
+                    percentile(0.50), percentile(0.90), percentile(0.99), nanos[count - 1] / 1_000.0);
+        }
+
+        // Nearest rank
+        private double percentile(double p) {
+            int rank = (int) Math.ceil(p * count);
+            return nanos[Math.max(0, rank - 1)] / 1_000.0;
+        }
+    }
+}
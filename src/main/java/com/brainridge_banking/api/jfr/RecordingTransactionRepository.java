@@ -0,0 +1,106 @@
+package com.brainridge_banking.api.jfr;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.repository.TransactionRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Emits a {@link RepositoryEvent} for every save and history read of the wrapped engine, with
+ * the number of rows written or returned.
+ */
+public class RecordingTransactionRepository implements TransactionRepository {
+    private static final String REPOSITORY = "transactions";
+
+    private final TransactionRepository delegate;
+
+    public RecordingTransactionRepository(TransactionRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        RepositoryEvent event = RepositoryEvent.start();
+        Transaction saved = delegate.save(transaction);
+        event.complete(REPOSITORY, "save", null, 1);
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> batch) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> saved = delegate.saveAll(batch);
+        event.complete(REPOSITORY, "saveAll", null, batch.size());
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> history = delegate.findByAccountId(accountId);
+        event.complete(REPOSITORY, "findByAccountId", accountId, history.size());
+        return history;
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> history = delegate.findByAccountIdBetween(accountId, from, to);
+        event.complete(REPOSITORY, "findByAccountIdBetween", accountId, history.size());
+        return history;
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> transactions = delegate.findByTimestampBetween(from, to);
+        event.complete(REPOSITORY, "findByTimestampBetween", null, transactions.size());
+        return transactions;
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> transactions = delegate.findByTimestampBetween(from, to, limit);
+        event.complete(REPOSITORY, "findByTimestampBetween", null, transactions.size());
+        return transactions;
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        RepositoryEvent event = RepositoryEvent.start();
+        List<Transaction> transactions = delegate.findAll();
+        event.complete(REPOSITORY, "findAll", null, transactions.size());
+        return transactions;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    // The row count costs a wrapping consumer, so it is only paid while a recording listens
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        RepositoryEvent event = RepositoryEvent.start();
+        if (!event.isEnabled()) {
+            delegate.scan(accountId, consumer);
+            return;
+        }
+        long[] rows = new long[1];
+        delegate.scan(accountId, transaction -> {
+            rows[0]++;
+            consumer.accept(transaction);
+        });
+        event.complete(REPOSITORY, "scan", accountId, rows[0]);
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        return delegate.diagnostics();
+    }
+}
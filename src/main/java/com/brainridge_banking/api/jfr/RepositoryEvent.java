@@ -0,0 +1,58 @@
+package com.brainridge_banking.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * One lookup, save or history scan on a storage engine, with the number of rows it returned or
+ * wrote. Emitted by the recording repository wrappers, which are only installed with
+ * {@code banking.jfr.repository-events=true}, and disabled unless a recording enables it.
+ */
+@Name("banking.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Banking", "Storage"})
+@Description("A lookup, save or history scan on the account or transaction storage engine")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Account")
+    String accountId;
+
+    @Label("Rows")
+    @Description("Rows found, saved or scanned")
+    long rows;
+
+    static RepositoryEvent start() {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it.
+     */
+    public void complete(String repository, String operation, UUID accountId, long rows) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.operation = operation;
+            this.accountId = accountId == null ? null : accountId.toString();
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.brainridge_banking.api.jfr;
+
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A transfer, deposit or withdrawal, timed from validation to the response. Disabled unless a
+ * recording enables it (see {@code src/main/jfr/banking.jfc}); while disabled, creating and
+ * completing the event is a few field writes the JIT mostly removes.
+ */
+@Name("banking.Transaction")
+@Label("Transaction")
+@Category({"Banking", "Service"})
+@Description("A transfer, deposit or withdrawal handled by the transaction service")
+@Enabled(false)
+@StackTrace(false)
+public class TransactionEvent extends Event {
+    static final String OK = "ok";
+    private static final BigDecimal[] BUCKET_BOUNDS = {
+            BigDecimal.ONE, BigDecimal.TEN, new BigDecimal(100), new BigDecimal(1_000),
+            new BigDecimal(10_000), new BigDecimal(100_000)};
+    private static final String[] BUCKETS = {"<1", "1-10", "10-100", "100-1K", "1K-10K", "10K-100K", "100K+"};
+
+    @Label("Type")
+    String type;
+
+    @Label("From Account")
+    String fromAccountId;
+
+    @Label("To Account")
+    String toAccountId;
+
+    // Amounts are recorded by order of magnitude only, so recordings carry no exact balances
+    @Label("Amount Bucket")
+    String amountBucket;
+
+    @Label("Outcome")
+    @Description("\"ok\", or the simple name of the exception that ended the operation")
+    String outcome;
+
+    /**
+     * Creates the event and starts its clock.
+     */
+    public static TransactionEvent start() {
+        TransactionEvent event = new TransactionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event and commits it if a recording wants it. {@code failure} is null on success.
+     */
+    public void complete(TransactionType type, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                         Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.type = type.name();
+            this.fromAccountId = fromAccountId == null ? null : fromAccountId.toString();
+            this.toAccountId = toAccountId == null ? null : toAccountId.toString();
+            this.amountBucket = bucket(amount);
+            this.outcome = failure == null ? OK : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+
+    static String bucket(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        int i = 0;
+        while (i < BUCKET_BOUNDS.length && amount.compareTo(BUCKET_BOUNDS[i]) >= 0) {
+            i++;
+        }
+        return BUCKETS[i];
+    }
+}
@@ -0,0 +1,20 @@
+package com.brainridge_banking.api.json;
+
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand-written response serializers with Spring's ObjectMapper. Set
+ * {@code banking.json.fast-serializers=false} to fall back to the default bean serializers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.json.fast-serializers", havingValue = "true", matchIfMissing = true)
+public class JsonConfiguration {
+
+    @Bean
+    public Module responseSerializersModule() {
+        return ResponseSerializers.module();
+    }
+}
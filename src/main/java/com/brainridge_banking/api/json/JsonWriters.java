@@ -0,0 +1,105 @@
+package com.brainridge_banking.api.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * Value writers shared by the response serializers and the export. UUIDs and timestamps are
+ * formatted into a per-thread scratch buffer and handed to the generator as characters, skipping
+ * the intermediate String (and, for timestamps, the DateTimeFormatter) of the default serializers.
+ * The output is the same as Jackson's: lowercase UUIDs and ISO-8601 local date-times.
+ */
+public final class JsonWriters {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[36]);
+
+    private JsonWriters() {
+    }
+
+    public static void writeUuid(JsonGenerator generator, UUID id) throws IOException {
+        if (id == null) {
+            generator.writeNull();
+            return;
+        }
+        char[] buffer = SCRATCH.get();
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        hex(buffer, 0, msb >>> 32, 8);
+        buffer[8] = '-';
+        hex(buffer, 9, msb >>> 16, 4);
+        buffer[13] = '-';
+        hex(buffer, 14, msb, 4);
+        buffer[18] = '-';
+        hex(buffer, 19, lsb >>> 48, 4);
+        buffer[23] = '-';
+        hex(buffer, 24, lsb, 12);
+        generator.writeString(buffer, 0, 36);
+    }
+
+    /**
+     * Writes {@code yyyy-MM-ddTHH:mm:ss} followed by the fraction of a second without trailing
+     * zeros, as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} does.
+     */
+    public static void writeTimestamp(JsonGenerator generator, LocalDateTime timestamp) throws IOException {
+        if (timestamp == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = timestamp.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        char[] buffer = SCRATCH.get();
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, timestamp.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, timestamp.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, timestamp.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, timestamp.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, timestamp.getSecond(), 2);
+        int length = 19;
+        int nano = timestamp.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            digits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    public static void writeAmount(JsonGenerator generator, BigDecimal amount) throws IOException {
+        if (amount == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(amount);
+        }
+    }
+
+    private static void hex(char[] buffer, int offset, long value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.brainridge_banking.api.json;
+
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written serializers for the account and transaction responses. Field names are
+ * pre-encoded once and values go through {@link JsonWriters}, so writing a response skips
+ * bean introspection and the per-property serializer lookups of the default bean serializer.
+ * The JSON is the same as before: same fields, same order, nulls included.
+ */
+public final class ResponseSerializers {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializedString ACCOUNT_NAME = new SerializedString("accountName");
+    private static final SerializedString ACCOUNT_EMAIL = new SerializedString("accountEmail");
+    private static final SerializedString ACCOUNT_BALANCE = new SerializedString("accountBalance");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString TIER = new SerializedString("tier");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString FROM_ACCOUNT_ID = new SerializedString("fromAccountId");
+    private static final SerializedString TO_ACCOUNT_ID = new SerializedString("toAccountId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString TYPE = new SerializedString("type");
+
+    private ResponseSerializers() {
+    }
+
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("banking-responses");
+        module.addSerializer(AccountResponse.class, new AccountResponseSerializer());
+        module.addSerializer(AccountBalanceResponse.class, new AccountBalanceResponseSerializer());
+        module.addSerializer(TransactionResponse.class, new TransactionResponseSerializer());
+        return module;
+    }
+
+    // Numeric timestamps are still available through the mapper's own date handling
+    private static void writeTimestamp(JsonGenerator generator, SerializerProvider provider,
+                                       LocalDateTime timestamp) throws IOException {
+        if (timestamp != null && provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(timestamp, generator);
+        } else {
+            JsonWriters.writeTimestamp(generator, timestamp);
+        }
+    }
+
+    static final class AccountResponseSerializer extends StdSerializer<AccountResponse> {
+        AccountResponseSerializer() {
+            super(AccountResponse.class);
+        }
+
+        @Override
+        public void serialize(AccountResponse account, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(account);
+            generator.writeFieldName(ACCOUNT_ID);
+            JsonWriters.writeUuid(generator, account.getAccountId());
+            generator.writeFieldName(ACCOUNT_NAME);
+            generator.writeString(account.getAccountName());
+            generator.writeFieldName(ACCOUNT_EMAIL);
+            generator.writeString(account.getAccountEmail());
+            generator.writeFieldName(ACCOUNT_BALANCE);
+            JsonWriters.writeAmount(generator, account.getAccountBalance());
+            generator.writeFieldName(CREATED_AT);
+            writeTimestamp(generator, provider, account.getCreatedAt());
+            generator.writeFieldName(TIER);
+            generator.writeString(account.getTier());
+            generator.writeFieldName(VERSION);
+            generator.writeNumber(account.getVersion());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class AccountBalanceResponseSerializer extends StdSerializer<AccountBalanceResponse> {
+        AccountBalanceResponseSerializer() {
+            super(AccountBalanceResponse.class);
+        }
+
+        @Override
+        public void serialize(AccountBalanceResponse balance, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(balance);
+            generator.writeFieldName(ACCOUNT_ID);
+            JsonWriters.writeUuid(generator, balance.getAccountId());
+            generator.writeFieldName(BALANCE);
+            JsonWriters.writeAmount(generator, balance.getBalance());
+            generator.writeFieldName(VERSION);
+            generator.writeNumber(balance.getVersion());
+            generator.writeEndObject();
+        }
+    }
+
+    static final class TransactionResponseSerializer extends StdSerializer<TransactionResponse> {
+        TransactionResponseSerializer() {
+            super(TransactionResponse.class);
+        }
+
+        @Override
+        public void serialize(TransactionResponse transaction, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(transaction);
+            generator.writeFieldName(ID);
+            JsonWriters.writeUuid(generator, transaction.getId());
+            generator.writeFieldName(FROM_ACCOUNT_ID);
+            JsonWriters.writeUuid(generator, transaction.getFromAccountId());
+            generator.writeFieldName(TO_ACCOUNT_ID);
+            JsonWriters.writeUuid(generator, transaction.getToAccountId());
+            generator.writeFieldName(AMOUNT);
+            JsonWriters.writeAmount(generator, transaction.getAmount());
+            generator.writeFieldName(TIMESTAMP);
+            writeTimestamp(generator, provider, transaction.getTimestamp());
+            generator.writeFieldName(TYPE);
+            if (transaction.getType() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(transaction.getType().name());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
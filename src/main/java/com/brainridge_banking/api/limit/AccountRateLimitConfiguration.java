@@ -0,0 +1,38 @@
+package com.brainridge_banking.api.limit;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * {@code banking.ratelimit.enabled=true}: every deposit, withdrawal and transfer is charged to
+ * its account's token bucket before the account is locked. Idle buckets are swept periodically.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.ratelimit.enabled", havingValue = "true")
+public class AccountRateLimitConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    public AccountRateLimiter accountRateLimiter(AccountRepository accountRepository,
+                                                 TransactionServiceImpl transactionService,
+                                                 AccountServiceImpl accountService,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${banking.ratelimit.tiers:standard=20:40}") String tiers,
+                                                 @Value("${banking.ratelimit.default-tier:standard}") String defaultTier,
+                                                 @Value("${banking.ratelimit.idle-ms:60000}") long idleMs,
+                                                 @Value("${banking.ratelimit.sweep-interval-ms:30000}") long sweepIntervalMs) {
+        AccountRateLimiter limiter = new AccountRateLimiter(AccountRateLimiter.parseTiers(tiers),
+                defaultTier.trim().toLowerCase(Locale.ROOT), accountRepository, idleMs, meterRegistry);
+        limiter.start(sweepIntervalMs);
+        transactionService.setRateLimiter(limiter);
+        accountService.setRateLimiter(limiter);
+        return limiter;
+    }
+}
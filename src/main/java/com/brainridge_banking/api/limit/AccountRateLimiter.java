@@ -0,0 +1,242 @@
+package com.brainridge_banking.api.limit;
+
+import com.brainridge_banking.api.exception.RateLimitExceededException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-account token buckets, sized by the account's tier. Each bucket is a single
+ * {@link AtomicLong} packing the token count (in 1/256 token units, upper 24 bits) and the
+ * time of the last refill (milliseconds since the limiter started, lower 40 bits), so taking
+ * a token is one CAS and a bucket costs a few dozen bytes. The tier is looked up once, when
+ * the bucket is created; {@link #evict(UUID)} drops the bucket when an account's tier changes.
+ *
+ * <p>A bucket that has been idle long enough to refill completely is indistinguishable from a
+ * new one, so {@link #sweepIdle()} removes those to keep the map from growing with every
+ * account that was ever active.
+ */
+public class AccountRateLimiter {
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    private static final long UNIT = 256;
+    /** Largest burst that fits the 24-bit token field. */
+    public static final long MAX_BURST = ((1L << (Long.SIZE - TIME_BITS)) - 1) / UNIT;
+
+    private final Map<String, Tier> tiers;
+    private final Tier defaultTier;
+    private final AccountRepository accountRepository;
+    private final LongSupplier clock;
+    private final long idleMs;
+    private final long startNanos;
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private ScheduledExecutorService sweeper;
+
+    public AccountRateLimiter(Map<String, Tier> tiers, String defaultTier, AccountRepository accountRepository,
+                              long idleMs, MeterRegistry meterRegistry) {
+        this(tiers, defaultTier, accountRepository, idleMs, meterRegistry, System::nanoTime);
+    }
+
+    AccountRateLimiter(Map<String, Tier> tiers, String defaultTier, AccountRepository accountRepository,
+                       long idleMs, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.defaultTier = tiers.get(defaultTier);
+        if (this.defaultTier == null) {
+            throw new IllegalArgumentException("Default rate-limit tier is not configured: " + defaultTier);
+        }
+        this.tiers = Map.copyOf(tiers);
+        this.accountRepository = accountRepository;
+        this.idleMs = idleMs;
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        this.rejected = Counter.builder("banking.ratelimit.rejected").register(meterRegistry);
+        Gauge.builder("banking.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Starts sweeping idle buckets every {@code intervalMs}.
+     */
+    public synchronized void start(long intervalMs) {
+        if (sweeper != null || intervalMs <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepIdle, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    /**
+     * Parses {@code name=tokensPerSecond:burst} entries separated by commas, for example
+     * {@code standard=20:40,premium=500:1000}. A rate of 0 means unlimited.
+     */
+    public static Map<String, Tier> parseTiers(String spec) {
+        Map<String, Tier> tiers = new HashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] nameAndLimits = entry.trim().split("=", 2);
+            String[] limits = nameAndLimits.length == 2 ? nameAndLimits[1].split(":", 2) : new String[0];
+            if (limits.length != 2) {
+                throw new IllegalArgumentException("Rate-limit tiers must look like name=rate:burst, got: " + entry);
+            }
+            String name = nameAndLimits[0].trim().toLowerCase(Locale.ROOT);
+            tiers.put(name, new Tier(name, Long.parseLong(limits[0].trim()), Long.parseLong(limits[1].trim())));
+        }
+        return tiers;
+    }
+
+    /**
+     * Takes one token for the account, or throws {@link RateLimitExceededException} with the
+     * time until the next token. Unknown accounts pass, so the caller reports them as not found.
+     */
+    public void acquire(UUID accountId) {
+        long waitMs = tryAcquire(accountId);
+        if (waitMs > 0) {
+            rejected.increment();
+            throw new RateLimitExceededException("Rate limit exceeded for account: " + accountId,
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMs + 999)));
+        }
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise how many milliseconds until one is available
+     */
+    public long tryAcquire(UUID accountId) {
+        if (accountId == null) {
+            return 0;
+        }
+        Bucket bucket = buckets.get(accountId);
+        if (bucket == null) {
+            Account account = accountRepository.findById(accountId).orElse(null);
+            if (account == null) {
+                return 0;
+            }
+            Tier tier = tiers.getOrDefault(account.getTier(), defaultTier);
+            bucket = buckets.computeIfAbsent(accountId, id -> new Bucket(tier, nowMs()));
+        }
+        return bucket.tryConsume(nowMs());
+    }
+
+    public void evict(UUID accountId) {
+        buckets.remove(accountId);
+    }
+
+    /**
+     * Removes buckets that are full again and have been unused for the idle timeout.
+     *
+     * @return the number of buckets removed
+     */
+    public int sweepIdle() {
+        long now = nowMs();
+        int removed = 0;
+        for (Map.Entry<UUID, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(now, idleMs) && buckets.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    private long nowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - startNanos);
+    }
+
+    /**
+     * Sustained rate and burst size of a tier, in tokens; one request costs one token.
+     */
+    public record Tier(String name, long tokensPerSecond, long burst) {
+        public Tier {
+            if (tokensPerSecond < 0 || burst < 0 || burst > MAX_BURST) {
+                throw new IllegalArgumentException("Tier " + name + " needs rate >= 0 and 0 <= burst <= " + MAX_BURST);
+            }
+            if (tokensPerSecond > 0 && burst < 1) {
+                throw new IllegalArgumentException("Tier " + name + " needs a burst of at least one token");
+            }
+        }
+
+        boolean unlimited() {
+            return tokensPerSecond == 0;
+        }
+    }
+
+    static final class Bucket {
+        private final AtomicLong state;
+        private final long unitsPerSecond;
+        private final long capacity;
+        // Time for an empty bucket to refill completely
+        private final long fillMs;
+
+        Bucket(Tier tier, long nowMs) {
+            this.unitsPerSecond = tier.tokensPerSecond() * UNIT;
+            this.capacity = tier.burst() * UNIT;
+            this.fillMs = tier.unlimited() ? 0 : (capacity * 1000 + unitsPerSecond - 1) / unitsPerSecond;
+            this.state = new AtomicLong(pack(capacity, nowMs));
+        }
+
+        long tryConsume(long nowMs) {
+            if (unitsPerSecond == 0) {
+                return 0;
+            }
+            while (true) {
+                long current = state.get();
+                long units = current >>> TIME_BITS;
+                long refilledAt = current & TIME_MASK;
+                long elapsed = nowMs - refilledAt;
+                if (elapsed >= fillMs) {
+                    units = capacity;
+                    refilledAt = nowMs;
+                } else if (elapsed > 0) {
+                    long added = elapsed * unitsPerSecond / 1000;
+                    if (added > 0) {
+                        units = Math.min(capacity, units + added);
+                        // Advance only by the time those units took, carrying the remainder forward
+                        refilledAt += added * 1000 / unitsPerSecond;
+                    }
+                }
+                if (units < UNIT) {
+                    return ((UNIT - units) * 1000 + unitsPerSecond - 1) / unitsPerSecond;
+                }
+                if (state.compareAndSet(current, pack(units - UNIT, refilledAt))) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long nowMs, long idleMs) {
+            long refilledAt = state.get() & TIME_MASK;
+            return nowMs - refilledAt >= Math.max(fillMs, idleMs);
+        }
+
+        private static long pack(long units, long timeMs) {
+            return (units << TIME_BITS) | (timeMs & TIME_MASK);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.brainridge_banking.api.limit;
+
+import com.brainridge_banking.api.diagnostics.DiagnosticsContributor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of requests in flight with a limit that adapts to measured latency (AIMD).
+ * A request slower than the latency threshold signals congestion and cuts the limit by the
+ * backoff ratio, at most once per threshold interval so a burst of slow requests counts once.
+ * Every fast request completed while the limit was actually in use grows it by {@code 1/limit},
+ * roughly one slot per round trip of a full window. Acquiring is a single CAS; only the
+ * completion path takes a short lock to update the estimate.
+ */
+public class AdaptiveConcurrencyLimiter implements DiagnosticsContributor {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private double estimate;
+    private volatile int limit;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      long latencyThresholdMs, MeterRegistry meterRegistry) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdMs, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                               long latencyThresholdMs, MeterRegistry meterRegistry, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.clock = clock;
+        this.estimate = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimate;
+        this.lastDecreaseNanos = clock.getAsLong() - latencyThresholdNanos;
+        this.rejected = Counter.builder("banking.limiter.rejected").register(meterRegistry);
+        Gauge.builder("banking.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("banking.limiter.in-flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Claims a slot, or returns false (and counts a rejection) when the limit is reached.
+     * Every successful acquire must be paired with {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees a slot and feeds the request's latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightBefore);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+        if (latencyNanos > latencyThresholdNanos) {
+            long now = clock.getAsLong();
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                estimate = Math.max(minLimit, estimate * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            // Only grow when the current limit is being used, otherwise it drifts up during quiet periods
+            estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+        }
+        limit = (int) estimate;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return (long) rejected.count();
+    }
+
+    @Override
+    public String diagnosticsSection() {
+        return "concurrencyLimit";
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("limit", limit);
+        diagnostics.put("inFlight", inFlight.get());
+        diagnostics.put("rejected", getRejectedCount());
+        return diagnostics;
+    }
+}
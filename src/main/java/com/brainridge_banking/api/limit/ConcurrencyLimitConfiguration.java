@@ -0,0 +1,40 @@
+package com.brainridge_banking.api.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code banking.limiter.enabled=true} (the default): puts the adaptive concurrency limiter in
+ * front of the transaction write endpoints.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                                                 @Value("${banking.limiter.initial-limit:64}") int initialLimit,
+                                                                 @Value("${banking.limiter.min-limit:8}") int minLimit,
+                                                                 @Value("${banking.limiter.max-limit:1024}") int maxLimit,
+                                                                 @Value("${banking.limiter.backoff-ratio:0.9}") double backoffRatio,
+                                                                 @Value("${banking.limiter.latency-threshold-ms:100}") long latencyThresholdMs) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdMs, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer concurrencyLimitConfigurer(AdaptiveConcurrencyLimiter limiter,
+                                                       @Value("${banking.limiter.retry-after-seconds:1}") long retryAfterSeconds) {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter, retryAfterSeconds);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/transactions/**");
+            }
+        };
+    }
+}
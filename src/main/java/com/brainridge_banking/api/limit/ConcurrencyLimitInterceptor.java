@@ -0,0 +1,44 @@
+package com.brainridge_banking.api.limit;
+
+import com.brainridge_banking.api.exception.OverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits write requests through the {@link AdaptiveConcurrencyLimiter} and sheds the rest with
+ * a fast 503. Reads pass through untouched. The slot is released, and the latency sampled, when
+ * the request completes, whether it succeeded or failed.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new OverloadedException("Server is at its concurrency limit of " + limiter.getLimit() +
+                    " requests; retry later", retryAfterSeconds);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_AT) instanceof Long startedAt) {
+            request.removeAttribute(STARTED_AT);
+            limiter.release(System.nanoTime() - startedAt);
+        }
+    }
+}
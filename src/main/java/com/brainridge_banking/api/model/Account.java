@@ -10,11 +10,15 @@ import java.util.UUID;
 import java.time.LocalDateTime;
 
 public class Account {
+    public static final String DEFAULT_TIER = "standard";
+
     private UUID accountId;
     private String accountName;
     private String accountEmail;
     private BigDecimal accountBalance;
     private final LocalDateTime createdAt;
+    private long version;
+    private String tier = DEFAULT_TIER;
 
     public Account() {
         this.accountId = UUID.randomUUID();
@@ -28,6 +32,16 @@ public class Account {
         this.accountBalance = initialBalance;
     }
 
+    public Account(UUID accountId, String accountName, String accountEmail, BigDecimal accountBalance,
+                   LocalDateTime createdAt, long version) {
+        this.accountId = accountId;
+        this.accountName = accountName;
+        this.accountEmail = accountEmail;
+        this.accountBalance = accountBalance;
+        this.createdAt = createdAt;
+        this.version = version;
+    }
+
     public UUID getAccountId() {
         return accountId;
     }
@@ -48,6 +62,14 @@ public class Account {
         return createdAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public String getTier() {
+        return tier;
+    }
+
     public void setAccountId(UUID accountId) {
         this.accountId = accountId;
     }
@@ -63,4 +85,12 @@ public class Account {
     public void setAccountBalance(BigDecimal accountBalance) {
         this.accountBalance = accountBalance;
     }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setTier(String tier) {
+        this.tier = tier;
+    }
 }
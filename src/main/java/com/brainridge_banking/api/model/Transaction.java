@@ -33,6 +33,19 @@ public class Transaction {
         this.type = type;
     }
 
+    /**
+     * Restores a stored transaction as is, without drawing a fresh id or timestamp.
+     */
+    public Transaction(UUID id, UUID fromAccountId, UUID toAccountId, BigDecimal amount, LocalDateTime timestamp,
+                       TransactionType type) {
+        this.id = id;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.timestamp = timestamp;
+        this.type = type;
+    }
+
     public UUID getId() {
         return id;
     }
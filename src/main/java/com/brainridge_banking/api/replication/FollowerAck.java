@@ -0,0 +1,57 @@
+package com.brainridge_banking.api.replication;
+
+/**
+ * Follower-to-primary line. The first one opens the stream from the follower's position
+ * ({@code epoch} and {@code seq} of the last applied event); later ones report progress
+ * and the follower's own lag so the primary can route bounded-staleness reads.
+ */
+public class FollowerAck {
+    private String epoch;
+    private long seq;
+    private long lagMs;
+    private String url;
+
+    public FollowerAck() {
+    }
+
+    public FollowerAck(String epoch, long seq, long lagMs, String url) {
+        this.epoch = epoch;
+        this.seq = seq;
+        this.lagMs = lagMs;
+        this.url = url;
+    }
+
+    // Getters
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    // Setters
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public void setLagMs(long lagMs) {
+        this.lagMs = lagMs;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+}
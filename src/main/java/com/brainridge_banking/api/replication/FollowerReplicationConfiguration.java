@@ -0,0 +1,43 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code banking.replication.role=follower}: this instance applies the primary's stream to
+ * its own repositories and serves reads only. Use the memory or partitioned engine here;
+ * the stream replays the primary's account versions, which the jdbc engine would reject.
+ */
+@Configuration
+@RegisterReflectionForBinding({LedgerEvent.class, FollowerAck.class})
+@ConditionalOnProperty(name = "banking.replication.role", havingValue = "follower")
+public class FollowerReplicationConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicationClient replicationClient(AccountRepository accountRepository,
+                                               TransactionRepository transactionRepository, ObjectMapper objectMapper,
+                                               @Value("${banking.replication.primary:localhost:9400}") String primary,
+                                               @Value("${banking.replication.advertised-url:}") String advertisedUrl,
+                                               @Value("${banking.replication.heartbeat-ms:500}") long heartbeatMs) {
+        return new ReplicationClient(accountRepository, transactionRepository, objectMapper, primary,
+                advertisedUrl, heartbeatMs);
+    }
+
+    @Bean
+    public WebMvcConfigurer readOnlyReplicaConfigurer(ReplicationClient client) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadOnlyReplicaInterceptor(client)).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+
+import java.util.UUID;
+
+/**
+ * One line of the replication stream. Data events carry the full new state of an account
+ * or a transaction, so applying one twice is harmless. {@code seq} orders events within a
+ * primary's {@code epoch}; {@code primaryTime} is when the primary published the event,
+ * which lets a follower measure how far behind it is.
+ */
+public class LedgerEvent {
+    public enum Type {
+        ACCOUNT_SAVED, ACCOUNT_DELETED, TRANSACTION_SAVED, SNAPSHOT_BEGIN, SNAPSHOT_END, HEARTBEAT
+    }
+
+    private Type type;
+    private String epoch;
+    private long seq;
+    private long primaryTime;
+    private Account account;
+    private UUID accountId;
+    private Transaction transaction;
+
+    public LedgerEvent() {
+    }
+
+    public LedgerEvent(Type type) {
+        this.type = type;
+    }
+
+    public static LedgerEvent accountSaved(Account account) {
+        LedgerEvent event = new LedgerEvent(Type.ACCOUNT_SAVED);
+        // Copy, since the stored instance may keep changing after this event was published
+        event.account = new Account(account.getAccountId(), account.getAccountName(), account.getAccountEmail(),
+                account.getAccountBalance(), account.getCreatedAt(), account.getVersion());
+        event.account.setTier(account.getTier());
+        return event;
+    }
+
+    public static LedgerEvent accountDeleted(UUID accountId) {
+        LedgerEvent event = new LedgerEvent(Type.ACCOUNT_DELETED);
+        event.accountId = accountId;
+        return event;
+    }
+
+    public static LedgerEvent transactionSaved(Transaction transaction) {
+        LedgerEvent event = new LedgerEvent(Type.TRANSACTION_SAVED);
+        event.transaction = transaction;
+        return event;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getPrimaryTime() {
+        return primaryTime;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    // Setters
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public void setEpoch(String epoch) {
+        this.epoch = epoch;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public void setPrimaryTime(long primaryTime) {
+        this.primaryTime = primaryTime;
+    }
+
+    public void setAccount(Account account) {
+        this.account = account;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public void setTransaction(Transaction transaction) {
+        this.transaction = transaction;
+    }
+}
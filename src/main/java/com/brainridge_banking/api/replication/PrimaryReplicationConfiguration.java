@@ -0,0 +1,76 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code banking.replication.role=primary}: every repository write is published, the
+ * stream is served on {@code banking.replication.port}, and reads may be routed to
+ * followers within a requested staleness bound.
+ */
+@Configuration
+@RegisterReflectionForBinding({LedgerEvent.class, FollowerAck.class})
+@ConditionalOnProperty(name = "banking.replication.role", havingValue = "primary")
+public class PrimaryReplicationConfiguration {
+
+    @Bean
+    public ReplicationPublisher replicationPublisher(@Value("${banking.replication.buffer-size:65536}") int bufferSize) {
+        return new ReplicationPublisher(bufferSize);
+    }
+
+    /**
+     * Wraps whichever storage engine is active, so every write path is replicated.
+     */
+    @Bean
+    public static BeanPostProcessor replicatingRepositoryPostProcessor(ObjectProvider<ReplicationPublisher> publisher) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AccountRepository accounts && !(bean instanceof ReplicatingAccountRepository)) {
+                    return new ReplicatingAccountRepository(accounts, publisher.getObject());
+                }
+                if (bean instanceof TransactionRepository transactions && !(bean instanceof ReplicatingTransactionRepository)) {
+                    return new ReplicatingTransactionRepository(transactions, publisher.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicationServer replicationServer(ReplicationPublisher publisher, AccountRepository accountRepository,
+                                               TransactionRepository transactionRepository, ObjectMapper objectMapper,
+                                               @Value("${banking.replication.bind-address:127.0.0.1}") String bindAddress,
+                                               @Value("${banking.replication.port:9400}") int port,
+                                               @Value("${banking.replication.heartbeat-ms:500}") long heartbeatMs) {
+        return new ReplicationServer(publisher, accountRepository, transactionRepository, objectMapper,
+                bindAddress, port, heartbeatMs);
+    }
+
+    @Bean
+    public StalenessRoutingInterceptor stalenessRoutingInterceptor(ReplicationPublisher publisher,
+                                                                   RestClient.Builder restClientBuilder) {
+        return new StalenessRoutingInterceptor(publisher, restClientBuilder.build());
+    }
+
+    @Bean
+    public WebMvcConfigurer stalenessRoutingConfigurer(StalenessRoutingInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
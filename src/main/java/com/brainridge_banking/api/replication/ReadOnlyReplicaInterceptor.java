@@ -0,0 +1,35 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.exception.ReadOnlyReplicaException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * On a follower: reports the replication lag on every API response and rejects writes.
+ * The lag header is -1 until the first sync with the primary.
+ */
+public class ReadOnlyReplicaInterceptor implements HandlerInterceptor {
+    public static final String LAG_HEADER = "X-Replication-Lag-Ms";
+
+    private final ReplicationClient client;
+
+    public ReadOnlyReplicaInterceptor(ReplicationClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long lag = client.lagMs();
+        response.setHeader(LAG_HEADER, Long.toString(lag == Long.MAX_VALUE ? -1 : lag));
+        if (!isRead(request.getMethod())) {
+            throw new ReadOnlyReplicaException("This instance is a read replica; send " + request.getMethod() +
+                    " " + request.getRequestURI() + " to the primary");
+        }
+        return true;
+    }
+
+    static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,101 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountLock;
+import com.brainridge_banking.api.repository.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Publishes every account write of the wrapped engine to the replication stream. Writes
+ * made under an account lock are published before the lock is released, so the stream
+ * orders changes to an account the same way the primary applied them. Inside a database
+ * transaction the lock is the row lock, and the publisher holds the writes until commit.
+ */
+public class ReplicatingAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final ReplicationPublisher publisher;
+
+    public ReplicatingAccountRepository(AccountRepository delegate, ReplicationPublisher publisher) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Account save(Account account) {
+        Account saved = delegate.save(account);
+        publisher.publish(LedgerEvent.accountSaved(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<Account> saved = delegate.saveAll(accounts);
+        for (Account account : saved) {
+            publisher.publish(LedgerEvent.accountSaved(account));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Account> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        return delegate.diagnostics();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+        publisher.publish(LedgerEvent.accountDeleted(id));
+    }
+
+    @Override
+    public AccountLock lock(UUID... accountIds) {
+        return delegate.lock(accountIds);
+    }
+
+    @Override
+    public <R> R updateAtomically(List<UUID> accountIds, Function<List<Account>, R> mutation) {
+        // The engine saves only after the mutation returns, so hold the account locks around the
+        // whole update and publish before they are released. The in-process locks are reentrant;
+        // on jdbc this joins the caller's transaction, if any.
+        try (AccountLock ignored = delegate.lock(accountIds.toArray(new UUID[0]))) {
+            List<Account> touched = new ArrayList<>(accountIds.size());
+            R result = delegate.updateAtomically(accountIds, accounts -> {
+                R applied = mutation.apply(accounts);
+                touched.addAll(accounts);
+                return applied;
+            });
+            for (Account account : touched) {
+                if (account != null) {
+                    publisher.publish(LedgerEvent.accountSaved(account));
+                }
+            }
+            return result;
+        }
+    }
+}
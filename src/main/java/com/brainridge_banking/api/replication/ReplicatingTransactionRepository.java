@@ -0,0 +1,80 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.repository.TransactionRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Publishes every transaction the wrapped engine stores to the replication stream, once the
+ * surrounding database transaction (if any) commits.
+ */
+public class ReplicatingTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final ReplicationPublisher publisher;
+
+    public ReplicatingTransactionRepository(TransactionRepository delegate, ReplicationPublisher publisher) {
+        this.delegate = delegate;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        Transaction saved = delegate.save(transaction);
+        publisher.publish(LedgerEvent.transactionSaved(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        List<Transaction> saved = delegate.saveAll(transactions);
+        for (Transaction transaction : saved) {
+            publisher.publish(LedgerEvent.transactionSaved(transaction));
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        return delegate.findByAccountId(accountId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        return delegate.findByAccountIdBetween(accountId, from, to);
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.findByTimestampBetween(from, to);
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return delegate.findByTimestampBetween(from, to, limit);
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        return delegate.diagnostics();
+    }
+
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        delegate.scan(accountId, consumer);
+    }
+}
@@ -0,0 +1,176 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Follower side of replication: tails the primary's stream and applies each event to this
+ * instance's repositories, reconnecting (and resuming from its last position) when the
+ * connection drops. Lag is the time since the latest primary moment this follower is known
+ * to be fully caught up to.
+ */
+public class ReplicationClient {
+    private static final Logger log = LoggerFactory.getLogger(ReplicationClient.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final String primaryHost;
+    private final int primaryPort;
+    private final String advertisedUrl;
+    private final long heartbeatMs;
+    private Thread follower;
+    private volatile Socket socket;
+    private volatile boolean running;
+
+    private volatile String epoch;
+    private volatile long appliedSeq;
+    private volatile long caughtUpAsOf;
+    private Set<UUID> snapshotAccounts;
+
+    public ReplicationClient(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                             ObjectMapper objectMapper, String primary, String advertisedUrl, long heartbeatMs) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        int colon = primary.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Primary must be host:port, got: " + primary);
+        }
+        this.primaryHost = primary.substring(0, colon);
+        this.primaryPort = Integer.parseInt(primary.substring(colon + 1));
+        this.advertisedUrl = advertisedUrl;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public void start() {
+        running = true;
+        follower = new Thread(this::followLoop, "replication-follower");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    public void stop() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        if (follower != null) {
+            follower.interrupt();
+        }
+    }
+
+    /**
+     * Milliseconds behind the primary, or {@link Long#MAX_VALUE} before the first sync.
+     */
+    public long lagMs() {
+        long asOf = caughtUpAsOf;
+        return asOf == 0 ? Long.MAX_VALUE : Math.max(0, System.currentTimeMillis() - asOf);
+    }
+
+    public long appliedSeq() {
+        return appliedSeq;
+    }
+
+    private void followLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(new InetSocketAddress(primaryHost, primaryPort), (int) Math.max(1000, heartbeatMs * 4));
+                // A silent primary is a dead primary: heartbeats arrive every heartbeatMs
+                connection.setSoTimeout((int) Math.max(1000, heartbeatMs * 4));
+                follow(connection);
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication from {}:{} interrupted: {}", primaryHost, primaryPort, e.getMessage());
+                }
+            }
+            if (running) {
+                try {
+                    Thread.sleep(heartbeatMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8), 64 * 1024);
+        OutputStream out = connection.getOutputStream();
+        sendAck(out);
+        long lastAck = System.currentTimeMillis();
+
+        String line;
+        while (running && (line = in.readLine()) != null) {
+            LedgerEvent event = objectMapper.readValue(line, LedgerEvent.class);
+            apply(event);
+            long now = System.currentTimeMillis();
+            if (event.getType() == LedgerEvent.Type.HEARTBEAT || now - lastAck >= heartbeatMs) {
+                sendAck(out);
+                lastAck = now;
+            }
+        }
+    }
+
+    void apply(LedgerEvent event) {
+        switch (event.getType()) {
+            case SNAPSHOT_BEGIN -> {
+                snapshotAccounts = new HashSet<>();
+                epoch = event.getEpoch();
+            }
+            case ACCOUNT_SAVED -> {
+                Account account = event.getAccount();
+                // The engine bumps the version on save; keep the primary's, so ETags agree across nodes
+                account.setVersion(account.getVersion() - 1);
+                accountRepository.save(account);
+                if (snapshotAccounts != null) {
+                    snapshotAccounts.add(account.getAccountId());
+                }
+            }
+            case ACCOUNT_DELETED -> {
+                if (accountRepository.findById(event.getAccountId()).isPresent()) {
+                    accountRepository.deleteById(event.getAccountId());
+                }
+            }
+            case TRANSACTION_SAVED -> transactionRepository.save(event.getTransaction());
+            case SNAPSHOT_END -> {
+                // Accounts deleted on the primary while we were away are not in the snapshot
+                for (Account account : accountRepository.findAll()) {
+                    if (!snapshotAccounts.contains(account.getAccountId())) {
+                        accountRepository.deleteById(account.getAccountId());
+                    }
+                }
+                snapshotAccounts = null;
+            }
+            case HEARTBEAT -> {
+                // Carries no data, only the time we are caught up to
+            }
+        }
+        if (snapshotAccounts == null) {
+            epoch = event.getEpoch();
+            appliedSeq = event.getSeq();
+            caughtUpAsOf = event.getPrimaryTime();
+        }
+    }
+
+    private void sendAck(OutputStream out) throws IOException {
+        FollowerAck ack = new FollowerAck(epoch, appliedSeq, lagMs(), advertisedUrl);
+        out.write(objectMapper.writeValueAsBytes(ack));
+        out.write('\n');
+        out.flush();
+    }
+}
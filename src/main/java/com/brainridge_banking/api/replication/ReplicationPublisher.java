@@ -0,0 +1,265 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.diagnostics.DiagnosticsContributor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary side of replication: numbers every committed change and hands it to the
+ * connected followers. Recent events are kept in a ring so a follower that reconnects
+ * shortly after dropping can resume where it stopped; one that is too far behind, or
+ * that last followed a previous run of the primary (different epoch), gets a snapshot.
+ * A follower that cannot keep up overflows its queue and is disconnected rather than
+ * slowing down writes.
+ *
+ * <p>Changes made inside a database transaction (the jdbc engine) are held until it commits
+ * and dropped if it rolls back. A transaction takes its place in the stream when it starts
+ * committing, while it still holds its row locks, so changes to one row reach followers in the
+ * order the database applied them; later events wait behind it until it has completed.
+ */
+public class ReplicationPublisher implements DiagnosticsContributor {
+    private final String epoch = UUID.randomUUID().toString();
+    private final Object lock = new Object();
+    private final LedgerEvent[] backlog;
+    private final int queueCapacity;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Transactions that have started committing, in commit order; guarded by lock
+    private final Queue<PendingCommit> committing = new ArrayDeque<>();
+    private long seq;
+
+    public ReplicationPublisher(int bufferSize) {
+        this.backlog = new LedgerEvent[Math.max(1, bufferSize)];
+        this.queueCapacity = Math.max(1, bufferSize);
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    public long currentSeq() {
+        synchronized (lock) {
+            return seq;
+        }
+    }
+
+    /**
+     * Publishes the event now, or when the surrounding transaction commits if there is one.
+     */
+    public void publish(LedgerEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingCommit().events.add(event);
+            return;
+        }
+        synchronized (lock) {
+            if (committing.isEmpty()) {
+                append(event);
+            } else {
+                PendingCommit queued = new PendingCommit();
+                queued.events.add(event);
+                queued.completed = true;
+                committing.add(queued);
+            }
+        }
+    }
+
+    private PendingCommit pendingCommit() {
+        PendingCommit pending = (PendingCommit) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        PendingCommit created = new PendingCommit();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(ReplicationPublisher.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(ReplicationPublisher.this, created);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (lock) {
+                    created.reserved = true;
+                    committing.add(created);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicationPublisher.this);
+                complete(created, status == STATUS_COMMITTED);
+            }
+        });
+        return created;
+    }
+
+    private void complete(PendingCommit pending, boolean committed) {
+        synchronized (lock) {
+            if (!committed) {
+                pending.events.clear();
+            }
+            pending.completed = true;
+            if (!pending.reserved) {
+                pending.events.forEach(this::append);
+                return;
+            }
+            while (!committing.isEmpty() && committing.peek().completed) {
+                committing.poll().events.forEach(this::append);
+            }
+        }
+    }
+
+    // Callers hold lock
+    private void append(LedgerEvent event) {
+        event.setEpoch(epoch);
+        event.setSeq(++seq);
+        event.setPrimaryTime(System.currentTimeMillis());
+        backlog[(int) (seq % backlog.length)] = event;
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * Starts a subscription for a follower positioned after {@code fromSeq} of {@code fromEpoch}.
+     * If the backlog cannot fill the gap, {@link Subscription#needsSnapshot()} is set and the
+     * queue only holds events published after {@link Subscription#snapshotSeq()}.
+     */
+    public Subscription subscribe(String fromEpoch, long fromSeq) {
+        synchronized (lock) {
+            long oldest = Math.max(1, seq - backlog.length + 1);
+            boolean resumable = epoch.equals(fromEpoch) && fromSeq <= seq && fromSeq + 1 >= oldest;
+            Subscription subscription = new Subscription(queueCapacity, !resumable, seq);
+            if (resumable) {
+                for (long i = fromSeq + 1; i <= seq; i++) {
+                    subscription.offer(backlog[(int) (i % backlog.length)]);
+                }
+            }
+            subscriptions.add(subscription);
+            return subscription;
+        }
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    public List<Subscription> subscriptions() {
+        return new ArrayList<>(subscriptions);
+    }
+
+    @Override
+    public String diagnosticsSection() {
+        return "replication";
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        List<Map<String, Object>> followers = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            Map<String, Object> follower = new LinkedHashMap<>();
+            follower.put("url", subscription.followerUrl());
+            follower.put("queueDepth", subscription.queueDepth());
+            long lagMs = subscription.followerLagMs();
+            follower.put("lagMs", lagMs == Long.MAX_VALUE ? null : lagMs);
+            follower.put("overflowed", subscription.overflowed());
+            followers.add(follower);
+        }
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("seq", currentSeq());
+        diagnostics.put("queueCapacity", queueCapacity);
+        diagnostics.put("followers", followers);
+        return diagnostics;
+    }
+
+    private static final class PendingCommit {
+        private final List<LedgerEvent> events = new ArrayList<>();
+        private boolean reserved;
+        private boolean completed;
+    }
+
+    /**
+     * A follower's queue of pending events, plus what it last reported about itself.
+     */
+    public static final class Subscription {
+        private final BlockingQueue<LedgerEvent> queue;
+        private final boolean needsSnapshot;
+        private final long snapshotSeq;
+        private volatile boolean overflowed;
+        private volatile String followerUrl;
+        private volatile long followerLagMs = Long.MAX_VALUE;
+        private volatile long lastAckAt;
+
+        Subscription(int capacity, boolean needsSnapshot, long snapshotSeq) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.needsSnapshot = needsSnapshot;
+            this.snapshotSeq = snapshotSeq;
+        }
+
+        void offer(LedgerEvent event) {
+            if (!queue.offer(event)) {
+                overflowed = true;
+            }
+        }
+
+        public LedgerEvent poll(long timeoutMs) throws InterruptedException {
+            return queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        public LedgerEvent poll() {
+            return queue.poll();
+        }
+
+        public boolean needsSnapshot() {
+            return needsSnapshot;
+        }
+
+        public long snapshotSeq() {
+            return snapshotSeq;
+        }
+
+        public boolean overflowed() {
+            return overflowed;
+        }
+
+        public int queueDepth() {
+            return queue.size();
+        }
+
+        public void acknowledge(FollowerAck ack) {
+            followerUrl = ack.getUrl();
+            followerLagMs = ack.getLagMs();
+            lastAckAt = System.currentTimeMillis();
+        }
+
+        public String followerUrl() {
+            return followerUrl;
+        }
+
+        /**
+         * The follower's lag as of now: what it last reported plus the time since that report.
+         */
+        public long followerLagMs() {
+            if (lastAckAt == 0 || followerLagMs == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            return followerLagMs + (System.currentTimeMillis() - lastAckAt);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams the primary's committed changes to followers over a plain socket, one JSON
+ * event per line. A follower opens with a {@link FollowerAck} giving its position and
+ * then keeps sending acks; the primary answers with a snapshot if needed, followed by
+ * live events, and a heartbeat whenever the stream has been idle for {@code heartbeatMs}.
+ */
+public class ReplicationServer {
+    private static final Logger log = LoggerFactory.getLogger(ReplicationServer.class);
+    private static final int MAX_BATCH = 1024;
+
+    private final ReplicationPublisher publisher;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final String bindAddress;
+    private final int port;
+    private final long heartbeatMs;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    public ReplicationServer(ReplicationPublisher publisher, AccountRepository accountRepository,
+                             TransactionRepository transactionRepository, ObjectMapper objectMapper,
+                             String bindAddress, int port, long heartbeatMs) {
+        this.publisher = publisher;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(bindAddress, port));
+        running = true;
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replication-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::acceptLoop);
+        log.info("Replication stream listening on {}:{}", bindAddress, localPort());
+    }
+
+    public void stop() throws IOException {
+        running = false;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket socket : connections) {
+            socket.close();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        ReplicationPublisher.Subscription subscription = null;
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+
+            String hello = in.readLine();
+            if (hello == null) {
+                return;
+            }
+            FollowerAck position = objectMapper.readValue(hello, FollowerAck.class);
+            subscription = publisher.subscribe(position.getEpoch(), position.getSeq());
+            subscription.acknowledge(position);
+            ReplicationPublisher.Subscription acked = subscription;
+            executor.execute(() -> readAcks(in, acked));
+            log.info("Follower {} connected at seq {}{}", position.getUrl(), position.getSeq(),
+                    subscription.needsSnapshot() ? ", sending snapshot" : "");
+
+            long lastSeq = position.getSeq();
+            if (subscription.needsSnapshot()) {
+                lastSeq = subscription.snapshotSeq();
+                sendSnapshot(out, lastSeq);
+            }
+
+            while (running && !subscription.overflowed()) {
+                LedgerEvent event = subscription.poll(heartbeatMs);
+                if (event == null) {
+                    // Nothing queued, so the follower has everything published up to now
+                    write(out, control(LedgerEvent.Type.HEARTBEAT, lastSeq, System.currentTimeMillis()));
+                } else {
+                    int batch = 0;
+                    do {
+                        write(out, event);
+                        lastSeq = event.getSeq();
+                    } while (++batch < MAX_BATCH && (event = subscription.poll()) != null);
+                }
+                out.flush();
+            }
+            if (subscription.overflowed()) {
+                log.warn("Follower {} fell too far behind, disconnecting", subscription.followerUrl());
+            }
+        } catch (SocketException | EOFException e) {
+            log.info("Follower disconnected: {}", e.getMessage());
+        } catch (IOException e) {
+            log.warn("Replication stream failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.remove(socket);
+            if (subscription != null) {
+                publisher.unsubscribe(subscription);
+            }
+        }
+    }
+
+    private void sendSnapshot(OutputStream out, long snapshotSeq) throws IOException {
+        long snapshotTime = System.currentTimeMillis();
+        write(out, control(LedgerEvent.Type.SNAPSHOT_BEGIN, snapshotSeq, snapshotTime));
+        for (Account account : accountRepository.findAll()) {
+            write(out, stamp(LedgerEvent.accountSaved(account), snapshotSeq, snapshotTime));
+        }
+        for (Transaction transaction : transactionRepository.findAll()) {
+            write(out, stamp(LedgerEvent.transactionSaved(transaction), snapshotSeq, snapshotTime));
+        }
+        write(out, control(LedgerEvent.Type.SNAPSHOT_END, snapshotSeq, snapshotTime));
+        out.flush();
+    }
+
+    private void readAcks(BufferedReader in, ReplicationPublisher.Subscription subscription) {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                subscription.acknowledge(objectMapper.readValue(line, FollowerAck.class));
+            }
+        } catch (IOException e) {
+            // The serving thread notices the broken connection on its next write
+        }
+    }
+
+    private LedgerEvent control(LedgerEvent.Type type, long seq, long primaryTime) {
+        return stamp(new LedgerEvent(type), seq, primaryTime);
+    }
+
+    private LedgerEvent stamp(LedgerEvent event, long seq, long primaryTime) {
+        event.setEpoch(publisher.epoch());
+        event.setSeq(seq);
+        event.setPrimaryTime(primaryTime);
+        return event;
+    }
+
+    private void write(OutputStream out, LedgerEvent event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,92 @@
+package com.brainridge_banking.api.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * On the primary: a read that carries {@code X-Max-Staleness-Ms} may be served by any
+ * follower whose lag is within that bound. The request is forwarded to a random eligible
+ * follower and its response relayed; when none qualifies, or the follower fails, the
+ * primary serves the read itself with a lag of 0.
+ */
+public class StalenessRoutingInterceptor implements HandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(StalenessRoutingInterceptor.class);
+    public static final String MAX_STALENESS_HEADER = "X-Max-Staleness-Ms";
+
+    private final ReplicationPublisher publisher;
+    private final RestClient restClient;
+
+    public StalenessRoutingInterceptor(ReplicationPublisher publisher, RestClient restClient) {
+        this.publisher = publisher;
+        this.restClient = restClient;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String bound = request.getHeader(MAX_STALENESS_HEADER);
+        if (bound == null || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        long maxStalenessMs;
+        try {
+            maxStalenessMs = Long.parseLong(bound.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+
+        String follower = pickFollower(maxStalenessMs);
+        if (follower != null) {
+            String query = request.getQueryString();
+            URI target = URI.create(follower + request.getRequestURI() + (query != null ? "?" + query : ""));
+            try {
+                restClient.get().uri(target).exchange((forwarded, reply) -> {
+                    response.setStatus(reply.getStatusCode().value());
+                    copyHeader(reply.getHeaders(), response, HttpHeaders.CONTENT_TYPE);
+                    copyHeader(reply.getHeaders(), response, ReadOnlyReplicaInterceptor.LAG_HEADER);
+                    StreamUtils.copy(reply.getBody(), response.getOutputStream());
+                    return null;
+                });
+                return false;
+            } catch (RuntimeException e) {
+                log.warn("Follower {} failed a routed read, serving it on the primary", follower, e);
+                if (response.isCommitted()) {
+                    return false;
+                }
+                response.reset();
+            }
+        }
+
+        response.setHeader(ReadOnlyReplicaInterceptor.LAG_HEADER, "0");
+        return true;
+    }
+
+    String pickFollower(long maxStalenessMs) {
+        List<String> eligible = new ArrayList<>();
+        for (ReplicationPublisher.Subscription subscription : publisher.subscriptions()) {
+            String url = subscription.followerUrl();
+            if (url != null && !url.isBlank() && subscription.followerLagMs() <= maxStalenessMs) {
+                eligible.add(url);
+            }
+        }
+        return eligible.isEmpty() ? null : eligible.get(ThreadLocalRandom.current().nextInt(eligible.size()));
+    }
+
+    private static void copyHeader(HttpHeaders from, HttpServletResponse to, String name) {
+        String value = from.getFirst(name);
+        if (value != null) {
+            to.setHeader(name, value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.brainridge_banking.api.repository;
+
+/**
+ * Handle for accounts locked through {@link AccountRepository#lock(java.util.UUID...)}.
+ * Closing it releases the locks; it is meant to be used with try-with-resources.
+ */
+@FunctionalInterface
+public interface AccountLock extends AutoCloseable {
+    AccountLock NONE = () -> { };
+
+    @Override
+    void close();
+}
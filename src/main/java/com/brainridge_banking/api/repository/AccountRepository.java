@@ -1,33 +1,74 @@
 package com.brainridge_banking.api.repository;
 
 import com.brainridge_banking.api.model.Account;
-import org.springframework.stereotype.Repository;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 
-@Repository
-public class AccountRepository{
-    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+/**
+ * Storage-engine SPI for accounts. The in-memory engine is the default; alternative
+ * engines are selected with {@code banking.storage.engine} and must pass the shared
+ * storage-engine conformance suite.
+ */
+public interface AccountRepository {
+    /**
+     * Stores the account and increments its version, so a new account is stored at version 1
+     * and every later save is visible to clients as a new ETag.
+     */
+    Account save(Account account);
 
-    public Account save(Account account) {
-        accounts.put(account.getAccountId(), account);
-        return account;
-    }
+    List<Account> saveAll(List<Account> accounts);
 
-    public Optional<Account> findById(UUID id) {
-        return Optional.ofNullable(accounts.get(id));
-    }
+    Optional<Account> findById(UUID id);
 
-    public boolean existsById(UUID id) {
-        return !accounts.containsKey(id);
-    }
+    /**
+     * Note the historical, inverted contract: returns true when NO account with the id exists.
+     */
+    boolean existsById(UUID id);
+
+    List<Account> findAll();
+
+    long count();
+
+    void deleteById(UUID id);
+
+    /**
+     * Locks the given accounts against concurrent balance updates until the returned handle
+     * is closed. Engines acquire locks in a global order, so overlapping callers cannot deadlock.
+     * Engines whose locks are bound to a database transaction hold them until that commits.
+     */
+    AccountLock lock(UUID... accountIds);
 
-    public List<Account> findAll() {
-        return new ArrayList<>(accounts.values());
+    /**
+     * Atomically loads, mutates and saves several accounts. The mutation receives the accounts
+     * in the order of {@code accountIds}, with null for ids that do not exist. If it throws,
+     * nothing is saved, so it must validate before changing any account.
+     */
+    default <R> R updateAtomically(List<UUID> accountIds, Function<List<Account>, R> mutation) {
+        try (AccountLock ignored = lock(accountIds.toArray(new UUID[0]))) {
+            List<Account> accounts = new ArrayList<>(accountIds.size());
+            for (UUID id : accountIds) {
+                accounts.add(findById(id).orElse(null));
+            }
+            R result = mutation.apply(accounts);
+            for (Account account : accounts) {
+                if (account != null) {
+                    save(account);
+                }
+            }
+            return result;
+        }
     }
 
-    public void deleteById(UUID id) {
-        accounts.remove(id);
+    /**
+     * Live internals for the diagnostics endpoint: sizes and counters the engine already keeps,
+     * never a scan or a query. Wrapping engines report their delegate's.
+     */
+    default Map<String, Object> diagnostics() {
+        return Map.of();
     }
-}
\ No newline at end of file
+}
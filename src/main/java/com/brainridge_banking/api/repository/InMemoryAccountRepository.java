@@ -0,0 +1,85 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAccountRepository implements AccountRepository {
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final LockStripes lockStripes;
+
+    public InMemoryAccountRepository() {
+        this(1024);
+    }
+
+    @Autowired
+    public InMemoryAccountRepository(@Value("${banking.storage.lock-stripes:1024}") int lockStripes) {
+        this.lockStripes = new LockStripes(lockStripes);
+    }
+
+    @Override
+    public Account save(Account account) {
+        account.setVersion(account.getVersion() + 1);
+        accounts.put(account.getAccountId(), account);
+        return account;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> batch) {
+        for (Account account : batch) {
+            account.setVersion(account.getVersion() + 1);
+            accounts.put(account.getAccountId(), account);
+        }
+        return batch;
+    }
+
+    @Override
+    public Optional<Account> findById(UUID id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return !accounts.containsKey(id);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return new ArrayList<>(accounts.values());
+    }
+
+    @Override
+    public long count() {
+        return accounts.size();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        accounts.remove(id);
+    }
+
+    @Override
+    public AccountLock lock(UUID... accountIds) {
+        return lockStripes.lock(accountIds);
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "memory");
+        diagnostics.put("accounts", accounts.size());
+        diagnostics.put("locks", lockStripes.diagnostics());
+        return diagnostics;
+    }
+
+    LockStripes lockStripes() {
+        return lockStripes;
+    }
+}
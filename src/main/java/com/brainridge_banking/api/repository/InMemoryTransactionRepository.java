@@ -0,0 +1,174 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Transaction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps every transaction in a time-ordered skip list, plus one per account as a
+ * secondary index, so history reads and time-range scans never touch unrelated rows.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTransactionRepository implements TransactionRepository {
+    static final Comparator<Transaction> NEWEST_FIRST =
+            Comparator.comparing(Transaction::getTimestamp).reversed().thenComparing(Transaction::getId);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final NavigableSet<Transaction> transactions = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<UUID, NavigableSet<Transaction>> transactionsByAccount = new ConcurrentHashMap<>();
+    private final AtomicLong count = new AtomicLong();
+    private final LongAdder indexEntries = new LongAdder();
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        if (transactions.add(transaction)) {
+            count.incrementAndGet();
+            index(transaction.getFromAccountId(), transaction);
+            index(transaction.getToAccountId(), transaction);
+        }
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            save(transaction);
+        }
+        return batch;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        NavigableSet<Transaction> history = transactionsByAccount.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<Transaction> history = transactionsByAccount.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(range(history, from, to));
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        return new ArrayList<>(range(transactions, from, to));
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return first(range(transactions, from, to), limit);
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return new ArrayList<>(transactions);
+    }
+
+    @Override
+    public long count() {
+        return count.get();
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "memory");
+        diagnostics.put("transactions", count.get());
+        diagnostics.put("indexedAccounts", transactionsByAccount.size());
+        diagnostics.put("indexEntries", indexEntries.sum());
+        return diagnostics;
+    }
+
+    // Skip list iterators are weakly consistent, so the scan walks the live index without copying it
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        NavigableSet<Transaction> source = accountId == null ? transactions : transactionsByAccount.get(accountId);
+        if (source != null) {
+            source.forEach(consumer);
+        }
+    }
+
+    /**
+     * Live, weakly consistent iterator over an account's rows (or all rows for null) in a time range, newest first.
+     */
+    Iterator<Transaction> iterator(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<Transaction> source = accountId == null ? transactions : transactionsByAccount.get(accountId);
+        return source == null ? Collections.emptyIterator() : range(source, from, to).iterator();
+    }
+
+    Iterator<Transaction> oldestFirst() {
+        return transactions.descendingIterator();
+    }
+
+    // An account's index set stays in the map once empty: dropping it could race with a concurrent index()
+    void remove(Transaction transaction) {
+        if (transactions.remove(transaction)) {
+            count.decrementAndGet();
+            unindex(transaction.getFromAccountId(), transaction);
+            unindex(transaction.getToAccountId(), transaction);
+        }
+    }
+
+    private void unindex(UUID accountId, Transaction transaction) {
+        if (accountId != null) {
+            NavigableSet<Transaction> history = transactionsByAccount.get(accountId);
+            if (history != null && history.remove(transaction)) {
+                indexEntries.decrement();
+            }
+        }
+    }
+
+    private void index(UUID accountId, Transaction transaction) {
+        if (accountId != null) {
+            boolean added = transactionsByAccount
+                    .computeIfAbsent(accountId, id -> new ConcurrentSkipListSet<>(NEWEST_FIRST))
+                    .add(transaction);
+            if (added) {
+                indexEntries.increment();
+            }
+        }
+    }
+
+    // The first "limit" rows, in the iterable's order
+    static List<Transaction> first(Iterable<Transaction> rows, int limit) {
+        List<Transaction> result = new ArrayList<>(Math.min(limit, 1024));
+        Iterator<Transaction> iterator = rows.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    // Newest-first order: rows at or after "to" sort before the "to" probe, rows before "from" after the "from" probe
+    static NavigableSet<Transaction> range(NavigableSet<Transaction> set, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return set;
+        }
+        if (from == null) {
+            return set.tailSet(probe(to), false);
+        }
+        if (to == null) {
+            return set.headSet(probe(from), true);
+        }
+        if (!from.isBefore(to)) {
+            return Collections.emptyNavigableSet();
+        }
+        return set.subSet(probe(to), false, probe(from), true);
+    }
+
+    private static Transaction probe(LocalDateTime timestamp) {
+        Transaction probe = new Transaction();
+        probe.setId(MAX_ID);
+        probe.setTimestamp(timestamp);
+        return probe;
+    }
+}
@@ -0,0 +1,180 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Account;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Relational account storage, selected with {@code banking.storage.engine=jdbc} (set by the
+ * {@code jdbc} profile). Updates are guarded by the {@code version} column: a save only succeeds
+ * if the row still carries the version the account was loaded with, otherwise an
+ * {@link OptimisticLockingFailureException} is thrown. {@link #lock(UUID...)} takes row locks
+ * with {@code SELECT ... FOR UPDATE}, which last until the surrounding transaction ends.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "jdbc")
+public class JdbcAccountRepository implements AccountRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO accounts (account_id, account_name, account_email, account_balance, created_at, version, tier) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE accounts SET account_name = ?, account_email = ?, account_balance = ?, tier = ?, version = version + 1 " +
+            "WHERE account_id = ? AND version = ?";
+    private static final String SELECT_SQL =
+            "SELECT account_id, account_name, account_email, account_balance, created_at, version, tier FROM accounts";
+
+    private static final RowMapper<Account> ACCOUNT_ROW_MAPPER = (rs, rowNum) -> {
+        Account account = new Account(
+                rs.getObject("account_id", UUID.class),
+                rs.getString("account_name"),
+                rs.getString("account_email"),
+                rs.getBigDecimal("account_balance"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getLong("version"));
+        account.setTier(rs.getString("tier"));
+        return account;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public JdbcAccountRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Account save(Account account) {
+        // Version 0 means the account has never been persisted
+        if (account.getVersion() == 0) {
+            jdbcTemplate.update(INSERT_SQL,
+                    account.getAccountId(),
+                    account.getAccountName(),
+                    account.getAccountEmail(),
+                    account.getAccountBalance(),
+                    Timestamp.valueOf(account.getCreatedAt()),
+                    1L,
+                    account.getTier());
+            account.setVersion(1);
+            return account;
+        }
+
+        int updated = jdbcTemplate.update(UPDATE_SQL,
+                account.getAccountName(),
+                account.getAccountEmail(),
+                account.getAccountBalance(),
+                account.getTier(),
+                account.getAccountId(),
+                account.getVersion());
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Account was modified concurrently: " + account.getAccountId());
+        }
+        account.setVersion(account.getVersion() + 1);
+        return account;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<Account> inserts = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            if (account.getVersion() == 0) {
+                inserts.add(account);
+            } else {
+                save(account);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, account) -> {
+            ps.setObject(1, account.getAccountId());
+            ps.setString(2, account.getAccountName());
+            ps.setString(3, account.getAccountEmail());
+            ps.setBigDecimal(4, account.getAccountBalance());
+            ps.setTimestamp(5, Timestamp.valueOf(account.getCreatedAt()));
+            ps.setLong(6, 1L);
+            ps.setString(7, account.getTier());
+        });
+        inserts.forEach(account -> account.setVersion(1));
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(UUID id) {
+        return jdbcTemplate.query(SELECT_SQL + " WHERE account_id = ?", ACCOUNT_ROW_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        // Same inverted contract as the in-memory repository: true when the account is absent
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts WHERE account_id = ?", Integer.class, id);
+        return count == null || count == 0;
+    }
+
+    @Override
+    public List<Account> findAll() {
+        return jdbcTemplate.query(SELECT_SQL, ACCOUNT_ROW_MAPPER);
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        jdbcTemplate.update("DELETE FROM accounts WHERE account_id = ?", id);
+    }
+
+    @Override
+    public AccountLock lock(UUID... accountIds) {
+        // Sorted so that concurrent lockers always request rows in the same order
+        List<UUID> ids = Arrays.stream(accountIds).distinct().sorted().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return AccountLock.NONE;
+        }
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+        jdbcTemplate.query("SELECT account_id FROM accounts WHERE account_id IN (" + placeholders +
+                ") ORDER BY account_id FOR UPDATE", rs -> { }, ids.toArray());
+        return AccountLock.NONE;
+    }
+
+    // Row counts would cost a query per scrape; the pool is where requests queue on this engine
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "jdbc");
+        if (jdbcTemplate.getDataSource() instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            Map<String, Object> connections = new LinkedHashMap<>();
+            connections.put("active", pool.getActiveConnections());
+            connections.put("idle", pool.getIdleConnections());
+            connections.put("total", pool.getTotalConnections());
+            connections.put("awaiting", pool.getThreadsAwaitingConnection());
+            diagnostics.put("connections", connections);
+        }
+        return diagnostics;
+    }
+
+    @Override
+    public <R> R updateAtomically(List<UUID> accountIds, Function<List<Account>, R> mutation) {
+        // Joins the caller's transaction if there is one, so row locks are held until it commits
+        return transactionTemplate.execute(status -> AccountRepository.super.updateAtomically(accountIds, mutation));
+    }
+}
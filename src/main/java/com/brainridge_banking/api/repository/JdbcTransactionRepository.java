@@ -0,0 +1,170 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Relational transaction storage, selected with {@code banking.storage.engine=jdbc}. Bulk writes go
+ * through {@link #saveAll(List)}, which sends JDBC batches of {@code banking.jdbc.batch-size} rows.
+ * History reads are served by the {@code (from_account_id, ts)} and {@code (to_account_id, ts)} indexes.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "jdbc")
+public class JdbcTransactionRepository implements TransactionRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (id, from_account_id, to_account_id, amount, ts, type) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT id, from_account_id, to_account_id, amount, ts, type FROM transactions";
+    // One index range scan per side; a transaction never has the same account on both sides
+    private static final String HISTORY_SQL =
+            SELECT_SQL + " WHERE from_account_id = ? UNION ALL " +
+            SELECT_SQL + " WHERE to_account_id = ? ORDER BY ts DESC";
+
+    private static final RowMapper<Transaction> TRANSACTION_ROW_MAPPER = (rs, rowNum) -> {
+        Transaction transaction = new Transaction(
+                rs.getObject("from_account_id", UUID.class),
+                rs.getObject("to_account_id", UUID.class),
+                rs.getBigDecimal("amount"),
+                TransactionType.valueOf(rs.getString("type")));
+        transaction.setId(rs.getObject("id", UUID.class));
+        transaction.setTimestamp(rs.getTimestamp("ts").toLocalDateTime());
+        return transaction;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public JdbcTransactionRepository(JdbcTemplate jdbcTemplate, @Value("${banking.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        jdbcTemplate.update(INSERT_SQL,
+                transaction.getId(),
+                transaction.getFromAccountId(),
+                transaction.getToAccountId(),
+                transaction.getAmount(),
+                Timestamp.valueOf(transaction.getTimestamp()),
+                transaction.getType().name());
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (ps, transaction) -> {
+            ps.setObject(1, transaction.getId());
+            ps.setObject(2, transaction.getFromAccountId());
+            ps.setObject(3, transaction.getToAccountId());
+            ps.setBigDecimal(4, transaction.getAmount());
+            ps.setTimestamp(5, Timestamp.valueOf(transaction.getTimestamp()));
+            ps.setString(6, transaction.getType().name());
+        });
+        return batch;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        return jdbcTemplate.query(HISTORY_SQL, TRANSACTION_ROW_MAPPER, accountId, accountId);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String window = window(from, to, args);
+        List<Object> unionArgs = new ArrayList<>();
+        unionArgs.add(accountId);
+        unionArgs.addAll(args);
+        unionArgs.add(accountId);
+        unionArgs.addAll(args);
+        return jdbcTemplate.query(
+                SELECT_SQL + " WHERE from_account_id = ?" + window + " UNION ALL " +
+                SELECT_SQL + " WHERE to_account_id = ?" + window + " ORDER BY ts DESC",
+                TRANSACTION_ROW_MAPPER, unionArgs.toArray());
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String window = window(from, to, args);
+        String where = window.isEmpty() ? "" : " WHERE" + window.substring(" AND".length());
+        return jdbcTemplate.query(SELECT_SQL + where + " ORDER BY ts DESC", TRANSACTION_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Object> args = new ArrayList<>();
+        String window = window(from, to, args);
+        String where = window.isEmpty() ? "" : " WHERE" + window.substring(" AND".length());
+        args.add(limit);
+        return jdbcTemplate.query(SELECT_SQL + where + " ORDER BY ts DESC LIMIT ?", TRANSACTION_ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return jdbcTemplate.query(SELECT_SQL + " ORDER BY ts DESC", TRANSACTION_ROW_MAPPER);
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    // Rows are mapped one at a time from the cursor; the fetch size keeps the driver from buffering the whole result
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    accountId == null ? SELECT_SQL + " ORDER BY ts DESC" : HISTORY_SQL);
+            statement.setFetchSize(batchSize);
+            if (accountId != null) {
+                statement.setObject(1, accountId);
+                statement.setObject(2, accountId);
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(TRANSACTION_ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    // The connection pool is reported by the account repository, which shares it
+    @Override
+    public Map<String, Object> diagnostics() {
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "jdbc");
+        diagnostics.put("batchSize", batchSize);
+        return diagnostics;
+    }
+
+    private static String window(LocalDateTime from, LocalDateTime to, List<Object> args) {
+        StringBuilder sql = new StringBuilder();
+        if (from != null) {
+            sql.append(" AND ts >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ts < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        return sql.toString();
+    }
+}
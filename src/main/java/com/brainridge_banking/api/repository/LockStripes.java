@@ -0,0 +1,133 @@
+package com.brainridge_banking.api.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks that accounts are hashed onto. Multi-account locks are taken in
+ * ascending stripe order, and each stripe only once, so callers never deadlock.
+ *
+ * <p>Each stripe counts its acquisitions, how many had to wait, and the total wait. The counters
+ * are written only by the holder of the stripe's lock, and each stripe's counters sit on their
+ * own cache line, so counting adds no contention; an uncontended acquisition is not timed.
+ */
+public final class LockStripes {
+    private static final int ACQUISITIONS = 0;
+    private static final int CONTENDED = 1;
+    private static final int WAIT_NANOS = 2;
+    // Eight longs, one cache line, per stripe
+    private static final int STRIDE = 8;
+    private static final int BUSIEST = 8;
+
+    private final ReentrantLock[] locks;
+    private final long[] stats;
+    private final int mask;
+
+    public LockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.stats = new long[(size + 1) * STRIDE];
+        this.mask = size - 1;
+    }
+
+    public int stripeOf(UUID id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public int size() {
+        return locks.length;
+    }
+
+    public AccountLock lock(UUID... ids) {
+        if (ids.length == 1) {
+            int stripe = stripeOf(ids[0]);
+            acquire(stripe);
+            return locks[stripe]::unlock;
+        }
+
+        int[] stripes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            stripes[i] = stripeOf(ids[i]);
+        }
+        Arrays.sort(stripes);
+        int distinct = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (i == 0 || stripes[i] != stripes[i - 1]) {
+                stripes[distinct++] = stripes[i];
+            }
+        }
+
+        for (int i = 0; i < distinct; i++) {
+            acquire(stripes[i]);
+        }
+        int held = distinct;
+        return () -> {
+            for (int i = held - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        };
+    }
+
+    /**
+     * Totals over all stripes, plus the stripes with the most wait time. Counters are read
+     * without locking, so a snapshot taken under load may be slightly behind.
+     */
+    public Map<String, Object> diagnostics() {
+        long acquisitions = 0;
+        long contended = 0;
+        long waitNanos = 0;
+        Integer[] byWait = new Integer[locks.length];
+        for (int i = 0; i < locks.length; i++) {
+            acquisitions += stats[slot(i) + ACQUISITIONS];
+            contended += stats[slot(i) + CONTENDED];
+            waitNanos += stats[slot(i) + WAIT_NANOS];
+            byWait[i] = i;
+        }
+        Arrays.sort(byWait, (a, b) -> Long.compare(stats[slot(b) + WAIT_NANOS], stats[slot(a) + WAIT_NANOS]));
+        List<Map<String, Object>> busiest = new ArrayList<>();
+        for (int i = 0; i < Math.min(BUSIEST, byWait.length) && stats[slot(byWait[i]) + CONTENDED] > 0; i++) {
+            int stripe = byWait[i];
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("stripe", stripe);
+            entry.put("acquisitions", stats[slot(stripe) + ACQUISITIONS]);
+            entry.put("contended", stats[slot(stripe) + CONTENDED]);
+            entry.put("waitMicros", TimeUnit.NANOSECONDS.toMicros(stats[slot(stripe) + WAIT_NANOS]));
+            busiest.add(entry);
+        }
+
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("stripes", locks.length);
+        diagnostics.put("acquisitions", acquisitions);
+        diagnostics.put("contended", contended);
+        diagnostics.put("waitMicros", TimeUnit.NANOSECONDS.toMicros(waitNanos));
+        diagnostics.put("busiestStripes", busiest);
+        return diagnostics;
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        int slot = slot(stripe);
+        if (!lock.tryLock()) {
+            long start = System.nanoTime();
+            lock.lock();
+            stats[slot + CONTENDED]++;
+            stats[slot + WAIT_NANOS] += System.nanoTime() - start;
+        }
+        stats[slot + ACQUISITIONS]++;
+    }
+
+    // Offset by one line so stripe 0 does not share a cache line with the array header
+    private static int slot(int stripe) {
+        return (stripe + 1) * STRIDE;
+    }
+}
@@ -0,0 +1,141 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Account storage split into {@code banking.storage.shards} independent in-memory shards by
+ * account-id hash, so request threads touching different accounts rarely share a map or a lock.
+ * Point operations run on the calling thread; only {@link #saveAll} and {@link #findAll} go
+ * through the shard executors.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "partitioned")
+public class PartitionedAccountRepository implements AccountRepository {
+
+    private final PartitionedStorage storage;
+    private final InMemoryAccountRepository[] shards;
+
+    @Autowired
+    public PartitionedAccountRepository(PartitionedStorage storage,
+                                        @Value("${banking.storage.lock-stripes:1024}") int lockStripes) {
+        this.storage = storage;
+        this.shards = new InMemoryAccountRepository[storage.shardCount()];
+        int stripesPerShard = Math.max(1, lockStripes / shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new InMemoryAccountRepository(stripesPerShard);
+            storage.registerSizeGauge("banking.storage.shard.accounts", shards[i], i, InMemoryAccountRepository::count);
+        }
+        storage.registerImbalanceGauge("banking.storage.shard.imbalance", shard -> shards[shard].count());
+    }
+
+    @Override
+    public Account save(Account account) {
+        return shardFor(account.getAccountId()).save(account);
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<List<Account>> byShard = groupByShard(accounts);
+        storage.fanOut(shard -> shards[shard].saveAll(byShard.get(shard)));
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(UUID id) {
+        return shardFor(id).findById(id);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return shardFor(id).existsById(id);
+    }
+
+    @Override
+    public List<Account> findAll() {
+        List<Account> all = new ArrayList<>();
+        storage.fanOut(shard -> shards[shard].findAll()).forEach(all::addAll);
+        return all;
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (InMemoryAccountRepository shard : shards) {
+            count += shard.count();
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        shardFor(id).deleteById(id);
+    }
+
+    @Override
+    public AccountLock lock(UUID... accountIds) {
+        if (accountIds.length == 1) {
+            return shardFor(accountIds[0]).lock(accountIds);
+        }
+
+        // Shards are locked in ascending order, and stripes in order within a shard, so the global order holds
+        SortedMap<Integer, List<UUID>> byShard = new TreeMap<>();
+        for (UUID id : accountIds) {
+            byShard.computeIfAbsent(storage.shardOf(id), shard -> new ArrayList<>()).add(id);
+        }
+        Deque<AccountLock> held = new ArrayDeque<>(byShard.size());
+        for (Map.Entry<Integer, List<UUID>> entry : byShard.entrySet()) {
+            held.push(shards[entry.getKey()].lock(entry.getValue().toArray(new UUID[0])));
+        }
+        return () -> {
+            while (!held.isEmpty()) {
+                held.pop().close();
+            }
+        };
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        List<Map<String, Object>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Map<String, Object> shard = new LinkedHashMap<>();
+            shard.put("shard", i);
+            shard.put("operations", storage.operations(i));
+            shard.put("queueDepth", storage.queueDepth(i));
+            shard.put("accounts", shards[i].count());
+            shard.put("locks", shards[i].lockStripes().diagnostics());
+            perShard.add(shard);
+        }
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "partitioned");
+        diagnostics.put("accounts", count());
+        diagnostics.put("shards", perShard);
+        return diagnostics;
+    }
+
+    public long count(int shard) {
+        return shards[shard].count();
+    }
+
+    private InMemoryAccountRepository shardFor(UUID id) {
+        int shard = storage.shardOf(id);
+        storage.recordOperation(shard);
+        return shards[shard];
+    }
+
+    private List<List<Account>> groupByShard(List<Account> accounts) {
+        List<List<Account>> byShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Account account : accounts) {
+            byShard.get(storage.shardOf(account.getAccountId())).add(account);
+        }
+        return byShard;
+    }
+}
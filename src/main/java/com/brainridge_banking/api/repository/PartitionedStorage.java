@@ -0,0 +1,171 @@
+package com.brainridge_banking.api.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Shard layout shared by the partitioned repositories: maps account ids to shards and owns
+ * one single-threaded executor per shard. Multi-shard work (a fan-out query or the slices of
+ * a bulk write) runs each shard's part on that shard's thread, as does anything submitted
+ * through {@link #execute(UUID, Callable)}. Point operations (save, lookup, lock) do not:
+ * they run on the caller's thread against the owning shard, because a hand-off to the shard
+ * thread would cost more than the map access itself, and account locks have to be held by
+ * the request thread. Publishes per-shard operation counts, sizes and queue depths to spot
+ * imbalance.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "partitioned")
+public class PartitionedStorage {
+
+    private final int shardCount;
+    private final ThreadPoolExecutor[] executors;
+    private final Counter[] operations;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public PartitionedStorage(@Value("${banking.storage.shards:8}") int shardCount, MeterRegistry meterRegistry) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shardCount = shardCount;
+        this.meterRegistry = meterRegistry;
+        this.executors = new ThreadPoolExecutor[shardCount];
+        this.operations = new Counter[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String name = "shard-" + i;
+            executors[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            operations[i] = Counter.builder("banking.storage.shard.operations")
+                    .tag("shard", Integer.toString(i))
+                    .register(meterRegistry);
+            BlockingQueue<Runnable> queue = executors[i].getQueue();
+            Gauge.builder("banking.storage.shard.queue.depth", queue, BlockingQueue::size)
+                    .tag("shard", Integer.toString(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(UUID accountId) {
+        int h = accountId.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), shardCount);
+    }
+
+    /**
+     * Counts an operation against a shard for load metrics.
+     */
+    public void recordOperation(int shard) {
+        operations[shard].increment();
+    }
+
+    /**
+     * Runs a task on the executor of the shard that owns the account.
+     */
+    public <T> CompletableFuture<T> execute(UUID accountId, Callable<T> task) {
+        int shard = shardOf(accountId);
+        recordOperation(shard);
+        return submit(shard, task);
+    }
+
+    /**
+     * Runs one task per shard on the shard executors and waits for all of them. Must not be
+     * called from a shard thread, since that shard would then wait on itself.
+     */
+    public <T> List<T> fanOut(IntFunction<T> perShard) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            int shard = i;
+            recordOperation(shard);
+            futures.add(submit(shard, () -> perShard.apply(shard)));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Registers a per-shard size gauge (for example accounts or index entries per shard).
+     */
+    public <S> void registerSizeGauge(String name, S source, int shard, ToLongFunction<S> size) {
+        Gauge.builder(name, source, s -> size.applyAsLong(s))
+                .tag("shard", Integer.toString(shard))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a gauge of max/mean size across shards; 1.0 means perfectly balanced.
+     */
+    public void registerImbalanceGauge(String name, IntToLongFunction sizeOfShard) {
+        Gauge.builder(name, () -> {
+            long max = 0;
+            long total = 0;
+            for (int i = 0; i < shardCount; i++) {
+                long size = sizeOfShard.applyAsLong(i);
+                max = Math.max(max, size);
+                total += size;
+            }
+            return total == 0 ? 1.0 : max / ((double) total / shardCount);
+        }).register(meterRegistry);
+    }
+
+    public long operations(int shard) {
+        return (long) operations[shard].count();
+    }
+
+    public int queueDepth(int shard) {
+        return executors[shard].getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(int shard, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executors[shard].execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
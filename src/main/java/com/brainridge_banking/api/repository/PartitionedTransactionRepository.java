@@ -0,0 +1,212 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Transaction storage partitioned like the accounts. Each transaction is stored once, in the
+ * shard of its source account (or of its destination for deposits), while the per-account
+ * history index lives in the shard of the account it indexes. History reads therefore touch
+ * a single shard, and time-range scans fan out to every shard's executor and merge.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.storage.engine", havingValue = "partitioned")
+public class PartitionedTransactionRepository implements TransactionRepository {
+
+    private final PartitionedStorage storage;
+    private final Shard[] shards;
+
+    @Autowired
+    public PartitionedTransactionRepository(PartitionedStorage storage) {
+        this.storage = storage;
+        this.shards = new Shard[storage.shardCount()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+            storage.registerSizeGauge("banking.storage.shard.transactions", shards[i], i, shard -> shard.count.get());
+            storage.registerSizeGauge("banking.storage.shard.index.accounts", shards[i], i, shard -> shard.byAccount.size());
+        }
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        UUID owner = transaction.getFromAccountId() != null ? transaction.getFromAccountId() : transaction.getToAccountId();
+        if (shardFor(owner).store(transaction)) {
+            index(transaction.getFromAccountId(), transaction);
+            index(transaction.getToAccountId(), transaction);
+        }
+        return transaction;
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            save(transaction);
+        }
+        return batch;
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        NavigableSet<Transaction> history = shardFor(accountId).byAccount.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<Transaction> history = shardFor(accountId).byAccount.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(InMemoryTransactionRepository.range(history, from, to));
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        List<List<Transaction>> perShard = storage.fanOut(
+                shard -> new ArrayList<>(InMemoryTransactionRepository.range(shards[shard].transactions, from, to)));
+        return mergeNewestFirst(perShard);
+    }
+
+    // Each shard contributes at most its newest limit rows, so the merge never holds more than shards * limit
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<List<Transaction>> perShard = storage.fanOut(
+                shard -> InMemoryTransactionRepository.first(
+                        InMemoryTransactionRepository.range(shards[shard].transactions, from, to), limit));
+        List<Transaction> merged = mergeNewestFirst(perShard);
+        return merged.size() <= limit ? merged : new ArrayList<>(merged.subList(0, limit));
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return findByTimestampBetween(null, null);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.count.get();
+        }
+        return count;
+    }
+
+    // Walks the live skip lists; a full scan merges one iterator per shard instead of fanning out copies
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        if (accountId != null) {
+            NavigableSet<Transaction> history = shardFor(accountId).byAccount.get(accountId);
+            if (history != null) {
+                history.forEach(consumer);
+            }
+            return;
+        }
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                (a, b) -> InMemoryTransactionRepository.NEWEST_FIRST.compare(a.head, b.head));
+        for (int i = 0; i < shards.length; i++) {
+            storage.recordOperation(i);
+            PeekingIterator iterator = new PeekingIterator(shards[i].transactions.iterator());
+            if (iterator.head != null) {
+                heads.add(iterator);
+            }
+        }
+        while (!heads.isEmpty()) {
+            PeekingIterator iterator = heads.poll();
+            consumer.accept(iterator.head);
+            if (iterator.advance() != null) {
+                heads.add(iterator);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        List<Map<String, Object>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Map<String, Object> shard = new LinkedHashMap<>();
+            shard.put("shard", i);
+            shard.put("transactions", shards[i].count.get());
+            shard.put("indexedAccounts", shards[i].byAccount.size());
+            perShard.add(shard);
+        }
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "partitioned");
+        diagnostics.put("transactions", count());
+        diagnostics.put("shards", perShard);
+        return diagnostics;
+    }
+
+    private void index(UUID accountId, Transaction transaction) {
+        if (accountId != null) {
+            shardFor(accountId).byAccount
+                    .computeIfAbsent(accountId, id -> new ConcurrentSkipListSet<>(InMemoryTransactionRepository.NEWEST_FIRST))
+                    .add(transaction);
+        }
+    }
+
+    private Shard shardFor(UUID accountId) {
+        int shard = storage.shardOf(accountId);
+        storage.recordOperation(shard);
+        return shards[shard];
+    }
+
+    // Each shard's list is already sorted, so a k-way merge keeps the global order without re-sorting
+    private static List<Transaction> mergeNewestFirst(List<List<Transaction>> perShard) {
+        int total = 0;
+        for (List<Transaction> list : perShard) {
+            total += list.size();
+        }
+        List<Transaction> merged = new ArrayList<>(total);
+        PriorityQueue<int[]> heads = new PriorityQueue<>((a, b) -> InMemoryTransactionRepository.NEWEST_FIRST
+                .compare(perShard.get(a[0]).get(a[1]), perShard.get(b[0]).get(b[1])));
+        for (int i = 0; i < perShard.size(); i++) {
+            if (!perShard.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<Transaction> list = perShard.get(head[0]);
+            merged.add(list.get(head[1]));
+            if (++head[1] < list.size()) {
+                heads.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private static final class PeekingIterator {
+        private final Iterator<Transaction> iterator;
+        private Transaction head;
+
+        PeekingIterator(Iterator<Transaction> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        Transaction advance() {
+            head = iterator.hasNext() ? iterator.next() : null;
+            return head;
+        }
+    }
+
+    private static final class Shard {
+        final NavigableSet<Transaction> transactions = new ConcurrentSkipListSet<>(InMemoryTransactionRepository.NEWEST_FIRST);
+        final Map<UUID, NavigableSet<Transaction>> byAccount = new ConcurrentHashMap<>();
+        final AtomicLong count = new AtomicLong();
+
+        boolean store(Transaction transaction) {
+            if (transactions.add(transaction)) {
+                count.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
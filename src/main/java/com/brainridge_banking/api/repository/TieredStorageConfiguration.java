@@ -0,0 +1,94 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.segment.SegmentFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.PriorityOrdered;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@code banking.storage.tiering.enabled=true}: the memory engine's transactions are tiered,
+ * with older ones archived to segment files. The partitioned engine keeps its shards on the
+ * heap, and the jdbc engine already stores transactions on disk.
+ */
+@Configuration
+@ConditionalOnExpression("${banking.storage.tiering.enabled:false} and '${banking.storage.engine:memory}' == 'memory'")
+public class TieredStorageConfiguration {
+
+    /**
+     * Wraps the in-memory transaction engine before any other post-processor (such as
+     * replication) sees it, so those wrap the tiered repository instead. The declared return type
+     * must be the post-processor's own class for Spring to see that it is ordered. The
+     * post-processor also shuts the tiered repository down, since other wrappers hide it.
+     */
+    @Bean
+    public static TieringPostProcessor tieredTransactionRepositoryPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${banking.storage.tiering.dir:transaction-segments}") String directory,
+            @Value("${banking.storage.tiering.max-hot-rows:1000000}") long maxHotRows,
+            @Value("${banking.storage.tiering.max-hot-age:0}") Duration maxHotAge,
+            @Value("${banking.storage.tiering.block-rows:1024}") int blockRows,
+            @Value("${banking.storage.tiering.format:compressed}") String format,
+            @Value("${banking.storage.tiering.max-segments:16}") int maxSegments,
+            @Value("${banking.storage.tiering.archive-interval-ms:10000}") long archiveIntervalMs) {
+        return new TieringPostProcessor(meterRegistry, Path.of(directory), maxHotRows,
+                maxHotAge.isZero() ? null : maxHotAge, blockRows, SegmentFormat.valueOf(format.toUpperCase()), maxSegments,
+                archiveIntervalMs);
+    }
+
+    static final class TieringPostProcessor implements BeanPostProcessor, PriorityOrdered, DisposableBean {
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Path directory;
+        private final long maxHotRows;
+        private final Duration maxHotAge;
+        private final int blockRows;
+        private final SegmentFormat format;
+        private final int maxSegments;
+        private final long archiveIntervalMs;
+        private TieredTransactionRepository tiered;
+
+        TieringPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, Path directory, long maxHotRows,
+                             Duration maxHotAge, int blockRows, SegmentFormat format, int maxSegments,
+                             long archiveIntervalMs) {
+            this.meterRegistry = meterRegistry;
+            this.directory = directory;
+            this.maxHotRows = maxHotRows;
+            this.maxHotAge = maxHotAge;
+            this.blockRows = blockRows;
+            this.format = format;
+            this.maxSegments = maxSegments;
+            this.archiveIntervalMs = archiveIntervalMs;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof InMemoryTransactionRepository hot) {
+                tiered = new TieredTransactionRepository(hot, directory, maxHotRows,
+                        maxHotAge, blockRows, format, maxSegments, meterRegistry.getObject());
+                tiered.start(archiveIntervalMs);
+                return tiered;
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void destroy() {
+            if (tiered != null) {
+                tiered.shutdown();
+            }
+        }
+    }
+}
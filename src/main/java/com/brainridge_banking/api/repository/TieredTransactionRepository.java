@@ -0,0 +1,405 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.segment.SegmentFormat;
+import com.brainridge_banking.api.segment.TransactionSegment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The memory engine with a cold tier. Recent transactions stay in the in-memory engine; an
+ * archiver moves the oldest ones, once the hot tier holds more than {@code max-hot-rows} or
+ * they are older than {@code max-hot-age}, into immutable {@link TransactionSegment} files.
+ * Reads merge the hot tier with every segment newest first, so callers see one ledger.
+ *
+ * <p>Each archival run writes one segment. When there are more than {@code max-segments},
+ * the smallest are merged into one, so a read never has to open too many files. A segment is
+ * published before its rows leave the hot tier, and rows leave only once every read that
+ * started before the segment was published has finished. Reads drop rows seen twice, so a
+ * read that overlaps an archival run sees each row exactly once.
+ *
+ * <p>Segments extend the heap, not durability: like the rest of the memory engine they do
+ * not survive a restart, and the directory is cleared when the engine starts.
+ */
+public class TieredTransactionRepository implements TransactionRepository {
+    private static final Logger log = LoggerFactory.getLogger(TieredTransactionRepository.class);
+    private static final Comparator<Transaction> NEWEST_FIRST = InMemoryTransactionRepository.NEWEST_FIRST;
+
+    private final InMemoryTransactionRepository hot;
+    private final Path directory;
+    private final long maxHotRows;
+    private final Duration maxHotAge;
+    private final int blockRows;
+    private final SegmentFormat format;
+    private final int maxSegments;
+    private final Counter archived;
+    private volatile List<TransactionSegment> segments = List.of();
+    // Reads in progress, by the read epoch they started in; archival flips the epoch and drains the old one
+    private final AtomicLong[] readers = {new AtomicLong(), new AtomicLong()};
+    private volatile int readEpoch;
+    private long nextSegment;
+    private ScheduledExecutorService worker;
+
+    /**
+     * @param maxHotRows rows kept in memory before the oldest are archived; negative for no limit
+     * @param maxHotAge  age after which rows are archived; null for no limit
+     */
+    public TieredTransactionRepository(InMemoryTransactionRepository hot, Path directory, long maxHotRows,
+                                       Duration maxHotAge, int blockRows, SegmentFormat format, int maxSegments,
+                                       MeterRegistry meterRegistry) {
+        this.hot = hot;
+        this.directory = directory;
+        this.maxHotRows = maxHotRows;
+        this.maxHotAge = maxHotAge;
+        this.blockRows = Math.max(1, blockRows);
+        this.format = format;
+        this.maxSegments = Math.max(2, maxSegments);
+        clearDirectory();
+        this.archived = Counter.builder("banking.storage.tiering.archived").register(meterRegistry);
+        Gauge.builder("banking.storage.tiering.hot-transactions", hot, InMemoryTransactionRepository::count)
+                .register(meterRegistry);
+        Gauge.builder("banking.storage.tiering.segments", this, repository -> repository.segments.size())
+                .register(meterRegistry);
+        Gauge.builder("banking.storage.tiering.cold-transactions", this, TieredTransactionRepository::coldCount)
+                .register(meterRegistry);
+        Gauge.builder("banking.storage.tiering.cold-bytes", this, repository -> repository.segments.stream()
+                .mapToLong(TransactionSegment::sizeBytes).sum()).register(meterRegistry);
+    }
+
+    public synchronized void start(long archiveIntervalMs) {
+        if (worker != null) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "transaction-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.scheduleWithFixedDelay(() -> {
+            try {
+                archive();
+            } catch (RuntimeException e) {
+                log.warn("Transaction archival failed; will retry", e);
+            }
+        }, archiveIntervalMs, archiveIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    /**
+     * Stops archival and deletes the segment files.
+     */
+    public void shutdown() {
+        stop();
+        synchronized (this) {
+            List<TransactionSegment> owned = segments;
+            segments = List.of();
+            owned.forEach(TransactionSegment::discard);
+        }
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return hot.save(transaction);
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> batch) {
+        return hot.saveAll(batch);
+    }
+
+    @Override
+    public List<Transaction> findByAccountId(UUID accountId) {
+        return collect(accountId, null, null);
+    }
+
+    @Override
+    public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        return collect(accountId, from, to);
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to) {
+        return collect(null, from, to);
+    }
+
+    @Override
+    public List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Transaction> result = new ArrayList<>(Math.min(limit, 1024));
+        scan(null, from, to, limit, result::add);
+        return result;
+    }
+
+    @Override
+    public List<Transaction> findAll() {
+        return collect(null, null, null);
+    }
+
+    // Rows being archived are briefly counted in both tiers
+    @Override
+    public long count() {
+        return hot.count() + coldCount();
+    }
+
+    @Override
+    public void scan(UUID accountId, Consumer<Transaction> consumer) {
+        scan(accountId, null, null, Long.MAX_VALUE, consumer);
+    }
+
+    @Override
+    public Map<String, Object> diagnostics() {
+        List<TransactionSegment> snapshot = segments;
+        long coldRows = 0;
+        long coldBytes = 0;
+        for (TransactionSegment segment : snapshot) {
+            coldRows += segment.rowCount();
+            coldBytes += segment.sizeBytes();
+        }
+        Map<String, Object> diagnostics = new LinkedHashMap<>();
+        diagnostics.put("engine", "tiered");
+        diagnostics.put("hot", hot.diagnostics());
+        diagnostics.put("coldTransactions", coldRows);
+        diagnostics.put("segments", snapshot.size());
+        diagnostics.put("coldBytes", coldBytes);
+        diagnostics.put("format", format.name().toLowerCase());
+        return diagnostics;
+    }
+
+    /**
+     * Moves the rows past the retention thresholds into a new segment, then merges segments
+     * if there are too many. Returns the number of rows archived.
+     */
+    public synchronized int archive() {
+        long excess = maxHotRows < 0 ? 0 : hot.count() - maxHotRows;
+        LocalDateTime cutoff = maxHotAge == null ? null : LocalDateTime.now().minus(maxHotAge);
+        List<Transaction> victims = new ArrayList<>();
+        Iterator<Transaction> oldest = hot.oldestFirst();
+        while (oldest.hasNext()) {
+            Transaction transaction = oldest.next();
+            if (victims.size() >= excess && (cutoff == null || !transaction.getTimestamp().isBefore(cutoff))) {
+                break;
+            }
+            victims.add(transaction);
+        }
+        if (victims.isEmpty()) {
+            return 0;
+        }
+
+        Collections.reverse(victims);
+        TransactionSegment segment = TransactionSegment.write(nextFile(), victims.iterator(), blockRows, format);
+        publish(List.of(), segment);
+        if (!awaitEarlierReads()) {
+            // Shutting down: the rows stay in the hot tier as well, and reads drop the duplicates
+            return 0;
+        }
+        victims.forEach(hot::remove);
+        archived.increment(victims.size());
+
+        if (segments.size() > maxSegments) {
+            merge();
+        }
+        return victims.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    long coldCount() {
+        long rows = 0;
+        for (TransactionSegment segment : segments) {
+            rows += segment.rowCount();
+        }
+        return rows;
+    }
+
+    // Only archive() merges, so no input can be discarded underneath it
+    private void merge() {
+        List<TransactionSegment> inputs = new ArrayList<>(segments);
+        inputs.sort(Comparator.comparingLong(TransactionSegment::rowCount));
+        inputs = new ArrayList<>(inputs.subList(0, maxSegments / 2 + 1));
+        List<Iterator<Transaction>> sources = new ArrayList<>(inputs.size());
+        for (TransactionSegment input : inputs) {
+            sources.add(input.iterator(null, null, null));
+        }
+        TransactionSegment merged = TransactionSegment.write(nextFile(), new MergingIterator(sources), blockRows,
+                format);
+        publish(inputs, merged);
+        inputs.forEach(TransactionSegment::discard);
+    }
+
+    private synchronized void publish(List<TransactionSegment> removed, TransactionSegment added) {
+        List<TransactionSegment> next = new ArrayList<>(segments);
+        next.removeAll(removed);
+        next.add(added);
+        segments = List.copyOf(next);
+    }
+
+    // A read that starts after the flip took its segment snapshot after the publish, so it finds the rows there
+    private boolean awaitEarlierReads() {
+        int previous = readEpoch;
+        readEpoch = 1 - previous;
+        while (readers[previous].get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Transaction> collect(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        List<Transaction> result = new ArrayList<>();
+        scan(accountId, from, to, Long.MAX_VALUE, result::add);
+        return result;
+    }
+
+    private void scan(UUID accountId, LocalDateTime from, LocalDateTime to, long limit, Consumer<Transaction> consumer) {
+        AtomicLong epochReaders = readers[readEpoch];
+        epochReaders.incrementAndGet();
+        List<TransactionSegment> retained = retainSegments();
+        try {
+            List<Iterator<Transaction>> sources = new ArrayList<>(retained.size() + 1);
+            sources.add(hot.iterator(accountId, from, to));
+            for (TransactionSegment segment : retained) {
+                if (accountId == null || segment.mightContain(accountId)) {
+                    sources.add(segment.iterator(accountId, from, to));
+                }
+            }
+            MergingIterator merged = new MergingIterator(sources);
+            for (long remaining = limit; remaining > 0 && merged.hasNext(); remaining--) {
+                consumer.accept(merged.next());
+            }
+        } finally {
+            retained.forEach(TransactionSegment::release);
+            epochReaders.decrementAndGet();
+        }
+    }
+
+    // A segment discarded by a merge is replaced before it is released, so a retry sees its successor
+    private List<TransactionSegment> retainSegments() {
+        while (true) {
+            List<TransactionSegment> snapshot = segments;
+            List<TransactionSegment> retained = new ArrayList<>(snapshot.size());
+            for (TransactionSegment segment : snapshot) {
+                if (!segment.retain()) {
+                    break;
+                }
+                retained.add(segment);
+            }
+            if (retained.size() == snapshot.size()) {
+                return retained;
+            }
+            retained.forEach(TransactionSegment::release);
+        }
+    }
+
+    private Path nextFile() {
+        return directory.resolve(String.format("segment-%010d.seg", nextSegment++));
+    }
+
+    private void clearDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "segment-*")) {
+                for (Path file : stale) {
+                    Files.delete(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare segment directory " + directory, e);
+        }
+    }
+
+    /**
+     * K-way merge of newest-first sources that skips a row equal to the one before it.
+     */
+    private static final class MergingIterator implements Iterator<Transaction> {
+        private final PriorityQueue<Source> heads = new PriorityQueue<>((a, b) -> NEWEST_FIRST.compare(a.head, b.head));
+        private Transaction last;
+
+        MergingIterator(List<Iterator<Transaction>> sources) {
+            for (Iterator<Transaction> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Source(source));
+                }
+            }
+            skipDuplicates();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Transaction next() {
+            Source source = heads.poll();
+            if (source == null) {
+                throw new NoSuchElementException();
+            }
+            last = source.head;
+            if (source.advance()) {
+                heads.add(source);
+            }
+            skipDuplicates();
+            return last;
+        }
+
+        private void skipDuplicates() {
+            while (last != null && !heads.isEmpty() && NEWEST_FIRST.compare(heads.peek().head, last) == 0) {
+                Source source = heads.poll();
+                if (source.advance()) {
+                    heads.add(source);
+                }
+            }
+        }
+    }
+
+    private static final class Source {
+        private final Iterator<Transaction> iterator;
+        private Transaction head;
+
+        Source(Iterator<Transaction> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        boolean advance() {
+            head = iterator.hasNext() ? iterator.next() : null;
+            return head != null;
+        }
+    }
+}
@@ -1,27 +1,55 @@
 package com.brainridge_banking.api.repository;
 
 import com.brainridge_banking.api.model.Transaction;
-import org.springframework.stereotype.Repository;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
 
-@Repository
-public class TransactionRepository {
-    private final Map<UUID, Transaction> transactions = new ConcurrentHashMap<>();
+/**
+ * Storage-engine SPI for transactions. All list results are ordered newest first.
+ * Range bounds are {@code from} inclusive and {@code to} exclusive; a null bound is open.
+ */
+public interface TransactionRepository {
+    Transaction save(Transaction transaction);
 
-    public Transaction save(Transaction transaction) {
-        transactions.put(transaction.getId(), transaction);
-        return transaction;
+    List<Transaction> saveAll(List<Transaction> batch);
+
+    List<Transaction> findByAccountId(UUID accountId);
+
+    List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to);
+
+    List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * The newest {@code limit} transactions of a time range. Engines that can stop reading once
+     * they have enough override this; the default reads the whole range first.
+     */
+    default List<Transaction> findByTimestampBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Transaction> range = findByTimestampBetween(from, to);
+        return range.size() <= limit ? range : new ArrayList<>(range.subList(0, limit));
+    }
+
+    List<Transaction> findAll();
+
+    long count();
+
+    /**
+     * Streams an account's history, or every transaction when {@code accountId} is null, newest first
+     * without materializing the whole result. Engines that can iterate in place override this.
+     */
+    default void scan(UUID accountId, Consumer<Transaction> consumer) {
+        (accountId == null ? findAll() : findByAccountId(accountId)).forEach(consumer);
     }
 
-    public List<Transaction> findByAccountId(UUID accountId) {
-        return transactions.values().stream()
-                .filter(transaction ->
-                        accountId.equals(transaction.getFromAccountId()) ||
-                                accountId.equals(transaction.getToAccountId()))
-                .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
-                .collect(Collectors.toList());
+    /**
+     * Live internals for the diagnostics endpoint: sizes and counters the engine already keeps,
+     * never a scan or a query. Wrapping engines report their delegate's.
+     */
+    default Map<String, Object> diagnostics() {
+        return Map.of();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.brainridge_banking.api.segment;
+
+import java.util.UUID;
+
+/**
+ * Per-segment filter over the account ids a segment mentions, so account history reads skip
+ * segments that cannot contain the account. About 1% false positives at ten bits per account.
+ */
+final class AccountBloomFilter {
+    static final int BITS_PER_ACCOUNT = 10;
+    static final int HASHES = 7;
+
+    private final long[] words;
+    private final long bitCount;
+
+    AccountBloomFilter(int expectedAccounts) {
+        this(new long[Math.max(1, (int) (((long) Math.max(1, expectedAccounts) * BITS_PER_ACCOUNT + 63) / 64))]);
+    }
+
+    AccountBloomFilter(long[] words) {
+        this.words = words;
+        this.bitCount = (long) words.length * 64;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    void add(UUID accountId) {
+        long h1 = mix(accountId.getMostSignificantBits() ^ Long.rotateLeft(accountId.getLeastSignificantBits(), 17));
+        long h2 = mix(h1 ^ accountId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(UUID accountId) {
+        long h1 = mix(accountId.getMostSignificantBits() ^ Long.rotateLeft(accountId.getLeastSignificantBits(), 17));
+        long h2 = mix(h1 ^ accountId.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Finalizer of SplitMix64
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,56 @@
+package com.brainridge_banking.api.segment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The distinct account ids of a segment, numbered in the order the writer first meets them.
+ * Compressed blocks refer to accounts by number; the table is stored once in the segment
+ * footer and kept on the heap next to the index.
+ */
+final class AccountTable {
+    private final Map<UUID, Integer> numbers;
+    private UUID[] accounts;
+    private int size;
+
+    AccountTable() {
+        this.numbers = new HashMap<>();
+        this.accounts = new UUID[64];
+    }
+
+    AccountTable(UUID[] accounts) {
+        this.numbers = null;
+        this.accounts = accounts;
+        this.size = accounts.length;
+    }
+
+    /**
+     * Number of the account, assigning the next one if it is new. Writer side only.
+     */
+    int add(UUID accountId) {
+        Integer number = numbers.get(accountId);
+        if (number != null) {
+            return number;
+        }
+        if (size == accounts.length) {
+            accounts = Arrays.copyOf(accounts, size * 2);
+        }
+        accounts[size] = accountId;
+        numbers.put(accountId, size);
+        return size++;
+    }
+
+    int numberOf(UUID accountId) {
+        return numbers.get(accountId);
+    }
+
+    UUID get(int number) {
+        return accounts[number];
+    }
+
+    int size() {
+        return size;
+    }
+}
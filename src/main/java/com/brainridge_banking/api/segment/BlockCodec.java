@@ -0,0 +1,30 @@
+package com.brainridge_banking.api.segment;
+
+import com.brainridge_banking.api.model.Transaction;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Encoding of the rows in one segment block. A block must decode with nothing but the
+ * segment's footer (index and account table), so a reader can seek to any block.
+ */
+interface BlockCodec {
+    /**
+     * Every account id in {@code rows} is already in {@code accounts}.
+     */
+    void encode(List<Transaction> rows, AccountTable accounts, DataOutputStream out) throws IOException;
+
+    /**
+     * Decodes a block written by {@link #encode}; {@code rows} comes from the segment index.
+     * Throws if the block is recognizably corrupt.
+     */
+    Transaction[] decode(ByteBuffer block, int rows, AccountTable accounts) throws IOException;
+
+    /**
+     * Whether blocks refer to the account table, which must then be stored with the segment.
+     */
+    boolean usesAccountTable();
+}
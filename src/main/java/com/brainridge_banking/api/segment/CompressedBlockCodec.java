@@ -0,0 +1,235 @@
+package com.brainridge_banking.api.segment;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link SegmentFormat#COMPRESSED}. Account ids are dictionary encoded through the segment's
+ * {@link AccountTable}; after a timestamp mode byte, each row stores:
+ * <ul>
+ *   <li>its own id, raw (transaction ids are random, so they do not compress);</li>
+ *   <li>one header byte with the type, which account ids are present and the amount kind;</li>
+ *   <li>varint account table numbers for the accounts;</li>
+ *   <li>its timestamp, as a zigzag varint delta from the previous row's, in nanoseconds;</li>
+ *   <li>its amount, as a zigzag varint of the unscaled value (minor units, for a two-decimal
+ *       amount) with the scale in the header byte, when the scale is 0 to 2.</li>
+ * </ul>
+ * Timestamps outside 1824-2116, where nanosecond deltas could overflow, fall back to second
+ * and nanosecond fields for the whole block. Other amounts keep their scale and unscaled bytes,
+ * so every amount decodes with the scale it was stored with. The block ends with a CRC32C of
+ * everything before it, checked on decode.
+ */
+final class CompressedBlockCodec implements BlockCodec {
+    private static final int NANOS_TIMESTAMPS = 0;
+    private static final int SECONDS_TIMESTAMPS = 1;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_NANOS_SECONDS = (1L << 62) / NANOS_PER_SECOND;
+
+    private static final int TYPE_MASK = 3;
+    private static final int NO_TYPE = 3;
+    private static final int HAS_FROM = 4;
+    private static final int HAS_TO = 8;
+    private static final int AMOUNT_SHIFT = 4;
+    private static final int AMOUNT_MASK = 3;
+    private static final int COMPACT = 0;
+    private static final int SCALED = 1;
+    private static final int NO_AMOUNT = 2;
+    private static final int SCALE_SHIFT = 6;
+    private static final int MAX_COMPACT_SCALE = 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Override
+    public void encode(List<Transaction> rows, AccountTable accounts, DataOutputStream out) throws IOException {
+        Sink sink = new Sink(rows.size() * 32 + 16);
+        int mode = NANOS_TIMESTAMPS;
+        for (Transaction row : rows) {
+            long seconds = row.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            if (seconds >= MAX_NANOS_SECONDS || seconds <= -MAX_NANOS_SECONDS) {
+                mode = SECONDS_TIMESTAMPS;
+            }
+        }
+        sink.writeByte(mode);
+
+        long previousNanos = 0;
+        long previousSeconds = 0;
+        for (Transaction row : rows) {
+            sink.writeLong(row.getId().getMostSignificantBits());
+            sink.writeLong(row.getId().getLeastSignificantBits());
+
+            BigDecimal amount = row.getAmount();
+            int amountKind;
+            if (amount == null) {
+                amountKind = NO_AMOUNT;
+            } else if (amount.scale() >= 0 && amount.scale() <= MAX_COMPACT_SCALE
+                    && amount.unscaledValue().bitLength() < 64) {
+                amountKind = COMPACT;
+            } else {
+                amountKind = SCALED;
+            }
+            int header = (row.getType() == null ? NO_TYPE : row.getType().ordinal())
+                    | (row.getFromAccountId() != null ? HAS_FROM : 0)
+                    | (row.getToAccountId() != null ? HAS_TO : 0)
+                    | amountKind << AMOUNT_SHIFT
+                    | (amountKind == COMPACT ? amount.scale() << SCALE_SHIFT : 0);
+            sink.writeByte(header);
+            if (row.getFromAccountId() != null) {
+                sink.writeVarLong(accounts.numberOf(row.getFromAccountId()));
+            }
+            if (row.getToAccountId() != null) {
+                sink.writeVarLong(accounts.numberOf(row.getToAccountId()));
+            }
+
+            long seconds = row.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+            int nanos = row.getTimestamp().getNano();
+            if (mode == NANOS_TIMESTAMPS) {
+                long timestampNanos = seconds * NANOS_PER_SECOND + nanos;
+                sink.writeVarLong(zigzag(previousNanos - timestampNanos));
+                previousNanos = timestampNanos;
+            } else {
+                sink.writeVarLong(zigzag(previousSeconds - seconds));
+                sink.writeVarLong(nanos);
+                previousSeconds = seconds;
+            }
+
+            if (amountKind == COMPACT) {
+                sink.writeVarLong(zigzag(amount.unscaledValue().longValue()));
+            } else if (amountKind == SCALED) {
+                byte[] unscaled = amount.unscaledValue().toByteArray();
+                sink.writeVarLong(zigzag(amount.scale()));
+                sink.writeVarLong(unscaled.length);
+                sink.writeBytes(unscaled);
+            }
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(sink.bytes, 0, sink.size);
+        out.write(sink.bytes, 0, sink.size);
+        out.writeInt((int) checksum.getValue());
+    }
+
+    @Override
+    public Transaction[] decode(ByteBuffer block, int rows, AccountTable accounts) throws IOException {
+        int payload = block.remaining() - 4;
+        CRC32C checksum = new CRC32C();
+        checksum.update(block.duplicate().limit(block.position() + payload));
+        if ((int) checksum.getValue() != block.getInt(block.position() + payload)) {
+            throw new IOException("segment block checksum mismatch");
+        }
+
+        int mode = block.get();
+
+        Transaction[] decoded = new Transaction[rows];
+        long previousNanos = 0;
+        long previousSeconds = 0;
+        for (int i = 0; i < rows; i++) {
+            UUID id = new UUID(block.getLong(), block.getLong());
+            int header = block.get() & 0xff;
+            int type = header & TYPE_MASK;
+            UUID from = (header & HAS_FROM) != 0 ? accounts.get((int) readVarLong(block)) : null;
+            UUID to = (header & HAS_TO) != 0 ? accounts.get((int) readVarLong(block)) : null;
+
+            LocalDateTime timestamp;
+            if (mode == NANOS_TIMESTAMPS) {
+                previousNanos -= unzigzag(readVarLong(block));
+                timestamp = LocalDateTime.ofEpochSecond(Math.floorDiv(previousNanos, NANOS_PER_SECOND),
+                        (int) Math.floorMod(previousNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+            } else {
+                previousSeconds -= unzigzag(readVarLong(block));
+                timestamp = LocalDateTime.ofEpochSecond(previousSeconds, (int) readVarLong(block), ZoneOffset.UTC);
+            }
+
+            BigDecimal amount = null;
+            int amountKind = (header >>> AMOUNT_SHIFT) & AMOUNT_MASK;
+            if (amountKind == COMPACT) {
+                amount = BigDecimal.valueOf(unzigzag(readVarLong(block)), header >>> SCALE_SHIFT);
+            } else if (amountKind == SCALED) {
+                int scale = (int) unzigzag(readVarLong(block));
+                byte[] unscaled = new byte[(int) readVarLong(block)];
+                block.get(unscaled);
+                amount = new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            decoded[i] = new Transaction(id, from, to, amount, timestamp, type == NO_TYPE ? null : TYPES[type]);
+        }
+        return decoded;
+    }
+
+    @Override
+    public boolean usesAccountTable() {
+        return true;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint in segment block");
+    }
+
+    // Growable byte array; cheaper than a DataOutputStream for byte-at-a-time varints
+    private static final class Sink {
+        private byte[] bytes;
+        private int size;
+
+        Sink(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7fL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
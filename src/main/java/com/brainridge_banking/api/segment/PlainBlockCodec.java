@@ -0,0 +1,101 @@
+package com.brainridge_banking.api.segment;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link SegmentFormat#PLAIN}: each row is written out in full, with ids as two longs,
+ * timestamps as UTC epoch seconds plus nanos, and amounts as scale plus unscaled value
+ * (a long when it fits).
+ */
+final class PlainBlockCodec implements BlockCodec {
+    private static final int HAS_FROM = 1;
+    private static final int HAS_TO = 2;
+    private static final int COMPACT_AMOUNT = 4;
+    private static final int NO_AMOUNT = 8;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Override
+    public void encode(List<Transaction> rows, AccountTable accounts, DataOutputStream out) throws IOException {
+        for (Transaction row : rows) {
+            BigDecimal amount = row.getAmount();
+            int flags = (row.getFromAccountId() != null ? HAS_FROM : 0) | (row.getToAccountId() != null ? HAS_TO : 0);
+            if (amount == null) {
+                flags |= NO_AMOUNT;
+            } else if (amount.unscaledValue().bitLength() < 64) {
+                flags |= COMPACT_AMOUNT;
+            }
+            writeUuid(out, row.getId());
+            out.writeByte(flags);
+            if (row.getFromAccountId() != null) {
+                writeUuid(out, row.getFromAccountId());
+            }
+            if (row.getToAccountId() != null) {
+                writeUuid(out, row.getToAccountId());
+            }
+            out.writeByte(row.getType() == null ? -1 : row.getType().ordinal());
+            if (amount != null) {
+                out.writeInt(amount.scale());
+                if ((flags & COMPACT_AMOUNT) != 0) {
+                    out.writeLong(amount.unscaledValue().longValue());
+                } else {
+                    byte[] unscaled = amount.unscaledValue().toByteArray();
+                    out.writeInt(unscaled.length);
+                    out.write(unscaled);
+                }
+            }
+            out.writeLong(row.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(row.getTimestamp().getNano());
+        }
+    }
+
+    @Override
+    public Transaction[] decode(ByteBuffer block, int rows, AccountTable accounts) {
+        Transaction[] decoded = new Transaction[rows];
+        for (int i = 0; i < rows; i++) {
+            UUID id = readUuid(block);
+            int flags = block.get();
+            UUID from = (flags & HAS_FROM) != 0 ? readUuid(block) : null;
+            UUID to = (flags & HAS_TO) != 0 ? readUuid(block) : null;
+            int type = block.get();
+            BigDecimal amount = null;
+            if ((flags & NO_AMOUNT) == 0) {
+                int scale = block.getInt();
+                if ((flags & COMPACT_AMOUNT) != 0) {
+                    amount = BigDecimal.valueOf(block.getLong(), scale);
+                } else {
+                    byte[] unscaled = new byte[block.getInt()];
+                    block.get(unscaled);
+                    amount = new BigDecimal(new BigInteger(unscaled), scale);
+                }
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(block.getLong(), block.getInt(), ZoneOffset.UTC);
+            decoded[i] = new Transaction(id, from, to, amount, timestamp, type < 0 ? null : TYPES[type]);
+        }
+        return decoded;
+    }
+
+    @Override
+    public boolean usesAccountTable() {
+        return false;
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer block) {
+        return new UUID(block.getLong(), block.getLong());
+    }
+}
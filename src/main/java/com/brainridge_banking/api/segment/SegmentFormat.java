@@ -0,0 +1,29 @@
+package com.brainridge_banking.api.segment;
+
+/**
+ * Block encodings a segment can use; the format id is stored in the segment header, so
+ * segments of either format can be read.
+ */
+public enum SegmentFormat {
+    /** Every field written out in full. */
+    PLAIN(1, new PlainBlockCodec()),
+    /** Delta, varint and dictionary encoded, with a checksum per block. */
+    COMPRESSED(2, new CompressedBlockCodec());
+
+    final int id;
+    final BlockCodec codec;
+
+    SegmentFormat(int id, BlockCodec codec) {
+        this.id = id;
+        this.codec = codec;
+    }
+
+    static SegmentFormat of(int id) {
+        for (SegmentFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
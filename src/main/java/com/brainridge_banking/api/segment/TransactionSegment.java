@@ -0,0 +1,429 @@
+package com.brainridge_banking.api.segment;
+
+import com.brainridge_banking.api.model.Transaction;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable file of transactions, sorted newest first like the in-memory engine, in blocks
+ * of up to {@code blockRows} rows encoded in one of the {@link SegmentFormat}s. Only the sparse
+ * index (one entry per block: offset, row count and time span), an account Bloom filter and,
+ * for formats that number accounts, the account table stay on the heap; blocks are read and
+ * decoded on demand, so a time-range read seeks straight to the first block that overlaps it.
+ *
+ * <pre>
+ * header   magic "BRSG", format id
+ * blocks   rows, encoded by the format's block codec
+ * index    block count, then per block: offset, length, rows, newest and oldest timestamp
+ * filter   Bloom filter words
+ * accounts account count, then the ids in table order (none unless the format uses them)
+ * trailer  index offset, row count, magic
+ * </pre>
+ *
+ * <p>Readers {@link #retain()} a segment while they iterate it; once the owner has
+ * {@linkplain #discard() discarded} it and the last reader has {@linkplain #release() released}
+ * it, the file is closed and deleted.
+ */
+public final class TransactionSegment {
+    static final int MAGIC = 0x42525347;
+    private static final int TRAILER_BYTES = 8 + 8 + 4;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final SegmentFormat format;
+    private final long rowCount;
+    private final long sizeBytes;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final int[] blockRows;
+    private final LocalDateTime[] newest;
+    private final LocalDateTime[] oldest;
+    private final AccountBloomFilter accounts;
+    private final AccountTable accountTable;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private volatile boolean discarded;
+
+    private TransactionSegment(Path file, FileChannel channel, SegmentFormat format, long rowCount, long sizeBytes,
+                               long[] blockOffsets, int[] blockLengths, int[] blockRows, LocalDateTime[] newest,
+                               LocalDateTime[] oldest, AccountBloomFilter accounts, AccountTable accountTable) {
+        this.file = file;
+        this.channel = channel;
+        this.format = format;
+        this.rowCount = rowCount;
+        this.sizeBytes = sizeBytes;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.blockRows = blockRows;
+        this.newest = newest;
+        this.oldest = oldest;
+        this.accounts = accounts;
+        this.accountTable = accountTable;
+    }
+
+    /**
+     * Writes rows, which must already be sorted newest first, to {@code file} (via a temporary
+     * file, so a segment is never seen half written) and opens the result.
+     */
+    public static TransactionSegment write(Path file, Iterator<Transaction> newestFirst, int blockRows,
+                                           SegmentFormat format) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        int perBlock = Math.max(1, blockRows);
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeInt(format.id);
+            long position = 8;
+
+            ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(perBlock * 64);
+            DataOutputStream blockOut = new DataOutputStream(blockBytes);
+            List<Transaction> block = new ArrayList<>(perBlock);
+            List<long[]> index = new ArrayList<>();
+            List<LocalDateTime[]> spans = new ArrayList<>();
+            AccountTable accountTable = new AccountTable();
+            long rowCount = 0;
+            while (newestFirst.hasNext() || !block.isEmpty()) {
+                if (newestFirst.hasNext()) {
+                    Transaction row = newestFirst.next();
+                    block.add(row);
+                    if (row.getFromAccountId() != null) {
+                        accountTable.add(row.getFromAccountId());
+                    }
+                    if (row.getToAccountId() != null) {
+                        accountTable.add(row.getToAccountId());
+                    }
+                    if (block.size() < perBlock && newestFirst.hasNext()) {
+                        continue;
+                    }
+                }
+                blockBytes.reset();
+                format.codec.encode(block, accountTable, blockOut);
+                blockOut.flush();
+                index.add(new long[]{position, blockBytes.size(), block.size()});
+                spans.add(new LocalDateTime[]{block.get(0).getTimestamp(), block.get(block.size() - 1).getTimestamp()});
+                blockBytes.writeTo(out);
+                position += blockBytes.size();
+                rowCount += block.size();
+                block.clear();
+            }
+
+            AccountBloomFilter filter = new AccountBloomFilter(accountTable.size());
+            for (int i = 0; i < accountTable.size(); i++) {
+                filter.add(accountTable.get(i));
+            }
+            long indexOffset = position;
+            out.writeInt(index.size());
+            for (int i = 0; i < index.size(); i++) {
+                out.writeLong(index.get(i)[0]);
+                out.writeInt((int) index.get(i)[1]);
+                out.writeInt((int) index.get(i)[2]);
+                writeTimestamp(out, spans.get(i)[0]);
+                writeTimestamp(out, spans.get(i)[1]);
+            }
+            out.writeInt(filter.words().length);
+            for (long word : filter.words()) {
+                out.writeLong(word);
+            }
+            int tableSize = format.codec.usesAccountTable() ? accountTable.size() : 0;
+            out.writeInt(tableSize);
+            for (int i = 0; i < tableSize; i++) {
+                out.writeLong(accountTable.get(i).getMostSignificantBits());
+                out.writeLong(accountTable.get(i).getLeastSignificantBits());
+            }
+            out.writeLong(indexOffset);
+            out.writeLong(rowCount);
+            out.writeInt(MAGIC);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write transaction segment " + file, e);
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish transaction segment " + file, e);
+        }
+        return open(file);
+    }
+
+    /**
+     * Opens a segment file, reading only its index and filter.
+     */
+    public static TransactionSegment open(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            long size = channel.size();
+            ByteBuffer header = read(channel, 0, 8);
+            if (size < 8 + TRAILER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("not a transaction segment");
+            }
+            int formatId = header.getInt();
+            SegmentFormat format = SegmentFormat.of(formatId);
+            if (format == null) {
+                throw new IOException("unsupported segment format " + formatId);
+            }
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long indexOffset = trailer.getLong();
+            long rowCount = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("truncated transaction segment");
+            }
+
+            ByteBuffer footer = read(channel, indexOffset, (int) (size - TRAILER_BYTES - indexOffset));
+            int blocks = footer.getInt();
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            int[] rows = new int[blocks];
+            LocalDateTime[] newest = new LocalDateTime[blocks];
+            LocalDateTime[] oldest = new LocalDateTime[blocks];
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = footer.getLong();
+                lengths[i] = footer.getInt();
+                rows[i] = footer.getInt();
+                newest[i] = readTimestamp(footer);
+                oldest[i] = readTimestamp(footer);
+            }
+            long[] words = new long[footer.getInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = footer.getLong();
+            }
+            UUID[] accountIds = new UUID[footer.getInt()];
+            for (int i = 0; i < accountIds.length; i++) {
+                accountIds[i] = new UUID(footer.getLong(), footer.getLong());
+            }
+            return new TransactionSegment(file, channel, format, rowCount, size, offsets, lengths, rows, newest,
+                    oldest, new AccountBloomFilter(words), new AccountTable(accountIds));
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Could not open transaction segment " + file,
+                    e instanceof IOException io ? io : new IOException(e));
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public SegmentFormat format() {
+        return format;
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * False only if the segment certainly holds no transaction to or from the account.
+     */
+    public boolean mightContain(UUID accountId) {
+        return accounts.mightContain(accountId);
+    }
+
+    /**
+     * Rows newest first, restricted to an account (null for all) and a time range ({@code from}
+     * inclusive, {@code to} exclusive, null bounds open). Blocks are read as the iterator
+     * reaches them; the caller must hold a {@linkplain #retain() reference} while iterating.
+     */
+    public Iterator<Transaction> iterator(UUID accountId, LocalDateTime from, LocalDateTime to) {
+        if (accountId != null && !accounts.mightContain(accountId)) {
+            return Collections.emptyIterator();
+        }
+        return new RowIterator(accountId, from, to, firstBlockBefore(to));
+    }
+
+    /**
+     * Index of the first block holding rows older than {@code to} (0 for null), or
+     * {@link #blockCount()} if there is none. Blocks are ordered newest first.
+     */
+    public int seek(LocalDateTime to) {
+        return firstBlockBefore(to);
+    }
+
+    /**
+     * Reads and decodes one block, newest row first; the caller must hold a
+     * {@linkplain #retain() reference}.
+     */
+    public List<Transaction> readBlock(int block) {
+        return Arrays.asList(decodeBlock(block));
+    }
+
+    /**
+     * Takes a reader's reference; false if the segment has already been discarded and closed.
+     */
+    public boolean retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            closeQuietly(channel);
+            if (discarded) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Left for the startup sweep of the segment directory
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the owner's reference; the file is deleted once no reader holds the segment.
+     */
+    public void discard() {
+        discarded = true;
+        release();
+    }
+
+    // Blocks are newest first, so their oldest timestamps never increase: binary search the first one reaching below "to"
+    private int firstBlockBefore(LocalDateTime to) {
+        if (to == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = oldest.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (oldest[mid].isBefore(to)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private Transaction[] decodeBlock(int block) {
+        try {
+            return format.codec.decode(read(channel, blockOffsets[block], blockLengths[block]), blockRows[block],
+                    accountTable);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read transaction segment " + file, e);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime timestamp) throws IOException {
+        out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private final class RowIterator implements Iterator<Transaction> {
+        private final UUID accountId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private int nextBlock;
+        private Transaction[] rows = new Transaction[0];
+        private int nextRow;
+        private Transaction next;
+
+        RowIterator(UUID accountId, LocalDateTime from, LocalDateTime to, int firstBlock) {
+            this.accountId = accountId;
+            this.from = from;
+            this.to = to;
+            this.nextBlock = firstBlock;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Transaction current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            while (true) {
+                while (nextRow < rows.length) {
+                    Transaction row = rows[nextRow++];
+                    if (from != null && row.getTimestamp().isBefore(from)) {
+                        // Every later row is older still
+                        rows = new Transaction[0];
+                        nextBlock = blockOffsets.length;
+                        return;
+                    }
+                    if ((to == null || row.getTimestamp().isBefore(to)) && matches(row)) {
+                        next = row;
+                        return;
+                    }
+                }
+                if (nextBlock >= blockOffsets.length || (from != null && newest[nextBlock].isBefore(from))) {
+                    return;
+                }
+                rows = decodeBlock(nextBlock++);
+                nextRow = 0;
+            }
+        }
+
+        private boolean matches(Transaction row) {
+            return accountId == null || accountId.equals(row.getFromAccountId()) || accountId.equals(row.getToAccountId());
+        }
+    }
+}
@@ -19,6 +19,15 @@ public interface AccountService {
     AccountResponse getAccountById(UUID id);
     List<AccountResponse> getAllAccounts();
     AccountResponse updateAccount(UUID id, AccountUpdateRequest request);
+    /**
+     * Updates the account only if it is still at {@code expectedVersion} (from an {@code If-Match}
+     * header); a null version updates unconditionally.
+     */
+    AccountResponse updateAccount(UUID id, AccountUpdateRequest request, Long expectedVersion);
     void deleteAccount(UUID id);
     AccountBalanceResponse getAccountBalance(UUID id);
+    /**
+     * Current version of the account, so conditional GETs can be answered without building a response.
+     */
+    long getAccountVersion(UUID id);
 }
\ No newline at end of file
@@ -1,34 +1,69 @@
 package com.brainridge_banking.api.service;
 
+import com.brainridge_banking.api.balance.HotAccounts;
 import com.brainridge_banking.api.dto.request.AccountCreationRequest;
 import com.brainridge_banking.api.dto.request.AccountUpdateRequest;
 import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
 import com.brainridge_banking.api.dto.response.AccountResponse;
 import com.brainridge_banking.api.exception.DuplicateEmailException;
 import com.brainridge_banking.api.exception.InvalidEmailException;
+import com.brainridge_banking.api.exception.PreconditionFailedException;
 import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.limit.AccountRateLimiter;
 import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountLock;
 import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.timing.Phase;
+import com.brainridge_banking.api.timing.RequestTimings;
 import com.brainridge_banking.api.util.EmailValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
+    private Supplier<UUID> accountIdGenerator;
+    private AccountRateLimiter rateLimiter;
+    private HotAccounts hotAccounts;
 
     @Autowired
     public AccountServiceImpl(AccountRepository accountRepository) {
         this.accountRepository = accountRepository;
     }
 
+    /**
+     * Overrides how new account ids are chosen; cluster mode uses this to pick ids owned by
+     * this node. Without a generator every account gets a random id.
+     */
+    public void setAccountIdGenerator(Supplier<UUID> accountIdGenerator) {
+        this.accountIdGenerator = accountIdGenerator;
+    }
+
+    /**
+     * Lets tier changes and deletions reset the account's rate-limit bucket.
+     */
+    public void setRateLimiter(AccountRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Balances and versions of hot accounts include the credits still in their striped cells.
+     */
+    public void setHotAccounts(HotAccounts hotAccounts) {
+        this.hotAccounts = hotAccounts;
+    }
+
     @Override
+    @Transactional
     public AccountResponse createAccount(AccountCreationRequest request) {
         // Validate request
         if (request.getAccountName() == null || request.getAccountName().trim().isEmpty()) {
@@ -42,14 +77,16 @@ public class AccountServiceImpl implements AccountService {
         }
 
         // Validate email format and domain
-        if (!EmailValidator.isValidEmail(request.getAccountEmail())) {
-            throw new InvalidEmailException(
-                    EmailValidator.getInvalidEmailMessage(request.getAccountEmail()));
+        EmailValidator.Result emailCheck = EmailValidator.validate(request.getAccountEmail());
+        if (emailCheck != EmailValidator.Result.VALID) {
+            throw new InvalidEmailException(EmailValidator.getMessage(emailCheck, request.getAccountEmail()));
         }
+        RequestTimings.mark(Phase.VALIDATION);
 
         // Check if email already exists
         boolean emailExists = accountRepository.findAll().stream()
                 .anyMatch(account -> request.getAccountEmail().equals(account.getAccountEmail()));
+        RequestTimings.mark(Phase.LOOKUP);
 
         if (emailExists) {
             throw new DuplicateEmailException("An account with this email already exists: " + request.getAccountEmail());
@@ -61,31 +98,65 @@ public class AccountServiceImpl implements AccountService {
                 request.getAccountEmail(),
                 request.getInitialBalance()
         );
+        if (accountIdGenerator != null) {
+            account.setAccountId(accountIdGenerator.get());
+        }
+        if (request.getTier() != null && !request.getTier().trim().isEmpty()) {
+            account.setTier(normalizeTier(request.getTier()));
+        }
         Account savedAccount = accountRepository.save(account);
+        RequestTimings.mark(Phase.PERSIST);
 
         // Convert to response
-        return mapToAccountResponse(savedAccount);
+        return mapped(savedAccount);
     }
 
     @Override
     public AccountResponse getAccountById(UUID id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
-        return mapToAccountResponse(account);
+        RequestTimings.mark(Phase.LOOKUP);
+        return mapped(account);
     }
 
     @Override
     public List<AccountResponse> getAllAccounts() {
-        return accountRepository.findAll().stream()
+        List<Account> accounts = accountRepository.findAll();
+        RequestTimings.mark(Phase.LOOKUP);
+        List<AccountResponse> responses = accounts.stream()
                 .map(this::mapToAccountResponse)
                 .collect(Collectors.toList());
+        RequestTimings.mark(Phase.MAPPING);
+        return responses;
     }
 
     @Override
+    @Transactional
     public AccountResponse updateAccount(UUID id, AccountUpdateRequest request) {
+        return updateAccount(id, request, null);
+    }
+
+    @Override
+    @Transactional
+    public AccountResponse updateAccount(UUID id, AccountUpdateRequest request, Long expectedVersion) {
+        // Locked so the version check and the save cannot interleave with another write
+        try (AccountLock ignored = accountRepository.lock(id)) {
+            RequestTimings.mark(Phase.LOCK);
+            return applyUpdate(id, request, expectedVersion);
+        }
+    }
+
+    private AccountResponse applyUpdate(UUID id, AccountUpdateRequest request, Long expectedVersion) {
         // Find the account
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+        RequestTimings.mark(Phase.LOOKUP);
+
+        long version = versionOf(account);
+        if (expectedVersion != null && version != expectedVersion) {
+            throw new PreconditionFailedException("Account " + id + " is at version " + version
+                    + ", not " + expectedVersion);
+        }
 
         // Validate request
         if (request.getAccountName() != null && !request.getAccountName().trim().isEmpty()) {
@@ -94,9 +165,9 @@ public class AccountServiceImpl implements AccountService {
 
         if (request.getAccountEmail() != null && !request.getAccountEmail().trim().isEmpty()) {
             // Validate new email format
-            if (!EmailValidator.isValidEmail(request.getAccountEmail())) {
-                throw new InvalidEmailException(
-                        EmailValidator.getInvalidEmailMessage(request.getAccountEmail()));
+            EmailValidator.Result emailCheck = EmailValidator.validate(request.getAccountEmail());
+            if (emailCheck != EmailValidator.Result.VALID) {
+                throw new InvalidEmailException(EmailValidator.getMessage(emailCheck, request.getAccountEmail()));
             }
 
             // Check if new email already exists (if it's different from current)
@@ -113,22 +184,46 @@ public class AccountServiceImpl implements AccountService {
             }
         }
 
+        boolean tierChanged = false;
+        if (request.getTier() != null && !request.getTier().trim().isEmpty()) {
+            String tier = normalizeTier(request.getTier());
+            tierChanged = !tier.equals(account.getTier());
+            account.setTier(tier);
+        }
+
+        RequestTimings.mark(Phase.VALIDATION);
+
         // Save updated account
         Account updatedAccount = accountRepository.save(account);
+        if (tierChanged && rateLimiter != null) {
+            rateLimiter.evict(id);
+        }
+        RequestTimings.mark(Phase.PERSIST);
 
         // Convert to response
-        return mapToAccountResponse(updatedAccount);
+        return mapped(updatedAccount);
     }
 
     @Override
+    @Transactional
     public void deleteAccount(UUID id) {
         // Check if account exists
         if (accountRepository.existsById(id)) {
             throw new ResourceNotFoundException("Account not found with id: " + id);
         }
+        RequestTimings.mark(Phase.LOOKUP);
+
+        // Fold in and close a hot account's cells first, so later credits fail with 404 instead of landing there
+        if (hotAccounts != null) {
+            hotAccounts.demote(id);
+        }
 
         // Delete account
         accountRepository.deleteById(id);
+        if (rateLimiter != null) {
+            rateLimiter.evict(id);
+        }
+        RequestTimings.mark(Phase.PERSIST);
     }
 
     @Override
@@ -136,12 +231,37 @@ public class AccountServiceImpl implements AccountService {
         // Find the account
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+        RequestTimings.mark(Phase.LOOKUP);
 
         // Create balance response
         AccountBalanceResponse response = new AccountBalanceResponse();
         response.setAccountId(account.getAccountId());
-        response.setBalance(account.getAccountBalance());
+        response.setBalance(balanceOf(account));
+        response.setVersion(versionOf(account));
+        RequestTimings.mark(Phase.MAPPING);
+
+        return response;
+    }
+
+    @Override
+    public long getAccountVersion(UUID id) {
+        long version = versionOf(accountRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id)));
+        RequestTimings.mark(Phase.LOOKUP);
+        return version;
+    }
 
+    private BigDecimal balanceOf(Account account) {
+        return hotAccounts == null ? account.getAccountBalance() : hotAccounts.balanceOf(account);
+    }
+
+    private long versionOf(Account account) {
+        return hotAccounts == null ? account.getVersion() : hotAccounts.versionOf(account);
+    }
+
+    private AccountResponse mapped(Account account) {
+        AccountResponse response = mapToAccountResponse(account);
+        RequestTimings.mark(Phase.MAPPING);
         return response;
     }
 
@@ -151,8 +271,21 @@ public class AccountServiceImpl implements AccountService {
         response.setAccountId(account.getAccountId());
         response.setAccountName(account.getAccountName());
         response.setAccountEmail(account.getAccountEmail());
-        response.setAccountBalance(account.getAccountBalance());
+        response.setAccountBalance(balanceOf(account));
         response.setCreatedAt(account.getCreatedAt());
+        response.setTier(account.getTier());
+        response.setVersion(versionOf(account));
         return response;
     }
+
+    /**
+     * Tier names are case-insensitive and stored in lower case.
+     */
+    public static String normalizeTier(String tier) {
+        String normalized = tier.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() > 32) {
+            throw new IllegalArgumentException("Account tier must be at most 32 characters");
+        }
+        return normalized;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.brainridge_banking.api.service;
+
+import com.brainridge_banking.api.dto.response.AccountVolumeResponse;
+import com.brainridge_banking.api.dto.response.AnalyticsResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.dto.response.TransactionTypeSummaryResponse;
+
+import java.time.LocalDateTime;
+
+public interface AnalyticsService {
+    AnalyticsResponse<AccountVolumeResponse> getTopAccountsByVolume(int limit, LocalDateTime from, LocalDateTime to);
+    AnalyticsResponse<TransactionResponse> getLargestTransfers(int limit, LocalDateTime from, LocalDateTime to);
+    AnalyticsResponse<TransactionTypeSummaryResponse> getTypeBreakdown(LocalDateTime from, LocalDateTime to);
+}
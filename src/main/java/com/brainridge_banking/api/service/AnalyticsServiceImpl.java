@@ -0,0 +1,256 @@
+package com.brainridge_banking.api.service;
+
+import com.brainridge_banking.api.dto.response.AccountVolumeResponse;
+import com.brainridge_banking.api.dto.response.AnalyticsResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.dto.response.TransactionTypeSummaryResponse;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs read-only aggregate queries over a snapshot of the transaction store.
+ * The snapshot is split into chunks that are filtered and aggregated in parallel
+ * on a dedicated fork-join pool, then the partial results are merged.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Comparator<Transaction> BY_AMOUNT =
+            Comparator.comparing(Transaction::getAmount).thenComparing(Transaction::getId);
+
+    private final TransactionRepository transactionRepository;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxRowsScanned;
+    private final int maxLimit;
+
+    @Autowired
+    public AnalyticsServiceImpl(TransactionRepository transactionRepository,
+                                @Value("${banking.analytics.parallelism:0}") int parallelism,
+                                @Value("${banking.analytics.chunk-size:8192}") int chunkSize,
+                                @Value("${banking.analytics.max-rows-scanned:1000000}") int maxRowsScanned,
+                                @Value("${banking.analytics.max-limit:100}") int maxLimit) {
+        this.transactionRepository = transactionRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxRowsScanned = maxRowsScanned;
+        this.maxLimit = maxLimit;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    public AnalyticsResponse<AccountVolumeResponse> getTopAccountsByVolume(int limit, LocalDateTime from, LocalDateTime to) {
+        int n = clampLimit(limit);
+        Transaction[] rows = snapshot(from, to);
+        int count = Math.min(rows.length, maxRowsScanned);
+
+        Map<UUID, VolumeTotal> totals = scan(rows, count, transaction -> true,
+                HashMap::new,
+                (map, transaction) -> {
+                    addVolume(map, transaction.getFromAccountId(), transaction.getAmount());
+                    addVolume(map, transaction.getToAccountId(), transaction.getAmount());
+                },
+                (left, right) -> {
+                    right.forEach((id, total) -> left.merge(id, total, VolumeTotal::merge));
+                    return left;
+                });
+
+        List<AccountVolumeResponse> results = totals.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<UUID, VolumeTotal> e) -> e.getValue().volume).reversed())
+                .limit(n)
+                .map(e -> mapToAccountVolumeResponse(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+
+        return buildResponse(results, rows.length, count);
+    }
+
+    @Override
+    public AnalyticsResponse<TransactionResponse> getLargestTransfers(int limit, LocalDateTime from, LocalDateTime to) {
+        int n = clampLimit(limit);
+        Transaction[] rows = snapshot(from, to);
+        int count = Math.min(rows.length, maxRowsScanned);
+
+        // Each chunk keeps a bounded min-heap, so partial results never exceed the limit
+        Predicate<Transaction> filter = t -> t.getType() == TransactionType.TRANSFER;
+        PriorityQueue<Transaction> largest = scan(rows, count, filter,
+                () -> new PriorityQueue<>(BY_AMOUNT),
+                (heap, transaction) -> offerBounded(heap, transaction, n),
+                (left, right) -> {
+                    right.forEach(transaction -> offerBounded(left, transaction, n));
+                    return left;
+                });
+
+        List<TransactionResponse> results = largest.stream()
+                .sorted(BY_AMOUNT.reversed())
+                .map(this::mapToTransactionResponse)
+                .collect(Collectors.toList());
+
+        return buildResponse(results, rows.length, count);
+    }
+
+    @Override
+    public AnalyticsResponse<TransactionTypeSummaryResponse> getTypeBreakdown(LocalDateTime from, LocalDateTime to) {
+        Transaction[] rows = snapshot(from, to);
+        int count = Math.min(rows.length, maxRowsScanned);
+
+        Map<TransactionType, VolumeTotal> totals = scan(rows, count, transaction -> true,
+                () -> new EnumMap<>(TransactionType.class),
+                (map, transaction) -> map.computeIfAbsent(transaction.getType(), type -> new VolumeTotal())
+                        .add(transaction.getAmount()),
+                (left, right) -> {
+                    right.forEach((type, total) -> left.merge(type, total, VolumeTotal::merge));
+                    return left;
+                });
+
+        List<TransactionTypeSummaryResponse> results = totals.entrySet().stream()
+                .map(e -> mapToTypeSummaryResponse(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+
+        return buildResponse(results, rows.length, count);
+    }
+
+    // The range scan returns newest first, so a capped scan covers the most recent rows of the window.
+    // One row past the cap is read so that truncation can be reported without counting the whole window.
+    private Transaction[] snapshot(LocalDateTime from, LocalDateTime to) {
+        int limit = (int) Math.min(Integer.MAX_VALUE, maxRowsScanned + 1L);
+        return transactionRepository.findByTimestampBetween(from, to, limit).toArray(new Transaction[0]);
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    private <A> A scan(Transaction[] rows, int count, Predicate<Transaction> filter,
+                       Supplier<A> identity, BiConsumer<A, Transaction> accumulator, BinaryOperator<A> combiner) {
+        return pool.invoke(new ChunkTask<>(rows, 0, count, chunkSize, filter, identity, accumulator, combiner));
+    }
+
+    private static void addVolume(Map<UUID, VolumeTotal> totals, UUID accountId, BigDecimal amount) {
+        if (accountId != null) {
+            totals.computeIfAbsent(accountId, id -> new VolumeTotal()).add(amount);
+        }
+    }
+
+    private static void offerBounded(PriorityQueue<Transaction> heap, Transaction transaction, int limit) {
+        if (heap.size() < limit) {
+            heap.offer(transaction);
+        } else if (BY_AMOUNT.compare(transaction, heap.peek()) > 0) {
+            heap.poll();
+            heap.offer(transaction);
+        }
+    }
+
+    private static <T> AnalyticsResponse<T> buildResponse(List<T> results, int available, int scanned) {
+        AnalyticsResponse<T> response = new AnalyticsResponse<>();
+        response.setRowsScanned(scanned);
+        response.setTruncated(scanned < available);
+        response.setResults(results);
+        return response;
+    }
+
+    private AccountVolumeResponse mapToAccountVolumeResponse(UUID accountId, VolumeTotal total) {
+        AccountVolumeResponse response = new AccountVolumeResponse();
+        response.setAccountId(accountId);
+        response.setTransactionCount(total.count);
+        response.setTotalVolume(total.volume);
+        return response;
+    }
+
+    private TransactionTypeSummaryResponse mapToTypeSummaryResponse(TransactionType type, VolumeTotal total) {
+        TransactionTypeSummaryResponse response = new TransactionTypeSummaryResponse();
+        response.setType(type);
+        response.setCount(total.count);
+        response.setTotalAmount(total.volume);
+        return response;
+    }
+
+    private TransactionResponse mapToTransactionResponse(Transaction transaction) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(transaction.getId());
+        response.setFromAccountId(transaction.getFromAccountId());
+        response.setToAccountId(transaction.getToAccountId());
+        response.setAmount(transaction.getAmount());
+        response.setTimestamp(transaction.getTimestamp());
+        response.setType(transaction.getType());
+        return response;
+    }
+
+    private static final class VolumeTotal {
+        private long count;
+        private BigDecimal volume = BigDecimal.ZERO;
+
+        void add(BigDecimal amount) {
+            count++;
+            volume = volume.add(amount);
+        }
+
+        VolumeTotal merge(VolumeTotal other) {
+            count += other.count;
+            volume = volume.add(other.volume);
+            return this;
+        }
+    }
+
+    private static final class ChunkTask<A> extends RecursiveTask<A> {
+        private final Transaction[] rows;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Predicate<Transaction> filter;
+        private final Supplier<A> identity;
+        private final BiConsumer<A, Transaction> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        ChunkTask(Transaction[] rows, int from, int to, int chunkSize, Predicate<Transaction> filter,
+                  Supplier<A> identity, BiConsumer<A, Transaction> accumulator, BinaryOperator<A> combiner) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.filter = filter;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunkSize) {
+                A partial = identity.get();
+                for (int i = from; i < to; i++) {
+                    if (filter.test(rows[i])) {
+                        accumulator.accept(partial, rows[i]);
+                    }
+                }
+                return partial;
+            }
+
+            int mid = (from + to) >>> 1;
+            ChunkTask<A> left = new ChunkTask<>(rows, from, mid, chunkSize, filter, identity, accumulator, combiner);
+            ChunkTask<A> right = new ChunkTask<>(rows, mid, to, chunkSize, filter, identity, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.brainridge_banking.api.service;
+
+/**
+ * Line-oriented formats for bulk import and export. CSV files start with a header row naming the columns.
+ */
+public enum BulkFormat {
+    NDJSON, CSV;
+
+    /**
+     * Picks CSV for {@code .csv} files and NDJSON for anything else.
+     */
+    public static BulkFormat forFileName(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+
+    /**
+     * Parses a {@code format} request parameter, ignoring case.
+     */
+    public static BulkFormat parse(String format) {
+        try {
+            return valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+}
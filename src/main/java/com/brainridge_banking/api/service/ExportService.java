@@ -0,0 +1,7 @@
+package com.brainridge_banking.api.service;
+
+import java.util.UUID;
+
+public interface ExportService {
+    TransactionExport exportTransactions(UUID accountId, BulkFormat format);
+}
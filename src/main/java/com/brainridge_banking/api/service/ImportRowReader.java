@@ -0,0 +1,114 @@
+package com.brainridge_banking.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time as flat field-name to text maps, so an import holds only
+ * the rows it is currently working on. A row that cannot be parsed is returned with an
+ * error instead of ending the import.
+ */
+abstract class ImportRowReader implements Closeable {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final CsvMapper CSV = new CsvMapper();
+
+    record Row(long line, Map<String, String> fields, String error) {
+    }
+
+    static ImportRowReader open(InputStream input, BulkFormat format) throws IOException {
+        return format == BulkFormat.CSV ? new CsvRows(input) : new NdjsonRows(input);
+    }
+
+    /**
+     * Returns the next row, or null at the end of the input.
+     */
+    abstract Row next() throws IOException;
+
+    private static final class NdjsonRows extends ImportRowReader {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(InputStream input) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+
+            // One parser per line keeps a malformed line from derailing the rest of the stream
+            try (JsonParser parser = JSON.createParser(text)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return new Row(line, null, "Expected a JSON object");
+                }
+                Map<String, String> fields = new HashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        return new Row(line, null, "Field '" + name + "' must be a scalar");
+                    }
+                    fields.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+                }
+                if (parser.nextToken() != null) {
+                    return new Row(line, null, "Unexpected content after the JSON object");
+                }
+                return new Row(line, fields, null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class CsvRows extends ImportRowReader {
+        private final MappingIterator<Map<String, String>> rows;
+
+        CsvRows(InputStream input) throws IOException {
+            this.rows = CSV.readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+
+        @Override
+        Row next() throws IOException {
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                Map<String, String> fields = rows.nextValue();
+                return new Row(rows.getParser().currentTokenLocation().getLineNr(), fields, null);
+            } catch (RuntimeException | JsonProcessingException e) {
+                long line = rows.getParser().currentTokenLocation().getLineNr();
+                String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+                return new Row(line, null, "Malformed CSV: " + message);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
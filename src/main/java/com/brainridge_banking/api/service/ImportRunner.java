@@ -0,0 +1,81 @@
+package com.brainridge_banking.api.service;
+
+import com.brainridge_banking.api.dto.response.ImportResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line import: loads {@code banking.import.accounts-file} and then
+ * {@code banking.import.transactions-file} at startup, logging each report. With
+ * {@code banking.import.exit-after=true} the application shuts down once the load is done,
+ * which is how a one-off migration into the jdbc engine is run.
+ */
+@Component
+public class ImportRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ImportRunner.class);
+
+    private final ImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final String accountsFile;
+    private final String transactionsFile;
+    private final boolean exitAfter;
+
+    @Autowired
+    public ImportRunner(ImportService importService, ConfigurableApplicationContext context,
+                        @Value("${banking.import.accounts-file:}") String accountsFile,
+                        @Value("${banking.import.transactions-file:}") String transactionsFile,
+                        @Value("${banking.import.exit-after:false}") boolean exitAfter) {
+        this.importService = importService;
+        this.context = context;
+        this.accountsFile = accountsFile;
+        this.transactionsFile = transactionsFile;
+        this.exitAfter = exitAfter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (accountsFile.isBlank() && transactionsFile.isBlank()) {
+            return;
+        }
+        if (!accountsFile.isBlank()) {
+            report(importFile(Paths.get(accountsFile), true));
+        }
+        if (!transactionsFile.isBlank()) {
+            report(importFile(Paths.get(transactionsFile), false));
+        }
+        if (exitAfter) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private ImportResponse importFile(Path path, boolean accounts) throws IOException {
+        BulkFormat format = BulkFormat.forFileName(path.getFileName().toString());
+        log.info("Importing {} from {} as {}", accounts ? "accounts" : "transactions", path, format);
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), 64 * 1024)) {
+            return accounts ? importService.importAccounts(input, format) : importService.importTransactions(input, format);
+        }
+    }
+
+    private void report(ImportResponse response) {
+        log.info("Imported {} of {} {} rows in {} ms, {} rejected", response.getRowsImported(), response.getRowsRead(),
+                response.getKind(), response.getElapsedMs(), response.getRowsRejected());
+        response.getErrors().forEach(error -> log.warn("Line {}: {}", error.getLine(), error.getMessage()));
+        if (response.isErrorsTruncated()) {
+            log.warn("Only the first {} errors are listed", response.getErrors().size());
+        }
+    }
+}
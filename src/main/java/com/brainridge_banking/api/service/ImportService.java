@@ -0,0 +1,10 @@
+package com.brainridge_banking.api.service;
+
+import com.brainridge_banking.api.dto.response.ImportResponse;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportResponse importAccounts(InputStream input, BulkFormat format);
+    ImportResponse importTransactions(InputStream input, BulkFormat format);
+}
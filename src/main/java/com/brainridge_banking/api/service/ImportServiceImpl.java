@@ -0,0 +1,312 @@
+package com.brainridge_banking.api.service;
+
+import com.brainridge_banking.api.dto.response.ImportErrorResponse;
+import com.brainridge_banking.api.dto.response.ImportResponse;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.util.EmailValidator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Streams accounts or transactions into the repositories. The input is read on the calling
+ * thread and cut into chunks; chunks are validated in parallel and each chunk's valid rows
+ * are written with one {@code saveAll}. At most {@code max-in-flight-chunks} chunks exist
+ * at a time, so the pipeline's own memory does not depend on the input size. Account imports
+ * are the exception: the repositories have no email index, so uniqueness is checked against a
+ * set of every existing and imported email (and every explicit account id in the file), which
+ * grows with the number of accounts. Rejected rows are
+ * counted and the first {@code max-reported-errors} are reported with their line number.
+ * Imported transactions are historical records and do not change account balances.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final int maxReportedErrors;
+
+    @Autowired
+    public ImportServiceImpl(AccountRepository accountRepository, TransactionRepository transactionRepository,
+                             @Value("${banking.import.parallelism:0}") int parallelism,
+                             @Value("${banking.import.chunk-size:5000}") int chunkSize,
+                             @Value("${banking.import.max-in-flight-chunks:0}") int maxInFlightChunks,
+                             @Value("${banking.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlightChunks = maxInFlightChunks > 0 ? maxInFlightChunks : threads * 2;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ImportResponse importAccounts(InputStream input, BulkFormat format) {
+        // Emails must stay unique across existing accounts and the whole file; without an email
+        // index this set holds one entry per account, so it is O(accounts), not O(chunk)
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        for (Account account : accountRepository.findAll()) {
+            emails.add(account.getAccountEmail());
+        }
+        Set<UUID> importedIds = ConcurrentHashMap.newKeySet();
+
+        return run("accounts", input, format, row -> toAccount(row, emails, importedIds), accountRepository::saveAll);
+    }
+
+    @Override
+    public ImportResponse importTransactions(InputStream input, BulkFormat format) {
+        return run("transactions", input, format, this::toTransaction, transactionRepository::saveAll);
+    }
+
+    private <T> ImportResponse run(String kind, InputStream input, BulkFormat format,
+                                   Function<Map<String, String>, T> validator, Function<List<T>, ?> writer) {
+        long started = System.nanoTime();
+        Report report = new Report(maxReportedErrors);
+        Semaphore inFlight = new Semaphore(maxInFlightChunks);
+
+        try (ImportRowReader reader = ImportRowReader.open(input, format)) {
+            List<ImportRowReader.Row> chunk = new ArrayList<>(chunkSize);
+            ImportRowReader.Row row;
+            while ((row = reader.next()) != null) {
+                report.rowsRead.incrementAndGet();
+                if (row.error() != null) {
+                    report.reject(row.line(), row.error());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, validator, writer, report, inFlight);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, validator, writer, report, inFlight);
+            }
+            // Wait for the chunks still in flight
+            inFlight.acquire(maxInFlightChunks);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Import failed after " + report.rowsRead.get() + " rows", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+
+        return report.toResponse(kind, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private <T> void submit(List<ImportRowReader.Row> chunk, Function<Map<String, String>, T> validator,
+                            Function<List<T>, ?> writer, Report report, Semaphore inFlight) throws InterruptedException {
+        // Blocks the reader when enough chunks are queued, which bounds memory
+        inFlight.acquire();
+        executor.execute(() -> {
+            List<T> valid = new ArrayList<>(chunk.size());
+            try {
+                for (ImportRowReader.Row row : chunk) {
+                    try {
+                        valid.add(validator.apply(row.fields()));
+                    } catch (IllegalArgumentException e) {
+                        report.reject(row.line(), e.getMessage());
+                    }
+                }
+                if (!valid.isEmpty()) {
+                    writer.apply(valid);
+                    report.rowsImported.addAndGet(valid.size());
+                }
+            } catch (RuntimeException e) {
+                report.rejectChunk(chunk.get(0).line(), valid.size(), "Writing the chunk starting here failed: " + e.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private Account toAccount(Map<String, String> fields, Set<String> emails, Set<UUID> importedIds) {
+        String name = required(fields, "accountName");
+        String email = required(fields, "accountEmail");
+        EmailValidator.Result emailCheck = EmailValidator.validate(email);
+        if (emailCheck != EmailValidator.Result.VALID) {
+            throw new IllegalArgumentException(EmailValidator.getMessage(emailCheck, email));
+        }
+        BigDecimal balance = amount(fields, "accountBalance");
+        if (balance.signum() < 0) {
+            throw new IllegalArgumentException("Account balance must be non-negative");
+        }
+
+        UUID accountId = optionalUuid(fields, "accountId");
+        if (accountId == null) {
+            accountId = UUID.randomUUID();
+        } else if (!importedIds.add(accountId) || accountRepository.findById(accountId).isPresent()) {
+            throw new IllegalArgumentException("Duplicate account id: " + accountId);
+        }
+        LocalDateTime createdAt = optionalTimestamp(fields, "createdAt");
+
+        // Claim the email last, so a row rejected for another reason does not block it
+        if (!emails.add(email)) {
+            throw new IllegalArgumentException("An account with this email already exists: " + email);
+        }
+        Account account = new Account(accountId, name, email, balance, createdAt != null ? createdAt : LocalDateTime.now(), 0);
+        String tier = fields.get("tier");
+        if (tier != null && !tier.isBlank()) {
+            account.setTier(AccountServiceImpl.normalizeTier(tier));
+        }
+        return account;
+    }
+
+    private Transaction toTransaction(Map<String, String> fields) {
+        TransactionType type;
+        try {
+            type = TransactionType.valueOf(required(fields, "type").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown transaction type: " + fields.get("type"));
+        }
+        UUID fromAccountId = optionalUuid(fields, "fromAccountId");
+        UUID toAccountId = optionalUuid(fields, "toAccountId");
+        if (type != TransactionType.DEPOSIT && fromAccountId == null) {
+            throw new IllegalArgumentException(type + " requires fromAccountId");
+        }
+        if (type != TransactionType.WITHDRAWAL && toAccountId == null) {
+            throw new IllegalArgumentException(type + " requires toAccountId");
+        }
+        requireAccount(fromAccountId);
+        requireAccount(toAccountId);
+
+        BigDecimal amount = amount(fields, "amount");
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Transaction amount must be positive");
+        }
+
+        Transaction transaction = new Transaction(fromAccountId, toAccountId, amount, type);
+        UUID id = optionalUuid(fields, "id");
+        if (id != null) {
+            transaction.setId(id);
+        }
+        LocalDateTime timestamp = optionalTimestamp(fields, "timestamp");
+        if (timestamp != null) {
+            transaction.setTimestamp(timestamp);
+        }
+        return transaction;
+    }
+
+    private void requireAccount(UUID accountId) {
+        if (accountId != null && accountRepository.findById(accountId).isEmpty()) {
+            throw new IllegalArgumentException("Account not found with id: " + accountId);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value;
+    }
+
+    private static BigDecimal amount(Map<String, String> fields, String name) {
+        String text = required(fields, name).trim();
+        BigDecimal value;
+        try {
+            value = new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + text);
+        }
+        if (value.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException(name + " has more than two decimal places: " + text);
+        }
+        return value;
+    }
+
+    private static UUID optionalUuid(Map<String, String> fields, String name) {
+        String text = fields.get(name);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(text.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + text);
+        }
+    }
+
+    private static LocalDateTime optionalTimestamp(Map<String, String> fields, String name) {
+        String text = fields.get(name);
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(text.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + text);
+        }
+    }
+
+    private static final class Report {
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong rowsImported = new AtomicLong();
+        final AtomicLong rowsRejected = new AtomicLong();
+        private final int maxErrors;
+        private final List<ImportErrorResponse> errors = new ArrayList<>();
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long line, String message) {
+            rowsRejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(new ImportErrorResponse(line, message));
+                }
+            }
+        }
+
+        void rejectChunk(long firstLine, int rows, String message) {
+            rowsRejected.addAndGet(rows - 1);
+            reject(firstLine, message);
+        }
+
+        ImportResponse toResponse(String kind, long elapsedMs) {
+            ImportResponse response = new ImportResponse();
+            response.setKind(kind);
+            response.setRowsRead(rowsRead.get());
+            response.setRowsImported(rowsImported.get());
+            response.setRowsRejected(rowsRejected.get());
+            synchronized (errors) {
+                // Chunks finish out of order
+                errors.sort(Comparator.comparingLong(ImportErrorResponse::getLine));
+                response.setErrors(new ArrayList<>(errors));
+            }
+            response.setErrorsTruncated(rowsRejected.get() > maxErrors);
+            response.setElapsedMs(elapsedMs);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.brainridge_banking.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A validated export that is written out once the response headers have been sent.
+ */
+@FunctionalInterface
+public interface TransactionExport {
+    void writeTo(OutputStream output) throws IOException;
+}
@@ -1,21 +1,31 @@
 package com.brainridge_banking.api.service;
 
+import com.brainridge_banking.api.balance.DepositCoalescer;
+import com.brainridge_banking.api.balance.HotAccounts;
 import com.brainridge_banking.api.dto.request.TransactionRequest;
 import com.brainridge_banking.api.dto.request.TransferRequest;
 import com.brainridge_banking.api.dto.response.TransactionResponse;
 import com.brainridge_banking.api.exception.InsufficientFundsException;
 import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.jfr.TransactionEvent;
+import com.brainridge_banking.api.limit.AccountRateLimiter;
 import com.brainridge_banking.api.model.Account;
 import com.brainridge_banking.api.model.Transaction;
 import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountLock;
 import com.brainridge_banking.api.repository.AccountRepository;
 import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.timing.Phase;
+import com.brainridge_banking.api.timing.RequestTimings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +33,9 @@ public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private AccountRateLimiter rateLimiter;
+    private HotAccounts hotAccounts;
+    private DepositCoalescer depositCoalescer;
 
     @Autowired
     public TransactionServiceImpl(TransactionRepository transactionRepository, AccountRepository accountRepository) {
@@ -30,8 +43,47 @@ public class TransactionServiceImpl implements TransactionService {
         this.accountRepository = accountRepository;
     }
 
+    /**
+     * Charges each write to the account it acts on (the source of a transfer) before any
+     * account lock is taken, so a throttled caller never contends with well-behaved ones.
+     */
+    public void setRateLimiter(AccountRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Credits to hot accounts go to their striped cells instead of through the account lock;
+     * credits to other accounts report their lock waits so hot accounts can be detected.
+     */
+    public void setHotAccounts(HotAccounts hotAccounts) {
+        this.hotAccounts = hotAccounts;
+    }
+
+    /**
+     * Deposits that do not go to a hot account's cells are grouped per account, and each group
+     * is applied as one balance update.
+     */
+    public void setDepositCoalescer(DepositCoalescer depositCoalescer) {
+        this.depositCoalescer = depositCoalescer;
+    }
+
     @Override
+    @Transactional
     public TransactionResponse transferFunds(TransferRequest request) {
+        return transferFunds(request, null);
+    }
+
+    /**
+     * Same as {@link #transferFunds(TransferRequest)}, but records the transaction under a pre-assigned id
+     * (null for a fresh one) so a caller replaying a request can tell whether it already applied.
+     */
+    @Transactional
+    public TransactionResponse transferFunds(TransferRequest request, UUID transactionId) {
+        return recorded(TransactionType.TRANSFER, request.getFromAccountId(), request.getToAccountId(),
+                request.getAmount(), () -> applyTransfer(request, transactionId));
+    }
+
+    private TransactionResponse applyTransfer(TransferRequest request, UUID transactionId) {
         // Validate request
         if (request.getFromAccountId() == null || request.getToAccountId() == null) {
             throw new IllegalArgumentException("Source and destination account IDs cannot be null");
@@ -43,40 +95,74 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Source and destination accounts cannot be the same");
         }
 
-        // Get accounts
-        Account fromAccount = accountRepository.findById(request.getFromAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Source account not found with id: " + request.getFromAccountId()));
-        Account toAccount = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Destination account not found with id: " + request.getToAccountId()));
-
-        // Check if sufficient funds
-        if (fromAccount.getAccountBalance().compareTo(request.getAmount()) < 0) {
-            throw new InsufficientFundsException("Insufficient funds in account: " + request.getFromAccountId());
+        if (rateLimiter != null) {
+            rateLimiter.acquire(request.getFromAccountId());
         }
+        RequestTimings.mark(Phase.VALIDATION);
+
+        if (!transferToHotAccount(request)) {
+            // Lock both accounts so concurrent updates cannot interleave with the balance check
+            try (AccountLock lock = lockForCredit(request.getToAccountId(), request.getFromAccountId(), request.getToAccountId())) {
+                RequestTimings.mark(Phase.LOCK);
+                // Get accounts
+                Account fromAccount = accountRepository.findById(request.getFromAccountId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Source account not found with id: " + request.getFromAccountId()));
+                Account toAccount = accountRepository.findById(request.getToAccountId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Destination account not found with id: " + request.getToAccountId()));
+                RequestTimings.mark(Phase.LOOKUP);
 
-        // Update account balances
-        fromAccount.setAccountBalance(fromAccount.getAccountBalance().subtract(request.getAmount()));
-        toAccount.setAccountBalance(toAccount.getAccountBalance().add(request.getAmount()));
+                // Check if sufficient funds
+                if (!hasFunds(fromAccount, request.getAmount())) {
+                    throw new InsufficientFundsException("Insufficient funds in account: " + request.getFromAccountId());
+                }
 
-        // Save updated accounts
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+                // Update account balances
+                fromAccount.setAccountBalance(fromAccount.getAccountBalance().subtract(request.getAmount()));
+                toAccount.setAccountBalance(toAccount.getAccountBalance().add(request.getAmount()));
+                RequestTimings.mark(Phase.UPDATE);
+
+                // Save updated accounts
+                accountRepository.save(fromAccount);
+                accountRepository.save(toAccount);
+            }
+        }
 
         // Create and save transaction
         Transaction transaction = new Transaction(
-                fromAccount.getAccountId(),
-                toAccount.getAccountId(),
+                request.getFromAccountId(),
+                request.getToAccountId(),
                 request.getAmount(),
                 TransactionType.TRANSFER
         );
+        if (transactionId != null) {
+            transaction.setId(transactionId);
+        }
         Transaction savedTransaction = transactionRepository.save(transaction);
+        RequestTimings.mark(Phase.PERSIST);
 
         // Convert to response
-        return mapToTransactionResponse(savedTransaction);
+        TransactionResponse response = mapToTransactionResponse(savedTransaction);
+        RequestTimings.mark(Phase.MAPPING);
+        return response;
     }
 
     @Override
+    @Transactional
     public TransactionResponse deposit(TransactionRequest request) {
+        return deposit(request, null);
+    }
+
+    /**
+     * Same as {@link #deposit(TransactionRequest)}, but records the transaction under a pre-assigned id
+     * (null for a fresh one) so a caller replaying a request can tell whether it already applied.
+     */
+    @Transactional
+    public TransactionResponse deposit(TransactionRequest request, UUID transactionId) {
+        return recorded(TransactionType.DEPOSIT, null, request.getToAccountId(), request.getAmount(),
+                () -> applyDeposit(request, transactionId));
+    }
+
+    private TransactionResponse applyDeposit(TransactionRequest request, UUID transactionId) {
         // Validate request
         if (request.getToAccountId() == null) {
             throw new IllegalArgumentException("Account ID cannot be null");
@@ -85,28 +171,70 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
 
-        // Find account and verify it exists
-        Account account = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getToAccountId()));
+        if (rateLimiter != null) {
+            rateLimiter.acquire(request.getToAccountId());
+        }
+        RequestTimings.mark(Phase.VALIDATION);
+
+        if (hotAccounts == null || !hotAccounts.credit(request.getToAccountId(), request.getAmount())) {
+            if (depositCoalescer != null) {
+                TransactionResponse response = depositCoalescer.deposit(request.getToAccountId(), request.getAmount(),
+                        transactionId, this::applyDeposits);
+                // A leader marked its group's phases itself; for a member this is the wait for the group
+                RequestTimings.mark(Phase.PERSIST);
+                return response;
+            }
+            try (AccountLock lock = lockForCredit(request.getToAccountId(), request.getToAccountId())) {
+                RequestTimings.mark(Phase.LOCK);
+                // Find account and verify it exists
+                Account account = accountRepository.findById(request.getToAccountId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getToAccountId()));
+                RequestTimings.mark(Phase.LOOKUP);
 
-        // Update balance
-        account.setAccountBalance(account.getAccountBalance().add(request.getAmount()));
-        accountRepository.save(account);
+                // Update balance
+                account.setAccountBalance(account.getAccountBalance().add(request.getAmount()));
+                RequestTimings.mark(Phase.UPDATE);
+                accountRepository.save(account);
+            }
+        } else {
+            RequestTimings.mark(Phase.UPDATE);
+        }
 
         // Create transaction record
         Transaction transaction = new Transaction(
                 null, // No source account for deposit
-                account.getAccountId(),
+                request.getToAccountId(),
                 request.getAmount(),
                 TransactionType.DEPOSIT
         );
+        if (transactionId != null) {
+            transaction.setId(transactionId);
+        }
         Transaction savedTransaction = transactionRepository.save(transaction);
+        RequestTimings.mark(Phase.PERSIST);
 
-        return mapToTransactionResponse(savedTransaction);
+        TransactionResponse response = mapToTransactionResponse(savedTransaction);
+        RequestTimings.mark(Phase.MAPPING);
+        return response;
     }
 
     @Override
+    @Transactional
     public TransactionResponse withdraw(TransactionRequest request) {
+        return withdraw(request, null);
+    }
+
+    /**
+     * Same as {@link #withdraw(TransactionRequest)}, but records the transaction under a pre-assigned id
+     * (null for a fresh one) so a caller replaying a request can tell whether it already applied.
+     */
+    @Transactional
+    public TransactionResponse withdraw(TransactionRequest request, UUID transactionId) {
+        return recorded(TransactionType.WITHDRAWAL, request.getToAccountId(), null, request.getAmount(),
+                () -> applyWithdrawal(request, transactionId));
+    }
+
+    private TransactionResponse applyWithdrawal(TransactionRequest request, UUID transactionId) {
         // Validate request
         if (request.getToAccountId() == null) {
             throw new IllegalArgumentException("Account ID cannot be null");
@@ -115,19 +243,30 @@ public class TransactionServiceImpl implements TransactionService {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
 
-        // Find account and verify it exists
-        Account account = accountRepository.findById(request.getToAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getToAccountId()));
-
-        // Check for sufficient funds
-        if (account.getAccountBalance().compareTo(request.getAmount()) < 0) {
-            throw new InsufficientFundsException("Insufficient funds in account: " + request.getToAccountId() +
-                    ". Current balance: " + account.getAccountBalance() + ", requested amount: " + request.getAmount());
+        if (rateLimiter != null) {
+            rateLimiter.acquire(request.getToAccountId());
         }
+        RequestTimings.mark(Phase.VALIDATION);
 
-        // Update balance
-        account.setAccountBalance(account.getAccountBalance().subtract(request.getAmount()));
-        accountRepository.save(account);
+        Account account;
+        try (AccountLock lock = accountRepository.lock(request.getToAccountId())) {
+            RequestTimings.mark(Phase.LOCK);
+            // Find account and verify it exists
+            account = accountRepository.findById(request.getToAccountId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + request.getToAccountId()));
+            RequestTimings.mark(Phase.LOOKUP);
+
+            // Check for sufficient funds
+            if (!hasFunds(account, request.getAmount())) {
+                throw new InsufficientFundsException("Insufficient funds in account: " + request.getToAccountId() +
+                        ". Current balance: " + account.getAccountBalance() + ", requested amount: " + request.getAmount());
+            }
+
+            // Update balance
+            account.setAccountBalance(account.getAccountBalance().subtract(request.getAmount()));
+            RequestTimings.mark(Phase.UPDATE);
+            accountRepository.save(account);
+        }
 
         // Create transaction record
         Transaction transaction = new Transaction(
@@ -136,9 +275,15 @@ public class TransactionServiceImpl implements TransactionService {
                 request.getAmount(),
                 TransactionType.WITHDRAWAL
         );
+        if (transactionId != null) {
+            transaction.setId(transactionId);
+        }
         Transaction savedTransaction = transactionRepository.save(transaction);
+        RequestTimings.mark(Phase.PERSIST);
 
-        return mapToTransactionResponse(savedTransaction);
+        TransactionResponse response = mapToTransactionResponse(savedTransaction);
+        RequestTimings.mark(Phase.MAPPING);
+        return response;
     }
 
     @Override
@@ -149,9 +294,119 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         // Get transactions and convert to response DTOs
-        return transactionRepository.findByAccountId(accountId).stream()
+        List<Transaction> history = transactionRepository.findByAccountId(accountId);
+        RequestTimings.mark(Phase.LOOKUP);
+        List<TransactionResponse> responses = history.stream()
+                .map(this::mapToTransactionResponse)
+                .collect(Collectors.toList());
+        RequestTimings.mark(Phase.MAPPING);
+        return responses;
+    }
+
+    /**
+     * Runs the operation inside a {@link TransactionEvent}, which is committed only while a
+     * recording has the event enabled.
+     */
+    private TransactionResponse recorded(TransactionType type, UUID fromAccountId, UUID toAccountId,
+                                         BigDecimal amount, Supplier<TransactionResponse> operation) {
+        TransactionEvent event = TransactionEvent.start();
+        Throwable failure = null;
+        try {
+            return operation.get();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.complete(type, fromAccountId, toAccountId, amount, failure);
+        }
+    }
+
+    /**
+     * Applies a group of coalesced deposits: one lock, one balance update and one save for the
+     * account, then a transaction record per deposit.
+     */
+    private List<TransactionResponse> applyDeposits(DepositCoalescer.Batch batch) {
+        List<DepositCoalescer.Deposit> deposits;
+        try (AccountLock lock = lockForCredit(batch.accountId(), batch.accountId())) {
+            RequestTimings.mark(Phase.LOCK);
+            // Deposits that arrived while the lock was awaited are part of the group
+            deposits = batch.close();
+            Account account = accountRepository.findById(batch.accountId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + batch.accountId()));
+            RequestTimings.mark(Phase.LOOKUP);
+
+            BigDecimal total = BigDecimal.ZERO;
+            for (DepositCoalescer.Deposit deposit : deposits) {
+                total = total.add(deposit.amount());
+            }
+            account.setAccountBalance(account.getAccountBalance().add(total));
+            RequestTimings.mark(Phase.UPDATE);
+            accountRepository.save(account);
+        }
+
+        List<Transaction> transactions = new ArrayList<>(deposits.size());
+        for (DepositCoalescer.Deposit deposit : deposits) {
+            Transaction transaction = new Transaction(null, batch.accountId(), deposit.amount(), TransactionType.DEPOSIT);
+            if (deposit.transactionId() != null) {
+                transaction.setId(deposit.transactionId());
+            }
+            transactions.add(transaction);
+        }
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        RequestTimings.mark(Phase.PERSIST);
+        List<TransactionResponse> responses = saved.stream()
                 .map(this::mapToTransactionResponse)
                 .collect(Collectors.toList());
+        RequestTimings.mark(Phase.MAPPING);
+        return responses;
+    }
+
+    /**
+     * Transfer into a hot account: only the source is locked, and the credit goes to the
+     * destination's cells. Returns false, having changed nothing, if the destination is not
+     * hot (or is demoted meanwhile); the caller then takes the regular two-lock path.
+     */
+    private boolean transferToHotAccount(TransferRequest request) {
+        if (hotAccounts == null || !hotAccounts.isHot(request.getToAccountId())) {
+            return false;
+        }
+        try (AccountLock lock = accountRepository.lock(request.getFromAccountId())) {
+            RequestTimings.mark(Phase.LOCK);
+            Account fromAccount = accountRepository.findById(request.getFromAccountId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Source account not found with id: " + request.getFromAccountId()));
+            RequestTimings.mark(Phase.LOOKUP);
+            if (!hasFunds(fromAccount, request.getAmount())) {
+                throw new InsufficientFundsException("Insufficient funds in account: " + request.getFromAccountId());
+            }
+            // Credited first: with the source locked and its funds checked, the debit cannot fail
+            if (!hotAccounts.credit(request.getToAccountId(), request.getAmount())) {
+                return false;
+            }
+            fromAccount.setAccountBalance(fromAccount.getAccountBalance().subtract(request.getAmount()));
+            RequestTimings.mark(Phase.UPDATE);
+            accountRepository.save(fromAccount);
+            return true;
+        }
+    }
+
+    // Credits time their lock acquisition, which is how hot accounts are spotted
+    private AccountLock lockForCredit(UUID creditedAccountId, UUID... accountIds) {
+        if (hotAccounts == null) {
+            return accountRepository.lock(accountIds);
+        }
+        long start = System.nanoTime();
+        AccountLock lock = accountRepository.lock(accountIds);
+        hotAccounts.recordLockWait(creditedAccountId, System.nanoTime() - start);
+        return lock;
+    }
+
+    // A hot account's stored balance trails its pending credits, so fold them in before refusing
+    private boolean hasFunds(Account account, BigDecimal amount) {
+        if (account.getAccountBalance().compareTo(amount) >= 0) {
+            return true;
+        }
+        return hotAccounts != null && hotAccounts.consolidate(account)
+                && account.getAccountBalance().compareTo(amount) >= 0;
     }
 
     // Helper method to map Transaction entity to TransactionResponse DTO
@@ -0,0 +1,26 @@
+package com.brainridge_banking.api.timing;
+
+/**
+ * The parts of a request that {@link RequestTimings} tells apart, in the order a write passes
+ * through them. The name is what appears in the {@code Server-Timing} header and the metric tag.
+ */
+public enum Phase {
+    PARSE("parse"),
+    VALIDATION("validate"),
+    LOCK("lock"),
+    LOOKUP("lookup"),
+    UPDATE("update"),
+    PERSIST("persist"),
+    MAPPING("map"),
+    SERIALIZATION("serialize");
+
+    private final String metricName;
+
+    Phase(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,39 @@
+package com.brainridge_banking.api.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code banking.timing.enabled=true}: API requests are timed in phases (see {@link Phase}).
+ * The converter replaces Spring Boot's JSON converter and keeps its ObjectMapper.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.timing.enabled", havingValue = "true")
+public class RequestTimingConfiguration {
+
+    @Bean
+    public TimingJsonHttpMessageConverter timingJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimingJsonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Registered first, so the clock starts before the other interceptors run and the
+     * histograms are recorded after they finish.
+     */
+    @Bean
+    public WebMvcConfigurer requestTimingConfigurer(MeterRegistry meterRegistry) {
+        RequestTimingInterceptor interceptor = new RequestTimingInterceptor(meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**").order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
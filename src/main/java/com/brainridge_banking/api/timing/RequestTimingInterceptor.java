@@ -0,0 +1,86 @@
+package com.brainridge_banking.api.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request in phases and records each phase it went through in the
+ * {@code banking.request.phase} histogram, tagged by phase and route. A request that sends
+ * {@value #REQUEST_HEADER} also gets the breakdown back in a {@code Server-Timing} header. For
+ * JSON bodies {@link TimingJsonHttpMessageConverter} adds the header once serialization is
+ * timed; responses without a body get it here.
+ */
+public class RequestTimingInterceptor implements AsyncHandlerInterceptor {
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String RESPONSE_HEADER = "Server-Timing";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer[]> timersByRoute = new ConcurrentHashMap<>();
+
+    public RequestTimingInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTimings.begin(request.getHeader(REQUEST_HEADER) != null);
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null && timings.reportRequested() && !response.isCommitted()
+                && !response.containsHeader(RESPONSE_HEADER)) {
+            response.setHeader(RESPONSE_HEADER, timings.serverTiming());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return;
+        }
+        RequestTimings.end();
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Timer[] timers = timersByRoute.computeIfAbsent(route == null ? "UNKNOWN" : route.toString(), this::timers);
+        for (Phase phase : PHASES) {
+            if (timings.seen(phase)) {
+                timers[phase.ordinal()].record(timings.nanos(phase), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    // The async part of a streaming response runs on another thread and is not timed
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestTimings.end();
+    }
+
+    private Timer[] timers(String route) {
+        Timer[] timers = new Timer[PHASES.length];
+        for (Phase phase : PHASES) {
+            timers[phase.ordinal()] = Timer.builder("banking.request.phase")
+                    .description("Time a request spent in each phase")
+                    .tag("phase", phase.metricName())
+                    .tag("uri", route)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return timers;
+    }
+}
@@ -0,0 +1,102 @@
+package com.brainridge_banking.api.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase clock. Code on the request path calls {@link #mark(Phase)} at the end of
+ * each phase, which adds the time since the previous mark to that phase; time that belongs to
+ * no phase is dropped with {@link #skip()}. The timings are bound to the request thread by
+ * {@link RequestTimingInterceptor}. Without one bound (timing disabled, or work on a background
+ * thread such as the async pipeline) a mark is a single thread-local read.
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startedAt;
+    private final boolean reportRequested;
+    private final long[] nanos = new long[PHASES.length];
+    private int seen;
+    private long last;
+
+    private RequestTimings(boolean reportRequested) {
+        this.startedAt = System.nanoTime();
+        this.last = startedAt;
+        this.reportRequested = reportRequested;
+    }
+
+    /**
+     * Adds the time since the previous mark to the phase of the current request, if it is timed.
+     */
+    public static void mark(Phase phase) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            long now = System.nanoTime();
+            timings.nanos[phase.ordinal()] += now - timings.last;
+            timings.seen |= 1 << phase.ordinal();
+            timings.last = now;
+        }
+    }
+
+    /**
+     * Restarts the phase clock without charging the time since the previous mark to any phase.
+     */
+    public static void skip() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.last = System.nanoTime();
+        }
+    }
+
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static RequestTimings begin(boolean reportRequested) {
+        RequestTimings timings = new RequestTimings(reportRequested);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    boolean reportRequested() {
+        return reportRequested;
+    }
+
+    boolean seen(Phase phase) {
+        return (seen & 1 << phase.ordinal()) != 0;
+    }
+
+    long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * The {@code Server-Timing} header value: every phase the request went through, then the
+     * total so far, in milliseconds.
+     */
+    String serverTiming() {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            if (seen(phase)) {
+                appendMetric(header, phase.metricName(), nanos(phase));
+            }
+        }
+        appendMetric(header, "total", elapsedNanos());
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1e6));
+    }
+}
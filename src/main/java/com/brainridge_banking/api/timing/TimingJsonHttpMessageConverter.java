@@ -0,0 +1,59 @@
+package com.brainridge_banking.api.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON converter, timing request body parsing and response serialization as phases. The
+ * {@code Server-Timing} header has to be set before the body is written, so for a request that
+ * asked for it the body is serialized into a buffer first; other responses are written directly.
+ */
+public class TimingJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimingJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        RequestTimings.skip();
+        Object value = super.read(type, contextClass, inputMessage);
+        RequestTimings.mark(Phase.PARSE);
+        return value;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        RequestTimings timings = RequestTimings.current();
+        RequestTimings.skip();
+        if (timings == null || !timings.reportRequested()) {
+            super.writeInternal(object, type, outputMessage);
+            RequestTimings.mark(Phase.SERIALIZATION);
+            return;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        RequestTimings.mark(Phase.SERIALIZATION);
+        outputMessage.getHeaders().set(RequestTimingInterceptor.RESPONSE_HEADER, timings.serverTiming());
+        body.writeTo(outputMessage.getBody());
+    }
+}
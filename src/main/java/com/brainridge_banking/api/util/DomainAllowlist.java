@@ -0,0 +1,78 @@
+package com.brainridge_banking.api.util;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Immutable, case-insensitive set of email domains. Lookups take a region of an
+ * existing string, so checking the domain part of an address needs no substring
+ * or lowercased copy. Instances are swapped wholesale when the allowlist changes.
+ */
+public final class DomainAllowlist {
+    private final String[] table;
+    private final int mask;
+    private final int size;
+
+    private DomainAllowlist(String[] table, int size) {
+        this.table = table;
+        this.mask = table.length - 1;
+        this.size = size;
+    }
+
+    public static DomainAllowlist of(Collection<String> domains) {
+        int capacity = Integer.highestOneBit(Math.max(4, domains.size() * 2 - 1)) << 1;
+        String[] table = new String[capacity];
+        int size = 0;
+        for (String domain : domains) {
+            String normalized = domain.trim().toLowerCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            int slot = hash(normalized, 0, normalized.length()) & (capacity - 1);
+            while (table[slot] != null && !table[slot].equals(normalized)) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (table[slot] == null) {
+                table[slot] = normalized;
+                size++;
+            }
+        }
+        return new DomainAllowlist(table, size);
+    }
+
+    public boolean contains(CharSequence text, int from, int to) {
+        int slot = hash(text, from, to) & mask;
+        String candidate;
+        while ((candidate = table[slot]) != null) {
+            if (matches(candidate, text, from, to)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int hash(CharSequence text, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String candidate, CharSequence text, int from, int to) {
+        if (candidate.length() != to - from) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (candidate.charAt(i - from) != Character.toLowerCase(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
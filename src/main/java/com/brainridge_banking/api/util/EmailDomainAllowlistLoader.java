@@ -0,0 +1,100 @@
+package com.brainridge_banking.api.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the email domain allowlist from an external file (one domain per line, '#' starts
+ * a comment) and polls it for changes, swapping the new list into {@link EmailValidator}
+ * atomically. Without {@code banking.email.domains-file} the built-in domains stay in use.
+ * A file that cannot be read leaves the previous allowlist in place.
+ */
+@Component
+public class EmailDomainAllowlistLoader {
+    private static final Logger log = LoggerFactory.getLogger(EmailDomainAllowlistLoader.class);
+
+    private final String domainsFile;
+    private final long reloadIntervalMs;
+    private ScheduledExecutorService watcher;
+    private FileTime lastModified;
+
+    public EmailDomainAllowlistLoader(@Value("${banking.email.domains-file:}") String domainsFile,
+                                      @Value("${banking.email.domains-reload-interval-ms:5000}") long reloadIntervalMs) {
+        this.domainsFile = domainsFile;
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (domainsFile == null || domainsFile.isBlank()) {
+            return;
+        }
+        reloadIfChanged();
+        if (reloadIntervalMs > 0) {
+            watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "email-allowlist-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            watcher.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the allowlist if the file's modification time changed since the last load.
+     *
+     * @return true if a new allowlist was swapped in
+     */
+    public synchronized boolean reloadIfChanged() {
+        Path path = Paths.get(domainsFile);
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(lastModified)) {
+                return false;
+            }
+            DomainAllowlist allowlist = DomainAllowlist.of(parse(Files.readAllLines(path, StandardCharsets.UTF_8)));
+            EmailValidator.setAllowedDomains(allowlist);
+            lastModified = modified;
+            log.info("Loaded {} allowed email domains from {}", allowlist.size(), path);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load email domain allowlist from {}, keeping the current one", path, e);
+            return false;
+        }
+    }
+
+    static List<String> parse(List<String> lines) {
+        List<String> domains = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            int comment = line.indexOf('#');
+            String domain = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!domain.isEmpty()) {
+                domains.add(domain);
+            }
+        }
+        return domains;
+    }
+}
@@ -1,43 +1,72 @@
 package com.brainridge_banking.api.util;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class EmailValidator {
-    // Basic email regex pattern
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
-
-    // Set of common valid domains for simple validation
-    private static final Set<String> VALID_DOMAINS = new HashSet<>(Arrays.asList(
+    // Set of common valid domains, used until an external allowlist is loaded
+    private static final DomainAllowlist DEFAULT_DOMAINS = DomainAllowlist.of(Arrays.asList(
             "gmail.com", "yahoo.com", "hotmail.com", "outlook.com",
             "aol.com", "icloud.com", "protonmail.com", "mail.com",
             "zoho.com", "yandex.com", "gmx.com", "live.com"
     ));
 
+    private static final AtomicReference<DomainAllowlist> ALLOWED_DOMAINS = new AtomicReference<>(DEFAULT_DOMAINS);
+
+    public enum Result {
+        VALID, EMPTY, BAD_FORMAT, UNSUPPORTED_DOMAIN
+    }
+
     /**
-     * Validates if the email follows basic format and has a commonly used domain
+     * Validates the email in a single pass without allocating. The accepted format is
+     * the one of the former {@code ^[A-Za-z0-9+_.-]+@(.+)$} pattern: a non-empty local
+     * part of letters, digits and {@code +_.-}, an '@', then at least one character that
+     * is not a line terminator. The domain (everything after the last '@') must be on
+     * the allowlist, compared case-insensitively.
      *
      * @param email The email to validate
-     * @return true if the email is valid, false otherwise
+     * @return The validation outcome
      */
-    public static boolean isValidEmail(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return false;
+    public static Result validate(String email) {
+        if (isBlank(email)) {
+            return Result.EMPTY;
+        }
+
+        int length = email.length();
+        int at = 0;
+        while (at < length && email.charAt(at) != '@') {
+            if (!isLocalPartChar(email.charAt(at))) {
+                return Result.BAD_FORMAT;
+            }
+            at++;
+        }
+        if (at == 0 || at >= length - 1) {
+            return Result.BAD_FORMAT;
         }
 
-        // Check basic format
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
-            return false;
+        int lastAt = at;
+        for (int i = at + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (isLineTerminator(c)) {
+                return Result.BAD_FORMAT;
+            }
+            if (c == '@') {
+                lastAt = i;
+            }
         }
 
-        // Extract domain part
-        String domain = email.substring(email.lastIndexOf('@') + 1).toLowerCase();
+        return ALLOWED_DOMAINS.get().contains(email, lastAt + 1, length) ? Result.VALID : Result.UNSUPPORTED_DOMAIN;
+    }
 
-        // Check domain against common domains
-        return VALID_DOMAINS.contains(domain);
+    /**
+     * Validates if the email follows basic format and has a commonly used domain
+     *
+     * @param email The email to validate
+     * @return true if the email is valid, false otherwise
+     */
+    public static boolean isValidEmail(String email) {
+        return validate(email) == Result.VALID;
     }
 
     /**
@@ -47,15 +76,64 @@ public class EmailValidator {
      * @return Descriptive error message
      */
     public static String getInvalidEmailMessage(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            return "Email cannot be empty";
+        return getMessage(validate(email), email);
+    }
+
+    /**
+     * Get error message for a validation result that has already been computed
+     *
+     * @param result The outcome of {@link #validate(String)}
+     * @param email The email that was validated
+     * @return Descriptive error message, or null if the email is valid
+     */
+    public static String getMessage(Result result, String email) {
+        switch (result) {
+            case EMPTY:
+                return "Email cannot be empty";
+            case BAD_FORMAT:
+                return "Email format is invalid: " + email;
+            case UNSUPPORTED_DOMAIN:
+                String domain = email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+                return "Email domain is not supported: " + domain + ". Please use a common email provider.";
+            default:
+                return null;
         }
+    }
+
+    /**
+     * Atomically replaces the domain allowlist; in-flight validations finish against the old one.
+     */
+    public static void setAllowedDomains(DomainAllowlist allowlist) {
+        ALLOWED_DOMAINS.set(allowlist);
+    }
+
+    public static DomainAllowlist getAllowedDomains() {
+        return ALLOWED_DOMAINS.get();
+    }
+
+    public static void resetAllowedDomains() {
+        ALLOWED_DOMAINS.set(DEFAULT_DOMAINS);
+    }
 
-        if (!EMAIL_PATTERN.matcher(email).matches()) {
-            return "Email format is invalid: " + email;
+    private static boolean isBlank(String email) {
+        if (email == null) {
+            return true;
         }
+        // Same notion of whitespace as String.trim()
+        for (int i = 0; i < email.length(); i++) {
+            if (email.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalPartChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '+' || c == '_' || c == '.' || c == '-';
+    }
 
-        String domain = email.substring(email.lastIndexOf('@') + 1).toLowerCase();
-        return "Email domain is not supported: " + domain + ". Please use a common email provider.";
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 }
@@ -0,0 +1,176 @@
+package com.brainridge_banking.api.warmup;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.PartitionedAccountRepository;
+import com.brainridge_banking.api.repository.PartitionedStorage;
+import com.brainridge_banking.api.repository.PartitionedTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * {@code banking.warmup.enabled=true}: before the application reports ready, runs transfers,
+ * deposits, withdrawals and history reads, each parsed from and written to JSON, until the JIT
+ * stops compiling. Runners finish before Spring Boot moves readiness to
+ * {@code ACCEPTING_TRAFFIC}, so {@code /actuator/health/readiness} stays down until then.
+ *
+ * <p>The work runs against a private copy of the service layer over fresh repositories of the
+ * configured engine, rebuilt every round and dropped at the end, so the service call sites see
+ * the repository types live traffic uses. That holds for the {@code memory} and
+ * {@code partitioned} engines; a {@code jdbc} instance, tiered history and the replication and
+ * flight-recorder wrappers are not reproduced, so there warmup trains the in-memory types instead
+ * and the live call sites may still recompile after readiness. The copy has no rate limits, hot
+ * accounts or coalescing, so no synthetic account, transaction, limit or metric reaches the live
+ * application.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.warmup.enabled", havingValue = "true")
+public class JitWarmup implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(JitWarmup.class);
+    // A round counts as quiet when the JIT spent under this share of the round compiling
+    private static final double QUIET_COMPILE_SHARE = 0.02;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+
+    private final ObjectMapper objectMapper;
+    private final int accounts;
+    private final int roundOperations;
+    private final int quietRounds;
+    private final Duration maxDuration;
+    private final String engine;
+    private final int shards;
+    private final CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+
+    @Autowired
+    public JitWarmup(ObjectMapper objectMapper,
+                     @Value("${banking.warmup.accounts:64}") int accounts,
+                     @Value("${banking.warmup.round-operations:2000}") int roundOperations,
+                     @Value("${banking.warmup.quiet-rounds:3}") int quietRounds,
+                     @Value("${banking.warmup.max-duration:60s}") Duration maxDuration,
+                     @Value("${banking.storage.engine:memory}") String engine,
+                     @Value("${banking.storage.shards:8}") int shards) {
+        this.objectMapper = objectMapper;
+        this.accounts = Math.max(2, accounts);
+        this.roundOperations = roundOperations;
+        this.quietRounds = quietRounds;
+        this.maxDuration = maxDuration;
+        this.engine = engine;
+        this.shards = shards;
+    }
+
+    public record Result(int rounds, long operations, long elapsedMs, long compileMs, boolean quiet) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Result result = warmUp();
+        log.info("JIT warmup: {} operations in {} rounds, {} ms ({} ms compiling), {}", result.operations(),
+                result.rounds(), result.elapsedMs(), result.compileMs(),
+                result.quiet() ? "compilation settled" : "stopped at banking.warmup.max-duration");
+    }
+
+    /**
+     * Runs rounds until {@code quietRounds} quiet ones in a row, or until {@code maxDuration}.
+     * Without compilation time monitoring (e.g. a native image) every round counts as quiet.
+     */
+    public Result warmUp() throws IOException {
+        boolean timed = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        long compileStart = timed ? compiler.getTotalCompilationTime() : 0;
+        SplittableRandom random = new SplittableRandom();
+        int rounds = 0;
+        int quiet = 0;
+        long operations = 0;
+        while (quiet < quietRounds && System.nanoTime() < deadline) {
+            long roundStart = System.nanoTime();
+            long compiledBefore = timed ? compiler.getTotalCompilationTime() : 0;
+            operations += round(random);
+            rounds++;
+            long roundMs = (System.nanoTime() - roundStart) / 1_000_000;
+            long compiledMs = timed ? compiler.getTotalCompilationTime() - compiledBefore : 0;
+            quiet = compiledMs <= roundMs * QUIET_COMPILE_SHARE ? quiet + 1 : 0;
+        }
+        return new Result(rounds, operations, (System.nanoTime() - start) / 1_000_000,
+                timed ? compiler.getTotalCompilationTime() - compileStart : 0, quiet >= quietRounds);
+    }
+
+    private long round(SplittableRandom random) throws IOException {
+        if (!engine.equals("partitioned")) {
+            InMemoryAccountRepository accountRepository = new InMemoryAccountRepository();
+            return round(random, accountRepository, new InMemoryTransactionRepository());
+        }
+        PartitionedStorage storage = new PartitionedStorage(shards, new SimpleMeterRegistry());
+        try {
+            return round(random, new PartitionedAccountRepository(storage, 1024),
+                    new PartitionedTransactionRepository(storage));
+        } finally {
+            storage.shutdown();
+        }
+    }
+
+    private long round(SplittableRandom random, AccountRepository accountRepository,
+                       TransactionRepository transactionRepository) throws IOException {
+        AccountServiceImpl accountService = new AccountServiceImpl(accountRepository);
+        TransactionServiceImpl transactionService = new TransactionServiceImpl(transactionRepository, accountRepository);
+
+        // Seeded straight into the repository: createAccount would check the email against the
+        // configured domain allowlist, which may not accept any synthetic address
+        UUID[] ids = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = accountRepository.save(new Account("Warmup " + i, "warmup" + i + "@warmup.invalid",
+                    INITIAL_BALANCE));
+            objectMapper.writeValueAsBytes(accountService.getAccountById(account.getAccountId()));
+            ids[i] = account.getAccountId();
+        }
+
+        for (int i = 0; i < roundOperations; i++) {
+            UUID from = ids[random.nextInt(accounts)];
+            UUID to = ids[random.nextInt(accounts)];
+            while (to.equals(from)) {
+                to = ids[random.nextInt(accounts)];
+            }
+            String amount = BigDecimal.valueOf(1 + random.nextInt(9_999), 2).toPlainString();
+            int kind = random.nextInt(10);
+            Object response;
+            if (kind < 4) {
+                response = transactionService.transferFunds(objectMapper.readValue("{\"fromAccountId\":\"" + from
+                        + "\",\"toAccountId\":\"" + to + "\",\"amount\":" + amount + "}", TransferRequest.class));
+            } else if (kind < 6) {
+                response = transactionService.deposit(objectMapper.readValue("{\"toAccountId\":\"" + to
+                        + "\",\"amount\":" + amount + "}", TransactionRequest.class));
+            } else if (kind < 8) {
+                response = transactionService.withdraw(objectMapper.readValue("{\"toAccountId\":\"" + from
+                        + "\",\"amount\":" + amount + "}", TransactionRequest.class));
+            } else if (kind < 9) {
+                response = transactionService.getTransactionHistory(from);
+            } else {
+                response = accountService.getAccountBalance(from);
+            }
+            objectMapper.writeValueAsBytes(response);
+        }
+        return roundOperations;
+    }
+}
@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id      UUID           PRIMARY KEY,
+    account_name    VARCHAR(255)   NOT NULL,
+    account_email   VARCHAR(320)   NOT NULL,
+    account_balance DECIMAL(19, 2) NOT NULL,
+    created_at      TIMESTAMP      NOT NULL,
+    version         BIGINT         NOT NULL,
+    tier            VARCHAR(32)    NOT NULL DEFAULT 'standard'
+);
+
+-- Databases created before rate-limit tiers existed
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS tier VARCHAR(32) NOT NULL DEFAULT 'standard';
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id              UUID           PRIMARY KEY,
+    from_account_id UUID,
+    to_account_id   UUID,
+    amount          DECIMAL(19, 2) NOT NULL,
+    ts              TIMESTAMP      NOT NULL,
+    type            VARCHAR(16)    NOT NULL
+);
+
+-- History lookups filter by either side of the transaction and order by time
+CREATE INDEX IF NOT EXISTS idx_transactions_from_account_ts ON transactions (from_account_id, ts);
+CREATE INDEX IF NOT EXISTS idx_transactions_to_account_ts ON transactions (to_account_id, ts);
+CREATE INDEX IF NOT EXISTS idx_transactions_ts ON transactions (ts);
@@ -7,6 +7,7 @@ import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
 import com.brainridge_banking.api.dto.response.AccountResponse;
 import com.brainridge_banking.api.exception.DuplicateEmailException;
 import com.brainridge_banking.api.exception.InvalidEmailException;
+import com.brainridge_banking.api.exception.PreconditionFailedException;
 import com.brainridge_banking.api.exception.ResourceNotFoundException;
 import com.brainridge_banking.api.service.AccountService;
 import org.junit.jupiter.api.BeforeEach;
@@ -89,7 +90,7 @@ public class AccountControllerTest {
         when(accountService.getAccountById(testAccountId)).thenReturn(testAccountResponse);
 
         // Act
-        ResponseEntity<AccountResponse> response = accountController.getAccount(testAccountId);
+        ResponseEntity<AccountResponse> response = accountController.getAccount(testAccountId, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -104,7 +105,7 @@ public class AccountControllerTest {
         when(accountService.getAccountById(testAccountId)).thenThrow(new ResourceNotFoundException("Account not found"));
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountController.getAccount(testAccountId));
+        assertThrows(ResourceNotFoundException.class, () -> accountController.getAccount(testAccountId, null));
         verify(accountService, times(1)).getAccountById(testAccountId);
     }
 
@@ -140,7 +141,7 @@ public class AccountControllerTest {
                 .thenReturn(testAccountResponse);
 
         // Act
-        ResponseEntity<AccountResponse> response = accountController.updateAccount(testAccountId, updateRequest);
+        ResponseEntity<AccountResponse> response = accountController.updateAccount(testAccountId, updateRequest, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -157,7 +158,7 @@ public class AccountControllerTest {
 
         // Act & Assert
         assertThrows(InvalidEmailException.class, () ->
-                accountController.updateAccount(testAccountId, updateRequest));
+                accountController.updateAccount(testAccountId, updateRequest, null));
         verify(accountService, times(1)).updateAccount(testAccountId, updateRequest);
     }
 
@@ -169,7 +170,7 @@ public class AccountControllerTest {
 
         // Act & Assert
         assertThrows(DuplicateEmailException.class, () ->
-                accountController.updateAccount(testAccountId, updateRequest));
+                accountController.updateAccount(testAccountId, updateRequest, null));
         verify(accountService, times(1)).updateAccount(testAccountId, updateRequest);
     }
 
@@ -204,7 +205,7 @@ public class AccountControllerTest {
         when(accountService.getAccountBalance(testAccountId)).thenReturn(balanceResponse);
 
         // Act
-        ResponseEntity<AccountBalanceResponse> response = accountController.getAccountBalance(testAccountId);
+        ResponseEntity<AccountBalanceResponse> response = accountController.getAccountBalance(testAccountId, null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -221,7 +222,58 @@ public class AccountControllerTest {
                 .thenThrow(new ResourceNotFoundException("Account not found"));
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> accountController.getAccountBalance(testAccountId));
+        assertThrows(ResourceNotFoundException.class, () -> accountController.getAccountBalance(testAccountId, null));
         verify(accountService, times(1)).getAccountBalance(testAccountId);
     }
+
+    @Test
+    void getAccount_WithMatchingIfNoneMatch_ShouldReturnNotModifiedWithoutBuildingBody() {
+        // Arrange
+        when(accountService.getAccountVersion(testAccountId)).thenReturn(7L);
+
+        // Act
+        ResponseEntity<AccountResponse> response = accountController.getAccount(testAccountId, "\"6\", W/\"7\"");
+        ResponseEntity<AccountBalanceResponse> balance = accountController.getAccountBalance(testAccountId, "\"7\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, balance.getStatusCode());
+        verify(accountService, never()).getAccountById(any());
+        verify(accountService, never()).getAccountBalance(any());
+    }
+
+    @Test
+    void getAccount_WithStaleIfNoneMatch_ShouldReturnBodyWithCurrentETag() {
+        // Arrange
+        testAccountResponse.setVersion(8);
+        when(accountService.getAccountVersion(testAccountId)).thenReturn(8L);
+        when(accountService.getAccountById(testAccountId)).thenReturn(testAccountResponse);
+
+        // Act
+        ResponseEntity<AccountResponse> response = accountController.getAccount(testAccountId, "\"7\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"8\"", response.getHeaders().getETag());
+        assertEquals(testAccountResponse, response.getBody());
+    }
+
+    @Test
+    void updateAccount_WithIfMatch_ShouldPassExpectedVersion() {
+        // Arrange
+        testAccountResponse.setVersion(4);
+        when(accountService.updateAccount(testAccountId, updateRequest, 3L)).thenReturn(testAccountResponse);
+        when(accountService.updateAccount(testAccountId, updateRequest, -1L))
+                .thenThrow(new PreconditionFailedException("stale"));
+
+        // Act
+        ResponseEntity<AccountResponse> response = accountController.updateAccount(testAccountId, updateRequest, "\"3\"");
+
+        // Assert
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertThrows(PreconditionFailedException.class,
+                () -> accountController.updateAccount(testAccountId, updateRequest, "W/\"3\""));
+    }
 }
@@ -6,6 +6,7 @@ import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
 import com.brainridge_banking.api.dto.response.AccountResponse;
 import com.brainridge_banking.api.exception.DuplicateEmailException;
 import com.brainridge_banking.api.exception.InvalidEmailException;
+import com.brainridge_banking.api.exception.PreconditionFailedException;
 import com.brainridge_banking.api.exception.ResourceNotFoundException;
 import com.brainridge_banking.api.model.Account;
 import com.brainridge_banking.api.repository.AccountRepository;
@@ -190,6 +191,18 @@ public class AccountServiceImplTest {
         verify(accountRepository, never()).save(any(Account.class));
     }
 
+    @Test
+    void updateAccount_WithStaleExpectedVersion_ShouldThrowPreconditionFailed() {
+        // Arrange
+        testAccount.setVersion(5);
+        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class,
+                () -> accountService.updateAccount(testAccountId, validUpdateRequest, 4L));
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
     @Test
     void deleteAccount_WithExistingId_ShouldDeleteAccount() {
         // Arrange
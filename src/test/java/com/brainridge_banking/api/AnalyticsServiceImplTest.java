@@ -0,0 +1,119 @@
+package com.brainridge_banking.api;
+
+import com.brainridge_banking.api.dto.response.AccountVolumeResponse;
+import com.brainridge_banking.api.dto.response.AnalyticsResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.dto.response.TransactionTypeSummaryResponse;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AnalyticsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalyticsServiceImplTest {
+
+    private TransactionRepository transactionRepository;
+    private AnalyticsServiceImpl analyticsService;
+    private UUID busyAccountId;
+    private UUID quietAccountId;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository = new InMemoryTransactionRepository();
+        // Small chunks so even this dataset is split across several fork-join tasks
+        analyticsService = new AnalyticsServiceImpl(transactionRepository, 4, 16, 1_000_000, 100);
+
+        busyAccountId = UUID.randomUUID();
+        quietAccountId = UUID.randomUUID();
+
+        for (int i = 1; i <= 200; i++) {
+            transactionRepository.save(new Transaction(busyAccountId, quietAccountId,
+                    BigDecimal.valueOf(i), TransactionType.TRANSFER));
+            transactionRepository.save(new Transaction(null, busyAccountId,
+                    BigDecimal.ONE, TransactionType.DEPOSIT));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsService.shutdown();
+    }
+
+    @Test
+    void getTopAccountsByVolume_ShouldRankAccountsByTotalVolume() {
+        // Act
+        AnalyticsResponse<AccountVolumeResponse> response = analyticsService.getTopAccountsByVolume(10, null, null);
+
+        // Assert
+        List<AccountVolumeResponse> results = response.getResults();
+        assertEquals(2, results.size());
+        assertEquals(busyAccountId, results.get(0).getAccountId());
+        assertEquals(400, results.get(0).getTransactionCount());
+        assertEquals(new BigDecimal("20300"), results.get(0).getTotalVolume());
+        assertEquals(quietAccountId, results.get(1).getAccountId());
+        assertEquals(400, response.getRowsScanned());
+        assertFalse(response.isTruncated());
+    }
+
+    @Test
+    void getLargestTransfers_ShouldReturnLargestAmountsInDescendingOrder() {
+        // Act
+        AnalyticsResponse<TransactionResponse> response = analyticsService.getLargestTransfers(3, null, null);
+
+        // Assert
+        List<TransactionResponse> results = response.getResults();
+        assertEquals(3, results.size());
+        assertEquals(BigDecimal.valueOf(200), results.get(0).getAmount());
+        assertEquals(BigDecimal.valueOf(199), results.get(1).getAmount());
+        assertEquals(BigDecimal.valueOf(198), results.get(2).getAmount());
+    }
+
+    @Test
+    void getTypeBreakdown_ShouldRespectTimeWindow() {
+        // Arrange
+        Transaction old = new Transaction(null, quietAccountId, new BigDecimal("5"), TransactionType.DEPOSIT);
+        old.setTimestamp(LocalDateTime.now().minusDays(30));
+        transactionRepository.save(old);
+
+        // Act
+        AnalyticsResponse<TransactionTypeSummaryResponse> response =
+                analyticsService.getTypeBreakdown(LocalDateTime.now().minusDays(1), null);
+
+        // Assert
+        assertEquals(2, response.getResults().size());
+        TransactionTypeSummaryResponse deposits = response.getResults().stream()
+                .filter(summary -> summary.getType() == TransactionType.DEPOSIT)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(200, deposits.getCount());
+        assertEquals(new BigDecimal("200"), deposits.getTotalAmount());
+    }
+
+    @Test
+    void queries_ShouldCapRowsScannedPerRequest() {
+        // Arrange
+        AnalyticsServiceImpl capped = new AnalyticsServiceImpl(transactionRepository, 2, 16, 50, 100);
+
+        try {
+            // Act
+            AnalyticsResponse<TransactionTypeSummaryResponse> response = capped.getTypeBreakdown(null, null);
+
+            // Assert
+            assertEquals(50, response.getRowsScanned());
+            assertTrue(response.isTruncated());
+            assertEquals(50, response.getResults().stream().mapToLong(TransactionTypeSummaryResponse::getCount).sum());
+        } finally {
+            capped.shutdown();
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.brainridge_banking.api;
 
+import com.brainridge_banking.api.util.DomainAllowlist;
+import com.brainridge_banking.api.util.EmailDomainAllowlistLoader;
 import com.brainridge_banking.api.util.EmailValidator;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class EmailValidatorTest {
+    @AfterEach
+    void tearDown() {
+        EmailValidator.resetAllowedDomains();
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {
             "user@gmail.com",
@@ -93,4 +107,60 @@ public class EmailValidatorTest {
         // Assert
         assertEquals("Email domain is not supported: " + domain + ". Please use a common email provider.", message);
     }
+
+    @Test
+    void validate_ShouldReturnStructuredResult() {
+        // Act & Assert
+        assertEquals(EmailValidator.Result.VALID, EmailValidator.validate("User@GMAIL.com"));
+        assertEquals(EmailValidator.Result.EMPTY, EmailValidator.validate(" "));
+        assertEquals(EmailValidator.Result.BAD_FORMAT, EmailValidator.validate("us er@gmail.com"));
+        assertEquals(EmailValidator.Result.BAD_FORMAT, EmailValidator.validate("user@gmail.com\n"));
+        assertEquals(EmailValidator.Result.UNSUPPORTED_DOMAIN, EmailValidator.validate("user@example.org"));
+    }
+
+    @Test
+    void setAllowedDomains_ShouldSwapAllowlist() {
+        // Act
+        EmailValidator.setAllowedDomains(DomainAllowlist.of(List.of("Partner.io")));
+
+        // Assert
+        assertTrue(EmailValidator.isValidEmail("user@partner.IO"));
+        assertFalse(EmailValidator.isValidEmail("user@gmail.com"));
+    }
+
+    @Test
+    void allowlistLoader_ShouldReloadWhenFileChanges(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("domains.txt");
+        Files.writeString(file, "# partners\npartner.io\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+        EmailDomainAllowlistLoader loader = new EmailDomainAllowlistLoader(file.toString(), 0);
+
+        // Act
+        loader.start();
+
+        // Assert
+        assertTrue(EmailValidator.isValidEmail("user@partner.io"));
+        assertFalse(loader.reloadIfChanged());
+
+        // Act
+        Files.writeString(file, "partner.io\nbank.example # onboarded\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000L));
+
+        // Assert
+        assertTrue(loader.reloadIfChanged());
+        assertTrue(EmailValidator.isValidEmail("user@bank.example"));
+    }
+
+    @Test
+    void allowlistLoader_WithMissingFile_ShouldKeepCurrentAllowlist(@TempDir Path dir) {
+        // Arrange
+        EmailDomainAllowlistLoader loader = new EmailDomainAllowlistLoader(dir.resolve("missing.txt").toString(), 0);
+
+        // Act
+        loader.start();
+
+        // Assert
+        assertTrue(EmailValidator.isValidEmail("user@gmail.com"));
+    }
 }
@@ -0,0 +1,105 @@
+package com.brainridge_banking.api;
+
+import com.brainridge_banking.api.dto.response.ImportResponse;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.BulkFormat;
+import com.brainridge_banking.api.service.ExportServiceImpl;
+import com.brainridge_banking.api.service.ImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportServiceImplTest {
+
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private ExportServiceImpl exportService;
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        exportService = new ExportServiceImpl(accountRepository, transactionRepository, 1024);
+
+        alice = accountRepository.save(new Account("Alice", "alice@gmail.com", new BigDecimal("100.00")));
+        bob = accountRepository.save(new Account("Bob", "bob@gmail.com", new BigDecimal("50.00")));
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 9, 30);
+        save(new Transaction(null, alice.getAccountId(), new BigDecimal("100.00"), TransactionType.DEPOSIT), base);
+        save(new Transaction(alice.getAccountId(), bob.getAccountId(), new BigDecimal("1E+1"), TransactionType.TRANSFER), base.plusHours(1));
+        save(new Transaction(bob.getAccountId(), null, new BigDecimal("5.25"), TransactionType.WITHDRAWAL), base.plusHours(2));
+    }
+
+    @Test
+    void exportTransactions_AsCsv_ShouldWriteHeaderAndAccountHistoryNewestFirst() throws IOException {
+        // Act
+        List<String> lines = export(alice.getAccountId(), BulkFormat.CSV);
+
+        // Assert
+        assertEquals(3, lines.size());
+        assertEquals("id,type,amount,fromAccountId,toAccountId,timestamp", lines.get(0));
+        assertTrue(lines.get(1).contains(",TRANSFER,10," + alice.getAccountId() + "," + bob.getAccountId() + ","));
+        assertTrue(lines.get(2).endsWith(",DEPOSIT,100.00,," + alice.getAccountId() + ",2024-03-01T09:30"));
+    }
+
+    @Test
+    void exportTransactions_AsNdjson_ShouldRoundTripThroughImport() throws IOException {
+        // Arrange
+        byte[] exported = String.join("\n", export(null, BulkFormat.NDJSON)).getBytes(StandardCharsets.UTF_8);
+        TransactionRepository target = new InMemoryTransactionRepository();
+        ImportServiceImpl importService = new ImportServiceImpl(accountRepository, target, 1, 100, 1, 10);
+
+        try {
+            // Act
+            ImportResponse response = importService.importTransactions(new ByteArrayInputStream(exported), BulkFormat.NDJSON);
+
+            // Assert
+            assertEquals(3, response.getRowsImported());
+            assertEquals(0, response.getRowsRejected());
+            List<Transaction> original = transactionRepository.findAll();
+            List<Transaction> copy = target.findAll();
+            for (int i = 0; i < original.size(); i++) {
+                assertEquals(original.get(i).getId(), copy.get(i).getId());
+                assertEquals(0, original.get(i).getAmount().compareTo(copy.get(i).getAmount()));
+                assertEquals(original.get(i).getTimestamp(), copy.get(i).getTimestamp());
+            }
+        } finally {
+            importService.shutdown();
+        }
+    }
+
+    @Test
+    void exportTransactions_ShouldRejectUnknownAccountBeforeStreaming() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> exportService.exportTransactions(UUID.randomUUID(), BulkFormat.CSV));
+    }
+
+    private List<String> export(UUID accountId, BulkFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportTransactions(accountId, format).writeTo(output);
+        return output.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private void save(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        transactionRepository.save(transaction);
+    }
+}
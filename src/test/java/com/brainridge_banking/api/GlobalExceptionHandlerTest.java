@@ -1,6 +1,9 @@
 package com.brainridge_banking.api;
 
 import com.brainridge_banking.api.exception.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -124,4 +129,37 @@ public class GlobalExceptionHandlerTest {
         assertEquals("Internal Server Error", responseBody.get("error"));
         assertEquals(errorMessage, responseBody.get("message"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void businessExceptions_ShouldNotCaptureStackTraces() {
+        // Act & Assert
+        assertEquals(0, new ResourceNotFoundException("missing").getStackTrace().length);
+        assertEquals(0, new InsufficientFundsException("broke").getStackTrace().length);
+        assertEquals(0, new DuplicateEmailException("taken").getStackTrace().length);
+        assertEquals(0, new InvalidEmailException("bad").getStackTrace().length);
+    }
+
+    @Test
+    void errorBody_ShouldSerializeLikeLinkedHashMap() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ResponseEntity<Object> response = exceptionHandler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Account not found"), webRequest);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> body = (Map<String, Object>) response.getBody();
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("timestamp", body.get("timestamp"));
+        expected.put("status", HttpStatus.NOT_FOUND.value());
+        expected.put("error", "Resource Not Found");
+        expected.put("message", "Account not found");
+
+        // Act & Assert
+        assertInstanceOf(LocalDateTime.class, body.get("timestamp"));
+        assertEquals(expected, body);
+        assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,144 @@
+package com.brainridge_banking.api;
+
+import com.brainridge_banking.api.dto.response.ImportErrorResponse;
+import com.brainridge_banking.api.dto.response.ImportResponse;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.BulkFormat;
+import com.brainridge_banking.api.service.ImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportServiceImplTest {
+
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private ImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = new InMemoryAccountRepository();
+        transactionRepository = new InMemoryTransactionRepository();
+        // Tiny chunks and a single chunk in flight, so the pipeline's backpressure is exercised
+        importService = new ImportServiceImpl(accountRepository, transactionRepository, 4, 3, 1, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void importAccounts_FromNdjson_ShouldKeepValidRowsAndReportBadOnes() {
+        accountRepository.save(new Account("Existing", "taken@gmail.com", BigDecimal.TEN));
+        String input = String.join("\n",
+                "{\"accountName\":\"Alice\",\"accountEmail\":\"alice@gmail.com\",\"accountBalance\":100.50}",
+                "{\"accountName\":\"Bob\",\"accountEmail\":\"bob@invalid.test\",\"accountBalance\":1}",
+                "",
+                "{\"accountName\":\"Carol\",\"accountEmail\":\"carol@gmail.com\",\"accountBalance\":-1}",
+                "{\"accountName\":\"Dave\",\"accountEmail\":\"taken@gmail.com\",\"accountBalance\":1}",
+                "{\"accountName\":\"Eve\",\"accountEmail\":",
+                "{\"accountEmail\":\"frank@gmail.com\",\"accountBalance\":1}",
+                "{\"accountName\":\"Grace\",\"accountEmail\":\"grace@gmail.com\",\"accountBalance\":\"7\",\"createdAt\":\"2020-01-02T03:04:05\"}");
+
+        ImportResponse response = importService.importAccounts(stream(input), BulkFormat.NDJSON);
+
+        assertEquals("accounts", response.getKind());
+        assertEquals(7, response.getRowsRead());
+        assertEquals(2, response.getRowsImported());
+        assertEquals(5, response.getRowsRejected());
+        assertEquals(List.of(2L, 4L, 5L, 6L, 7L),
+                response.getErrors().stream().map(ImportErrorResponse::getLine).collect(Collectors.toList()));
+        assertTrue(response.getErrors().get(3).getMessage().startsWith("Malformed JSON"));
+        assertEquals(3, accountRepository.count());
+        Account grace = accountRepository.findAll().stream()
+                .filter(a -> a.getAccountEmail().equals("grace@gmail.com")).findFirst().orElseThrow();
+        assertEquals(2020, grace.getCreatedAt().getYear());
+    }
+
+    @Test
+    void importTransactions_FromCsv_ShouldValidateTypesAccountsAndAmounts() {
+        Account alice = accountRepository.save(new Account("Alice", "alice@gmail.com", BigDecimal.TEN));
+        Account bob = accountRepository.save(new Account("Bob", "bob@gmail.com", BigDecimal.TEN));
+        UUID unknown = UUID.randomUUID();
+        String input = String.join("\n",
+                "id,fromAccountId,toAccountId,amount,timestamp,type",
+                "," + alice.getAccountId() + "," + bob.getAccountId() + ",12.50,2021-05-01T10:00:00,TRANSFER",
+                ",," + bob.getAccountId() + ",3,,deposit",
+                "," + alice.getAccountId() + ",,1.234,,WITHDRAWAL",
+                "," + unknown + "," + bob.getAccountId() + ",1,,TRANSFER",
+                "," + alice.getAccountId() + ",,5,,REFUND",
+                ",," + alice.getAccountId() + ",0,,DEPOSIT",
+                "," + alice.getAccountId() + ",,2,,WITHDRAWAL");
+
+        ImportResponse response = importService.importTransactions(stream(input), BulkFormat.CSV);
+
+        assertEquals(7, response.getRowsRead());
+        assertEquals(3, response.getRowsImported());
+        assertEquals(4, response.getRowsRejected());
+        assertEquals(List.of(4L, 5L, 6L, 7L),
+                response.getErrors().stream().map(ImportErrorResponse::getLine).collect(Collectors.toList()));
+        assertEquals(3, transactionRepository.count());
+        assertEquals(2, transactionRepository.findByAccountId(alice.getAccountId()).size());
+        assertEquals(2, transactionRepository.findByAccountId(bob.getAccountId()).size());
+        // Imported history does not move balances
+        assertEquals(0, BigDecimal.TEN.compareTo(accountRepository.findById(alice.getAccountId()).orElseThrow().getAccountBalance()));
+    }
+
+    @Test
+    void importAccounts_ShouldStreamLargeInputsAndCapReportedErrors() {
+        int rows = 20_000;
+        // Generated lazily, so the test never holds the whole input either
+        InputStream input = new InputStream() {
+            private int row;
+            private byte[] current = new byte[0];
+            private int position;
+
+            @Override
+            public int read() {
+                if (position == current.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    // Every tenth row has an unsupported email domain
+                    String domain = row % 10 == 9 ? "invalid.test" : "gmail.com";
+                    current = ("{\"accountId\":\"" + new UUID(0, row + 1) + "\",\"accountName\":\"User " + row +
+                            "\",\"accountEmail\":\"user" + row + "@" + domain + "\",\"accountBalance\":1}\n")
+                            .getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    row++;
+                }
+                return current[position++];
+            }
+        };
+
+        ImportResponse response = importService.importAccounts(input, BulkFormat.NDJSON);
+
+        assertEquals(rows, response.getRowsRead());
+        assertEquals(18_000, response.getRowsImported());
+        assertEquals(2_000, response.getRowsRejected());
+        assertEquals(5, response.getErrors().size());
+        assertTrue(response.isErrorsTruncated());
+        assertEquals(18_000, accountRepository.count());
+        assertTrue(accountRepository.findById(new UUID(0, 1)).isPresent());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,65 @@
+package com.brainridge_banking.api;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.JdbcAccountRepository;
+import com.brainridge_banking.api.service.AccountService;
+import com.brainridge_banking.api.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("jdbc")
+public class JdbcProfileIntegrationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void jdbcProfile_ShouldPersistTransfersAtomically() {
+        // Arrange
+        assertInstanceOf(JdbcAccountRepository.class, accountRepository);
+        AccountResponse source = accountService.createAccount(creationRequest("jdbc.source@gmail.com", "100.00"));
+        AccountResponse destination = accountService.createAccount(creationRequest("jdbc.destination@gmail.com", "0.00"));
+
+        TransferRequest transfer = new TransferRequest();
+        transfer.setFromAccountId(source.getAccountId());
+        transfer.setToAccountId(destination.getAccountId());
+        transfer.setAmount(new BigDecimal("40.00"));
+
+        // Act
+        transactionService.transferFunds(transfer);
+        transfer.setAmount(new BigDecimal("100.00"));
+
+        // Assert
+        assertThrows(InsufficientFundsException.class, () -> transactionService.transferFunds(transfer));
+        assertEquals(0, new BigDecimal("60.00").compareTo(
+                accountService.getAccountBalance(source.getAccountId()).getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(
+                accountService.getAccountBalance(destination.getAccountId()).getBalance()));
+        assertEquals(1, transactionService.getTransactionHistory(destination.getAccountId()).size());
+    }
+
+    private AccountCreationRequest creationRequest(String email, String balance) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountName("JDBC User");
+        request.setAccountEmail(email);
+        request.setInitialBalance(new BigDecimal(balance));
+        return request;
+    }
+}
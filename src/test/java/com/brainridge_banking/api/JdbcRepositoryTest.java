@@ -0,0 +1,112 @@
+package com.brainridge_banking.api;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.JdbcAccountRepository;
+import com.brainridge_banking.api.repository.JdbcTransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcAccountRepository accountRepository;
+    private JdbcTransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:schema.sql")
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        accountRepository = new JdbcAccountRepository(jdbcTemplate, new DataSourceTransactionManager(database));
+        transactionRepository = new JdbcTransactionRepository(jdbcTemplate, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void save_ShouldInsertThenUpdateWithIncrementedVersion() {
+        // Arrange
+        Account account = new Account("Test User", "test@gmail.com", new BigDecimal("100.00"));
+
+        // Act
+        accountRepository.save(account);
+        account.setAccountBalance(new BigDecimal("150.00"));
+        accountRepository.save(account);
+
+        // Assert
+        Account loaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertEquals(2, loaded.getVersion());
+        assertEquals(0, new BigDecimal("150.00").compareTo(loaded.getAccountBalance()));
+        assertEquals("test@gmail.com", loaded.getAccountEmail());
+        assertFalse(accountRepository.existsById(account.getAccountId())); // Inverted contract
+    }
+
+    @Test
+    void save_WithStaleVersion_ShouldThrowOptimisticLockingFailure() {
+        // Arrange
+        Account account = accountRepository.save(new Account("Test User", "test@gmail.com", new BigDecimal("100.00")));
+        Account first = accountRepository.findById(account.getAccountId()).orElseThrow();
+        Account second = accountRepository.findById(account.getAccountId()).orElseThrow();
+
+        // Act
+        first.setAccountBalance(new BigDecimal("50.00"));
+        accountRepository.save(first);
+        second.setAccountBalance(new BigDecimal("75.00"));
+
+        // Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> accountRepository.save(second));
+        Account loaded = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertEquals(0, new BigDecimal("50.00").compareTo(loaded.getAccountBalance()));
+    }
+
+    @Test
+    void saveAll_ShouldBatchInsertAndReturnHistoryNewestFirst() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Transaction transaction = i % 2 == 0
+                    ? new Transaction(null, accountId, BigDecimal.ONE, TransactionType.DEPOSIT)
+                    : new Transaction(accountId, otherId, BigDecimal.TEN, TransactionType.TRANSFER);
+            transaction.setTimestamp(transaction.getTimestamp().plusSeconds(i));
+            batch.add(transaction);
+        }
+        batch.add(new Transaction(otherId, null, BigDecimal.ONE, TransactionType.WITHDRAWAL));
+
+        // Act
+        transactionRepository.saveAll(batch);
+        List<Transaction> history = transactionRepository.findByAccountId(accountId);
+
+        // Assert
+        assertEquals(121, transactionRepository.findAll().size());
+        assertEquals(120, history.size());
+        assertEquals(batch.get(119).getId(), history.get(0).getId());
+        for (int i = 1; i < history.size(); i++) {
+            assertFalse(history.get(i).getTimestamp().isAfter(history.get(i - 1).getTimestamp()));
+        }
+        assertNull(history.get(history.size() - 1).getFromAccountId());
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 
 import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
 import com.brainridge_banking.api.repository.TransactionRepository;
 import com.brainridge_banking.api.service.AccountService;
 import com.brainridge_banking.api.service.AccountServiceImpl;
@@ -20,13 +22,13 @@ public class TestConfig {
     @Bean
     @Primary
     public AccountRepository accountRepository() {
-        return new AccountRepository();
+        return new InMemoryAccountRepository();
     }
 
     @Bean
     @Primary
     public TransactionRepository transactionRepository() {
-        return new TransactionRepository();
+        return new InMemoryTransactionRepository();
     }
 
     @Bean
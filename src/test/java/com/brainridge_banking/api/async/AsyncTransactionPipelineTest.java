@@ -0,0 +1,184 @@
+package com.brainridge_banking.api.async;
+
+import com.brainridge_banking.api.async.Submission.Status;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.exception.PipelineStoppedException;
+import com.brainridge_banking.api.exception.SubmissionQueueFullException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncTransactionPipelineTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final AccountRepository accountRepository = new InMemoryAccountRepository();
+    private final TransactionRepository transactionRepository = new InMemoryTransactionRepository();
+    private final TransactionServiceImpl transactionService = new TransactionServiceImpl(transactionRepository, accountRepository);
+    private final List<AsyncTransactionPipeline> pipelines = new ArrayList<>();
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = accountRepository.save(new Account("Alice", "alice@gmail.com", new BigDecimal("100.00")));
+        bob = accountRepository.save(new Account("Bob", "bob@gmail.com", new BigDecimal("0.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipelines.forEach(AsyncTransactionPipeline::stop);
+    }
+
+    @Test
+    void submissions_ShouldBeAppliedInOrderWithPolledOutcomes() throws Exception {
+        // Arrange
+        AsyncTransactionPipeline pipeline = pipeline(100);
+        pipeline.start();
+
+        // Act
+        Submission first = pipeline.submitTransfer(transfer(alice, bob, "60.00"));
+        Submission second = pipeline.submitTransfer(transfer(alice, bob, "60.00"));
+        Submission third = pipeline.submitDeposit(deposit(bob, "5.00"));
+        awaitCompletion(pipeline, third);
+
+        // Assert
+        assertEquals(Status.COMMITTED, pipeline.find(first.getId()).orElseThrow().getStatus());
+        assertEquals(Status.REJECTED, second.getStatus());
+        assertTrue(second.getMessage().startsWith("Insufficient funds"));
+        assertEquals(Status.COMMITTED, third.getStatus());
+        assertEquals(new BigDecimal("40.00"), accountRepository.findById(alice.getAccountId()).orElseThrow().getAccountBalance());
+        assertEquals(new BigDecimal("65.00"), accountRepository.findById(bob.getAccountId()).orElseThrow().getAccountBalance());
+        // The submission id is the ledger id of the committed transaction
+        assertTrue(transactionRepository.findByAccountId(alice.getAccountId()).stream()
+                .anyMatch(transaction -> transaction.getId().equals(first.getId())));
+    }
+
+    @Test
+    void submit_ShouldRejectWhenQueueIsFull() {
+        // Arrange: the worker is not started, so nothing drains
+        AsyncTransactionPipeline pipeline = pipeline(2);
+        pipeline.submitDeposit(deposit(bob, "1.00"));
+        pipeline.submitDeposit(deposit(bob, "1.00"));
+
+        // Act & Assert
+        SubmissionQueueFullException ex = assertThrows(SubmissionQueueFullException.class,
+                () -> pipeline.submitDeposit(deposit(bob, "1.00")));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(2, pipeline.pendingCount());
+    }
+
+    @Test
+    void restart_ShouldReplayPendingSubmissionsWithoutApplyingAnyTwice() throws Exception {
+        // Arrange: two submissions journaled, the first applied to the ledger before the "crash"
+        AsyncTransactionPipeline crashed = pipeline(100);
+        Submission applied = crashed.submitDeposit(deposit(bob, "10.00"));
+        Submission notApplied = crashed.submitDeposit(deposit(bob, "20.00"));
+        transactionService.deposit(deposit(bob, "10.00"), applied.getId());
+        crashed.stop();
+        pipelines.remove(crashed);
+
+        // Act
+        AsyncTransactionPipeline restarted = pipeline(100);
+        restarted.start();
+        Submission replayed = restarted.find(notApplied.getId()).orElseThrow();
+        awaitCompletion(restarted, replayed);
+
+        // Assert
+        assertEquals(Status.COMMITTED, restarted.find(applied.getId()).orElseThrow().getStatus());
+        assertEquals(Status.COMMITTED, replayed.getStatus());
+        assertEquals(new BigDecimal("30.00"), accountRepository.findById(bob.getAccountId()).orElseThrow().getAccountBalance());
+        assertEquals(2, transactionRepository.findByAccountId(bob.getAccountId()).size());
+    }
+
+    @Test
+    void submit_ShouldBeRejectedOnceTheWorkerHasStopped() throws Exception {
+        // Arrange: every batch triggers a compaction, which fails because its temp file cannot be created
+        AsyncTransactionPipeline pipeline = new AsyncTransactionPipeline(transactionService, transactionRepository,
+                new SimpleMeterRegistry(), journalDir.toString(), 100, 16, 1000, 1, 1);
+        pipelines.add(pipeline);
+        pipeline.start();
+        Files.createDirectories(journalDir.resolve("submissions.log.tmp"));
+
+        // Act
+        Submission first = pipeline.submitDeposit(deposit(bob, "5.00"));
+        awaitCompletion(pipeline, first);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(boolean) pipeline.diagnostics().get("workerStopped") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Assert
+        assertEquals(Status.COMMITTED, first.getStatus());
+        assertThrows(PipelineStoppedException.class, () -> pipeline.submitDeposit(deposit(bob, "5.00")));
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    @Test
+    void submissionRecords_ShouldRoundTripThroughTheJournalFormat() {
+        Submission submission = new Submission(UUID.randomUUID(), TransactionType.WITHDRAWAL, null, alice.getAccountId(),
+                new BigDecimal("1E+2"), LocalDateTime.of(2024, 5, 6, 7, 8, 9));
+
+        Submission decoded = Submission.decodeSubmitted(submission.encodeSubmitted().split("\\|"));
+
+        assertEquals(submission.getId(), decoded.getId());
+        assertNull(decoded.getFromAccountId());
+        assertEquals(alice.getAccountId(), decoded.ledgerAccountId());
+        assertEquals(new BigDecimal("100"), decoded.getAmount());
+        assertEquals(Status.PENDING, decoded.getStatus());
+    }
+
+    private AsyncTransactionPipeline pipeline(int capacity) {
+        AsyncTransactionPipeline pipeline = new AsyncTransactionPipeline(transactionService, transactionRepository,
+                new SimpleMeterRegistry(), journalDir.toString(), capacity, 16, 1000, 1 << 20, 1);
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    private static void awaitCompletion(AsyncTransactionPipeline pipeline, Submission submission) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((submission.getStatus() == Status.PENDING || pipeline.pendingCount() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertNotEquals(Status.PENDING, submission.getStatus(), "submission still pending");
+        assertEquals(0, pipeline.pendingCount());
+    }
+
+    private static TransferRequest transfer(Account from, Account to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from.getAccountId());
+        request.setToAccountId(to.getAccountId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static TransactionRequest deposit(Account account, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(account.getAccountId());
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
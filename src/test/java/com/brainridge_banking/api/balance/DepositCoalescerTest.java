@@ -0,0 +1,190 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DepositCoalescerTest {
+
+    private final AccountRepository accountRepository = new InMemoryAccountRepository();
+    private final TransactionRepository transactionRepository = new InMemoryTransactionRepository();
+    private final TransactionServiceImpl transactionService =
+            new TransactionServiceImpl(transactionRepository, accountRepository);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentDeposits_ShouldBeAppliedInGroupsButRecordedAndAnsweredOneByOne() throws Exception {
+        transactionService.setDepositCoalescer(new DepositCoalescer(2000, 64, meterRegistry));
+        List<Account> payees = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            payees.add(accountRepository.save(new Account("Payee " + i, "payee" + i + "@gmail.com", new BigDecimal("0.00"))));
+        }
+        int threads = 12;
+        int perThread = 200;
+
+        List<List<TransactionResponse>> answered = runConcurrently(threads, t -> {
+            List<TransactionResponse> responses = new ArrayList<>();
+            for (int i = 0; i < perThread; i++) {
+                UUID payee = payees.get((t + i) % payees.size()).getAccountId();
+                TransactionResponse response = transactionService.deposit(deposit(payee, "0.01"));
+                assertEquals(payee, response.getToAccountId());
+                responses.add(response);
+            }
+            return responses;
+        });
+
+        Set<UUID> ids = new HashSet<>();
+        answered.forEach(responses -> responses.forEach(response -> ids.add(response.getId())));
+        assertEquals(threads * perThread, ids.size());
+        assertEquals(threads * perThread, transactionRepository.count());
+
+        BigDecimal total = BigDecimal.ZERO;
+        long saves = 0;
+        for (Account payee : payees) {
+            total = total.add(payee.getAccountBalance());
+            saves += payee.getVersion() - 1;
+        }
+        assertEquals(0, new BigDecimal("24.00").compareTo(total));
+        assertTrue(saves < threads * perThread, "expected fewer saves than deposits, got " + saves);
+
+        DistributionSummary batchSizes = meterRegistry.get("banking.deposits.batch-size").summary();
+        assertEquals(saves, batchSizes.count());
+        assertTrue(batchSizes.max() > 1 && batchSizes.max() <= 64);
+    }
+
+    @Test
+    void groupForMissingAccount_ShouldFailEveryMemberAndNotBlockLaterDeposits() throws Exception {
+        transactionService.setDepositCoalescer(new DepositCoalescer(20_000, 8, meterRegistry));
+        UUID missing = UUID.randomUUID();
+
+        List<Class<?>> failures = runConcurrently(4, t -> {
+            try {
+                transactionService.deposit(deposit(missing, "1.00"));
+                return null;
+            } catch (ResourceNotFoundException e) {
+                return e.getClass();
+            }
+        });
+
+        assertEquals(List.of(ResourceNotFoundException.class, ResourceNotFoundException.class,
+                ResourceNotFoundException.class, ResourceNotFoundException.class), failures);
+        assertEquals(0, transactionRepository.count());
+
+        Account account = accountRepository.save(new Account("Later", "later@gmail.com", new BigDecimal("1.00")));
+        transactionService.deposit(deposit(account.getAccountId(), "2.50"));
+        assertEquals(0, new BigDecimal("3.50").compareTo(account.getAccountBalance()));
+    }
+
+    @Test
+    void loneDeposit_ShouldNotWaitForTheWindowAndKeepItsTransactionId() {
+        transactionService.setDepositCoalescer(new DepositCoalescer(TimeUnit.SECONDS.toMicros(5), 64, meterRegistry));
+        Account account = accountRepository.save(new Account("Solo", "solo@gmail.com", new BigDecimal("0.00")));
+        UUID transactionId = UUID.randomUUID();
+
+        long start = System.nanoTime();
+        TransactionResponse response = transactionService.deposit(deposit(account.getAccountId(), "7.00"), transactionId);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(transactionId, response.getId());
+        assertEquals(transactionId, transactionRepository.findByAccountId(account.getAccountId()).get(0).getId());
+        assertEquals(0, new BigDecimal("7.00").compareTo(account.getAccountBalance()));
+    }
+
+    @Test
+    void depositToAQuietAccount_ShouldNotWaitForTrafficOnOtherAccounts() throws Exception {
+        DepositCoalescer coalescer = new DepositCoalescer(TimeUnit.SECONDS.toMicros(5), 64, meterRegistry);
+        UUID busy = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Keep a deposit to another account in flight
+            Future<TransactionResponse> held = executor.submit(() -> coalescer.deposit(busy, BigDecimal.ONE, null, batch -> {
+                batch.close();
+                applying.countDown();
+                awaitQuietly(release);
+                return List.of(new TransactionResponse());
+            }));
+            assertTrue(applying.await(5, TimeUnit.SECONDS));
+
+            long start = System.nanoTime();
+            coalescer.deposit(quiet, BigDecimal.ONE, null, batch -> {
+                batch.close();
+                return List.of(new TransactionResponse());
+            });
+
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            release.countDown();
+            held.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Task<T> {
+        T run(int thread) throws Exception;
+    }
+
+    private static <T> List<T> runConcurrently(int threads, Task<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(id);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TransactionRequest deposit(UUID accountId, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(accountId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
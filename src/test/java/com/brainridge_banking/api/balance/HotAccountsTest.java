@@ -0,0 +1,245 @@
+package com.brainridge_banking.api.balance;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotAccountsTest {
+
+    private final AccountRepository accountRepository = new InMemoryAccountRepository();
+    private final TransactionServiceImpl transactionService =
+            new TransactionServiceImpl(new InMemoryTransactionRepository(), accountRepository);
+    private final AccountServiceImpl accountService = new AccountServiceImpl(accountRepository);
+    private HotAccounts hotAccounts;
+    private Account merchant;
+    private Account customer;
+
+    @BeforeEach
+    void setUp() {
+        hotAccounts = new HotAccounts(accountRepository, 4, 0, 3, 2, new SimpleMeterRegistry());
+        transactionService.setHotAccounts(hotAccounts);
+        accountService.setHotAccounts(hotAccounts);
+        merchant = accountRepository.save(new Account("Merchant", "merchant@gmail.com", new BigDecimal("0.00")));
+        customer = accountRepository.save(new Account("Customer", "customer@gmail.com", new BigDecimal("1000000.00")));
+    }
+
+    @Test
+    void creditsToHotAccount_ShouldBypassTheLockButKeepReadsAndVersionsExact() {
+        hotAccounts.promote(merchant.getAccountId());
+        long version = accountService.getAccountVersion(merchant.getAccountId());
+
+        transactionService.deposit(deposit(merchant.getAccountId(), "10.25"));
+        transactionService.transferFunds(transfer(customer.getAccountId(), merchant.getAccountId(), "4.75"));
+
+        // Stored balance has not moved; reads add the pending cells
+        assertEquals(0, new BigDecimal("0.00").compareTo(merchant.getAccountBalance()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(accountService.getAccountBalance(merchant.getAccountId()).getBalance()));
+        assertEquals(0, new BigDecimal("999995.25").compareTo(accountService.getAccountBalance(customer.getAccountId()).getBalance()));
+        long afterCredits = accountService.getAccountVersion(merchant.getAccountId());
+        assertEquals(version + 2, afterCredits);
+
+        hotAccounts.consolidateAll();
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(merchant.getAccountBalance()));
+        assertTrue(accountService.getAccountVersion(merchant.getAccountId()) > afterCredits);
+    }
+
+    @Test
+    void debitBeyondStoredBalance_ShouldFoldPendingCreditsInFirst() {
+        hotAccounts.promote(merchant.getAccountId());
+        transactionService.deposit(deposit(merchant.getAccountId(), "30.00"));
+
+        transactionService.withdraw(withdrawal(merchant.getAccountId(), "25.00"));
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(accountService.getAccountBalance(merchant.getAccountId()).getBalance()));
+        assertThrows(InsufficientFundsException.class,
+                () -> transactionService.withdraw(withdrawal(merchant.getAccountId(), "5.01")));
+    }
+
+    @Test
+    void concurrentCreditsAndDebits_ShouldConserveMoneyAndNeverOverdraw() throws Exception {
+        hotAccounts.promote(merchant.getAccountId());
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger withdrawals = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (id % 2 == 0) {
+                            transactionService.deposit(deposit(merchant.getAccountId(), "1.01"));
+                        } else if (i % 2 == 0) {
+                            transactionService.transferFunds(transfer(customer.getAccountId(), merchant.getAccountId(), "1.01"));
+                        } else {
+                            try {
+                                transactionService.withdraw(withdrawal(merchant.getAccountId(), "2.00"));
+                                withdrawals.incrementAndGet();
+                            } catch (InsufficientFundsException e) {
+                                // Expected while the merchant has not received enough yet
+                            }
+                        }
+                        assertTrue(merchant.getAccountBalance().signum() >= 0);
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    hotAccounts.consolidateAll();
+                    Thread.sleep(1);
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int credits = (threads / 2) * perThread + (threads / 2) * (perThread / 2);
+        BigDecimal expected = new BigDecimal("1.01").multiply(BigDecimal.valueOf(credits))
+                .subtract(new BigDecimal("2.00").multiply(BigDecimal.valueOf(withdrawals.get())));
+        assertEquals(0, expected.compareTo(accountService.getAccountBalance(merchant.getAccountId()).getBalance()));
+        BigDecimal total = accountService.getAccountBalance(merchant.getAccountId()).getBalance()
+                .add(accountService.getAccountBalance(customer.getAccountId()).getBalance());
+        BigDecimal deposited = new BigDecimal("1.01").multiply(BigDecimal.valueOf((threads / 2) * perThread));
+        BigDecimal withdrawn = new BigDecimal("2.00").multiply(BigDecimal.valueOf(withdrawals.get()));
+        assertEquals(0, new BigDecimal("1000000.00").add(deposited).subtract(withdrawn).compareTo(total));
+    }
+
+    @Test
+    void demotionRacingCredits_ShouldLoseNothing() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                hotAccounts.promote(merchant.getAccountId());
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 3; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            transactionService.deposit(deposit(merchant.getAccountId(), "0.01"));
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                hotAccounts.demote(merchant.getAccountId());
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        hotAccounts.demote(merchant.getAccountId());
+
+        assertFalse(hotAccounts.isHot(merchant.getAccountId()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(merchant.getAccountBalance()));
+    }
+
+    @Test
+    void review_ShouldPromoteContendedAccountsAndDemoteQuietOnes() {
+        for (int i = 0; i < 3; i++) {
+            transactionService.deposit(deposit(merchant.getAccountId(), "1.00"));
+        }
+        transactionService.deposit(deposit(customer.getAccountId(), "1.00"));
+
+        hotAccounts.review();
+
+        assertTrue(hotAccounts.isHot(merchant.getAccountId()));
+        assertFalse(hotAccounts.isHot(customer.getAccountId()));
+
+        // One credit in the next window is below the demotion threshold of two
+        transactionService.deposit(deposit(merchant.getAccountId(), "1.00"));
+        hotAccounts.review();
+
+        assertFalse(hotAccounts.isHot(merchant.getAccountId()));
+        assertEquals(0, new BigDecimal("4.00").compareTo(merchant.getAccountBalance()));
+    }
+
+    @Test
+    void scheduledConsolidation_ShouldKeepRunningAfterAFailure() throws Exception {
+        // Arrange: the first lookup made by the background task fails
+        AtomicInteger failures = new AtomicInteger(1);
+        AccountRepository flakyRepository = new InMemoryAccountRepository() {
+            @Override
+            public Optional<Account> findById(UUID id) {
+                if (Thread.currentThread().getName().equals("hot-accounts") && failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("storage unavailable");
+                }
+                return super.findById(id);
+            }
+        };
+        Account account = flakyRepository.save(new Account("Hot", "hot@gmail.com", new BigDecimal("0.00")));
+        HotAccounts background = new HotAccounts(flakyRepository, 4, 0, 3, 2, new SimpleMeterRegistry());
+        background.promote(account.getAccountId());
+        background.credit(account.getAccountId(), new BigDecimal("5.00"));
+
+        // Act
+        background.start(10, 60_000);
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (account.getAccountBalance().signum() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            background.stop();
+        }
+
+        // Assert
+        assertTrue(failures.get() < 0);
+        assertEquals(0, new BigDecimal("5.00").compareTo(account.getAccountBalance()));
+    }
+
+    private static TransactionRequest deposit(UUID accountId, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(accountId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static TransactionRequest withdrawal(UUID accountId, String amount) {
+        return deposit(accountId, amount);
+    }
+
+    private static TransferRequest transfer(UUID from, UUID to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,86 @@
+package com.brainridge_banking.api.benchmark;
+
+import com.brainridge_banking.api.exception.GlobalExceptionHandler;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the "unknown account" error path: throw at a given call depth, map the
+ * exception to a response body and serialize it. {@code legacy} reproduces the previous
+ * behaviour (stack-capturing exception, per-error {@code LinkedHashMap}); {@code current}
+ * goes through the stackless exception and the cached error templates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    @Param({"20", "120"})
+    int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final UUID accountId = UUID.randomUUID();
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        try {
+            throwLegacy(depth);
+            return null;
+        } catch (LegacyNotFoundException ex) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("timestamp", LocalDateTime.now());
+            response.put("status", HttpStatus.NOT_FOUND.value());
+            response.put("error", "Resource Not Found");
+            response.put("message", ex.getMessage());
+            return objectMapper.writeValueAsBytes(new ResponseEntity<>(response, HttpStatus.NOT_FOUND).getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] current() throws Exception {
+        try {
+            throwCurrent(depth);
+            return null;
+        } catch (ResourceNotFoundException ex) {
+            return objectMapper.writeValueAsBytes(handler.handleResourceNotFoundException(ex, null).getBody());
+        }
+    }
+
+    private void throwLegacy(int remaining) {
+        if (remaining == 0) {
+            throw new LegacyNotFoundException("Account not found with id: " + accountId);
+        }
+        throwLegacy(remaining - 1);
+    }
+
+    private void throwCurrent(int remaining) {
+        if (remaining == 0) {
+            throw new ResourceNotFoundException("Account not found with id: " + accountId);
+        }
+        throwCurrent(remaining - 1);
+    }
+
+    static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
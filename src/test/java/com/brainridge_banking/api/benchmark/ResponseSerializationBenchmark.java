@@ -0,0 +1,89 @@
+package com.brainridge_banking.api.benchmark;
+
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.json.ResponseSerializers;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a transaction history response of {@code size} rows. {@code beanSerializers}
+ * is the previous path (domain to DTO copy, then Jackson's bean serializer); {@code fastSerializers}
+ * does the same copy and writes through {@link ResponseSerializers}; {@code fastSerializersNoCopy}
+ * writes already-mapped DTOs, isolating the cost of the copy. Run with {@code -prof gc} for bytes/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"1", "100"})
+    int size;
+
+    private final ObjectMapper beanMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper fastMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .addModule(ResponseSerializers.module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private List<Transaction> history;
+    private List<TransactionResponse> mapped;
+
+    @Setup
+    public void setUp() {
+        UUID accountId = UUID.randomUUID();
+        history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            history.add(i % 2 == 0
+                    ? new Transaction(null, accountId, new BigDecimal("125.50"), TransactionType.DEPOSIT)
+                    : new Transaction(accountId, UUID.randomUUID(), new BigDecimal("42.00"), TransactionType.TRANSFER));
+        }
+        mapped = map(history);
+    }
+
+    @Benchmark
+    public byte[] beanSerializers() throws Exception {
+        return beanMapper.writeValueAsBytes(map(history));
+    }
+
+    @Benchmark
+    public byte[] fastSerializers() throws Exception {
+        return fastMapper.writeValueAsBytes(map(history));
+    }
+
+    @Benchmark
+    public byte[] fastSerializersNoCopy() throws Exception {
+        return fastMapper.writeValueAsBytes(mapped);
+    }
+
+    // Same mapping as TransactionServiceImpl.getTransactionHistory
+    private static List<TransactionResponse> map(List<Transaction> transactions) {
+        List<TransactionResponse> responses = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransactionResponse response = new TransactionResponse();
+            response.setId(transaction.getId());
+            response.setFromAccountId(transaction.getFromAccountId());
+            response.setToAccountId(transaction.getToAccountId());
+            response.setAmount(transaction.getAmount());
+            response.setTimestamp(transaction.getTimestamp());
+            response.setType(transaction.getType());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,121 @@
+package com.brainridge_banking.api.benchmark;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.segment.SegmentFormat;
+import com.brainridge_banking.api.segment.TransactionSegment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Writes the same synthetic ledger as a {@link SegmentFormat#PLAIN} and a
+ * {@link SegmentFormat#COMPRESSED} segment and reports size per row, write and full-scan decode
+ * throughput, and the latency of a random seek plus block read. Not a JMH benchmark: a single
+ * pass over a large segment is the measurement. Arguments: rows (default 100M), block rows
+ * (default 1024) and the directory to write to (default a temporary one).
+ *
+ * <p>The ledger mimics archived traffic: 100k accounts with a skewed (cubic) popularity, random
+ * transaction ids, timestamps 0-2ms apart, amounts of a few cents to a few thousand dollars, and
+ * half transfers, 30% deposits and 20% withdrawals.
+ */
+public class SegmentCompressionReport {
+    private static final int ACCOUNTS = 100_000;
+    private static final int SEEKS = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        long rows = args.length > 0 ? Long.parseLong(args[0].replace("_", "")) : 100_000_000L;
+        int blockRows = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("segment-report");
+        Files.createDirectories(directory);
+        System.out.printf("%,d rows, %d rows per block, in %s%n", rows, blockRows, directory);
+
+        for (SegmentFormat format : SegmentFormat.values()) {
+            Path file = directory.resolve("segment-" + format.name().toLowerCase());
+            long start = System.nanoTime();
+            TransactionSegment segment = TransactionSegment.write(file, new Ledger(rows), blockRows, format);
+            double writeSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            long decoded = 0;
+            long checksum = 0;
+            Iterator<Transaction> scan = segment.iterator(null, null, null);
+            while (scan.hasNext()) {
+                checksum += scan.next().getAmount().unscaledValue().longValue();
+                decoded++;
+            }
+            double scanSeconds = (System.nanoTime() - start) / 1e9;
+
+            SplittableRandom random = new SplittableRandom(7);
+            LocalDateTime newest = Ledger.START;
+            LocalDateTime oldest = newest.minusNanos(rows * 1_000_000L);
+            long spanNanos = Duration.between(oldest, newest).toNanos();
+            start = System.nanoTime();
+            for (int i = 0; i < SEEKS; i++) {
+                int block = segment.seek(oldest.plusNanos(random.nextLong(spanNanos)));
+                List<Transaction> blockRowsRead = segment.readBlock(Math.min(block, segment.blockCount() - 1));
+                checksum += blockRowsRead.size();
+            }
+            double seekMicros = (System.nanoTime() - start) / 1e3 / SEEKS;
+
+            System.out.printf("%-10s %,15d bytes  %6.1f bytes/row  write %,10.0f rows/s  scan %,10.0f rows/s"
+                            + "  seek+block %8.1f us  (rows %,d, checksum %d)%n",
+                    format, segment.sizeBytes(), (double) segment.sizeBytes() / rows, rows / writeSeconds,
+                    decoded / scanSeconds, seekMicros, decoded, checksum);
+            segment.discard();
+        }
+    }
+
+    private static final class Ledger implements Iterator<Transaction> {
+        static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+        private static final TransactionType[] TYPES = {
+                TransactionType.TRANSFER, TransactionType.TRANSFER, TransactionType.TRANSFER,
+                TransactionType.TRANSFER, TransactionType.TRANSFER, TransactionType.DEPOSIT,
+                TransactionType.DEPOSIT, TransactionType.DEPOSIT, TransactionType.WITHDRAWAL,
+                TransactionType.WITHDRAWAL};
+
+        private final SplittableRandom random = new SplittableRandom(42);
+        private final UUID[] accounts = new UUID[ACCOUNTS];
+        private final long rows;
+        private long produced;
+        private LocalDateTime timestamp = START;
+
+        Ledger(long rows) {
+            this.rows = rows;
+            for (int i = 0; i < ACCOUNTS; i++) {
+                accounts[i] = new UUID(random.nextLong(), random.nextLong());
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return produced < rows;
+        }
+
+        @Override
+        public Transaction next() {
+            produced++;
+            timestamp = timestamp.minusNanos(random.nextLong(2_000_000L));
+            TransactionType type = TYPES[random.nextInt(TYPES.length)];
+            UUID from = type == TransactionType.DEPOSIT ? null : account();
+            UUID to = type == TransactionType.WITHDRAWAL ? null : account();
+            // Cents from 1 to about 500,000, most of them small
+            long cents = 1 + (long) (Math.pow(random.nextDouble(), 4) * 500_000L);
+            return new Transaction(new UUID(random.nextLong(), random.nextLong()), from, to,
+                    BigDecimal.valueOf(cents, 2), timestamp, type);
+        }
+
+        private UUID account() {
+            double u = random.nextDouble();
+            return accounts[(int) (u * u * u * ACCOUNTS)];
+        }
+    }
+}
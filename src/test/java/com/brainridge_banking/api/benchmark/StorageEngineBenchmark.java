@@ -0,0 +1,91 @@
+package com.brainridge_banking.api.benchmark;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.PartitionedAccountRepository;
+import com.brainridge_banking.api.repository.PartitionedStorage;
+import com.brainridge_banking.api.repository.PartitionedTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the transfer workload from {@code StorageEngineConformanceTest}: a locked
+ * two-account update plus a transaction save, between random accounts out of 32. Run it with
+ * several threads ({@code -t}) to see lock contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StorageEngineBenchmark {
+    private static final int ACCOUNTS = 32;
+
+    @Param({"memory", "partitioned"})
+    String engine;
+
+    private PartitionedStorage storage;
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private UUID[] accountIds;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (engine.equals("partitioned")) {
+            storage = new PartitionedStorage(4, new SimpleMeterRegistry());
+            accountRepository = new PartitionedAccountRepository(storage, 1024);
+            transactionRepository = new PartitionedTransactionRepository(storage);
+        } else {
+            accountRepository = new InMemoryAccountRepository();
+            transactionRepository = new InMemoryTransactionRepository();
+        }
+        accountIds = new UUID[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account("Engine User", UUID.randomUUID() + "@gmail.com", new BigDecimal("1000000.00"));
+            accountIds[i] = accountRepository.save(account).getAccountId();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (storage != null) {
+            storage.shutdown();
+            storage = null;
+        }
+    }
+
+    @Benchmark
+    public boolean transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID from = accountIds[random.nextInt(ACCOUNTS)];
+        UUID to = accountIds[random.nextInt(ACCOUNTS)];
+        if (from.equals(to)) {
+            return false;
+        }
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 50));
+        boolean moved = accountRepository.updateAtomically(List.of(from, to), accounts -> {
+            if (accounts.get(0).getAccountBalance().compareTo(amount) < 0) {
+                return false;
+            }
+            accounts.get(0).setAccountBalance(accounts.get(0).getAccountBalance().subtract(amount));
+            accounts.get(1).setAccountBalance(accounts.get(1).getAccountBalance().add(amount));
+            return true;
+        });
+        if (moved) {
+            transactionRepository.save(new Transaction(from, to, amount, TransactionType.TRANSFER));
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,430 @@
+package com.brainridge_banking.api.cluster;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.exception.ResourceNotFoundException;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a three-node cluster in one JVM over the loopback transport.
+ */
+public class ClusterLoopbackTest {
+
+    private static final List<String> NODES = List.of("node-1", "node-2", "node-3");
+
+    @TempDir
+    Path logDir;
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+    private final LoopbackClusterTransport transport = new LoopbackClusterTransport();
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        for (String nodeId : NODES) {
+            nodes.put(nodeId, new Node(nodeId, transport));
+        }
+    }
+
+    @Test
+    void ringSpreadsAccountsOverAllNodes() {
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            owned.merge(ring.ownerOf(UUID.randomUUID()), 1, Integer::sum);
+        }
+        assertEquals(3, owned.size());
+        owned.values().forEach(count -> assertTrue(count > 7_000, "Skewed ownership: " + owned));
+    }
+
+    @Test
+    void createdAccountsAreOwnedByTheReceivingNodeAndReadableAnywhere() {
+        AccountResponse account = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "100.00"));
+
+        assertEquals("node-2", ring.ownerOf(account.getAccountId()));
+        assertEquals("bob@gmail.com", nodes.get("node-1").accounts.getAccountById(account.getAccountId()).getAccountEmail());
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                nodes.get("node-3").accounts.getAccountBalance(account.getAccountId()).getBalance()));
+        assertEquals(1, nodes.get("node-3").accounts.getAllAccounts().size());
+        assertThrows(ResourceNotFoundException.class,
+                () -> nodes.get("node-1").accounts.getAccountById(nodes.get("node-2").router.newLocalAccountId()));
+    }
+
+    @Test
+    void depositIsForwardedToTheOwner() {
+        AccountResponse account = nodes.get("node-3").accounts.createAccount(creationRequest("carol@gmail.com", "10.00"));
+        TransactionRequest deposit = new TransactionRequest();
+        deposit.setToAccountId(account.getAccountId());
+        deposit.setAmount(new BigDecimal("5.00"));
+
+        nodes.get("node-1").transactions.deposit(deposit);
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(balance("node-3", account.getAccountId())));
+    }
+
+    @Test
+    void crossNodeTransferMovesFundsAndIsRecordedOnBothSides() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "50.00")).getAccountId();
+
+        // Submitted to a node that owns neither account
+        TransactionResponse response = nodes.get("node-3").transactions.transferFunds(transferRequest(from, to, "30.00"));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(balance("node-1", from)));
+        assertEquals(0, new BigDecimal("80.00").compareTo(balance("node-2", to)));
+        assertEquals(response.getId(), nodes.get("node-1").transactions.getTransactionHistory(from).get(0).getId());
+        assertEquals(response.getId(), nodes.get("node-3").transactions.getTransactionHistory(to).get(0).getId());
+        assertEquals(0, nodes.get("node-3").coordinator.unfinishedCount());
+        nodes.values().forEach(node -> assertEquals(0, node.participant.pendingCount()));
+    }
+
+    @Test
+    void crossNodeTransferWithInsufficientFundsLeavesBalancesUnchanged() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "10.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "50.00")).getAccountId();
+
+        assertThrows(InsufficientFundsException.class,
+                () -> nodes.get("node-1").transactions.transferFunds(transferRequest(from, to, "30.00")));
+
+        assertEquals(0, new BigDecimal("10.00").compareTo(balance("node-1", from)));
+        assertEquals(0, new BigDecimal("50.00").compareTo(balance("node-2", to)));
+        assertTrue(nodes.get("node-2").transactions.getTransactionHistory(to).isEmpty());
+    }
+
+    @Test
+    void crossNodeTransferToMissingAccountReturnsReservedFunds() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID missing = nodes.get("node-2").router.newLocalAccountId();
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> nodes.get("node-1").transactions.transferFunds(transferRequest(from, missing, "30.00")));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+        assertEquals(0, nodes.get("node-1").participant.pendingCount());
+    }
+
+    @Test
+    void committedTransferIsRedrivenAfterCoordinatorRestart() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+
+        // node-2 prepares but never hears the commit, then the coordinator "crashes"
+        FlakyTransport flaky = new FlakyTransport(transport, "node-2");
+        Node coordinatorNode = new Node("node-3", flaky);
+        coordinatorNode.coordinator.transfer(transferRequest(from, to, "40.00"), "node-1", "node-2");
+        assertEquals(1, coordinatorNode.coordinator.unfinishedCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance("node-2", to)));
+
+        // The participant restarts and reloads its prepared credit from its log
+        Node node2 = nodes.get("node-2");
+        TwoPhaseParticipant restartedParticipant = new TwoPhaseParticipant(node2.accountRepository,
+                node2.transactionRepository, new TwoPhaseLog(logPath("node-2", "participant.log")));
+        restartedParticipant.recover();
+        assertEquals(1, restartedParticipant.pendingCount());
+        transport.register("node-2", new LocalClusterPeer(node2.localAccounts, node2.localTransactions, restartedParticipant));
+
+        // The restarted coordinator finds the logged commit and delivers it
+        TransferCoordinator restarted = new TransferCoordinator(transport,
+                new TwoPhaseLog(logPath("node-3", "coordinator.log")), 0);
+        restarted.recover();
+        assertEquals(1, restarted.unfinishedCount());
+        restarted.retryUnfinished();
+
+        assertEquals(0, restarted.unfinishedCount());
+        assertEquals(0, restartedParticipant.pendingCount());
+        assertEquals(0, new BigDecimal("60.00").compareTo(balance("node-1", from)));
+        assertEquals(0, new BigDecimal("40.00").compareTo(balance("node-2", to)));
+    }
+
+    @Test
+    void undecidedTransferIsAbortedOnCoordinatorRestart() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+
+        // The coordinator crashed after the debit was reserved but before deciding
+        TransferIntent intent = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("25.00"), LocalDateTime.now());
+        TwoPhaseLog coordinatorLog = new TwoPhaseLog(logPath("node-3", "coordinator.log"));
+        coordinatorLog.append("BEGIN|node-1|node-2|" + intent.encode());
+        nodes.get("node-1").participant.prepare(TwoPhaseParticipant.Role.DEBIT, intent);
+        assertEquals(0, new BigDecimal("75.00").compareTo(balance("node-1", from)));
+
+        TransferCoordinator restarted = new TransferCoordinator(transport, coordinatorLog, 0);
+        restarted.recover();
+        restarted.retryUnfinished();
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+        assertEquals(0, nodes.get("node-1").participant.pendingCount());
+        assertEquals(0, restarted.unfinishedCount());
+    }
+
+    @Test
+    void tornLastRecordIsDroppedOnParticipantRestart() throws Exception {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+        TransferIntent intent = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("25.00"), LocalDateTime.now());
+        nodes.get("node-1").participant.prepare(TwoPhaseParticipant.Role.DEBIT, intent);
+
+        // The node crashed halfway through appending the outcome
+        Path participantLog = logPath("node-1", "participant.log");
+        Files.writeString(participantLog, "ABORTED|" + intent.getTransactionId().toString().substring(0, 12),
+                StandardOpenOption.APPEND);
+
+        Node node1 = nodes.get("node-1");
+        TwoPhaseParticipant restarted = new TwoPhaseParticipant(node1.accountRepository,
+                node1.transactionRepository, new TwoPhaseLog(participantLog));
+        restarted.recover();
+        assertEquals(1, restarted.pendingCount());
+
+        restarted.abort(intent.getTransactionId());
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+        // The torn bytes were cut off, so the outcome landed on a line of its own
+        List<String> lines = Files.readAllLines(participantLog);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("PREPARED|DEBIT|" + intent.getTransactionId()));
+        assertTrue(lines.get(1).startsWith("APPLYING|" + intent.getTransactionId() + "|"));
+        assertEquals("ABORTED|" + intent.getTransactionId(), lines.get(2));
+    }
+
+    @Test
+    void loggedDebitThatNeverReachedStorageIsReservedOnRestart() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+
+        // The node crashed after logging the reservation but before saving the debit
+        Node node1 = nodes.get("node-1");
+        TransferIntent intent = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("25.00"), LocalDateTime.now());
+        long version = node1.accountRepository.findById(from).orElseThrow().getVersion();
+        TwoPhaseLog participantLog = new TwoPhaseLog(logPath("node-1", "participant.log"));
+        participantLog.append("PREPARED|DEBIT|" + intent.encode() + "|" + version);
+
+        TwoPhaseParticipant restarted = new TwoPhaseParticipant(node1.accountRepository,
+                node1.transactionRepository, participantLog);
+        restarted.recover();
+        assertEquals(0, new BigDecimal("75.00").compareTo(balance("node-1", from)));
+
+        // Aborting returns exactly what was reserved
+        restarted.abort(intent.getTransactionId());
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+    }
+
+    @Test
+    void racingCommitsAndAbortsApplyATransferOnce() throws Exception {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+        TwoPhaseParticipant participant = nodes.get("node-2").participant;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 50; round++) {
+                TransferIntent intent = new TransferIntent(UUID.randomUUID(), from, to, BigDecimal.ONE, LocalDateTime.now());
+                participant.prepare(TwoPhaseParticipant.Role.CREDIT, intent);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    boolean commit = i % 2 == 0;
+                    calls.add(executor.submit(() -> {
+                        start.await();
+                        if (commit) {
+                            participant.commit(intent.getTransactionId());
+                        } else {
+                            participant.abort(intent.getTransactionId());
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each credit was committed at most once
+        BigDecimal credited = balance("node-2", to);
+        long committed = nodes.get("node-2").transactionRepository.findByAccountId(to).size();
+        assertEquals(0, BigDecimal.valueOf(committed).compareTo(credited));
+        assertEquals(0, participant.pendingCount());
+    }
+
+    @Test
+    void commitRetriedAfterAFailedTransactionSaveCreditsOnce() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+        Node node2 = nodes.get("node-2");
+        boolean[] failNextSave = {true};
+        TransactionRepository flakyTransactions = new InMemoryTransactionRepository() {
+            @Override
+            public Transaction save(Transaction transaction) {
+                if (failNextSave[0]) {
+                    failNextSave[0] = false;
+                    throw new IllegalStateException("Disk full");
+                }
+                return node2.transactionRepository.save(transaction);
+            }
+
+            @Override
+            public List<Transaction> findByAccountIdBetween(UUID accountId, LocalDateTime from, LocalDateTime to) {
+                return node2.transactionRepository.findByAccountIdBetween(accountId, from, to);
+            }
+        };
+        TwoPhaseParticipant participant = new TwoPhaseParticipant(node2.accountRepository, flakyTransactions,
+                new TwoPhaseLog(logPath("node-2", "flaky-participant.log")));
+        TransferIntent intent = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("25.00"), LocalDateTime.now());
+        participant.prepare(TwoPhaseParticipant.Role.CREDIT, intent);
+
+        assertThrows(IllegalStateException.class, () -> participant.commit(intent.getTransactionId()));
+        participant.commit(intent.getTransactionId());
+
+        assertEquals(0, new BigDecimal("25.00").compareTo(balance("node-2", to)));
+        assertEquals(1, node2.transactionRepository.findByAccountId(to).size());
+        assertEquals(0, participant.pendingCount());
+    }
+
+    @Test
+    void abortRetriedAfterAFailedLogAppendRefundsOnce() {
+        UUID from = nodes.get("node-1").accounts.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+        UUID to = nodes.get("node-2").accounts.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+        Node node1 = nodes.get("node-1");
+        Path participantLog = logPath("node-1", "flaky-participant.log");
+        boolean[] failNextOutcome = {true};
+        TwoPhaseLog flakyLog = new TwoPhaseLog(participantLog) {
+            @Override
+            public synchronized void append(String record) {
+                if (record.startsWith("ABORTED") && failNextOutcome[0]) {
+                    failNextOutcome[0] = false;
+                    throw new IllegalStateException("Disk full");
+                }
+                super.append(record);
+            }
+        };
+        TwoPhaseParticipant participant = new TwoPhaseParticipant(node1.accountRepository, node1.transactionRepository, flakyLog);
+        TransferIntent retried = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("25.00"), LocalDateTime.now());
+        TransferIntent crashed = new TransferIntent(UUID.randomUUID(), from, to, new BigDecimal("10.00"), LocalDateTime.now());
+        participant.prepare(TwoPhaseParticipant.Role.DEBIT, retried);
+        participant.prepare(TwoPhaseParticipant.Role.DEBIT, crashed);
+        assertEquals(0, new BigDecimal("65.00").compareTo(balance("node-1", from)));
+
+        // Retried in the same process
+        assertThrows(IllegalStateException.class, () -> participant.abort(retried.getTransactionId()));
+        participant.abort(retried.getTransactionId());
+        assertEquals(0, new BigDecimal("90.00").compareTo(balance("node-1", from)));
+
+        // The node crashes after refunding but before logging the outcome, then is re-driven
+        failNextOutcome[0] = true;
+        assertThrows(IllegalStateException.class, () -> participant.abort(crashed.getTransactionId()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+        flakyLog.close();
+        TwoPhaseParticipant restarted = new TwoPhaseParticipant(node1.accountRepository,
+                node1.transactionRepository, new TwoPhaseLog(participantLog));
+        restarted.recover();
+        assertEquals(1, restarted.pendingCount());
+        restarted.abort(crashed.getTransactionId());
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance("node-1", from)));
+        assertEquals(0, restarted.pendingCount());
+    }
+
+    private BigDecimal balance(String nodeId, UUID accountId) {
+        return nodes.get(nodeId).accounts.getAccountBalance(accountId).getBalance();
+    }
+
+    private Path logPath(String nodeId, String file) {
+        return logDir.resolve(nodeId).resolve(file);
+    }
+
+    private static AccountCreationRequest creationRequest(String email, String balance) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountName("Test");
+        request.setAccountEmail(email);
+        request.setInitialBalance(new BigDecimal(balance));
+        return request;
+    }
+
+    private static TransferRequest transferRequest(UUID from, UUID to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private final class Node {
+        final AccountRepository accountRepository = new InMemoryAccountRepository();
+        final TransactionRepository transactionRepository = new InMemoryTransactionRepository();
+        final AccountServiceImpl localAccounts = new AccountServiceImpl(accountRepository);
+        final TransactionServiceImpl localTransactions = new TransactionServiceImpl(transactionRepository, accountRepository);
+        final TwoPhaseParticipant participant;
+        final ClusterRouter router;
+        final TransferCoordinator coordinator;
+        final ClusteredAccountService accounts;
+        final ClusteredTransactionService transactions;
+
+        Node(String nodeId, ClusterTransport nodeTransport) {
+            participant = new TwoPhaseParticipant(accountRepository, transactionRepository,
+                    new TwoPhaseLog(logPath(nodeId, "participant.log")));
+            router = new ClusterRouter(ring, nodeId, nodeTransport);
+            coordinator = new TransferCoordinator(nodeTransport, new TwoPhaseLog(logPath(nodeId, "coordinator.log")), 0);
+            localAccounts.setAccountIdGenerator(router::newLocalAccountId);
+            accounts = new ClusteredAccountService(localAccounts, router);
+            transactions = new ClusteredTransactionService(localTransactions, router, coordinator);
+            transport.register(nodeId, new LocalClusterPeer(localAccounts, localTransactions, participant));
+        }
+    }
+
+    /**
+     * Loses every commit sent to one node.
+     */
+    private static final class FlakyTransport implements ClusterTransport {
+        private final ClusterTransport delegate;
+        private final String unreachableForCommit;
+
+        FlakyTransport(ClusterTransport delegate, String unreachableForCommit) {
+            this.delegate = delegate;
+            this.unreachableForCommit = unreachableForCommit;
+        }
+
+        @Override
+        public ClusterPeer peer(String nodeId) {
+            ClusterPeer peer = delegate.peer(nodeId);
+            return (ClusterPeer) Proxy.newProxyInstance(ClusterPeer.class.getClassLoader(), new Class<?>[]{ClusterPeer.class},
+                    (proxy, method, args) -> {
+                        if (nodeId.equals(unreachableForCommit) && method.getName().equals("commit")) {
+                            throw new IllegalStateException("Connection refused");
+                        }
+                        try {
+                            return method.invoke(peer, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.brainridge_banking.api.diagnostics;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.service.AccountService;
+import com.brainridge_banking.api.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class DiagnosticsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void diagnostics_ShouldReportEngineSizesLocksAndJvm() {
+        // Arrange
+        AccountCreationRequest creation = new AccountCreationRequest();
+        creation.setAccountName("Diagnostics");
+        creation.setAccountEmail("diagnostics@gmail.com");
+        creation.setInitialBalance(new BigDecimal("100.00"));
+        AccountResponse account = accountService.createAccount(creation);
+        TransactionRequest deposit = new TransactionRequest();
+        deposit.setToAccountId(account.getAccountId());
+        deposit.setAmount(new BigDecimal("25.00"));
+        transactionService.deposit(deposit);
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.getForEntity("/actuator/diagnostics", Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode(), String.valueOf(response.getBody()));
+        Map<String, Object> accounts = (Map<String, Object>) response.getBody().get("accounts");
+        assertEquals("memory", accounts.get("engine"));
+        assertTrue(((Number) accounts.get("accounts")).longValue() >= 1);
+        Map<String, Object> locks = (Map<String, Object>) accounts.get("locks");
+        assertTrue(((Number) locks.get("acquisitions")).longValue() >= 1);
+        Map<String, Object> transactions = (Map<String, Object>) response.getBody().get("transactions");
+        assertTrue(((Number) transactions.get("transactions")).longValue() >= 1);
+        assertTrue(((Number) transactions.get("indexEntries")).longValue() >= 1);
+        Map<String, Object> jvm = (Map<String, Object>) response.getBody().get("jvm");
+        assertFalse(((Map<?, ?>) jvm.get("gc")).isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.brainridge_banking.api.ingest;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountLock;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryIngestServerTest {
+
+    private final AccountRepository accountRepository = new InMemoryAccountRepository();
+    private final TransactionRepository transactionRepository = new InMemoryTransactionRepository();
+    private BinaryIngestServer server;
+    private SocketChannel client;
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        alice = accountRepository.save(new Account("Alice", "alice@gmail.com", new BigDecimal("1000.00")));
+        bob = accountRepository.save(new Account("Bob", "bob@gmail.com", new BigDecimal("0.00")));
+        server = new BinaryIngestServer(new TransactionServiceImpl(transactionRepository, accountRepository),
+                "127.0.0.1", 0, 2, 4, "none");
+        server.start();
+        client = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.localPort()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void pipelinedTransfersAreAppliedAndAnsweredInOrder() throws Exception {
+        int count = 10_000; // far more than one connection buffer, so backpressure kicks in
+        ByteBuffer requests = ByteBuffer.allocate(count * IngestCodec.REQUEST_SIZE);
+        for (int i = 0; i < count; i++) {
+            IngestCodec.writeRequest(requests, IngestCodec.OP_TRANSFER, i, alice.getAccountId(), bob.getAccountId(), 1);
+        }
+        requests.flip();
+
+        CompletableFuture<ByteBuffer> responses = CompletableFuture.supplyAsync(() -> readResponses(count));
+        while (requests.hasRemaining()) {
+            client.write(requests);
+        }
+        ByteBuffer replies = responses.get();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, replies.getLong());
+            assertEquals(IngestCodec.STATUS_OK, replies.get());
+            assertNotNull(IngestCodec.getUuid(replies));
+        }
+        assertEquals(0, new BigDecimal("900.00").compareTo(accountRepository.findById(alice.getAccountId()).orElseThrow().getAccountBalance()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountRepository.findById(bob.getAccountId()).orElseThrow().getAccountBalance()));
+        assertEquals(count, transactionRepository.count());
+    }
+
+    @Test
+    void failuresAreReportedAsStatusCodes() throws Exception {
+        ByteBuffer requests = ByteBuffer.allocate(6 * IngestCodec.REQUEST_SIZE);
+        IngestCodec.writeRequest(requests, IngestCodec.OP_DEPOSIT, 1, null, bob.getAccountId(), 250);
+        IngestCodec.writeRequest(requests, IngestCodec.OP_WITHDRAW, 2, bob.getAccountId(), null, 100);
+        IngestCodec.writeRequest(requests, IngestCodec.OP_TRANSFER, 3, bob.getAccountId(), alice.getAccountId(), 1_000_000);
+        IngestCodec.writeRequest(requests, IngestCodec.OP_TRANSFER, 4, UUID.randomUUID(), alice.getAccountId(), 1);
+        IngestCodec.writeRequest(requests, IngestCodec.OP_TRANSFER, 5, alice.getAccountId(), bob.getAccountId(), 0);
+        IngestCodec.writeRequest(requests, (byte) 42, 6, alice.getAccountId(), bob.getAccountId(), 1);
+        requests.flip();
+        while (requests.hasRemaining()) {
+            client.write(requests);
+        }
+
+        ByteBuffer replies = readResponses(6);
+        byte[] expected = {IngestCodec.STATUS_OK, IngestCodec.STATUS_OK, IngestCodec.STATUS_INSUFFICIENT_FUNDS,
+                IngestCodec.STATUS_NOT_FOUND, IngestCodec.STATUS_INVALID_REQUEST, IngestCodec.STATUS_INVALID_REQUEST};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(i + 1, replies.getLong());
+            assertEquals(expected[i], replies.get(), "status of request " + (i + 1));
+            UUID transactionId = IngestCodec.getUuid(replies);
+            assertEquals(expected[i] == IngestCodec.STATUS_OK, transactionId != null);
+        }
+        assertEquals(0, new BigDecimal("1.50").compareTo(accountRepository.findById(bob.getAccountId()).orElseThrow().getAccountBalance()));
+    }
+
+    @Test
+    void blockedFrameDoesNotStallOtherConnectionsOnTheSameLoop() throws Exception {
+        BinaryIngestServer singleLoop = new BinaryIngestServer(
+                new TransactionServiceImpl(transactionRepository, accountRepository), "127.0.0.1", 0, 1, 2, "none");
+        singleLoop.start();
+        try (SocketChannel blocked = SocketChannel.open(new InetSocketAddress("127.0.0.1", singleLoop.localPort()));
+             SocketChannel other = SocketChannel.open(new InetSocketAddress("127.0.0.1", singleLoop.localPort()))) {
+            ByteBuffer replies = ByteBuffer.allocate(IngestCodec.RESPONSE_SIZE);
+            // The withdrawal waits on alice's lock, held here, on a worker
+            try (AccountLock lock = accountRepository.lock(alice.getAccountId())) {
+                send(blocked, IngestCodec.OP_WITHDRAW, 1, alice.getAccountId(), null, 100);
+                send(other, IngestCodec.OP_DEPOSIT, 2, null, bob.getAccountId(), 100);
+
+                // The selector still serves the other connection
+                while (replies.hasRemaining()) {
+                    assertTrue(other.read(replies) >= 0);
+                }
+                assertEquals(2, replies.flip().getLong());
+                assertEquals(IngestCodec.STATUS_OK, replies.get());
+            }
+
+            replies.clear();
+            while (replies.hasRemaining()) {
+                assertTrue(blocked.read(replies) >= 0);
+            }
+            assertEquals(1, replies.flip().getLong());
+            assertEquals(IngestCodec.STATUS_OK, replies.get());
+        } finally {
+            singleLoop.stop();
+        }
+    }
+
+    @Test
+    void followerRefusesToStart() {
+        BinaryIngestServer follower = new BinaryIngestServer(
+                new TransactionServiceImpl(transactionRepository, accountRepository), "127.0.0.1", 0, 1, 1, "follower");
+
+        assertThrows(IllegalStateException.class, follower::start);
+    }
+
+    private static void send(SocketChannel channel, byte op, long correlationId, UUID from, UUID to, long amountMinor)
+            throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(IngestCodec.REQUEST_SIZE);
+        IngestCodec.writeRequest(request, op, correlationId, from, to, amountMinor);
+        request.flip();
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+    }
+
+    private ByteBuffer readResponses(int count) {
+        ByteBuffer replies = ByteBuffer.allocate(count * IngestCodec.RESPONSE_SIZE);
+        try {
+            while (replies.hasRemaining()) {
+                if (client.read(replies) < 0) {
+                    throw new IOException("Server closed the connection");
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return replies.flip();
+    }
+}
@@ -0,0 +1,127 @@
+package com.brainridge_banking.api.jfr;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.exception.InsufficientFundsException;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrEventsTest {
+
+    private final AccountRepository accountRepository = new RecordingAccountRepository(new InMemoryAccountRepository());
+    private final TransactionRepository transactionRepository =
+            new RecordingTransactionRepository(new InMemoryTransactionRepository());
+    private final AccountServiceImpl accountService = new AccountServiceImpl(accountRepository);
+    private final TransactionServiceImpl transactionService =
+            new TransactionServiceImpl(transactionRepository, accountRepository);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recording_ShouldSummarizeTransactionsAndRepositoryOperations() throws IOException, ParseException {
+        // Arrange
+        UUID source = account("jfr.source@gmail.com", "100.00");
+        UUID destination = account("jfr.destination@gmail.com", "0.00");
+        Path file = directory.resolve("banking.jfr");
+
+        // Act
+        try (Recording recording = new Recording(Configuration.create(Path.of("src/main/jfr/banking.jfc")))) {
+            recording.start();
+            transactionService.transferFunds(transfer(source, destination, "40.00"));
+            transactionService.transferFunds(transfer(source, destination, "5.00"));
+            assertThrows(InsufficientFundsException.class,
+                    () -> transactionService.transferFunds(transfer(source, destination, "500.00")));
+            transactionService.deposit(deposit(destination, "1500.00"));
+            transactionService.getTransactionHistory(destination);
+            recording.stop();
+            recording.dump(file);
+        }
+        RecordingAnalyzer.Summary summary = RecordingAnalyzer.summarize(file);
+
+        // Assert
+        RecordingAnalyzer.Operation transfers = find(summary.transactions(), "TRANSFER");
+        assertEquals(3, transfers.count());
+        assertEquals(1, transfers.failed());
+        assertTrue(transfers.maxMicros() >= transfers.p50Micros());
+        assertEquals(1, find(summary.transactions(), "DEPOSIT").count());
+        assertEquals(1L, summary.failures().get("TRANSFER InsufficientFundsException"));
+        assertEquals(7, find(summary.repositoryOperations(), "accounts.findById").count());
+        assertEquals(3, find(summary.repositoryOperations(), "transactions.save").count());
+        assertEquals(3.0, find(summary.repositoryOperations(), "transactions.findByAccountId").meanRows());
+    }
+
+    @Test
+    void defaultProfile_ShouldLeaveBankingEventsOff() throws IOException, ParseException {
+        // Arrange
+        UUID source = account("jfr.default.source@gmail.com", "100.00");
+        UUID destination = account("jfr.default.destination@gmail.com", "0.00");
+        Path file = directory.resolve("default.jfr");
+
+        // Act
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            transactionService.transferFunds(transfer(source, destination, "40.00"));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        RecordingAnalyzer.Summary summary = RecordingAnalyzer.summarize(file);
+        assertTrue(summary.transactions().isEmpty());
+        assertTrue(summary.repositoryOperations().isEmpty());
+    }
+
+    @Test
+    void amountBucket_ShouldRecordOrderOfMagnitudeOnly() {
+        assertEquals("<1", TransactionEvent.bucket(new BigDecimal("0.99")));
+        assertEquals("10-100", TransactionEvent.bucket(new BigDecimal("10.00")));
+        assertEquals("1K-10K", TransactionEvent.bucket(new BigDecimal("1500.00")));
+        assertEquals("100K+", TransactionEvent.bucket(new BigDecimal("250000")));
+    }
+
+    private UUID account(String email, String balance) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountName("Flight Recorder");
+        request.setAccountEmail(email);
+        request.setInitialBalance(new BigDecimal(balance));
+        return accountService.createAccount(request).getAccountId();
+    }
+
+    private static TransferRequest transfer(UUID from, UUID to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static TransactionRequest deposit(UUID to, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static RecordingAnalyzer.Operation find(List<RecordingAnalyzer.Operation> operations, String name) {
+        return operations.stream().filter(operation -> operation.name().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.brainridge_banking.api.json;
+
+import com.brainridge_banking.api.dto.response.AccountBalanceResponse;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.dto.response.TransactionResponse;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseSerializersTest {
+
+    // Configured like Spring Boot's ObjectMapper
+    private final ObjectMapper defaultMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ObjectMapper fastMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .addModule(ResponseSerializers.module())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void responses_ShouldSerializeExactlyLikeTheBeanSerializers() throws Exception {
+        List<LocalDateTime> timestamps = List.of(
+                LocalDateTime.of(2023, 7, 15, 10, 30),
+                LocalDateTime.of(2023, 7, 15, 10, 30, 45, 123_000_000),
+                LocalDateTime.of(999, 1, 2, 3, 4, 5, 1),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(12024, 1, 1, 0, 0));
+        List<BigDecimal> amounts = List.of(new BigDecimal("1000.00"), BigDecimal.ZERO, new BigDecimal("1E+3"),
+                new BigDecimal("0.00000001"), new BigDecimal("-12.5"));
+
+        for (int i = 0; i < timestamps.size(); i++) {
+            UUID id = i == 0 ? new UUID(0, 0) : UUID.randomUUID();
+            assertSameJson(account(id, "Jöhn \"JD\" Doe", amounts.get(i), timestamps.get(i), "premium"));
+            assertSameJson(transaction(id, i % 2 == 0 ? null : UUID.randomUUID(), UUID.randomUUID(),
+                    amounts.get(i), timestamps.get(i), TransactionType.values()[i % 3]));
+            AccountBalanceResponse balance = new AccountBalanceResponse();
+            balance.setAccountId(id);
+            balance.setBalance(amounts.get(i));
+            assertSameJson(balance);
+        }
+        assertSameJson(new AccountResponse());
+        assertSameJson(new TransactionResponse());
+        assertSameJson(List.of(transaction(UUID.randomUUID(), null, UUID.randomUUID(), BigDecimal.TEN,
+                LocalDateTime.now(), TransactionType.DEPOSIT)));
+    }
+
+    @Test
+    void timestamps_ShouldFollowTheMapperWhenWrittenAsNumbers() throws Exception {
+        ObjectMapper numericDefault = defaultMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper numericFast = fastMapper.copy().enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TransactionResponse transaction = transaction(UUID.randomUUID(), null, UUID.randomUUID(), BigDecimal.ONE,
+                LocalDateTime.of(2023, 7, 15, 10, 30, 45), TransactionType.DEPOSIT);
+
+        assertEquals(numericDefault.writeValueAsString(transaction), numericFast.writeValueAsString(transaction));
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertEquals(defaultMapper.writeValueAsString(value), fastMapper.writeValueAsString(value));
+    }
+
+    private static AccountResponse account(UUID id, String name, BigDecimal balance, LocalDateTime createdAt, String tier) {
+        AccountResponse response = new AccountResponse();
+        response.setAccountId(id);
+        response.setAccountName(name);
+        response.setAccountEmail("johndoe@gmail.com");
+        response.setAccountBalance(balance);
+        response.setCreatedAt(createdAt);
+        response.setTier(tier);
+        return response;
+    }
+
+    private static TransactionResponse transaction(UUID id, UUID from, UUID to, BigDecimal amount,
+                                                   LocalDateTime timestamp, TransactionType type) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId(id);
+        response.setFromAccountId(from);
+        response.setToAccountId(to);
+        response.setAmount(amount);
+        response.setTimestamp(timestamp);
+        response.setType(type);
+        return response;
+    }
+}
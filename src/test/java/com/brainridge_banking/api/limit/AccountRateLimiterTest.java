@@ -0,0 +1,166 @@
+package com.brainridge_banking.api.limit;
+
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.exception.RateLimitExceededException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountRateLimiterTest {
+
+    private final AccountRepository accountRepository = new InMemoryAccountRepository();
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AccountRateLimiter(AccountRateLimiter.parseTiers("standard=10:5, Premium=100:50, unlimited=0:0"),
+                "standard", accountRepository, 1000, meterRegistry, clock::get);
+    }
+
+    @Test
+    void bucket_ShouldAllowBurstThenRefillAtTierRate() {
+        UUID accountId = account("standard");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(accountId));
+        }
+        // Empty: at 10 tokens/s the next one is 100ms away
+        assertEquals(100, limiter.tryAcquire(accountId));
+
+        advanceMs(250);
+        assertEquals(0, limiter.tryAcquire(accountId));
+        assertEquals(0, limiter.tryAcquire(accountId));
+        // Half a token is carried over rather than lost
+        assertEquals(50, limiter.tryAcquire(accountId));
+        advanceMs(50);
+        assertEquals(0, limiter.tryAcquire(accountId));
+    }
+
+    @Test
+    void acquire_ShouldThrowWithRetryAfterAndCountRejections() {
+        UUID accountId = account("standard");
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(accountId);
+        }
+
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire(accountId));
+
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.rejected").counter().count());
+    }
+
+    @Test
+    void tiers_ShouldSizeBucketsPerAccountAndFallBackToDefault() {
+        UUID premium = account("premium");
+        UUID unlimited = account("unlimited");
+        UUID unknownTier = account("gold");
+
+        assertEquals(50, drain(premium));
+        assertEquals(5, drain(unknownTier));
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(0, limiter.tryAcquire(unlimited));
+        }
+        // Accounts that do not exist are left for the service to reject
+        assertEquals(0, limiter.tryAcquire(UUID.randomUUID()));
+        assertEquals(3, limiter.bucketCount());
+    }
+
+    @Test
+    void sweepIdle_ShouldDropOnlyRefilledIdleBuckets() {
+        UUID busy = account("standard");
+        UUID idle = account("standard");
+        drain(busy);
+        limiter.tryAcquire(idle);
+
+        advanceMs(600);
+        limiter.tryAcquire(busy);
+        advanceMs(600);
+
+        assertEquals(1, limiter.sweepIdle());
+        assertEquals(1, limiter.bucketCount());
+        assertEquals(1.0, meterRegistry.get("banking.ratelimit.buckets").gauge().value());
+
+        // An evicted bucket starts over full, like one that was never used
+        limiter.evict(busy);
+        assertEquals(5, drain(busy));
+    }
+
+    @Test
+    void concurrentAcquires_ShouldNeverHandOutMoreThanTheBurst() throws Exception {
+        UUID accountId = account("premium");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire(accountId) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(50, granted.get());
+    }
+
+    @Test
+    void transactionService_ShouldRejectThrottledWithdrawalsWithoutTouchingTheAccount() {
+        Account account = accountRepository.save(new Account("Alice", "alice@gmail.com", new BigDecimal("100.00")));
+        TransactionServiceImpl transactionService = new TransactionServiceImpl(new InMemoryTransactionRepository(), accountRepository);
+        transactionService.setRateLimiter(limiter);
+        TransactionRequest request = new TransactionRequest();
+        request.setToAccountId(account.getAccountId());
+        request.setAmount(BigDecimal.ONE);
+
+        for (int i = 0; i < 5; i++) {
+            transactionService.withdraw(request);
+        }
+
+        assertThrows(RateLimitExceededException.class, () -> transactionService.withdraw(request));
+        assertEquals(new BigDecimal("95.00"), accountRepository.findById(account.getAccountId()).orElseThrow().getAccountBalance());
+    }
+
+    private UUID account(String tier) {
+        Account account = new Account("Holder", UUID.randomUUID() + "@gmail.com", BigDecimal.TEN);
+        account.setTier(tier);
+        return accountRepository.save(account).getAccountId();
+    }
+
+    private int drain(UUID accountId) {
+        int granted = 0;
+        while (limiter.tryAcquire(accountId) == 0) {
+            granted++;
+        }
+        return granted;
+    }
+
+    private void advanceMs(long ms) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+}
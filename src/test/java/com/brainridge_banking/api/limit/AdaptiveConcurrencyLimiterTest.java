@@ -0,0 +1,90 @@
+package com.brainridge_banking.api.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_ShouldRejectOnceLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(1.0, meterRegistry.get("banking.limiter.rejected").counter().count());
+        assertEquals(4.0, meterRegistry.get("banking.limiter.in-flight").gauge().value());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void slowRequests_ShouldCutLimitOncePerLatencyInterval() {
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // A burst of slow completions within one interval is a single congestion signal
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(50, limiter.getLimit());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        assertEquals(25, limiter.getLimit());
+        assertEquals(25.0, meterRegistry.get("banking.limiter.limit").gauge().value());
+
+        // Never below the floor
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void fastRequests_ShouldGrowLimitOnlyWhileItIsInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        // One request at a time never uses half the limit, so it does not grow
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(FAST);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        // A full window completing fast grows it by about one slot per window
+        for (int round = 0; round < 20; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(FAST);
+            }
+        }
+        assertTrue(limiter.getLimit() > 10, "limit should have grown, was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 100, 0.5, 100, meterRegistry, clock::get);
+    }
+}
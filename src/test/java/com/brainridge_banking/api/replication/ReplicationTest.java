@@ -0,0 +1,291 @@
+package com.brainridge_banking.api.replication;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransactionRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.exception.ReadOnlyReplicaException;
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.InMemoryAccountRepository;
+import com.brainridge_banking.api.repository.InMemoryTransactionRepository;
+import com.brainridge_banking.api.repository.JdbcAccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.service.AccountServiceImpl;
+import com.brainridge_banking.api.service.TransactionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a primary and followers in one JVM over a real local socket.
+ */
+public class ReplicationTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ReplicationPublisher publisher = new ReplicationPublisher(1024);
+    private final AccountRepository primaryAccounts = new ReplicatingAccountRepository(new InMemoryAccountRepository(), publisher);
+    private final TransactionRepository primaryTransactions =
+            new ReplicatingTransactionRepository(new InMemoryTransactionRepository(), publisher);
+    private final AccountServiceImpl accountService = new AccountServiceImpl(primaryAccounts);
+    private final TransactionServiceImpl transactionService = new TransactionServiceImpl(primaryTransactions, primaryAccounts);
+    private final List<ReplicationClient> clients = new ArrayList<>();
+    private ReplicationServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ReplicationServer(publisher, primaryAccounts, primaryTransactions, objectMapper, "127.0.0.1", 0, 50);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (ReplicationClient client : clients) {
+            client.stop();
+        }
+        server.stop();
+    }
+
+    @Test
+    void followerCatchesUpFromSnapshotAndThenTailsLiveChanges() {
+        // Written before the follower exists, so it arrives through the snapshot
+        UUID alice = accountService.createAccount(creationRequest("alice@gmail.com", "100.00")).getAccountId();
+
+        Follower follower = startFollower("http://follower-1");
+        awaitTrue(() -> follower.accounts.findById(alice).isPresent());
+
+        UUID bob = accountService.createAccount(creationRequest("bob@gmail.com", "0.00")).getAccountId();
+        transactionService.transferFunds(transferRequest(alice, bob, "40.00"));
+        awaitTrue(() -> follower.client.appliedSeq() == publisher.currentSeq());
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(follower.accountService.getAccountBalance(alice).getBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(follower.accountService.getAccountBalance(bob).getBalance()));
+        assertEquals(1, follower.transactionService.getTransactionHistory(bob).size());
+
+        accountService.deleteAccount(bob);
+        awaitTrue(() -> follower.accounts.findById(bob).isEmpty());
+
+        // Heartbeats keep the lag low while the primary is idle
+        awaitTrue(() -> follower.client.lagMs() < 1_000);
+    }
+
+    @Test
+    void followerReportsItsLagBackToThePrimary() {
+        startFollower("http://follower-1");
+        StalenessRoutingInterceptor router = new StalenessRoutingInterceptor(publisher, RestClient.create());
+
+        awaitTrue(() -> "http://follower-1".equals(router.pickFollower(5_000)));
+        assertNull(router.pickFollower(-1));
+    }
+
+    @Test
+    void lateFollowerGetsASnapshotWithoutDeletedAccountsOrDuplicateTransactions() {
+        UUID alice = accountService.createAccount(creationRequest("alice@gmail.com", "10.00")).getAccountId();
+        UUID bob = accountService.createAccount(creationRequest("bob@gmail.com", "10.00")).getAccountId();
+        TransactionRequest deposit = new TransactionRequest();
+        deposit.setToAccountId(alice);
+        deposit.setAmount(new BigDecimal("5.00"));
+        transactionService.deposit(deposit);
+
+        // The follower already holds a stale copy of bob, deleted since on the primary
+        Follower follower = new Follower();
+        follower.accounts.save(primaryAccounts.findById(bob).orElseThrow());
+        accountService.deleteAccount(bob);
+        follower.start("http://follower-1");
+        awaitTrue(() -> follower.client.appliedSeq() == publisher.currentSeq() && follower.accounts.count() == 1);
+
+        assertTrue(follower.accounts.findById(bob).isEmpty());
+        assertEquals(1, follower.transactions.count());
+        assertEquals(0, new BigDecimal("15.00").compareTo(follower.accountService.getAccountBalance(alice).getBalance()));
+    }
+
+    @Test
+    void publisherResumesFromBacklogWithinTheSameEpoch() {
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(new LedgerEvent(LedgerEvent.Type.HEARTBEAT));
+        }
+
+        ReplicationPublisher.Subscription resumed = publisher.subscribe(publisher.epoch(), 3);
+        assertFalse(resumed.needsSnapshot());
+        assertEquals(4, resumed.poll().getSeq());
+        assertEquals(5, resumed.poll().getSeq());
+        assertNull(resumed.poll());
+
+        assertTrue(publisher.subscribe("another-epoch", 3).needsSnapshot());
+        assertTrue(publisher.subscribe(publisher.epoch(), 9).needsSnapshot());
+    }
+
+    @Test
+    void followerRejectsWritesAndReportsLag() throws Exception {
+        Follower follower = startFollower("http://follower-1");
+        awaitTrue(() -> follower.client.lagMs() < 1_000);
+        ReadOnlyReplicaInterceptor interceptor = new ReadOnlyReplicaInterceptor(follower.client);
+
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/accounts"), readResponse, null));
+        assertTrue(Long.parseLong(readResponse.getHeader(ReadOnlyReplicaInterceptor.LAG_HEADER)) >= 0);
+
+        assertThrows(ReadOnlyReplicaException.class, () -> interceptor.preHandle(
+                new MockHttpServletRequest("POST", "/api/transactions/transfer"), new MockHttpServletResponse(), null));
+    }
+
+    private Follower startFollower(String url) {
+        Follower follower = new Follower();
+        follower.start(url);
+        return follower;
+    }
+
+    @Test
+    void concurrentAtomicUpdatesArePublishedInVersionOrder() throws Exception {
+        // Arrange
+        List<Long> versions = Collections.synchronizedList(new ArrayList<>());
+        ReplicationPublisher recording = new ReplicationPublisher(1024) {
+            @Override
+            public void publish(LedgerEvent event) {
+                versions.add(event.getAccount().getVersion());
+                super.publish(event);
+            }
+        };
+        AccountRepository accounts = new ReplicatingAccountRepository(new InMemoryAccountRepository(), recording);
+        UUID id = accounts.save(new Account("Counter", "counter@gmail.com", new BigDecimal("0.00"))).getAccountId();
+        versions.clear();
+        int threads = 8;
+        int perThread = 500;
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        accounts.updateAtomically(List.of(id), locked -> {
+                            locked.get(0).setAccountBalance(locked.get(0).getAccountBalance().add(BigDecimal.ONE));
+                            return null;
+                        });
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert: the stream carries every version, in the order the primary applied them
+        assertEquals(threads * perThread, versions.size());
+        for (int i = 1; i < versions.size(); i++) {
+            assertEquals(versions.get(i - 1) + 1, versions.get(i), "event " + i);
+        }
+    }
+
+    @Test
+    void jdbcWritesArePublishedOnlyOnceTheirTransactionCommits() {
+        // Arrange
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:schema.sql")
+                .build();
+        try {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+            ReplicationPublisher jdbcPublisher = new ReplicationPublisher(1024);
+            AccountRepository accounts = new ReplicatingAccountRepository(
+                    new JdbcAccountRepository(new JdbcTemplate(database), transactionManager), jdbcPublisher);
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            Account rolledBack = new Account("Rolled back", "rolled.back@gmail.com", new BigDecimal("10.00"));
+            Account committed = new Account("Committed", "committed@gmail.com", new BigDecimal("10.00"));
+
+            // Act
+            assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+                accounts.save(rolledBack);
+                throw new IllegalStateException("Duplicate transaction id");
+            }));
+            long seqAfterRollback = jdbcPublisher.currentSeq();
+            long[] seqBeforeCommit = new long[1];
+            transaction.executeWithoutResult(status -> {
+                accounts.save(committed);
+                seqBeforeCommit[0] = jdbcPublisher.currentSeq();
+            });
+
+            // Assert
+            assertEquals(0, seqAfterRollback);
+            assertTrue(accounts.findById(rolledBack.getAccountId()).isEmpty());
+            assertEquals(0, seqBeforeCommit[0]);
+            assertEquals(1, jdbcPublisher.currentSeq());
+            assertFalse(TransactionSynchronizationManager.hasResource(jdbcPublisher));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not reached within 10s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static AccountCreationRequest creationRequest(String email, String balance) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountName("Test");
+        request.setAccountEmail(email);
+        request.setInitialBalance(new BigDecimal(balance));
+        return request;
+    }
+
+    private static TransferRequest transferRequest(UUID from, UUID to, String amount) {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(from);
+        request.setToAccountId(to);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private final class Follower {
+        final AccountRepository accounts = new InMemoryAccountRepository();
+        final TransactionRepository transactions = new InMemoryTransactionRepository();
+        final AccountServiceImpl accountService = new AccountServiceImpl(accounts);
+        final TransactionServiceImpl transactionService = new TransactionServiceImpl(transactions, accounts);
+        ReplicationClient client;
+
+        void start(String url) {
+            client = new ReplicationClient(accounts, transactions, objectMapper, "127.0.0.1:" + server.localPort(), url, 50);
+            clients.add(client);
+            client.start();
+        }
+    }
+}
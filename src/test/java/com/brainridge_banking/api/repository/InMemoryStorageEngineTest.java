@@ -0,0 +1,14 @@
+package com.brainridge_banking.api.repository;
+
+public class InMemoryStorageEngineTest extends StorageEngineConformanceTest {
+
+    @Override
+    protected AccountRepository createAccountRepository() {
+        return new InMemoryAccountRepository();
+    }
+
+    @Override
+    protected TransactionRepository createTransactionRepository() {
+        return new InMemoryTransactionRepository();
+    }
+}
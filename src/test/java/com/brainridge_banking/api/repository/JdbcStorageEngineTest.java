@@ -0,0 +1,37 @@
+package com.brainridge_banking.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+public class JdbcStorageEngineTest extends StorageEngineConformanceTest {
+
+    private EmbeddedDatabase database;
+
+    @Override
+    protected AccountRepository createAccountRepository() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:schema.sql")
+                .build();
+        return new JdbcAccountRepository(new JdbcTemplate(database), new DataSourceTransactionManager(database));
+    }
+
+    @Override
+    protected TransactionRepository createTransactionRepository() {
+        return new JdbcTransactionRepository(new JdbcTemplate(database), 100);
+    }
+
+    @Override
+    protected void shutdownEngine() {
+        database.shutdown();
+    }
+
+    @Override
+    protected int workloadTransfersPerThread() {
+        return 250;
+    }
+}
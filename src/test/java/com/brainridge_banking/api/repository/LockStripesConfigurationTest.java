@@ -0,0 +1,26 @@
+package com.brainridge_banking.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "banking.storage.lock-stripes=64")
+public class LockStripesConfigurationTest {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void memoryEngine_ShouldUseConfiguredStripeCount() {
+        // Act
+        Map<String, Object> diagnostics = accountRepository.diagnostics();
+
+        // Assert
+        assertEquals("memory", diagnostics.get("engine"));
+        assertEquals(64, ((Map<?, ?>) diagnostics.get("locks")).get("stripes"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.brainridge_banking.api.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LockStripesTest {
+
+    @Test
+    void diagnostics_ShouldCountOnlyContendedAcquisitionsAsWaits() throws InterruptedException {
+        // Arrange
+        LockStripes stripes = new LockStripes(16);
+        UUID accountId = UUID.randomUUID();
+        stripes.lock(accountId).close();
+        stripes.lock(accountId, UUID.randomUUID()).close();
+
+        // Act: a second thread queues on a stripe held by this one
+        Thread waiter;
+        try (AccountLock ignored = stripes.lock(accountId)) {
+            waiter = new Thread(() -> stripes.lock(accountId).close());
+            waiter.start();
+            while (waiter.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20);
+        }
+        waiter.join();
+
+        // Assert
+        Map<String, Object> diagnostics = stripes.diagnostics();
+        assertEquals(16, diagnostics.get("stripes"));
+        assertTrue((long) diagnostics.get("acquisitions") >= 5);
+        assertEquals(1L, diagnostics.get("contended"));
+        assertTrue((long) diagnostics.get("waitMicros") >= 20_000);
+        List<?> busiest = (List<?>) diagnostics.get("busiestStripes");
+        assertEquals(1, busiest.size());
+        assertEquals(1L, ((Map<?, ?>) busiest.get(0)).get("contended"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Account;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedStorageEngineTest extends StorageEngineConformanceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartitionedStorage storage;
+
+    @Override
+    protected AccountRepository createAccountRepository() {
+        meterRegistry = new SimpleMeterRegistry();
+        storage = new PartitionedStorage(4, meterRegistry);
+        return new PartitionedAccountRepository(storage, 1024);
+    }
+
+    @Override
+    protected TransactionRepository createTransactionRepository() {
+        return new PartitionedTransactionRepository(storage);
+    }
+
+    @Override
+    protected void shutdownEngine() {
+        storage.shutdown();
+    }
+
+    @Test
+    void shardMetrics_ShouldReportPerShardLoad() {
+        // Arrange
+        for (int i = 0; i < 400; i++) {
+            accountRepository.save(new Account("Shard User", i + "@gmail.com", BigDecimal.ONE));
+        }
+
+        // Act
+        double perShardTotal = meterRegistry.find("banking.storage.shard.accounts").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+        double imbalance = meterRegistry.get("banking.storage.shard.imbalance").gauge().value();
+        long operations = 0;
+        for (int shard = 0; shard < storage.shardCount(); shard++) {
+            operations += storage.operations(shard);
+        }
+
+        // Assert
+        assertEquals(4, meterRegistry.find("banking.storage.shard.accounts").gauges().size());
+        assertEquals(400, perShardTotal);
+        assertTrue(imbalance >= 1.0 && imbalance < 1.5, "imbalance " + imbalance);
+        assertEquals(400, operations);
+    }
+
+    @Test
+    void execute_ShouldRunOnTheOwningShardThread() throws Exception {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+
+        // Act
+        String thread = storage.execute(accountId, () -> Thread.currentThread().getName()).get();
+
+        // Assert
+        assertEquals("shard-" + storage.shardOf(accountId), thread);
+    }
+}
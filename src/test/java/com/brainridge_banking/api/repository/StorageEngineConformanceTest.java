@@ -0,0 +1,303 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Account;
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contract every storage engine must satisfy. Each engine gets a subclass that only
+ * says how to build its repositories; the final test runs the same concurrent transfer
+ * workload on every engine. {@code StorageEngineBenchmark} compares their throughput.
+ */
+public abstract class StorageEngineConformanceTest {
+
+    protected AccountRepository accountRepository;
+    protected TransactionRepository transactionRepository;
+
+    protected abstract AccountRepository createAccountRepository();
+
+    protected abstract TransactionRepository createTransactionRepository();
+
+    protected void shutdownEngine() {
+    }
+
+    protected int workloadTransfersPerThread() {
+        return 2_000;
+    }
+
+    @BeforeEach
+    void setUpEngine() {
+        accountRepository = createAccountRepository();
+        transactionRepository = createTransactionRepository();
+    }
+
+    @AfterEach
+    void tearDownEngine() {
+        shutdownEngine();
+    }
+
+    @Test
+    void accounts_ShouldSupportSaveFindAndDelete() {
+        // Arrange
+        Account account = accountRepository.save(newAccount("100.00"));
+
+        // Act & Assert
+        assertEquals(account.getAccountId(), accountRepository.findById(account.getAccountId()).orElseThrow().getAccountId());
+        assertFalse(accountRepository.existsById(account.getAccountId())); // Inverted contract
+        assertEquals(1, accountRepository.count());
+        assertEquals(1, accountRepository.findAll().size());
+
+        accountRepository.deleteById(account.getAccountId());
+
+        assertTrue(accountRepository.findById(account.getAccountId()).isEmpty());
+        assertTrue(accountRepository.existsById(account.getAccountId()));
+        assertEquals(0, accountRepository.count());
+    }
+
+    @Test
+    void saveAll_ShouldPersistEveryAccount() {
+        // Arrange
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            accounts.add(newAccount("10.00"));
+        }
+
+        // Act
+        accountRepository.saveAll(accounts);
+
+        // Assert
+        assertEquals(25, accountRepository.count());
+        accounts.forEach(account -> assertTrue(accountRepository.findById(account.getAccountId()).isPresent()));
+    }
+
+    @Test
+    void save_ShouldBumpVersionOnEveryWrite() {
+        // Arrange
+        Account account = accountRepository.save(newAccount("100.00"));
+        assertEquals(1, account.getVersion());
+
+        // Act
+        account.setAccountName("Renamed");
+        accountRepository.save(account);
+        accountRepository.updateAtomically(List.of(account.getAccountId()), accounts -> {
+            accounts.get(0).setAccountBalance(BigDecimal.ONE);
+            return null;
+        });
+
+        // Assert
+        assertEquals(3, accountRepository.findById(account.getAccountId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void updateAtomically_ShouldApplyMutationAndPassMissingAccountsAsNull() {
+        // Arrange
+        Account source = accountRepository.save(newAccount("100.00"));
+        Account destination = accountRepository.save(newAccount("0.00"));
+        UUID missingId = UUID.randomUUID();
+
+        // Act
+        int seen = accountRepository.updateAtomically(
+                List.of(source.getAccountId(), destination.getAccountId(), missingId),
+                accounts -> {
+                    assertNull(accounts.get(2));
+                    accounts.get(0).setAccountBalance(accounts.get(0).getAccountBalance().subtract(BigDecimal.TEN));
+                    accounts.get(1).setAccountBalance(accounts.get(1).getAccountBalance().add(BigDecimal.TEN));
+                    return accounts.size();
+                });
+
+        // Assert
+        assertEquals(3, seen);
+        assertBalance("90.00", source.getAccountId());
+        assertBalance("10.00", destination.getAccountId());
+    }
+
+    @Test
+    void transactions_ShouldBeIndexedOnBothSidesNewestFirst() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        transactionRepository.save(at(new Transaction(null, accountId, BigDecimal.ONE, TransactionType.DEPOSIT), base));
+        transactionRepository.saveAll(List.of(
+                at(new Transaction(accountId, otherId, BigDecimal.TEN, TransactionType.TRANSFER), base.plusMinutes(2)),
+                at(new Transaction(otherId, accountId, BigDecimal.TEN, TransactionType.TRANSFER), base.plusMinutes(1)),
+                at(new Transaction(otherId, null, BigDecimal.ONE, TransactionType.WITHDRAWAL), base.plusMinutes(3))));
+
+        // Act
+        List<Transaction> history = transactionRepository.findByAccountId(accountId);
+
+        // Assert
+        assertEquals(4, transactionRepository.count());
+        assertEquals(3, history.size());
+        assertEquals(base.plusMinutes(2), history.get(0).getTimestamp());
+        assertEquals(base.plusMinutes(1), history.get(1).getTimestamp());
+        assertEquals(base, history.get(2).getTimestamp());
+        assertTrue(transactionRepository.findByAccountId(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void rangeScans_ShouldIncludeFromAndExcludeTo() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int day = 0; day < 10; day++) {
+            transactionRepository.save(at(new Transaction(null, accountId, BigDecimal.ONE, TransactionType.DEPOSIT),
+                    base.plusDays(day)));
+            transactionRepository.save(at(new Transaction(null, UUID.randomUUID(), BigDecimal.ONE, TransactionType.DEPOSIT),
+                    base.plusDays(day)));
+        }
+
+        // Act
+        List<Transaction> accountWindow = transactionRepository.findByAccountIdBetween(accountId, base.plusDays(2), base.plusDays(5));
+        List<Transaction> globalWindow = transactionRepository.findByTimestampBetween(base.plusDays(8), null);
+        List<Transaction> openStart = transactionRepository.findByTimestampBetween(null, base.plusDays(1));
+
+        // Assert
+        assertEquals(3, accountWindow.size());
+        assertEquals(base.plusDays(4), accountWindow.get(0).getTimestamp());
+        assertEquals(base.plusDays(2), accountWindow.get(2).getTimestamp());
+        assertEquals(4, globalWindow.size());
+        assertEquals(2, openStart.size());
+        assertEquals(20, transactionRepository.findByTimestampBetween(null, null).size());
+        assertTrue(transactionRepository.findByTimestampBetween(base.plusDays(5), base.plusDays(5)).isEmpty());
+    }
+
+    @Test
+    void boundedRangeScan_ShouldReturnTheNewestRowsOfTheWindow() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int minute = 0; minute < 30; minute++) {
+            transactionRepository.save(at(new Transaction(null, UUID.randomUUID(), BigDecimal.ONE, TransactionType.DEPOSIT),
+                    base.plusMinutes(minute)));
+        }
+
+        // Act
+        List<Transaction> newest = transactionRepository.findByTimestampBetween(null, null, 5);
+        List<Transaction> window = transactionRepository.findByTimestampBetween(base.plusMinutes(10), base.plusMinutes(20), 4);
+        List<Transaction> tail = transactionRepository.findByTimestampBetween(base.plusMinutes(28), null, 10);
+
+        // Assert
+        assertEquals(5, newest.size());
+        assertEquals(base.plusMinutes(29), newest.get(0).getTimestamp());
+        assertEquals(base.plusMinutes(25), newest.get(4).getTimestamp());
+        assertEquals(4, window.size());
+        assertEquals(base.plusMinutes(19), window.get(0).getTimestamp());
+        assertEquals(base.plusMinutes(16), window.get(3).getTimestamp());
+        assertEquals(2, tail.size());
+    }
+
+    @Test
+    void scan_ShouldStreamHistoryAndWholeLedgerNewestFirst() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 30; i++) {
+            UUID owner = i % 3 == 0 ? accountId : UUID.randomUUID();
+            transactionRepository.save(at(new Transaction(null, owner, BigDecimal.ONE, TransactionType.DEPOSIT),
+                    base.plusMinutes(i)));
+        }
+
+        // Act
+        List<Transaction> history = new ArrayList<>();
+        List<Transaction> ledger = new ArrayList<>();
+        transactionRepository.scan(accountId, history::add);
+        transactionRepository.scan(null, ledger::add);
+
+        // Assert
+        assertEquals(10, history.size());
+        assertEquals(base.plusMinutes(27), history.get(0).getTimestamp());
+        assertEquals(30, ledger.size());
+        for (int i = 0; i < ledger.size(); i++) {
+            assertEquals(base.plusMinutes(29 - i), ledger.get(i).getTimestamp());
+        }
+        List<Transaction> unknown = new ArrayList<>();
+        transactionRepository.scan(UUID.randomUUID(), unknown::add);
+        assertTrue(unknown.isEmpty());
+    }
+
+    @Test
+    void transferWorkload_ShouldConserveBalancesUnderContention() throws Exception {
+        // Arrange
+        int accountCount = 32;
+        int threads = 8;
+        int transfersPerThread = workloadTransfersPerThread();
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accountIds.add(accountRepository.save(newAccount("1000.00")).getAccountId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int applied = 0;
+                for (int i = 0; i < transfersPerThread; i++) {
+                    UUID from = accountIds.get(random.nextInt(accountCount));
+                    UUID to = accountIds.get(random.nextInt(accountCount));
+                    if (from.equals(to)) {
+                        continue;
+                    }
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 50));
+                    boolean moved = accountRepository.updateAtomically(List.of(from, to), accounts -> {
+                        if (accounts.get(0).getAccountBalance().compareTo(amount) < 0) {
+                            return false;
+                        }
+                        accounts.get(0).setAccountBalance(accounts.get(0).getAccountBalance().subtract(amount));
+                        accounts.get(1).setAccountBalance(accounts.get(1).getAccountBalance().add(amount));
+                        return true;
+                    });
+                    if (moved) {
+                        transactionRepository.save(new Transaction(from, to, amount, TransactionType.TRANSFER));
+                        applied++;
+                    }
+                }
+                return applied;
+            }));
+        }
+        int applied = 0;
+        for (Future<Integer> result : results) {
+            applied += result.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        BigDecimal total = accountRepository.findAll().stream()
+                .map(Account::getAccountBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("32000.00").compareTo(total));
+        assertEquals(applied, transactionRepository.count());
+    }
+
+    private Account newAccount(String balance) {
+        return new Account("Engine User", UUID.randomUUID() + "@gmail.com", new BigDecimal(balance));
+    }
+
+    private void assertBalance(String expected, UUID accountId) {
+        BigDecimal actual = accountRepository.findById(accountId).orElseThrow().getAccountBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "balance of " + accountId);
+    }
+
+    private static Transaction at(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+}
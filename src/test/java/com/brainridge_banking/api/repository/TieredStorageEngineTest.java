@@ -0,0 +1,203 @@
+package com.brainridge_banking.api.repository;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import com.brainridge_banking.api.segment.SegmentFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the conformance suite with archival after every write, keeping just two rows in memory
+ * and at most four compressed segments, so every query merges the hot tier with several
+ * multi-block segments.
+ */
+public class TieredStorageEngineTest extends StorageEngineConformanceTest {
+
+    @TempDir
+    Path directory;
+
+    private TieredTransactionRepository tiered;
+
+    @Override
+    protected AccountRepository createAccountRepository() {
+        return new InMemoryAccountRepository();
+    }
+
+    @Override
+    protected TransactionRepository createTransactionRepository() {
+        tiered = new TieredTransactionRepository(new InMemoryTransactionRepository(), directory.resolve("conformance"),
+                2, null, 3, SegmentFormat.COMPRESSED, 4, new SimpleMeterRegistry()) {
+            @Override
+            public Transaction save(Transaction transaction) {
+                Transaction saved = super.save(transaction);
+                archive();
+                return saved;
+            }
+
+            @Override
+            public List<Transaction> saveAll(List<Transaction> batch) {
+                List<Transaction> saved = super.saveAll(batch);
+                archive();
+                return saved;
+            }
+        };
+        return tiered;
+    }
+
+    @Override
+    protected void shutdownEngine() {
+        tiered.shutdown();
+    }
+
+    @Override
+    protected int workloadTransfersPerThread() {
+        return 250;
+    }
+
+    @Test
+    void archive_ShouldMoveOldestRowsToSegmentsAndMergeThemWhenThereAreTooMany() throws IOException {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Path segmentDir = directory.resolve("count");
+        TieredTransactionRepository repository = new TieredTransactionRepository(new InMemoryTransactionRepository(),
+                segmentDir, 10, null, 4, SegmentFormat.PLAIN, 3, meterRegistry);
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        // Act: five rounds of 20 rows, archiving after each
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                int minute = round * 20 + i;
+                UUID owner = minute % 4 == 0 ? accountId : UUID.randomUUID();
+                repository.save(at(new Transaction(null, owner, BigDecimal.valueOf(minute, 2), TransactionType.DEPOSIT),
+                        base.plusMinutes(minute)));
+            }
+            repository.archive();
+        }
+
+        // Assert
+        assertEquals(100, repository.count());
+        assertEquals(90, repository.coldCount());
+        assertEquals(90, meterRegistry.get("banking.storage.tiering.archived").counter().count());
+        assertTrue(repository.segmentCount() <= 3);
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            assertEquals(repository.segmentCount(), files.count());
+        }
+
+        List<Transaction> history = repository.findByAccountId(accountId);
+        assertEquals(25, history.size());
+        for (int i = 0; i < history.size(); i++) {
+            Transaction transaction = history.get(i);
+            assertEquals(base.plusMinutes(96 - 4L * i), transaction.getTimestamp());
+            assertEquals(BigDecimal.valueOf(96 - 4L * i, 2), transaction.getAmount());
+            assertEquals(TransactionType.DEPOSIT, transaction.getType());
+            assertNull(transaction.getFromAccountId());
+        }
+        List<Transaction> window = repository.findByTimestampBetween(base.plusMinutes(5), base.plusMinutes(95));
+        assertEquals(90, window.size());
+        assertEquals(base.plusMinutes(94), window.get(0).getTimestamp());
+        assertEquals(base.plusMinutes(5), window.get(89).getTimestamp());
+
+        repository.shutdown();
+        try (Stream<Path> files = Files.list(segmentDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void archive_ByAge_ShouldOnlyMoveRowsOlderThanTheThreshold() {
+        // Arrange
+        TieredTransactionRepository repository = new TieredTransactionRepository(new InMemoryTransactionRepository(),
+                directory.resolve("age"), -1, Duration.ofDays(1), 1024, SegmentFormat.COMPRESSED, 16,
+                new SimpleMeterRegistry());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 10; i++) {
+            repository.save(at(new Transaction(null, UUID.randomUUID(), BigDecimal.ONE, TransactionType.DEPOSIT),
+                    now.minusDays(i % 2 == 0 ? 3 : 0).minusSeconds(i)));
+        }
+
+        // Act
+        int archived = repository.archive();
+
+        // Assert
+        assertEquals(5, archived);
+        assertEquals(5, repository.coldCount());
+        assertEquals(10, repository.findAll().size());
+        assertEquals(0, repository.archive());
+        repository.shutdown();
+    }
+
+    @Test
+    void readsDuringArchival_ShouldSeeEveryRowExactlyOnce() throws Exception {
+        // Arrange
+        TieredTransactionRepository repository = new TieredTransactionRepository(new InMemoryTransactionRepository(),
+                directory.resolve("concurrent"), 0, null, 16, SegmentFormat.COMPRESSED, 4, new SimpleMeterRegistry());
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        int rows = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        // Act: one thread writes and archives in small steps while the other keeps reading
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < rows; i++) {
+                repository.save(at(new Transaction(null, accountId, BigDecimal.ONE, TransactionType.DEPOSIT),
+                        base.plusSeconds(i)));
+                if (i % 50 == 49) {
+                    repository.archive();
+                }
+            }
+            writing.set(false);
+            return null;
+        });
+        Future<Integer> reader = executor.submit(() -> {
+            int reads = 0;
+            int previous = 0;
+            while (writing.get() || reads == 0) {
+                List<Transaction> history = repository.findByAccountId(accountId);
+                assertTrue(history.size() >= previous, "rows disappeared: " + history.size() + " < " + previous);
+                for (int i = 1; i < history.size(); i++) {
+                    assertTrue(history.get(i - 1).getTimestamp().isAfter(history.get(i).getTimestamp()));
+                }
+                previous = history.size();
+                reads++;
+            }
+            return reads;
+        });
+
+        // Assert
+        writer.get(30, TimeUnit.SECONDS);
+        assertTrue(reader.get(30, TimeUnit.SECONDS) > 0);
+        executor.shutdown();
+        assertEquals(rows, repository.findByAccountId(accountId).size());
+        List<Transaction> ledger = new ArrayList<>();
+        repository.scan(null, ledger::add);
+        assertEquals(rows, ledger.size());
+        assertEquals(rows, repository.count());
+        repository.shutdown();
+    }
+
+    private static Transaction at(Transaction transaction, LocalDateTime timestamp) {
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+}
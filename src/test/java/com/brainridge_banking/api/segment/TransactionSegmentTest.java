@@ -0,0 +1,124 @@
+package com.brainridge_banking.api.segment;
+
+import com.brainridge_banking.api.model.Transaction;
+import com.brainridge_banking.api.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @EnumSource(SegmentFormat.class)
+    void write_ShouldRoundTripEveryField(SegmentFormat format) {
+        // Arrange: amounts of every scale and size, missing accounts and types, extreme timestamps
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 6, 1, 12, 0, 0, 123_456_789);
+        List<Transaction> rows = new ArrayList<>();
+        rows.add(new Transaction(UUID.randomUUID(), null, accountId, new BigDecimal("12.50"), base,
+                TransactionType.DEPOSIT));
+        rows.add(new Transaction(UUID.randomUUID(), accountId, null, new BigDecimal("-7"), base.minusNanos(1),
+                TransactionType.WITHDRAWAL));
+        rows.add(new Transaction(UUID.randomUUID(), accountId, UUID.randomUUID(), new BigDecimal("0.005"),
+                base.minusSeconds(1), TransactionType.TRANSFER));
+        rows.add(new Transaction(UUID.randomUUID(), UUID.randomUUID(), accountId,
+                new BigDecimal("123456789012345678901234567890.1"), base.minusDays(400), null));
+        rows.add(new Transaction(UUID.randomUUID(), null, null, null, base.minusYears(500), null));
+        rows.add(new Transaction(UUID.randomUUID(), accountId, null, new BigDecimal("1E+3"),
+                LocalDateTime.of(-5000, 1, 1, 0, 0), TransactionType.DEPOSIT));
+
+        // Act
+        TransactionSegment segment = TransactionSegment.write(directory.resolve("segment"), rows.iterator(), 4, format);
+
+        // Assert
+        TransactionSegment reopened = TransactionSegment.open(segment.file());
+        assertEquals(format, reopened.format());
+        reopened.release();
+        assertEquals(6, segment.rowCount());
+        assertEquals(2, segment.blockCount());
+        List<Transaction> read = new ArrayList<>();
+        segment.iterator(null, null, null).forEachRemaining(read::add);
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction expected = rows.get(i);
+            Transaction actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getFromAccountId(), actual.getFromAccountId());
+            assertEquals(expected.getToAccountId(), actual.getToAccountId());
+            assertEquals(expected.getAmount(), actual.getAmount(), "amount and scale of row " + i);
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getType(), actual.getType());
+        }
+        segment.discard();
+    }
+
+    @Test
+    void seek_ShouldFindTheFirstBlockReachingBelowTheBound() {
+        // Arrange: ten blocks of ten rows, one minute apart, newest first
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Transaction> rows = new ArrayList<>();
+        for (int minute = 99; minute >= 0; minute--) {
+            rows.add(new Transaction(UUID.randomUUID(), null, UUID.randomUUID(), BigDecimal.valueOf(minute, 2),
+                    base.plusMinutes(minute), TransactionType.DEPOSIT));
+        }
+        TransactionSegment segment = TransactionSegment.write(directory.resolve("segment"), rows.iterator(), 10,
+                SegmentFormat.COMPRESSED);
+
+        // Act
+        int block = segment.seek(base.plusMinutes(35));
+
+        // Assert: block 6 holds minutes 39 down to 30
+        assertEquals(6, block);
+        List<Transaction> decoded = segment.readBlock(block);
+        assertEquals(10, decoded.size());
+        assertEquals(base.plusMinutes(39), decoded.get(0).getTimestamp());
+        assertEquals(rows.get(60).getId(), decoded.get(0).getId());
+        assertEquals(0, segment.seek(null));
+        assertEquals(10, segment.seek(base));
+        segment.discard();
+    }
+
+    @Test
+    void readBlock_WithCorruptedCompressedBlock_ShouldFailTheChecksum() throws IOException {
+        // Arrange
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(new Transaction(UUID.randomUUID(), null, UUID.randomUUID(), BigDecimal.TEN,
+                    LocalDateTime.of(2024, 1, 1, 0, 0).minusSeconds(i), TransactionType.DEPOSIT));
+        }
+        Path file = directory.resolve("segment");
+        TransactionSegment.write(file, rows.iterator(), 10, SegmentFormat.COMPRESSED).release();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Flip a byte of the first row's id: past the file header and the block's mode byte
+            ByteBuffer corrupted = ByteBuffer.allocate(1);
+            channel.read(corrupted, 8 + 1 + 3);
+            corrupted.put(0, (byte) ~corrupted.get(0));
+            channel.write(corrupted.rewind(), 8 + 1 + 3);
+        }
+        TransactionSegment segment = TransactionSegment.open(file);
+
+        // Act & Assert
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> segment.readBlock(0));
+        assertEquals("segment block checksum mismatch", exception.getCause().getMessage());
+        assertEquals(10, segment.readBlock(1).size());
+        segment.release();
+    }
+}
@@ -0,0 +1,141 @@
+package com.brainridge_banking.api.timing;
+
+import com.brainridge_banking.api.dto.request.AccountCreationRequest;
+import com.brainridge_banking.api.dto.request.TransferRequest;
+import com.brainridge_banking.api.dto.response.AccountResponse;
+import com.brainridge_banking.api.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "banking.timing.enabled=true")
+public class RequestTimingTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID fromId;
+    private UUID toId;
+
+    @BeforeEach
+    void setUp() {
+        fromId = createAccount("from").getAccountId();
+        toId = createAccount("to").getAccountId();
+    }
+
+    @Test
+    void transfer_ShouldReportPhasesWhenRequested() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RequestTimingInterceptor.REQUEST_HEADER, "true");
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.exchange("/api/transactions/transfer", HttpMethod.POST,
+                new HttpEntity<>(transfer(), headers), Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode(), String.valueOf(response.getBody()));
+        String serverTiming = response.getHeaders().getFirst(RequestTimingInterceptor.RESPONSE_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches("parse;dur=\\d+\\.\\d{3}, validate;dur=\\d+\\.\\d{3}, lock;dur=\\d+\\.\\d{3}, "
+                + "lookup;dur=\\d+\\.\\d{3}, update;dur=\\d+\\.\\d{3}, persist;dur=\\d+\\.\\d{3}, "
+                + "map;dur=\\d+\\.\\d{3}, serialize;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}"), serverTiming);
+        assertEquals(fromId.toString(), response.getBody().get("fromAccountId"));
+    }
+
+    @Test
+    void transfer_ShouldOmitHeaderUnlessRequested() {
+        // Act
+        ResponseEntity<Map> response = restTemplate.postForEntity("/api/transactions/transfer", transfer(), Map.class);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertFalse(response.getHeaders().containsKey(RequestTimingInterceptor.RESPONSE_HEADER));
+    }
+
+    @Test
+    void delete_ShouldReportPhasesWithoutBody() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(RequestTimingInterceptor.REQUEST_HEADER, "true");
+
+        // Act
+        ResponseEntity<Void> response = restTemplate.exchange("/api/accounts/" + toId, HttpMethod.DELETE,
+                new HttpEntity<>(headers), Void.class);
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        String serverTiming = response.getHeaders().getFirst(RequestTimingInterceptor.RESPONSE_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.startsWith("lookup;dur="), serverTiming);
+        assertTrue(serverTiming.contains("persist;dur="), serverTiming);
+        assertFalse(serverTiming.contains("serialize"), serverTiming);
+    }
+
+    @Test
+    void requests_ShouldFeedPhaseHistogramsByRoute() throws InterruptedException {
+        // Act
+        restTemplate.postForEntity("/api/transactions/transfer", transfer(), Map.class);
+        restTemplate.getForEntity("/api/accounts/" + fromId + "/balance", Map.class);
+
+        // Assert: the histograms are recorded after the response is written
+        Timer lock = awaitTimer("lock", "/api/transactions/transfer");
+        assertTrue(lock.count() >= 1);
+        Timer lookup = awaitTimer("lookup", "/api/accounts/{id}/balance");
+        assertTrue(lookup.count() >= 1);
+        // Reads take no lock, so they record nothing for it
+        Timer balanceLock = meterRegistry.find("banking.request.phase")
+                .tags("phase", "lock", "uri", "/api/accounts/{id}/balance").timer();
+        assertTrue(balanceLock == null || balanceLock.count() == 0);
+    }
+
+    private Timer awaitTimer(String phase, String uri) throws InterruptedException {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (true) {
+            Timer timer = meterRegistry.find("banking.request.phase").tags("phase", phase, "uri", uri).timer();
+            if (timer != null && timer.count() > 0) {
+                return timer;
+            }
+            assertTrue(System.nanoTime() < deadline, "no " + phase + " timing recorded for " + uri);
+            Thread.sleep(10);
+        }
+    }
+
+    private TransferRequest transfer() {
+        TransferRequest request = new TransferRequest();
+        request.setFromAccountId(fromId);
+        request.setToAccountId(toId);
+        request.setAmount(new BigDecimal("10.00"));
+        return request;
+    }
+
+    private AccountResponse createAccount(String name) {
+        AccountCreationRequest request = new AccountCreationRequest();
+        request.setAccountName("Timing " + name);
+        request.setAccountEmail("timing." + name + "." + UUID.randomUUID() + "@gmail.com");
+        request.setInitialBalance(new BigDecimal("100.00"));
+        return accountService.createAccount(request);
+    }
+}
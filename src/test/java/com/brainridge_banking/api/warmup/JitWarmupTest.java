@@ -0,0 +1,107 @@
+package com.brainridge_banking.api.warmup;
+
+import com.brainridge_banking.api.repository.AccountRepository;
+import com.brainridge_banking.api.repository.TransactionRepository;
+import com.brainridge_banking.api.util.DomainAllowlist;
+import com.brainridge_banking.api.util.EmailValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "banking.warmup.enabled=true",
+        "banking.warmup.accounts=8",
+        "banking.warmup.round-operations=200",
+        "banking.warmup.quiet-rounds=2",
+        "banking.warmup.max-duration=20s"
+})
+public class JitWarmupTest {
+
+    @Autowired
+    private JitWarmup jitWarmup;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void startup_ShouldReportReadyWithoutAnySyntheticData() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertTrue(accountRepository.findAll().isEmpty());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void warmUp_ShouldRunWholeRoundsUntilCompilationGoesQuiet() throws IOException {
+        // Act
+        JitWarmup.Result result = jitWarmup.warmUp();
+
+        // Assert
+        assertTrue(result.quiet());
+        assertTrue(result.rounds() >= 2);
+        assertEquals(result.rounds() * 200L, result.operations());
+        assertTrue(accountRepository.findAll().isEmpty());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void warmUp_ShouldNotDependOnTheEmailDomainAllowlist() throws IOException {
+        // Arrange: an allowlist that accepts no synthetic address
+        EmailValidator.setAllowedDomains(DomainAllowlist.of(List.of("brainridge.example")));
+        JitWarmup warmup = new JitWarmup(objectMapper, 4, 50, 1, Duration.ofSeconds(5), "memory", 1);
+
+        // Act
+        JitWarmup.Result result;
+        try {
+            result = warmup.warmUp();
+        } finally {
+            EmailValidator.resetAllowedDomains();
+        }
+
+        // Assert
+        assertTrue(result.rounds() > 0);
+    }
+
+    @Test
+    void warmUp_ShouldRunOnThePartitionedEngine() throws IOException {
+        // Arrange
+        JitWarmup warmup = new JitWarmup(objectMapper, 4, 50, 1, Duration.ofSeconds(5), "partitioned", 2);
+
+        // Act
+        JitWarmup.Result result = warmup.warmUp();
+
+        // Assert
+        assertEquals(result.rounds() * 50L, result.operations());
+    }
+
+    @Test
+    void warmUp_ShouldStopAtMaxDuration() throws IOException {
+        // Arrange: a quiet streak that can never be reached
+        JitWarmup warmup = new JitWarmup(objectMapper, 4, 50, Integer.MAX_VALUE, Duration.ofMillis(200), "memory", 1);
+
+        // Act
+        JitWarmup.Result result = warmup.warmUp();
+
+        // Assert
+        assertFalse(result.quiet());
+        assertTrue(result.elapsedMs() >= 200);
+        assertTrue(result.rounds() > 0);
+    }
+}